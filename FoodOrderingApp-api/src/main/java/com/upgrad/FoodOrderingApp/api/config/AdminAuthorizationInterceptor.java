@@ -0,0 +1,44 @@
+package com.upgrad.FoodOrderingApp.api.config;
+
+import com.upgrad.FoodOrderingApp.service.exception.AuthorizationFailedException;
+import com.upgrad.FoodOrderingApp.service.util.FoodOrderingUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.handler.HandlerInterceptorAdapter;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Guards the admin endpoints with the bearer access token configured for operations
+ * Admin endpoints stay disabled until an access token is configured
+ */
+@Component
+public class AdminAuthorizationInterceptor extends HandlerInterceptorAdapter {
+
+    @Value("${foodorderingapp.admin.access-token:}")
+    private String adminAccessToken;
+
+    /**
+     * Validates the Bearer authorization token against the configured admin access token
+     *
+     * @return true if the request carries the admin access token
+     * @throws AuthorizationFailedException If the token is missing or doesn't match the admin access token
+     */
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws AuthorizationFailedException {
+        String authorization = request.getHeader("authorization");
+        if (FoodOrderingUtil.isInValid(adminAccessToken) || FoodOrderingUtil.isInValid(authorization)) {
+            throw new AuthorizationFailedException("ATHR-005", "You are not authorized to access admin endpoints");
+        }
+        String accessToken = FoodOrderingUtil.decodeBearerToken(authorization);
+        // Constant time comparison so that the token can't be guessed from the response time
+        if (!MessageDigest.isEqual(adminAccessToken.getBytes(StandardCharsets.UTF_8), accessToken.getBytes(StandardCharsets.UTF_8))) {
+            throw new AuthorizationFailedException("ATHR-005", "You are not authorized to access admin endpoints");
+        }
+        return true;
+    }
+}
@@ -0,0 +1,39 @@
+package com.upgrad.FoodOrderingApp.api.config;
+
+import com.fasterxml.classmate.TypeResolver;
+import springfox.documentation.spi.service.RequestHandlerProvider;
+import springfox.documentation.spi.service.contexts.Defaults;
+import springfox.documentation.spring.web.DocumentationCache;
+import springfox.documentation.spring.web.plugins.DocumentationPluginsBootstrapper;
+import springfox.documentation.spring.web.plugins.DocumentationPluginsManager;
+import springfox.documentation.spring.web.scanners.ApiDocumentationScanner;
+
+import javax.servlet.ServletContext;
+import java.util.List;
+
+/**
+ * The springfox bootstrapper, not started with the application but on the first request of the documentation
+ * The bootstrapper reads every endpoint and every model to build the documentation, which takes about a second of the
+ * start of the application
+ */
+public class LazyDocumentationPluginsBootstrapper extends DocumentationPluginsBootstrapper {
+
+    public LazyDocumentationPluginsBootstrapper(DocumentationPluginsManager documentationPluginsManager,
+                                               List<RequestHandlerProvider> handlerProviders,
+                                               DocumentationCache scanned, ApiDocumentationScanner resourceListing,
+                                               TypeResolver typeResolver, Defaults defaults,
+                                               ServletContext servletContext) {
+        super(documentationPluginsManager, handlerProviders, scanned, resourceListing, typeResolver, defaults, servletContext);
+    }
+
+    @Override
+    public boolean isAutoStartup() {
+        return false;
+    }
+
+    // The requests arriving while the documentation is built wait for it, instead of reading an empty documentation
+    @Override
+    public synchronized void start() {
+        super.start();
+    }
+}
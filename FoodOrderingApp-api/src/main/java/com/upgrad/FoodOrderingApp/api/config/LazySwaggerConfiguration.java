@@ -0,0 +1,58 @@
+package com.upgrad.FoodOrderingApp.api.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.handler.HandlerInterceptorAdapter;
+import springfox.documentation.spring.web.plugins.DocumentationPluginsBootstrapper;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Builds the Swagger documentation on its first request instead of on the start of the application, with the fast-boot
+ * profile
+ */
+@Configuration
+@Profile("fast-boot")
+public class LazySwaggerConfiguration implements WebMvcConfigurer {
+
+    // Looked up on the request, the bootstrapper depends on the handler mappings which depend on this configuration
+    @Autowired
+    private ObjectProvider<DocumentationPluginsBootstrapper> documentationPluginsBootstrapper;
+
+    @Value("${springfox.documentation.swagger.v2.path:/v2/api-docs}")
+    private String documentationPath;
+
+    /**
+     * Static, so that it's created without the configuration and before the bootstrapper is
+     *
+     * @return The post processor replacing the springfox bootstrapper with the LazyDocumentationPluginsBootstrapper
+     */
+    @Bean
+    public static BeanFactoryPostProcessor lazyDocumentationPluginsBootstrapper() {
+        return beanFactory -> {
+            for (String name : beanFactory.getBeanNamesForType(DocumentationPluginsBootstrapper.class, true, false)) {
+                beanFactory.getBeanDefinition(name).setBeanClassName(LazyDocumentationPluginsBootstrapper.class.getName());
+            }
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // The Swagger UI reads the resources before the documentation, both are read from the documentation cache
+        registry.addInterceptor(new HandlerInterceptorAdapter() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                documentationPluginsBootstrapper.getObject().start();
+                return true;
+            }
+        }).addPathPatterns(documentationPath, "/swagger-resources/**");
+    }
+}
@@ -0,0 +1,77 @@
+package com.upgrad.FoodOrderingApp.api.config;
+
+import com.upgrad.FoodOrderingApp.service.exception.AuthorizationFailedException;
+import com.upgrad.FoodOrderingApp.service.util.FoodOrderingUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.handler.HandlerInterceptorAdapter;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * Guards the order streams with a bearer token of their restaurant, derived from the stream secret configured for
+ * operations, so that a restaurant can only stream its own orders and never holds the admin access token
+ * Order streams stay disabled until a stream secret is configured
+ */
+@Component
+public class OrderStreamAuthorizationInterceptor extends HandlerInterceptorAdapter {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    @Value("${foodorderingapp.order-feed.stream-secret:}")
+    private String streamSecret;
+
+    /**
+     * Validates the Bearer authorization token against the stream token of the restaurant of the path
+     *
+     * @return true if the request carries the stream token of the restaurant
+     * @throws AuthorizationFailedException If the token is missing or isn't the stream token of the restaurant
+     */
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws AuthorizationFailedException {
+        String authorization = request.getHeader("authorization");
+        @SuppressWarnings("unchecked")
+        Map<String, String> pathVariables = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        String restaurantUuid = pathVariables == null ? null : pathVariables.get("restaurant_id");
+        if (FoodOrderingUtil.isInValid(streamSecret) || FoodOrderingUtil.isInValid(authorization) || restaurantUuid == null) {
+            throw new AuthorizationFailedException("ATHR-006", "You are not authorized to stream the orders of this restaurant");
+        }
+        String accessToken = FoodOrderingUtil.decodeBearerToken(authorization);
+        // Constant time comparison so that the token can't be guessed from the response time
+        if (!MessageDigest.isEqual(getStreamToken(restaurantUuid).getBytes(StandardCharsets.UTF_8), accessToken.getBytes(StandardCharsets.UTF_8))) {
+            throw new AuthorizationFailedException("ATHR-006", "You are not authorized to stream the orders of this restaurant");
+        }
+        return true;
+    }
+
+    /**
+     * Derives the stream token of a restaurant from the stream secret, nothing is stored per restaurant. Changing the
+     * secret revokes the tokens of all the restaurants
+     *
+     * @param restaurantUuid The uuid of the restaurant
+     * @return The HMAC-SHA256 of the restaurant uuid with the stream secret, URL safe Base64 encoded
+     * @throws IllegalStateException If no stream secret is configured
+     */
+    public String getStreamToken(String restaurantUuid) {
+        if (FoodOrderingUtil.isInValid(streamSecret)) {
+            throw new IllegalStateException("Order streams are disabled, foodorderingapp.order-feed.stream-secret is not set");
+        }
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(new SecretKeySpec(streamSecret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(mac.doFinal(restaurantUuid.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException exception) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", exception);
+        }
+    }
+}
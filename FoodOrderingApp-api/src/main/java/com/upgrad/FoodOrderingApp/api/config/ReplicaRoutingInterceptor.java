@@ -0,0 +1,36 @@
+package com.upgrad.FoodOrderingApp.api.config;
+
+import com.upgrad.FoodOrderingApp.service.datasource.ReplicaRouting;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.handler.HandlerInterceptorAdapter;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Ends the read your writes of a request placing an order with the request, so that the next request served on the
+ * thread reads from the replicas again
+ */
+@Component
+public class ReplicaRoutingInterceptor extends HandlerInterceptorAdapter {
+
+    @Autowired
+    private ReplicaRouting replicaRouting;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        replicaRouting.endRequest();
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        replicaRouting.endRequest();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception exception) {
+        replicaRouting.endRequest();
+    }
+}
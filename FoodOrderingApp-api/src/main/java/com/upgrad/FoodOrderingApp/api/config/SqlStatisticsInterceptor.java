@@ -0,0 +1,83 @@
+package com.upgrad.FoodOrderingApp.api.config;
+
+import com.upgrad.FoodOrderingApp.service.sql.SqlStatistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.handler.HandlerInterceptorAdapter;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts the SQL statements executed while serving every request, recorded against the route of the request
+ * Requests completed on another thread, such as the streamed responses, carry the count over to that thread and back
+ * to the dispatch completing the request
+ */
+@Component
+public class SqlStatisticsInterceptor extends HandlerInterceptorAdapter implements CallableProcessingInterceptor {
+
+    // The statement count of the request, while the request is handed over to another thread
+    private static final String STATEMENTS_ATTRIBUTE = SqlStatisticsInterceptor.class.getName() + ".statements";
+
+    @Autowired
+    private SqlStatistics sqlStatistics;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Object statements = request.getAttribute(STATEMENTS_ATTRIBUTE);
+        if (statements == null) {
+            sqlStatistics.beginRequest();
+        } else {
+            // Dispatch completing a request handed over to another thread
+            request.removeAttribute(STATEMENTS_ATTRIBUTE);
+            sqlStatistics.resumeRequest((AtomicLong) statements);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception exception) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        sqlStatistics.endRequest(request.getMethod() + " " + (pattern == null ? "unmatched" : pattern));
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Already suspended for the Callables and the StreamingResponseBody, before they were submitted
+        AtomicLong statements = sqlStatistics.suspendRequest();
+        if (statements != null) {
+            request.setAttribute(STATEMENTS_ATTRIBUTE, statements);
+        }
+    }
+
+    @Override
+    public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+        AtomicLong statements = sqlStatistics.suspendRequest();
+        if (statements != null) {
+            request.setAttribute(STATEMENTS_ATTRIBUTE, statements, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    @Override
+    public <T> void preProcess(NativeWebRequest request, Callable<T> task) {
+        Object statements = request.getAttribute(STATEMENTS_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (statements != null) {
+            request.removeAttribute(STATEMENTS_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+            sqlStatistics.resumeRequest((AtomicLong) statements);
+        }
+    }
+
+    @Override
+    public <T> void postProcess(NativeWebRequest request, Callable<T> task, Object concurrentResult) {
+        AtomicLong statements = sqlStatistics.suspendRequest();
+        if (statements != null) {
+            request.setAttribute(STATEMENTS_ATTRIBUTE, statements, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+}
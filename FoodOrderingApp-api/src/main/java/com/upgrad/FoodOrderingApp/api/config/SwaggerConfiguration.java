@@ -2,22 +2,56 @@ package com.upgrad.FoodOrderingApp.api.config;
 
 
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.core.type.classreading.MetadataReader;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.core.type.filter.TypeFilter;
+import org.springframework.stereotype.Component;
 import springfox.documentation.builders.PathSelectors;
 import springfox.documentation.builders.RequestHandlerSelectors;
 import springfox.documentation.spi.DocumentationType;
 import springfox.documentation.spring.web.plugins.Docket;
 import springfox.documentation.swagger2.annotations.EnableSwagger2;
 
+import java.io.IOException;
+
 /**
  * This Configuration integrates Swagger2 into the existing Spring Boot project.
  */
 @Configuration
 @EnableSwagger2
+// The packages scanned by the configurations of springfox, scanned again without the components index. The springfox
+// jars don't have one, so their components aren't found by the component scans of springfox once the application is
+// built with the index of the fast-boot profile. The components found twice are only registered once
+@ComponentScan(basePackages = {"springfox.documentation.schema", "springfox.documentation.spring.web.scanners",
+        "springfox.documentation.spring.web.readers.operation", "springfox.documentation.spring.web.readers.parameter",
+        "springfox.documentation.spring.web.plugins", "springfox.documentation.spring.web.paths",
+        "springfox.documentation.swagger.schema", "springfox.documentation.swagger.readers",
+        "springfox.documentation.swagger.web", "springfox.documentation.swagger2.readers.parameter",
+        "springfox.documentation.swagger2.web", "springfox.documentation.swagger2.mappers"},
+        useDefaultFilters = false,
+        includeFilters = @ComponentScan.Filter(type = FilterType.CUSTOM, classes = SwaggerConfiguration.ComponentFilter.class))
 public class SwaggerConfiguration {
 
     @Bean
     public Docket swagger() {
         return new Docket(DocumentationType.SWAGGER_2).select().apis(RequestHandlerSelectors.basePackage("com.upgrad.FoodOrderingApp.api.controller")).paths(PathSelectors.any()).build();
     }
-}
\ No newline at end of file
+
+    /**
+     * Matches the components like the default filter of a component scan, the scans with a custom filter read the
+     * classes instead of the components index
+     */
+    public static class ComponentFilter implements TypeFilter {
+
+        private final TypeFilter componentFilter = new AnnotationTypeFilter(Component.class);
+
+        @Override
+        public boolean match(MetadataReader metadataReader, MetadataReaderFactory metadataReaderFactory) throws IOException {
+            return componentFilter.match(metadataReader, metadataReaderFactory);
+        }
+    }
+}
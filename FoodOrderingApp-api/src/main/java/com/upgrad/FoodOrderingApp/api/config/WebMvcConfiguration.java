@@ -0,0 +1,73 @@
+package com.upgrad.FoodOrderingApp.api.config;
+
+import com.upgrad.FoodOrderingApp.api.metrics.HttpMetricsInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registers the route metrics, the SQL statement counting, the end of the read your writes of a request, the admin endpoint and order stream guards and the bounded executor used for streaming responses
+ */
+@Configuration
+public class WebMvcConfiguration implements WebMvcConfigurer {
+
+    @Autowired
+    private HttpMetricsInterceptor httpMetricsInterceptor;
+
+    @Autowired
+    private SqlStatisticsInterceptor sqlStatisticsInterceptor;
+
+    @Autowired
+    private AdminAuthorizationInterceptor adminAuthorizationInterceptor;
+
+    @Autowired
+    private OrderStreamAuthorizationInterceptor orderStreamAuthorizationInterceptor;
+
+    @Autowired
+    private ReplicaRoutingInterceptor replicaRoutingInterceptor;
+
+    @Value("${foodorderingapp.streaming.pool-size:10}")
+    private int streamingPoolSize;
+
+    @Value("${foodorderingapp.streaming.queue-capacity:1000}")
+    private int streamingQueueCapacity;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Registered first, so that the requests and statements of requests rejected by the admin guard are counted too
+        registry.addInterceptor(httpMetricsInterceptor);
+        registry.addInterceptor(sqlStatisticsInterceptor);
+        registry.addInterceptor(replicaRoutingInterceptor);
+        registry.addInterceptor(adminAuthorizationInterceptor).addPathPatterns("/admin/**");
+        // The order streams carry the customers and bills of the orders, each restaurant only gets its own
+        registry.addInterceptor(orderStreamAuthorizationInterceptor).addPathPatterns("/restaurant/*/orders/stream");
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(streamingTaskExecutor());
+        // Carries the SQL statement count of the request over to the streaming thread
+        configurer.registerCallableInterceptors(sqlStatisticsInterceptor);
+    }
+
+    /**
+     * Bounded executor writing the streaming responses, so that concurrent exports and list responses can't exhaust the
+     * connection pool
+     *
+     * @return The executor for StreamingResponseBody writes
+     */
+    @Bean
+    public ThreadPoolTaskExecutor streamingTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(streamingPoolSize);
+        executor.setMaxPoolSize(streamingPoolSize);
+        executor.setQueueCapacity(streamingQueueCapacity);
+        executor.setThreadNamePrefix("streaming-");
+        return executor;
+    }
+}
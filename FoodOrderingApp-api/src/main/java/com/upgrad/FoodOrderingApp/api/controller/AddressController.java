@@ -1,6 +1,7 @@
 package com.upgrad.FoodOrderingApp.api.controller;
 
 
+import com.upgrad.FoodOrderingApp.api.json.StreamingJsonResponses;
 import com.upgrad.FoodOrderingApp.api.model.*;
 import com.upgrad.FoodOrderingApp.service.business.AddressService;
 import com.upgrad.FoodOrderingApp.service.business.CustomerService;
@@ -17,6 +18,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -33,6 +35,9 @@ public class AddressController {
     @Autowired
     private AddressService addressService;
 
+    @Autowired
+    private StreamingJsonResponses streamingJsonResponses;
+
     /**
      * Saves the address after validating the Bearer authorization
      * token with the Database records
@@ -93,26 +98,18 @@ public class AddressController {
      */
     @RequestMapping(method = RequestMethod.GET,
             produces = MediaType.APPLICATION_JSON_UTF8_VALUE, path = "/address/customer")
-    public ResponseEntity<AddressListResponse> getAllAddress(@RequestHeader("authorization") final String authorization)
+    public ResponseEntity<StreamingResponseBody> getAllAddress(@RequestHeader("authorization") final String authorization)
             throws AuthorizationFailedException {
         CustomerEntity customer = customerService.getCustomer(FoodOrderingUtil.decodeBearerToken(authorization));
-        List<AddressEntity> allAddresses = addressService.getAllAddress(customer);
-        List<AddressList> addressLists = new ArrayList<>();
-        //Check if any address is returned or not
-        if (allAddresses != null && !allAddresses.isEmpty()) {
-            for (AddressEntity address : allAddresses) {
-                AddressList addressList = new AddressList();
-                AddressListState addressListState = new AddressListState();
-                addressListState.id(UUID.fromString(address.getState().getUuid())).stateName(address.getState().getStateName());
-                addressList.id(UUID.fromString(address.getUuid())).flatBuildingName(address.getFlatBuilNo()).
-                        locality(address.getLocality()).city(address.getCity()).pincode(address.getPincode()).state(addressListState);
-                addressLists.add(addressList);
-
+        final List<AddressEntity> allAddresses = addressService.getAllAddress(customer);
+        return streamingJsonResponses.list("addresses", writer -> {
+            //Check if any address is returned or not, an empty array is written if not
+            if (allAddresses != null) {
+                for (AddressEntity address : allAddresses) {
+                    writer.writeAddress(address);
+                }
             }
-        }
-        AddressListResponse addressListResponse = new AddressListResponse();
-        addressListResponse.setAddresses(addressLists);
-        return new ResponseEntity<AddressListResponse>(addressListResponse, HttpStatus.OK);
+        });
     }
 
     /**
@@ -0,0 +1,42 @@
+package com.upgrad.FoodOrderingApp.api.controller;
+
+import com.upgrad.FoodOrderingApp.service.business.CacheStatisticsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+public class CacheStatisticsController {
+
+    @Autowired
+    private CacheStatisticsService cacheStatisticsService;
+
+    /**
+     * Retrieves the hit, miss and put counts of the second level cache and query cache regions
+     * Only accessible with the admin access token
+     *
+     * @return The cache statistics in total and per region
+     */
+    @RequestMapping(method = RequestMethod.GET, path = "/admin/cache/statistics", produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
+    public ResponseEntity<Map<String, Object>> getCacheStatistics() {
+        return new ResponseEntity<Map<String, Object>>(cacheStatisticsService.getCacheStatistics(), HttpStatus.OK);
+    }
+
+    /**
+     * Resets the cache statistics counts, to measure the cache over a time window
+     * Only accessible with the admin access token
+     *
+     * @return The cache statistics after the reset
+     */
+    @RequestMapping(method = RequestMethod.DELETE, path = "/admin/cache/statistics", produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
+    public ResponseEntity<Map<String, Object>> resetCacheStatistics() {
+        cacheStatisticsService.resetCacheStatistics();
+        return new ResponseEntity<Map<String, Object>>(cacheStatisticsService.getCacheStatistics(), HttpStatus.OK);
+    }
+}
@@ -1,18 +1,20 @@
 package com.upgrad.FoodOrderingApp.api.controller;
 
-import com.upgrad.FoodOrderingApp.api.model.CategoriesListResponse;
+import com.upgrad.FoodOrderingApp.api.json.StreamingJsonResponses;
 import com.upgrad.FoodOrderingApp.api.model.CategoryDetailsResponse;
-import com.upgrad.FoodOrderingApp.api.model.CategoryListResponse;
 import com.upgrad.FoodOrderingApp.api.model.ItemList;
 import com.upgrad.FoodOrderingApp.service.business.CategoryService;
+import com.upgrad.FoodOrderingApp.service.common.CategoryItemsPage;
 import com.upgrad.FoodOrderingApp.service.entity.CategoryEntity;
-import com.upgrad.FoodOrderingApp.service.entity.ItemEntity;
 import com.upgrad.FoodOrderingApp.service.exception.CategoryNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -25,6 +27,15 @@ public class CategoryController {
     @Autowired
     private CategoryService categoryService;
 
+    @Autowired
+    private StreamingJsonResponses streamingJsonResponses;
+
+    @Value("${foodorderingapp.category-items.default-limit:50}")
+    private int defaultItemsLimit;
+
+    @Value("${foodorderingapp.category-items.max-limit:200}")
+    private int maxItemsLimit;
+
     /**
      * Retrieves the List of all Categories available in the Database
      * Returns the UUID and name of each Category
@@ -34,51 +45,58 @@ public class CategoryController {
      */
     @RequestMapping(method = RequestMethod.GET,
             produces = MediaType.APPLICATION_JSON_UTF8_VALUE, path = "/category")
-    public ResponseEntity<CategoriesListResponse> getAllCategories() {
-        List<CategoryEntity> categories = categoryService.getAllCategoriesOrderedByName();
-        List<CategoryListResponse> categoryListResponses = new ArrayList<CategoryListResponse>();
-        CategoriesListResponse categoriesListResponse = new CategoriesListResponse();
-        // Check if the Database records has any categories or not
-        if (categories != null && !categories.isEmpty()) {
-            for (CategoryEntity category : categories) {
-                CategoryListResponse categoryListResponse = new CategoryListResponse();
-                categoryListResponse.id(UUID.fromString(category.getUuid())).categoryName(category.getCategoryName());
-                categoriesListResponse.addCategoriesItem(categoryListResponse);
+    public ResponseEntity<StreamingResponseBody> getAllCategories() {
+        final List<CategoryEntity> categories = categoryService.getAllCategoriesOrderedByName();
+        return streamingJsonResponses.list("categories", writer -> {
+            // Check if the Database records has any categories or not, an empty array is written if not
+            if (categories != null) {
+                for (CategoryEntity category : categories) {
+                    writer.writeCategory(category);
+                }
             }
-        }
-        if (categoriesListResponse.getCategories() == null) {
-            categoriesListResponse.categories(new ArrayList<CategoryListResponse>());
-        }
-        return new ResponseEntity<CategoriesListResponse>(categoriesListResponse, HttpStatus.OK);
+        });
     }
 
     /**
-     * This method retrieves the category with all the items matching that category based on the uuid of category
+     * This method retrieves the category with a page of the items matching that category based on the uuid of category
+     * The items are in the order of their names, the next page starts after the next cursor of the response
      * No authorization required for this endpoint
      *
      * @param categoryUUID The uuid of the category to be retrieved
-     * @return The category with all the items under it
+     * @param limit        The maximum number of items to return
+     * @param cursor       The next cursor of the previous page, the first page is returned without it
+     * @return The category with a page of the items under it
      * @throws CategoryNotFoundException If the category uuid is not matched with any of the records in Database
      */
     @RequestMapping(method = RequestMethod.GET,
             produces = MediaType.APPLICATION_JSON_UTF8_VALUE, path = "/category/{category_id}")
-    public ResponseEntity<CategoryDetailsResponse> getCategoryDetails(@PathVariable("category_id") String categoryUUID)
+    public ResponseEntity<CategoryDetailsResponse> getCategoryDetails(@PathVariable("category_id") String categoryUUID,
+                                                                      @RequestParam(name = "limit", required = false) Integer limit,
+                                                                      @RequestParam(name = "cursor", required = false) String cursor)
             throws CategoryNotFoundException {
-        CategoryEntity category = categoryService.getCategoryById(categoryUUID);
+        if (limit != null && (limit < 1 || limit > maxItemsLimit)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit should be between 1 and " + maxItemsLimit);
+        }
+        CategoryItemsPage.Cursor after = null;
+        if (cursor != null) {
+            try {
+                after = CategoryItemsPage.parseCursor(cursor);
+            } catch (IllegalArgumentException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+            }
+        }
+        CategoryItemsPage page = categoryService.getCategoryItems(categoryUUID, limit != null ? limit : defaultItemsLimit, after);
 
-        List<ItemEntity> categoryItems = category.getItems();
         List<ItemList> itemsList = new ArrayList<ItemList>();
-        // If any items exists under a category, populate in the response
-        if (categoryItems != null && !categoryItems.isEmpty()) {
-            categoryItems.forEach(item -> {
-                ItemList itemList = new ItemList();
-                itemList.id(UUID.fromString(item.getUuid())).itemName(item.getItemName()).price(item.getPrice())
-                        .itemType(ItemList.ItemTypeEnum.fromValue(item.getType().getValue()));
-                itemsList.add(itemList);
-            });
-        }
+        page.getItems().forEach(item -> {
+            ItemList itemList = new ItemList();
+            itemList.id(UUID.fromString(item.getUuid())).itemName(item.getItemName()).price(item.getPrice())
+                    .itemType(ItemList.ItemTypeEnum.fromValue(item.getType().getValue()));
+            itemsList.add(itemList);
+        });
+        CategoryEntity category = page.getCategory();
         CategoryDetailsResponse categoryDetailsResponse = new CategoryDetailsResponse();
-        categoryDetailsResponse.itemList(itemsList);
+        categoryDetailsResponse.itemList(itemsList).nextCursor(page.getNextCursor());
         categoryDetailsResponse.id(UUID.fromString(category.getUuid())).categoryName(category.getCategoryName());
         return new ResponseEntity<CategoryDetailsResponse>(categoryDetailsResponse, HttpStatus.OK);
     }
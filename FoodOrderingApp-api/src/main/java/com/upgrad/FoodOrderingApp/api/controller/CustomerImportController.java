@@ -0,0 +1,121 @@
+package com.upgrad.FoodOrderingApp.api.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.upgrad.FoodOrderingApp.api.model.ImportCustomerResult;
+import com.upgrad.FoodOrderingApp.api.model.ImportCustomersResponse;
+import com.upgrad.FoodOrderingApp.api.model.SignupCustomerRequest;
+import com.upgrad.FoodOrderingApp.service.business.CustomerImportService;
+import com.upgrad.FoodOrderingApp.service.common.CustomerImportResult;
+import com.upgrad.FoodOrderingApp.service.entity.CustomerEntity;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+@RestController
+public class CustomerImportController {
+
+    @Autowired
+    private CustomerImportService customerImportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${foodorderingapp.customer-import.chunk-size:500}")
+    private int chunkSize;
+
+    /**
+     * Signs up the customers of an onboarding file, with one signup request in JSON format per line
+     * The file is read while it is uploaded and imported in chunks, a chunk is saved before the next one is read
+     * Every line is validated like a signup, the lines that fail are reported and don't stop the import
+     * Only accessible with the admin access token
+     *
+     * @param request The request with the NDJSON file as body
+     * @return The number of imported and rejected customers with the result of every line
+     * @throws IOException If the body can't be read
+     */
+    @RequestMapping(method = RequestMethod.POST, path = "/admin/customers/import",
+            consumes = "application/x-ndjson", produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
+    public ResponseEntity<ImportCustomersResponse> importCustomers(HttpServletRequest request) throws IOException {
+        ImportCustomersResponse importResponse = new ImportCustomersResponse().imported(0).rejected(0)
+                .results(new ArrayList<ImportCustomerResult>());
+        List<ImportCustomerResult> chunkResults = new ArrayList<ImportCustomerResult>(chunkSize);
+        List<CustomerEntity> chunkCustomers = new ArrayList<CustomerEntity>(chunkSize);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                ImportCustomerResult result = new ImportCustomerResult().line(lineNumber);
+                SignupCustomerRequest customerRequest;
+                try {
+                    customerRequest = objectMapper.readValue(line, SignupCustomerRequest.class);
+                } catch (IOException e) {
+                    addResult(importResponse, result.status(ImportCustomerResult.StatusEnum.REJECTED)
+                            .code("SGR-006").message("Invalid customer record!"));
+                    continue;
+                }
+                CustomerEntity customer = new CustomerEntity();
+                customer.setFirstName(customerRequest.getFirstName());
+                customer.setLastName(customerRequest.getLastName());
+                customer.setEmail(customerRequest.getEmailAddress());
+                customer.setContactNumber(customerRequest.getContactNumber());
+                customer.setPassword(customerRequest.getPassword());
+                chunkResults.add(result.contactNumber(customerRequest.getContactNumber()));
+                chunkCustomers.add(customer);
+                if (chunkCustomers.size() == chunkSize) {
+                    importChunk(importResponse, chunkResults, chunkCustomers);
+                }
+            }
+        }
+        importChunk(importResponse, chunkResults, chunkCustomers);
+        // The results of the malformed lines were added as they were read, ahead of their chunk
+        importResponse.getResults().sort((first, second) -> first.getLine().compareTo(second.getLine()));
+        return new ResponseEntity<ImportCustomersResponse>(importResponse, HttpStatus.OK);
+    }
+
+    private void importChunk(ImportCustomersResponse importResponse, List<ImportCustomerResult> chunkResults,
+                             List<CustomerEntity> chunkCustomers) {
+        if (chunkCustomers.isEmpty()) {
+            return;
+        }
+        List<CustomerImportResult> imported = customerImportService.importCustomers(chunkCustomers);
+        for (int index = 0; index < imported.size(); index++) {
+            CustomerImportResult customerResult = imported.get(index);
+            ImportCustomerResult result = chunkResults.get(index);
+            if (customerResult.isImported()) {
+                result.status(ImportCustomerResult.StatusEnum.IMPORTED).id(customerResult.getUuid());
+            } else {
+                result.status(ImportCustomerResult.StatusEnum.REJECTED)
+                        .code(customerResult.getCode()).message(customerResult.getMessage());
+            }
+            addResult(importResponse, result);
+        }
+        chunkResults.clear();
+        chunkCustomers.clear();
+    }
+
+    private static void addResult(ImportCustomersResponse importResponse, ImportCustomerResult result) {
+        importResponse.addResultsItem(result);
+        if (result.getStatus() == ImportCustomerResult.StatusEnum.IMPORTED) {
+            importResponse.imported(importResponse.getImported() + 1);
+        } else {
+            importResponse.rejected(importResponse.getRejected() + 1);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.upgrad.FoodOrderingApp.api.controller;
+
+import com.upgrad.FoodOrderingApp.service.async.DaoExecutor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+public class DaoExecutorController {
+
+    @Autowired
+    private DaoExecutor daoExecutor;
+
+    /**
+     * Retrieves the queue wait and execution time percentiles, the timeouts and the rejections of every stage of the
+     * Database lookups run in parallel
+     * Only accessible with the admin access token
+     *
+     * @return The DAO executor statistics per stage
+     */
+    @RequestMapping(method = RequestMethod.GET, path = "/admin/dao/statistics", produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
+    public ResponseEntity<Map<String, Object>> getDaoStatistics() {
+        return new ResponseEntity<Map<String, Object>>(daoExecutor.getStatistics(), HttpStatus.OK);
+    }
+
+    /**
+     * Resets the DAO executor statistics, to measure the stages over a time window
+     * Only accessible with the admin access token
+     *
+     * @return The DAO executor statistics after the reset
+     */
+    @RequestMapping(method = RequestMethod.DELETE, path = "/admin/dao/statistics", produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
+    public ResponseEntity<Map<String, Object>> resetDaoStatistics() {
+        daoExecutor.reset();
+        return new ResponseEntity<Map<String, Object>>(daoExecutor.getStatistics(), HttpStatus.OK);
+    }
+}
@@ -0,0 +1,32 @@
+package com.upgrad.FoodOrderingApp.api.controller;
+
+import com.upgrad.FoodOrderingApp.api.metrics.HttpMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+public class HttpMetricsController {
+
+    // Content type of the Prometheus text exposition format
+    private static final MediaType PROMETHEUS_TEXT = MediaType.parseMediaType("text/plain; version=0.0.4; charset=utf-8");
+
+    @Autowired
+    private HttpMetrics httpMetrics;
+
+    /**
+     * Retrieves the latency and response size histograms, the in flight requests and the responses by status code and
+     * by error code of every route, for Prometheus to scrape
+     * Only accessible with the admin access token, sent by Prometheus as its bearer token
+     *
+     * @return The metrics in the Prometheus text format
+     */
+    @RequestMapping(method = RequestMethod.GET, path = "/admin/metrics")
+    public ResponseEntity<String> getMetrics() {
+        // Not declared as produced by the mapping, the errors of the admin guard are still sent back as JSON
+        return ResponseEntity.ok().contentType(PROMETHEUS_TEXT).body(httpMetrics.toPrometheus());
+    }
+}
@@ -1,5 +1,6 @@
 package com.upgrad.FoodOrderingApp.api.controller;
 
+import com.upgrad.FoodOrderingApp.api.json.StreamingJsonResponses;
 import com.upgrad.FoodOrderingApp.api.model.*;
 import com.upgrad.FoodOrderingApp.service.business.*;
 import com.upgrad.FoodOrderingApp.service.entity.*;
@@ -10,9 +11,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.math.BigDecimal;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -38,6 +38,9 @@ public class OrderController {
     @Autowired
     private ItemService itemService;
 
+    @Autowired
+    private StreamingJsonResponses streamingJsonResponses;
+
     /**
      * Validate customer session and retrieves the coupon details based on the coupon name
      * Throw error message when the access token is invalid/expired/not present in Database
@@ -162,84 +165,21 @@ public class OrderController {
      */
     @RequestMapping(method = RequestMethod.GET,
             produces = MediaType.APPLICATION_JSON_UTF8_VALUE, path = "/order")
-    public ResponseEntity<CustomerOrderResponse> getPastOrdersOfUser(@RequestHeader("authorization") final String authorization)
+    public ResponseEntity<StreamingResponseBody> getPastOrdersOfUser(@RequestHeader("authorization") final String authorization)
             throws AuthorizationFailedException {
         // Validate customer session
         CustomerEntity customer = customerService.getCustomer(FoodOrderingUtil.decodeBearerToken(authorization));
 
         // Get all the past orders by customer uuid
-        List<OrderEntity> pastOrders = orderService.getOrdersByCustomers(customer.getUuid());
-        CustomerOrderResponse response = new CustomerOrderResponse();
-        if (pastOrders != null && !pastOrders.isEmpty()) {
-            pastOrders.forEach(pastOrder -> {
-                OrderList orderList = new OrderList();
-                // Set the bill details
-                orderList.id(UUID.fromString(pastOrder.getUuid())).bill(BigDecimal.valueOf(pastOrder.getBill()))
-                        .discount(BigDecimal.valueOf(pastOrder.getDiscount() != null ? pastOrder.getDiscount() : 0.0)).date(pastOrder.getDate().toString());
-
-                CouponEntity pastOrderCoupon = pastOrder.getCoupon();
-                // Set the coupon details if any applied while placing the order
-                if (pastOrderCoupon != null) {
-                    OrderListCoupon coupon = new OrderListCoupon();
-                    coupon.id(UUID.fromString(pastOrderCoupon.getUuid()));
-                    coupon.couponName(pastOrderCoupon.getCouponName());
-                    coupon.percent(pastOrderCoupon.getPercent());
-                    orderList.coupon(coupon);
+        final List<OrderEntity> pastOrders = orderService.getOrdersByCustomers(customer.getUuid());
+        return streamingJsonResponses.list("orders", writer -> {
+            // If the user has no previous order, an empty array is written
+            if (pastOrders != null) {
+                for (OrderEntity pastOrder : pastOrders) {
+                    // Fetch all the items by using the order id value, every order is written as soon as its items are read
+                    writer.writeOrder(pastOrder, orderService.getOrderItemsByOrderId(pastOrder.getId()));
                 }
-
-                // Set the payment information of the order used while placing it
-                OrderListPayment payment = new OrderListPayment();
-                payment.id(UUID.fromString(pastOrder.getPayment().getUuid())).paymentName(pastOrder.getPayment().getPaymentName());
-
-                // Set the customer details for each order in the response
-                OrderListCustomer orderListCustomer = new OrderListCustomer();
-                CustomerEntity orderCustomer = pastOrder.getCustomer();
-                orderListCustomer.id(UUID.fromString(orderCustomer.getUuid())).firstName(orderCustomer.getFirstName())
-                        .lastName(orderCustomer.getLastName()).emailAddress(orderCustomer.getEmail()).contactNumber(orderCustomer.getContactNumber());
-
-                orderList.payment(payment).customer(orderListCustomer);
-
-                // Set the Address details in the response for which order is placed
-                OrderListAddress orderListAddress = new OrderListAddress();
-                AddressEntity orderAddress = pastOrder.getAddress();
-                orderListAddress.id(UUID.fromString(orderAddress.getUuid())).flatBuildingName(orderAddress.getFlatBuilNo())
-                        .locality(orderAddress.getLocality()).city(orderAddress.getCity()).pincode(orderAddress.getPincode());
-
-                // Set the State information of address in the response
-                OrderListAddressState orderListAddressState = new OrderListAddressState();
-                StateEntity orderState = orderAddress.getState();
-                orderListAddressState.id(UUID.fromString(orderState.getUuid())).stateName(orderState.getStateName());
-                orderListAddress.state(orderListAddressState);
-
-                orderList.address(orderListAddress);
-
-                // Fetch all the items by using the order id value
-                List<OrderItemEntity> orderItems = orderService.getOrderItemsByOrderId(pastOrder.getId());
-                if (orderItems != null) {
-                    orderItems.stream().forEach(orderItem -> {
-                        // Populate each item detail in the response
-                        ItemQuantityResponse itemQuantityResponse = new ItemQuantityResponse();
-                        itemQuantityResponse.quantity(orderItem.getQuantity()).price(orderItem.getPrice());
-                        ItemQuantityResponseItem itemQuantityResponseItem = new ItemQuantityResponseItem();
-                        itemQuantityResponseItem.id(UUID.fromString(orderItem.getItem().getUuid()))
-                                .itemName(orderItem.getItem().getItemName()).itemPrice(orderItem.getPrice())
-                                .type(ItemQuantityResponseItem.TypeEnum.fromValue(orderItem.getItem().getType().getValue()));
-                        itemQuantityResponse.item(itemQuantityResponseItem);
-                        orderList.addItemQuantitiesItem(itemQuantityResponse);
-                    });
-                }
-
-                // If in case the items are empty, set an empty list in the response
-                if (orderList.getItemQuantities() == null) {
-                    orderList.setItemQuantities(new ArrayList<ItemQuantityResponse>());
-                }
-                response.addOrdersItem(orderList);
-            });
-        }
-        // If the user has no previous order, set an empty list
-        if (response.getOrders() == null) {
-            response.setOrders(new ArrayList<OrderList>());
-        }
-        return new ResponseEntity<CustomerOrderResponse>(response, HttpStatus.OK);
+            }
+        });
     }
 }
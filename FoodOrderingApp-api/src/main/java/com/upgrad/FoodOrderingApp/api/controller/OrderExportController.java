@@ -0,0 +1,69 @@
+package com.upgrad.FoodOrderingApp.api.controller;
+
+import com.upgrad.FoodOrderingApp.api.export.ExportFormat;
+import com.upgrad.FoodOrderingApp.api.export.OrderExportWriter;
+import com.upgrad.FoodOrderingApp.service.business.OrderExportService;
+import com.upgrad.FoodOrderingApp.service.exception.RestaurantNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+
+@RestController
+public class OrderExportController {
+
+    @Autowired
+    private OrderExportService orderExportService;
+
+    /**
+     * Streams all the orders placed with in the date range along with their items for analytics
+     * Orders are written while they are read from the Database, so the export size doesn't affect the heap use
+     * Only accessible with the admin access token
+     *
+     * @param format         The export format, ndjson (default) or csv
+     * @param from           The first date of the orders to export, inclusive. All orders since the beginning when not passed
+     * @param to             The last date of the orders to export, inclusive. All orders till now when not passed
+     * @param restaurantUuid The uuid of the restaurant to export the orders of, all restaurants when not passed
+     * @return The streamed export of the orders
+     * @throws RestaurantNotFoundException If the restaurant uuid passed doesn't match with Database records
+     */
+    @RequestMapping(method = RequestMethod.GET, path = "/admin/orders/export")
+    public ResponseEntity<StreamingResponseBody> exportOrders(@RequestParam(name = "format", defaultValue = "ndjson") String format,
+                                                              @RequestParam(name = "from", required = false)
+                                                              @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                              @RequestParam(name = "to", required = false)
+                                                              @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                              @RequestParam(name = "restaurant_id", required = false) String restaurantUuid)
+            throws RestaurantNotFoundException {
+        final ExportFormat exportFormat = ExportFormat.fromValue(format);
+        if (exportFormat == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Export format should be one of ndjson or csv");
+        }
+        // Validate the filters before the response is committed, so that errors are still reported with a status code
+        final String restaurantFilter = orderExportService.validateRestaurantFilter(restaurantUuid);
+        final Date fromDate = from != null ? toDate(from) : new Date(0);
+        final Date toDate = to != null ? toDate(to.plusDays(1)) : new Date();
+
+        StreamingResponseBody body = outputStream -> {
+            OrderExportWriter writer = OrderExportWriter.create(exportFormat, outputStream);
+            writer.start();
+            orderExportService.exportOrders(fromDate, toDate, restaurantFilter, writer);
+            writer.finish();
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(exportFormat.getContentType() + ";charset=UTF-8"))
+                .header("Content-Disposition", "attachment; filename=\"orders." + exportFormat.name().toLowerCase() + "\"")
+                .body(body);
+    }
+
+    private static Date toDate(LocalDate date) {
+        return Date.from(date.atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+}
@@ -0,0 +1,31 @@
+package com.upgrad.FoodOrderingApp.api.controller;
+
+import com.upgrad.FoodOrderingApp.api.ratelimit.RateLimiter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+public class RateLimitController {
+
+    @Autowired
+    private RateLimiter rateLimiter;
+
+    /**
+     * Retrieves the budget of every limited route with the requests allowed and rejected, and the buckets kept for
+     * its clients
+     * Only accessible with the admin access token
+     *
+     * @return The rate limit statistics per route
+     */
+    @RequestMapping(method = RequestMethod.GET, path = "/admin/rate-limit/statistics", produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
+    public ResponseEntity<Map<String, Object>> getRateLimitStatistics() {
+        return new ResponseEntity<Map<String, Object>>(rateLimiter.getStatistics(), HttpStatus.OK);
+    }
+}
@@ -0,0 +1,31 @@
+package com.upgrad.FoodOrderingApp.api.controller;
+
+import com.upgrad.FoodOrderingApp.service.datasource.ReplicaRouting;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+public class ReplicaRoutingController {
+
+    @Autowired
+    private ReplicaRouting replicaRouting;
+
+    /**
+     * Retrieves the connections taken from the primary and from every read replica, with the last measured lag of the
+     * replicas and whether they are in use
+     * Only accessible with the admin access token
+     *
+     * @return The replica routing statistics
+     */
+    @RequestMapping(method = RequestMethod.GET, path = "/admin/replicas/statistics", produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
+    public ResponseEntity<Map<String, Object>> getReplicaStatistics() {
+        return new ResponseEntity<Map<String, Object>>(replicaRouting.getStatistics(), HttpStatus.OK);
+    }
+}
@@ -1,26 +1,37 @@
 package com.upgrad.FoodOrderingApp.api.controller;
 
+import com.upgrad.FoodOrderingApp.api.json.StreamingJsonResponses;
 import com.upgrad.FoodOrderingApp.api.model.*;
+import com.upgrad.FoodOrderingApp.service.async.DaoExecutor;
+import com.upgrad.FoodOrderingApp.service.business.AddressService;
 import com.upgrad.FoodOrderingApp.service.business.CategoryService;
 import com.upgrad.FoodOrderingApp.service.business.CustomerService;
 import com.upgrad.FoodOrderingApp.service.business.ItemService;
 import com.upgrad.FoodOrderingApp.service.business.RestaurantService;
 import com.upgrad.FoodOrderingApp.service.entity.*;
+import com.upgrad.FoodOrderingApp.service.exception.AddressNotFoundException;
 import com.upgrad.FoodOrderingApp.service.exception.AuthorizationFailedException;
 import com.upgrad.FoodOrderingApp.service.exception.CategoryNotFoundException;
 import com.upgrad.FoodOrderingApp.service.exception.InvalidRatingException;
 import com.upgrad.FoodOrderingApp.service.exception.RestaurantNotFoundException;
+import com.upgrad.FoodOrderingApp.service.geo.GeoNeighbor;
 import com.upgrad.FoodOrderingApp.service.util.FoodOrderingUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 
 @CrossOrigin
@@ -39,6 +50,21 @@ public class RestaurantController {
     @Autowired
     private CustomerService customerService;
 
+    @Autowired
+    private AddressService addressService;
+
+    @Autowired
+    private StreamingJsonResponses streamingJsonResponses;
+
+    @Autowired
+    private DaoExecutor daoExecutor;
+
+    @Value("${foodorderingapp.nearby.default-limit:10}")
+    private int defaultNearbyLimit;
+
+    @Value("${foodorderingapp.nearby.max-limit:100}")
+    private int maxNearbyLimit;
+
     /**
      * This method returns the list of all available restaurants with the details
      * No authorization required for this endpoint
@@ -47,11 +73,11 @@ public class RestaurantController {
      */
     @RequestMapping(method = RequestMethod.GET, path = "/restaurant",
             produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
-    public ResponseEntity<RestaurantListResponse> getAllRestaurants() {
+    public ResponseEntity<StreamingResponseBody> getAllRestaurants() {
         // Read restaurants ordered by the ratings of each restaurant
         List<RestaurantEntity> restaurantEntityList = restaurantService.restaurantsByRating();
-        //this will generate the ResponseEntity<RestaurantListResponse>
-        return populateRestaurantList(restaurantEntityList);
+        // The restaurants are written to the response as their categories are read
+        return streamRestaurantList(restaurantEntityList);
     }
 
     /**
@@ -64,11 +90,11 @@ public class RestaurantController {
      */
     @RequestMapping(method = RequestMethod.GET, path = {"/restaurant/name/{restaurant_name}", "/restaurant/name"},
             produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
-    public ResponseEntity<RestaurantListResponse> restaurantsByName(@PathVariable(name = "restaurant_name", required = false)
+    public ResponseEntity<StreamingResponseBody> restaurantsByName(@PathVariable(name = "restaurant_name", required = false)
                                                                             String restaurantName) throws RestaurantNotFoundException {
         List<RestaurantEntity> restaurantEntityList = restaurantService.restaurantsByName(restaurantName);
-        //this will generate the ResponseEntity<RestaurantListResponse>
-        return populateRestaurantList(restaurantEntityList);
+        // The restaurants are written to the response as their categories are read
+        return streamRestaurantList(restaurantEntityList);
     }
 
 
@@ -83,33 +109,82 @@ public class RestaurantController {
      */
     @RequestMapping(method = RequestMethod.GET, path = {"/restaurant/category/{category_id}", "/restaurant/category"},
             produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
-    public ResponseEntity<RestaurantListResponse> restaurantByCategory(@PathVariable(name = "category_id", required = false)
+    public ResponseEntity<StreamingResponseBody> restaurantByCategory(@PathVariable(name = "category_id", required = false)
                                                                                String categoryId) throws CategoryNotFoundException {
         List<RestaurantEntity> restaurantsListByCategory = restaurantService.restaurantByCategory(categoryId);
-        //this will generate the ResponseEntity<RestaurantListResponse>
-        return populateRestaurantList(restaurantsListByCategory);
+        // The restaurants are written to the response as their categories are read
+        return streamRestaurantList(restaurantsListByCategory);
     }
 
 
     /**
      * This method is used to find list of  all the restaurants based upon restaurant uuid passed
      * This method request restaurant uuid from the customer as a path variable
+     * The restaurant and its categories are read in parallel, then the items of every category in parallel, on the
+     * DAO executor. The request thread is released while they run
      *
      * @param restaurantUuid The restaurant uuid passed in the path variable
-     * @return Restaurant Details with all the items grouped by category
-     * @throws RestaurantNotFoundException If the restaurant id field entered by the customer is empty or
-     *                                     If there is no restaurant by the uuid entered by the customer
+     * @return Restaurant Details with all the items grouped by category, completed with a RestaurantNotFoundException
+     * If the restaurant id field entered by the customer is empty or If there is no restaurant by the uuid entered by
+     * the customer
      */
     @RequestMapping(method = RequestMethod.GET, path = "/restaurant/{restaurant_id}",
             produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
-    public ResponseEntity<RestaurantDetailsResponse> restaurantByUUID(@PathVariable(name = "restaurant_id", required = false)
-                                                                              String restaurantUuid) throws RestaurantNotFoundException {
-        RestaurantEntity restaurantEntity = restaurantService.restaurantByUUID(restaurantUuid);
-
-        RestaurantDetailsResponse restaurantDetailsResponse = populateRestaurantDetailsResponse(restaurantEntity);
-
-        return new ResponseEntity<RestaurantDetailsResponse>(restaurantDetailsResponse, HttpStatus.OK);
+    public DeferredResult<ResponseEntity<RestaurantDetailsResponse>> restaurantByUUID(@PathVariable(name = "restaurant_id", required = false)
+                                                                                              String restaurantUuid) {
+        CompletableFuture<RestaurantEntity> restaurant = daoExecutor.submit("restaurant",
+                () -> restaurantService.restaurantByUUID(restaurantUuid));
+        // The items are only read once the restaurant is found, an unknown restaurant doesn't fan out to item lookups
+        CompletableFuture<List<CategoryList>> categories = daoExecutor.submit("restaurant categories",
+                () -> categoryService.getCategoriesByRestaurant(restaurantUuid))
+                .thenCombine(restaurant, (restaurantCategories, restaurantEntity) -> restaurantCategories)
+                .thenCompose(restaurantCategories -> populateCategoryLists(restaurantUuid, restaurantCategories));
+
+        return toDeferredResult(restaurant.thenCombine(categories, (restaurantEntity, categoryLists) ->
+                new ResponseEntity<RestaurantDetailsResponse>(populateRestaurantDetailsResponse(restaurantEntity, categoryLists), HttpStatus.OK)));
+    }
 
+    /**
+     * This method is used to find the restaurants nearest to one of the saved addresses of the customer
+     * The restaurants are searched in the spatial index of the restaurant locations, nearest first
+     * Only the restaurants within the radius are returned when a radius is passed
+     *
+     * @param authorization The Bearer authorization token from the headers
+     * @param addressUuid   The uuid of the address of the customer to search around
+     * @param limit         The maximum number of restaurants to return
+     * @param radiusKm      The maximum distance of the restaurants from the address in kilometers
+     * @return List of the restaurants nearby the address with their distance, nearest first
+     * @throws AuthorizationFailedException If the token is invalid or expired or not present in Database or
+     *                                      If the address doesn't belong to the customer
+     * @throws AddressNotFoundException     If there is no address by the uuid or no location for its pincode
+     */
+    @RequestMapping(method = RequestMethod.GET, path = "/restaurant/nearby/{address_id}",
+            produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
+    public ResponseEntity<NearbyRestaurantListResponse> restaurantsNearby(@RequestHeader("authorization") final String authorization,
+                                                                          @PathVariable(name = "address_id") String addressUuid,
+                                                                          @RequestParam(name = "limit", required = false) Integer limit,
+                                                                          @RequestParam(name = "radius_km", required = false) Double radiusKm)
+            throws AuthorizationFailedException, AddressNotFoundException {
+        if (limit != null && (limit < 1 || limit > maxNearbyLimit)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit should be between 1 and " + maxNearbyLimit);
+        }
+        if (radiusKm != null && !(radiusKm > 0)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Radius should be greater than 0");
+        }
+        CustomerEntity customer = customerService.getCustomer(FoodOrderingUtil.decodeBearerToken(authorization));
+        AddressEntity address = addressService.getAddressByUUID(addressUuid, customer);
+
+        List<GeoNeighbor<RestaurantEntity>> restaurants = restaurantService.restaurantsNearby(address,
+                limit != null ? limit : defaultNearbyLimit, radiusKm != null ? radiusKm : Double.POSITIVE_INFINITY);
+        List<NearbyRestaurantList> nearbyRestaurants = new ArrayList<NearbyRestaurantList>();
+        for (GeoNeighbor<RestaurantEntity> restaurant : restaurants) {
+            // Distance rounded to 2 decimal places
+            nearbyRestaurants.add(new NearbyRestaurantList().restaurant(populateRestaurant(restaurant.getValue()))
+                    .distanceKm(BigDecimal.valueOf(restaurant.getDistanceKm()).setScale(2, BigDecimal.ROUND_HALF_UP)));
+        }
+        NearbyRestaurantListResponse response = new NearbyRestaurantListResponse();
+        response.setRestaurants(nearbyRestaurants);
+        return new ResponseEntity<NearbyRestaurantListResponse>(response, HttpStatus.OK);
     }
 
     /**
@@ -143,69 +218,71 @@ public class RestaurantController {
     }
 
     /**
-     * Populate ResponseEntity of type RestaurantListResponse which consists of restaurant list retrieved from data base
+     * Streams the restaurants as a RestaurantListResponse, writing every restaurant as soon as its categories are read
      *
      * @param restaurantEntityList The list of restaurants pulled from Database
-     * @return Response Entity of type RestaurantListResponse
+     * @return Response Entity streaming the RestaurantListResponse
      */
-    private ResponseEntity<RestaurantListResponse> populateRestaurantList(List<RestaurantEntity> restaurantEntityList) {
+    private ResponseEntity<StreamingResponseBody> streamRestaurantList(final List<RestaurantEntity> restaurantEntityList) {
+        return streamingJsonResponses.list("restaurants", writer -> {
+            // If restaurantEntityList is empty then just write an empty array
+            if (restaurantEntityList != null) {
+                for (RestaurantEntity restaurantEntity : restaurantEntityList) {
+                    writer.writeRestaurant(restaurantEntity, categoryService.getCategoriesByRestaurant(restaurantEntity.getUuid()));
+                }
+            }
+        });
+    }
 
-        List<RestaurantList> restaurantsList = new ArrayList<RestaurantList>();
+    /**
+     * This method gets the Restaurant Entity and converts to RestaurantList with the categories of the restaurant
+     *
+     * @param restaurantEntity The restaurant Entity fetched from database
+     * @return Restaurant List item of the response
+     */
+    private RestaurantList populateRestaurant(RestaurantEntity restaurantEntity) {
+        RestaurantDetailsResponseAddress responseAddress = new RestaurantDetailsResponseAddress();
 
-        // If restaurantEntityList is empty then just return empty array with HTTP status OK
-        if (restaurantEntityList == null || restaurantEntityList.isEmpty()) {
-            RestaurantListResponse response = new RestaurantListResponse();
-            response.setRestaurants(restaurantsList);
-            return new ResponseEntity<RestaurantListResponse>(response, HttpStatus.OK);
+        // For each restaurant, retrieve the list of categories
+        restaurantEntity.setCategories(categoryService.getCategoriesByRestaurant(restaurantEntity.getUuid()));
 
-        }
+        // Frame the address in response
+        AddressEntity restaurantAddress = restaurantEntity.getAddress();
+        responseAddress.id(UUID.fromString(restaurantAddress.getUuid())).flatBuildingName(restaurantAddress.getFlatBuilNo())
+                .locality(restaurantAddress.getLocality()).city(restaurantAddress.getCity()).pincode(restaurantAddress.getPincode());
 
-        for (RestaurantEntity restaurantEntity : restaurantEntityList) {
-            RestaurantDetailsResponseAddress responseAddress = new RestaurantDetailsResponseAddress();
-
-            // For each restaurant, retrieve the list of categories
-            restaurantEntity.setCategories(categoryService.getCategoriesByRestaurant(restaurantEntity.getUuid()));
-
-            // Frame the address in response
-            AddressEntity restaurantAddress = restaurantEntity.getAddress();
-            responseAddress.id(UUID.fromString(restaurantAddress.getUuid())).flatBuildingName(restaurantAddress.getFlatBuilNo())
-                    .locality(restaurantAddress.getLocality()).city(restaurantAddress.getCity()).pincode(restaurantAddress.getPincode());
-
-            // Frame the state details in the response
-            RestaurantDetailsResponseAddressState state = new RestaurantDetailsResponseAddressState();
-            state.id(UUID.fromString(restaurantAddress.getState().getUuid())).stateName(restaurantAddress.getState().getStateName());
-            responseAddress.state(state);
-
-            RestaurantList restaurantList = new RestaurantList();
-            // Add restaurant details to the response object
-            restaurantList.id(UUID.fromString(restaurantEntity.getUuid())).restaurantName(restaurantEntity.getRestaurantName())
-                    .address(responseAddress).photoURL(restaurantEntity.getPhotoUrl()).customerRating(BigDecimal.valueOf(restaurantEntity.getCustomerRating()))
-                    .averagePrice(restaurantEntity.getAvgPrice()).numberCustomersRated(restaurantEntity.getNumberCustomersRated());
-
-            List<CategoryEntity> restaurantCategories = restaurantEntity.getCategories();
-            StringBuilder sb = new StringBuilder();
-            // Iterate to add list of categories combined to a single String separated by , and space
-            for (int index = 0; index < restaurantCategories.size(); index++) {
-                sb.append(restaurantCategories.get(index).getCategoryName());
-                if (index < restaurantCategories.size() - 1) {
-                    sb.append(",").append(" ");
-                }
+        // Frame the state details in the response
+        RestaurantDetailsResponseAddressState state = new RestaurantDetailsResponseAddressState();
+        state.id(UUID.fromString(restaurantAddress.getState().getUuid())).stateName(restaurantAddress.getState().getStateName());
+        responseAddress.state(state);
+
+        RestaurantList restaurantList = new RestaurantList();
+        // Add restaurant details to the response object
+        restaurantList.id(UUID.fromString(restaurantEntity.getUuid())).restaurantName(restaurantEntity.getRestaurantName())
+                .address(responseAddress).photoURL(restaurantEntity.getPhotoUrl()).customerRating(BigDecimal.valueOf(restaurantEntity.getCustomerRating()))
+                .averagePrice(restaurantEntity.getAvgPrice()).numberCustomersRated(restaurantEntity.getNumberCustomersRated());
+
+        List<CategoryEntity> restaurantCategories = restaurantEntity.getCategories();
+        StringBuilder sb = new StringBuilder();
+        // Iterate to add list of categories combined to a single String separated by , and space
+        for (int index = 0; index < restaurantCategories.size(); index++) {
+            sb.append(restaurantCategories.get(index).getCategoryName());
+            if (index < restaurantCategories.size() - 1) {
+                sb.append(",").append(" ");
             }
-            restaurantList.categories(sb.toString());
-            restaurantsList.add(restaurantList);
         }
-        RestaurantListResponse response = new RestaurantListResponse();
-        response.setRestaurants(restaurantsList);
-        return new ResponseEntity<RestaurantListResponse>(response, HttpStatus.OK);
+        restaurantList.categories(sb.toString());
+        return restaurantList;
     }
 
     /**
      * This method gets the Restaurant Entity and converts to RestaurantDetailResponse
      *
      * @param restaurantEntity The restaurant Entity fetched from database
+     * @param categoryLists    The categories of the restaurant with their items
      * @return Restaurant Detail Response
      */
-    private RestaurantDetailsResponse populateRestaurantDetailsResponse(RestaurantEntity restaurantEntity) {
+    private RestaurantDetailsResponse populateRestaurantDetailsResponse(RestaurantEntity restaurantEntity, List<CategoryList> categoryLists) {
         // Frame the address in response
         AddressEntity restaurantAddress = restaurantEntity.getAddress();
 
@@ -225,32 +302,78 @@ public class RestaurantController {
                 .address(responseAddress).photoURL(restaurantEntity.getPhotoUrl()).customerRating(BigDecimal.valueOf(restaurantEntity.getCustomerRating()))
                 .averagePrice(restaurantEntity.getAvgPrice()).numberCustomersRated(restaurantEntity.getNumberCustomersRated());
 
-        // Get the list of all categories for the restaurant uuid passed
-        List<CategoryEntity> restaurantCategories = categoryService.getCategoriesByRestaurant(restaurantEntity.getUuid());
+        restaurantDetailsResponse.categories(categoryLists);
+
+        return restaurantDetailsResponse;
+    }
 
-        // Frame category List Response
-        List<CategoryList> categoryListArrayList = new ArrayList<>();
+    /**
+     * Reads the items of every category of the restaurant in parallel and frames the category lists of the response
+     *
+     * @param restaurantUuid       The uuid of the restaurant
+     * @param restaurantCategories The categories of the restaurant
+     * @return The category lists with their items, in the order of the categories
+     */
+    private CompletableFuture<List<CategoryList>> populateCategoryLists(String restaurantUuid, List<CategoryEntity> restaurantCategories) {
+        List<CompletableFuture<CategoryList>> categoryLists = new ArrayList<CompletableFuture<CategoryList>>();
         for (CategoryEntity category : restaurantCategories) {
-            // Creating a category list
-            CategoryList categoryList = new CategoryList();
-            // Frame category list
-            categoryList.id(UUID.fromString(category.getUuid())).categoryName(category.getCategoryName());
-            // Getting List of Item Entities from data base
-            List<ItemEntity> itemEntities = itemService.getItemsByCategoryAndRestaurant(restaurantEntity.getUuid(), category.getUuid());
-            // Frame Item list
-            List<ItemList> itemListArrayList = new ArrayList<>();
-            for (ItemEntity itemEntity : itemEntities) {
-                ItemList itemList = new ItemList();
-                itemList.id(UUID.fromString(itemEntity.getUuid())).itemName(itemEntity.getItemName()).price(itemEntity.getPrice()).
-                        itemType(ItemList.ItemTypeEnum.fromValue(itemEntity.getType().toString()));
-                itemListArrayList.add(itemList);
+            categoryLists.add(daoExecutor.submit("category items",
+                    () -> itemService.getItemsByCategoryAndRestaurant(restaurantUuid, category.getUuid()))
+                    .thenApply(itemEntities -> populateCategoryList(category, itemEntities)));
+        }
+        return CompletableFuture.allOf(categoryLists.toArray(new CompletableFuture<?>[0])).thenApply(done -> {
+            // Frame category List Response
+            List<CategoryList> categoryListArrayList = new ArrayList<>();
+            for (CompletableFuture<CategoryList> categoryList : categoryLists) {
+                categoryListArrayList.add(categoryList.join());
             }
-            categoryList.itemList(itemListArrayList);
-            // Add categoryList to List<categoryList>
-            categoryListArrayList.add(categoryList);
+            return categoryListArrayList;
+        });
+    }
+
+    /**
+     * This method converts the category and its items to the CategoryList of the RestaurantDetailResponse
+     *
+     * @param category    The category of the restaurant
+     * @param itemEntities The items of the restaurant in the category
+     * @return Category List with its items
+     */
+    private CategoryList populateCategoryList(CategoryEntity category, List<ItemEntity> itemEntities) {
+        // Creating a category list
+        CategoryList categoryList = new CategoryList();
+        // Frame category list
+        categoryList.id(UUID.fromString(category.getUuid())).categoryName(category.getCategoryName());
+        // Frame Item list
+        List<ItemList> itemListArrayList = new ArrayList<>();
+        for (ItemEntity itemEntity : itemEntities) {
+            ItemList itemList = new ItemList();
+            itemList.id(UUID.fromString(itemEntity.getUuid())).itemName(itemEntity.getItemName()).price(itemEntity.getPrice()).
+                    itemType(ItemList.ItemTypeEnum.fromValue(itemEntity.getType().toString()));
+            itemListArrayList.add(itemList);
         }
-        restaurantDetailsResponse.categories(categoryListArrayList);
+        categoryList.itemList(itemListArrayList);
+        return categoryList;
+    }
 
-        return restaurantDetailsResponse;
+    /**
+     * Completes the response of the request with the result of the lookups, or with the exception the lookups failed
+     * with, so that it is handled by the RestExceptionHandler
+     *
+     * @param response The response completed by the lookups
+     * @param <T>      The type of the response
+     * @return The DeferredResult of the request
+     */
+    private static <T> DeferredResult<T> toDeferredResult(CompletableFuture<T> response) {
+        DeferredResult<T> deferredResult = new DeferredResult<T>();
+        response.whenComplete((result, exception) -> {
+            if (exception == null) {
+                deferredResult.setResult(result);
+            } else {
+                // The dependent stages wrap the exception of the lookup
+                deferredResult.setErrorResult(exception instanceof CompletionException && exception.getCause() != null
+                        ? exception.getCause() : exception);
+            }
+        });
+        return deferredResult;
     }
-}
\ No newline at end of file
+}
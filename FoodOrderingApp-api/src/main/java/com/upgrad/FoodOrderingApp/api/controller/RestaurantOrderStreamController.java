@@ -0,0 +1,151 @@
+package com.upgrad.FoodOrderingApp.api.controller;
+
+import com.upgrad.FoodOrderingApp.api.config.OrderStreamAuthorizationInterceptor;
+import com.upgrad.FoodOrderingApp.api.model.RestaurantOrderEvent;
+import com.upgrad.FoodOrderingApp.service.async.DaoExecutor;
+import com.upgrad.FoodOrderingApp.service.business.RestaurantService;
+import com.upgrad.FoodOrderingApp.service.event.OrderFeed;
+import com.upgrad.FoodOrderingApp.service.event.OrderPlacedEvent;
+import com.upgrad.FoodOrderingApp.service.exception.RestaurantNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+
+@CrossOrigin
+@RestController
+public class RestaurantOrderStreamController {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RestaurantOrderStreamController.class);
+
+    @Autowired
+    private RestaurantService restaurantService;
+
+    @Autowired
+    private OrderFeed orderFeed;
+
+    @Autowired
+    private DaoExecutor daoExecutor;
+
+    @Autowired
+    private OrderStreamAuthorizationInterceptor orderStreamAuthorizationInterceptor;
+
+    /**
+     * Streams the orders placed at the restaurant from now on as Server-Sent Events, instead of polling the orders
+     * The request is held open on the async support of the servlet container without a thread, the orders are written
+     * by the threads of the order feed once they are committed. The stream is closed when the client falls behind by
+     * the buffer capacity of the feed, when a write blocks for longer than the write timeout of the feed and on the
+     * async request timeout, EventSource clients then connect again
+     * The restaurant is looked up on the DAO executor, so that the EntityManager kept open for the view of the request
+     * never holds a connection for as long as the stream is open, and the servlet thread is released before the lookup
+     * Only accessible with the stream token of the restaurant
+     *
+     * @param restaurantUuid The uuid of the restaurant to stream the orders of
+     * @return The emitter of the order events, named order with the order uuid as event id, once the restaurant is
+     * found. Completed with a RestaurantNotFoundException if the restaurant uuid passed doesn't match with Database
+     * records, or a TimeoutException if the lookup doesn't complete in time
+     */
+    @RequestMapping(method = RequestMethod.GET, path = "/restaurant/{restaurant_id}/orders/stream")
+    public DeferredResult<SseEmitter> streamRestaurantOrders(@PathVariable("restaurant_id") String restaurantUuid) {
+        DeferredResult<SseEmitter> deferredResult = new DeferredResult<SseEmitter>();
+        daoExecutor.submit("restaurant", () -> restaurantService.restaurantByUUID(restaurantUuid))
+                .thenApply(restaurant -> subscribe(restaurantUuid))
+                .whenComplete((emitter, exception) -> {
+                    if (exception == null) {
+                        deferredResult.setResult(emitter);
+                    } else {
+                        // Completed with the exception of the lookup, handled by the RestExceptionHandler
+                        deferredResult.setErrorResult(exception instanceof CompletionException && exception.getCause() != null
+                                ? exception.getCause() : exception);
+                    }
+                });
+        return deferredResult;
+    }
+
+    /**
+     * Issues the stream token a restaurant opens the stream of its orders with, derived from the stream secret
+     * Only accessible with the admin access token
+     *
+     * @param restaurantUuid The uuid of the restaurant
+     * @return The restaurant uuid and its stream token
+     * @throws RestaurantNotFoundException If the restaurant uuid passed doesn't match with Database records
+     */
+    @RequestMapping(method = RequestMethod.GET, path = "/admin/restaurant/{restaurant_id}/orders/stream/token",
+            produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
+    public ResponseEntity<Map<String, Object>> getOrderStreamToken(@PathVariable("restaurant_id") String restaurantUuid)
+            throws RestaurantNotFoundException {
+        restaurantService.restaurantByUUID(restaurantUuid);
+        Map<String, Object> streamToken = new LinkedHashMap<String, Object>();
+        streamToken.put("restaurant_id", restaurantUuid);
+        streamToken.put("stream_token", orderStreamAuthorizationInterceptor.getStreamToken(restaurantUuid));
+        return new ResponseEntity<Map<String, Object>>(streamToken, HttpStatus.OK);
+    }
+
+    /**
+     * Retrieves the subscribers of the order streams along with the orders published and delivered to them and the
+     * subscribers dropped for falling behind
+     * Only accessible with the admin access token
+     *
+     * @return The order feed statistics
+     */
+    @RequestMapping(method = RequestMethod.GET, path = "/admin/restaurant/orders/stream/statistics",
+            produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
+    public ResponseEntity<Map<String, Object>> getOrderStreamStatistics() {
+        return new ResponseEntity<Map<String, Object>>(orderFeed.getStatistics(), HttpStatus.OK);
+    }
+
+    // Times out with spring.mvc.async.request-timeout
+    private SseEmitter subscribe(String restaurantUuid) {
+        final SseEmitter emitter = new SseEmitter();
+        final OrderFeed.Subscription subscription = orderFeed.subscribe(restaurantUuid, new OrderFeed.OrderSubscriber() {
+            @Override
+            public void onOrderPlaced(OrderPlacedEvent event) throws Exception {
+                emitter.send(SseEmitter.event().id(event.getOrderUuid()).name("order")
+                        .data(toRestaurantOrderEvent(event), MediaType.APPLICATION_JSON));
+            }
+
+            @Override
+            public void onHeartbeat() throws Exception {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            }
+
+            @Override
+            public void onDropped() {
+                emitter.complete();
+            }
+        });
+        emitter.onCompletion(subscription::cancel);
+        emitter.onTimeout(subscription::cancel);
+        emitter.onError(exception -> subscription.cancel());
+        return emitter;
+    }
+
+    /**
+     * Ends the stream of a client that is gone, found by the write of an order or a heartbeat failing. The container
+     * completes the request with the failure of the write, there's no response left to write it to
+     *
+     * @param exception The failure of the write
+     */
+    @ExceptionHandler(IOException.class)
+    public void orderStreamClosed(IOException exception) {
+        LOGGER.debug("Order stream closed by the client: {}", exception.getMessage());
+    }
+
+    private static RestaurantOrderEvent toRestaurantOrderEvent(OrderPlacedEvent event) {
+        return new RestaurantOrderEvent().id(UUID.fromString(event.getOrderUuid()))
+                .customerId(event.getCustomerUuid() == null ? null : UUID.fromString(event.getCustomerUuid()))
+                .bill(BigDecimal.valueOf(event.getBill())).date(event.getDate().toInstant().toString());
+    }
+}
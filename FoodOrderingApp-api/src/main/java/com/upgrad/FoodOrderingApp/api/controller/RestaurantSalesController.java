@@ -0,0 +1,103 @@
+package com.upgrad.FoodOrderingApp.api.controller;
+
+import com.upgrad.FoodOrderingApp.api.model.RebuildSalesResponse;
+import com.upgrad.FoodOrderingApp.api.model.RestaurantSalesBucket;
+import com.upgrad.FoodOrderingApp.api.model.RestaurantSalesResponse;
+import com.upgrad.FoodOrderingApp.service.business.SalesRollupService;
+import com.upgrad.FoodOrderingApp.service.exception.RestaurantNotFoundException;
+import com.upgrad.FoodOrderingApp.service.sales.SalesBucket;
+import com.upgrad.FoodOrderingApp.service.sales.SalesGranularity;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+@CrossOrigin
+@RestController
+public class RestaurantSalesController {
+
+    private static final DateTimeFormatter BUCKET_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    @Autowired
+    private SalesRollupService salesRollupService;
+
+    /**
+     * Retrieves the order count, revenue and average bill of the restaurant with in the date range
+     * The sales are summed from the hourly and daily rollups, so the orders table is never scanned
+     * Only accessible with the admin access token
+     *
+     * @param restaurantUuid The uuid of the restaurant to retrieve the sales of
+     * @param granularity    The size of the sales buckets, one of hour, day (default) or month
+     * @param from           The first date of the range, inclusive
+     * @param to             The last date of the range, inclusive
+     * @return The sales buckets of the restaurant along with the total over the range
+     * @throws RestaurantNotFoundException If the restaurant uuid passed doesn't match with Database records
+     */
+    @RequestMapping(method = RequestMethod.GET, path = "/admin/restaurant/{restaurant_id}/sales",
+            produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
+    public ResponseEntity<RestaurantSalesResponse> getRestaurantSales(@PathVariable("restaurant_id") String restaurantUuid,
+                                                                      @RequestParam(name = "granularity", defaultValue = "day") String granularity,
+                                                                      @RequestParam(name = "from")
+                                                                      @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                      @RequestParam(name = "to")
+                                                                      @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to)
+            throws RestaurantNotFoundException {
+        final SalesGranularity salesGranularity = SalesGranularity.fromValue(granularity);
+        if (salesGranularity == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Granularity should be one of hour, day or month");
+        }
+        if (to.isBefore(from)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "The to date should not be before the from date");
+        }
+        List<SalesBucket> buckets = salesRollupService.getSales(restaurantUuid, salesGranularity,
+                toDate(from), toDate(to.plusDays(1)));
+
+        RestaurantSalesResponse salesResponse = new RestaurantSalesResponse().restaurantId(UUID.fromString(restaurantUuid))
+                .granularity(salesGranularity.getValue());
+        long totalOrders = 0;
+        BigDecimal totalRevenue = BigDecimal.ZERO;
+        for (SalesBucket bucket : buckets) {
+            salesResponse.addSalesItem(toSalesBucket(bucket));
+            totalOrders += bucket.getOrderCount();
+            totalRevenue = totalRevenue.add(bucket.getRevenue());
+        }
+        salesResponse.total(toSalesBucket(new SalesBucket(toDate(from), totalOrders, totalRevenue)));
+        return new ResponseEntity<RestaurantSalesResponse>(salesResponse, HttpStatus.OK);
+    }
+
+    /**
+     * Recomputes the hourly and daily restaurant sales from all the orders in the Database
+     * Only accessible with the admin access token
+     *
+     * @return The number of hourly buckets rebuilt along with the status message
+     */
+    @RequestMapping(method = RequestMethod.POST, path = "/admin/restaurant/sales/rebuild",
+            produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
+    public ResponseEntity<RebuildSalesResponse> rebuildRestaurantSales() {
+        int hourlyBuckets = salesRollupService.rebuildSales();
+        return new ResponseEntity<RebuildSalesResponse>(new RebuildSalesResponse().hourlyBuckets(hourlyBuckets)
+                .status("RESTAURANT SALES SUCCESSFULLY REBUILT"), HttpStatus.OK);
+    }
+
+    private static RestaurantSalesBucket toSalesBucket(SalesBucket bucket) {
+        return new RestaurantSalesBucket()
+                .bucketStart(LocalDateTime.ofInstant(bucket.getBucketStart().toInstant(), ZoneId.systemDefault()).format(BUCKET_FORMAT))
+                .orderCount(bucket.getOrderCount()).revenue(bucket.getRevenue()).averageBill(bucket.getAverageBill());
+    }
+
+    private static Date toDate(LocalDate date) {
+        return Date.from(date.atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+}
@@ -0,0 +1,43 @@
+package com.upgrad.FoodOrderingApp.api.controller;
+
+import com.upgrad.FoodOrderingApp.service.sql.SqlStatistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+public class SqlStatisticsController {
+
+    @Autowired
+    private SqlStatistics sqlStatistics;
+
+    /**
+     * Retrieves the call count, row count and latency percentiles of every query, and the number of statements
+     * per request of every route
+     * Only accessible with the admin access token
+     *
+     * @return The SQL statistics per query and per route
+     */
+    @RequestMapping(method = RequestMethod.GET, path = "/admin/sql/statistics", produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
+    public ResponseEntity<Map<String, Object>> getSqlStatistics() {
+        return new ResponseEntity<Map<String, Object>>(sqlStatistics.getStatistics(), HttpStatus.OK);
+    }
+
+    /**
+     * Resets the SQL statistics, to measure the queries over a time window
+     * Only accessible with the admin access token
+     *
+     * @return The SQL statistics after the reset
+     */
+    @RequestMapping(method = RequestMethod.DELETE, path = "/admin/sql/statistics", produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
+    public ResponseEntity<Map<String, Object>> resetSqlStatistics() {
+        sqlStatistics.reset();
+        return new ResponseEntity<Map<String, Object>>(sqlStatistics.getStatistics(), HttpStatus.OK);
+    }
+}
@@ -0,0 +1,31 @@
+package com.upgrad.FoodOrderingApp.api.controller;
+
+import com.upgrad.FoodOrderingApp.api.startup.StartupReport;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+public class StartupReportController {
+
+    @Autowired
+    private StartupReport startupReport;
+
+    /**
+     * Retrieves the time spent in every phase of the start of the application and in the creation of every bean, from
+     * the slowest bean
+     * Only accessible with the admin access token
+     *
+     * @return The startup report
+     */
+    @RequestMapping(method = RequestMethod.GET, path = "/admin/startup", produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
+    public ResponseEntity<Map<String, Object>> getStartupReport() {
+        return new ResponseEntity<Map<String, Object>>(startupReport.toMap(), HttpStatus.OK);
+    }
+}
@@ -1,6 +1,7 @@
 package com.upgrad.FoodOrderingApp.api.exception;
 
 import com.upgrad.FoodOrderingApp.api.model.ErrorResponse;
+import com.upgrad.FoodOrderingApp.service.common.GenericErrorCode;
 import com.upgrad.FoodOrderingApp.service.exception.*;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -8,6 +9,9 @@ import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
 
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+
 @ControllerAdvice
 public class RestExceptionHandler {
 
@@ -189,4 +193,34 @@ public class RestExceptionHandler {
                 new ErrorResponse().code(exception.getCode()).message(exception.getErrorMessage()), HttpStatus.BAD_REQUEST
         );
     }
-}
\ No newline at end of file
+
+    /**
+     * Global Exception handler for the Database lookups rejected because the DAO executor is saturated
+     *
+     * @param exception The Rejected Execution Exception of the lookup
+     * @param request   The web request information if any to be used while framing the response
+     * @return The Error Response consisting of the Http status code and an error message
+     */
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<ErrorResponse> rejectedExecutionException(RejectedExecutionException exception, WebRequest request) {
+        return new ResponseEntity<ErrorResponse>(
+                new ErrorResponse().code(GenericErrorCode.GEN_002.getCode()).message(GenericErrorCode.GEN_002.getDefaultMessage()),
+                HttpStatus.SERVICE_UNAVAILABLE
+        );
+    }
+
+    /**
+     * Global Exception handler for the Database lookups that didn't complete within their timeout
+     *
+     * @param exception The Timeout Exception of the lookup
+     * @param request   The web request information if any to be used while framing the response
+     * @return The Error Response consisting of the Http status code and an error message
+     */
+    @ExceptionHandler(TimeoutException.class)
+    public ResponseEntity<ErrorResponse> timeoutException(TimeoutException exception, WebRequest request) {
+        return new ResponseEntity<ErrorResponse>(
+                new ErrorResponse().code(GenericErrorCode.GEN_003.getCode()).message(GenericErrorCode.GEN_003.getDefaultMessage()),
+                HttpStatus.GATEWAY_TIMEOUT
+        );
+    }
+}
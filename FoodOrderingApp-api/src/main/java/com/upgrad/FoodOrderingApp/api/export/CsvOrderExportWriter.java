@@ -0,0 +1,100 @@
+package com.upgrad.FoodOrderingApp.api.export;
+
+import com.upgrad.FoodOrderingApp.service.export.OrderExportItem;
+import com.upgrad.FoodOrderingApp.service.export.OrderExportRecord;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes one CSV row per ordered item, repeating the order columns on each row
+ * Orders without any items are written as a single row with empty item columns
+ */
+public class CsvOrderExportWriter extends OrderExportWriter {
+
+    private static final String HEADER = "order_id,date,restaurant_id,restaurant_name,customer_id,bill,discount," +
+            "coupon_name,payment_name,item_id,item_name,quantity,price";
+
+    private final Writer writer;
+
+    private int written;
+
+    public CsvOrderExportWriter(OutputStream outputStream) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void start() throws IOException {
+        writer.write(HEADER);
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void handle(OrderExportRecord record) throws IOException {
+        if (record.getItems().isEmpty()) {
+            writeRow(record, null);
+        } else {
+            for (OrderExportItem item : record.getItems()) {
+                writeRow(record, item);
+            }
+        }
+        if (++written % FLUSH_INTERVAL == 0) {
+            writer.flush();
+        }
+    }
+
+    @Override
+    public void finish() throws IOException {
+        writer.flush();
+    }
+
+    private void writeRow(OrderExportRecord record, OrderExportItem item) throws IOException {
+        writeValue(record.getUuid());
+        writer.write(',');
+        writeValue(record.getDate().toInstant().toString());
+        writer.write(',');
+        writeValue(record.getRestaurantUuid());
+        writer.write(',');
+        writeValue(record.getRestaurantName());
+        writer.write(',');
+        writeValue(record.getCustomerUuid());
+        writer.write(',');
+        writeValue(record.getBill());
+        writer.write(',');
+        writeValue(record.getDiscount());
+        writer.write(',');
+        writeValue(record.getCouponName());
+        writer.write(',');
+        writeValue(record.getPaymentName());
+        writer.write(',');
+        writeValue(item != null ? item.getItemUuid() : null);
+        writer.write(',');
+        writeValue(item != null ? item.getItemName() : null);
+        writer.write(',');
+        writeValue(item != null ? item.getQuantity() : null);
+        writer.write(',');
+        writeValue(item != null ? item.getPrice() : null);
+        writer.write("\r\n");
+    }
+
+    /**
+     * Writes a single value, quoting it as per RFC 4180 if it contains a separator, quote or line break
+     */
+    private void writeValue(Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,35 @@
+package com.upgrad.FoodOrderingApp.api.export;
+
+/**
+ * The formats in which orders can be exported
+ */
+public enum ExportFormat {
+    NDJSON("application/x-ndjson"),
+
+    CSV("text/csv");
+
+    private String contentType;
+
+    ExportFormat(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * Looks up the export format by name ignoring the case
+     *
+     * @param value The name of the format passed in the request
+     * @return The matched export format, null if no format matches
+     */
+    public static ExportFormat fromValue(String value) {
+        for (ExportFormat format : ExportFormat.values()) {
+            if (format.name().equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        return null;
+    }
+}
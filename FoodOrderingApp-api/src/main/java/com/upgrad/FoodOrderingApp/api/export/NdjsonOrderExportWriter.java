@@ -0,0 +1,74 @@
+package com.upgrad.FoodOrderingApp.api.export;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.upgrad.FoodOrderingApp.service.export.OrderExportItem;
+import com.upgrad.FoodOrderingApp.service.export.OrderExportRecord;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes one JSON object per order per line, with the items of the order nested in it
+ */
+public class NdjsonOrderExportWriter extends OrderExportWriter {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final JsonGenerator generator;
+
+    private int written;
+
+    public NdjsonOrderExportWriter(OutputStream outputStream) throws IOException {
+        this.generator = JSON_FACTORY.createGenerator(outputStream, JsonEncoding.UTF8);
+        this.generator.setRootValueSeparator(null);
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    @Override
+    public void start() {
+    }
+
+    @Override
+    public void handle(OrderExportRecord record) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("id", record.getUuid());
+        generator.writeStringField("date", record.getDate().toInstant().toString());
+        generator.writeStringField("restaurant_id", record.getRestaurantUuid());
+        generator.writeStringField("restaurant_name", record.getRestaurantName());
+        generator.writeStringField("customer_id", record.getCustomerUuid());
+        writeNumberField("bill", record.getBill());
+        writeNumberField("discount", record.getDiscount());
+        generator.writeStringField("coupon_name", record.getCouponName());
+        generator.writeStringField("payment_name", record.getPaymentName());
+        generator.writeArrayFieldStart("item_quantities");
+        for (OrderExportItem item : record.getItems()) {
+            generator.writeStartObject();
+            generator.writeStringField("item_id", item.getItemUuid());
+            generator.writeStringField("item_name", item.getItemName());
+            generator.writeNumberField("quantity", item.getQuantity());
+            generator.writeNumberField("price", item.getPrice());
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+        if (++written % FLUSH_INTERVAL == 0) {
+            generator.flush();
+        }
+    }
+
+    @Override
+    public void finish() throws IOException {
+        generator.close();
+    }
+
+    private void writeNumberField(String name, Double value) throws IOException {
+        if (value == null) {
+            generator.writeNullField(name);
+        } else {
+            generator.writeNumberField(name, value);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.upgrad.FoodOrderingApp.api.export;
+
+import com.upgrad.FoodOrderingApp.service.export.OrderExportHandler;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes the exported orders to the response stream in one of the export formats
+ * Nothing is buffered beyond the writer's own output buffer, so the heap use is the same for any export size
+ */
+public abstract class OrderExportWriter implements OrderExportHandler {
+
+    // Flush every so many orders so the client keeps receiving data on large exports
+    static final int FLUSH_INTERVAL = 256;
+
+    /**
+     * Writes anything that has to precede the orders, like the header row
+     *
+     * @throws IOException If the response stream can't be written
+     */
+    public abstract void start() throws IOException;
+
+    /**
+     * Flushes the remaining output once all the orders are written
+     *
+     * @throws IOException If the response stream can't be written
+     */
+    public abstract void finish() throws IOException;
+
+    /**
+     * Creates the writer for the requested format
+     *
+     * @param format       The format of the export
+     * @param outputStream The response stream to write to
+     * @return The writer for the format
+     * @throws IOException If the writer can't be created on the stream
+     */
+    public static OrderExportWriter create(ExportFormat format, OutputStream outputStream) throws IOException {
+        if (format == ExportFormat.CSV) {
+            return new CsvOrderExportWriter(outputStream);
+        }
+        return new NdjsonOrderExportWriter(outputStream);
+    }
+}
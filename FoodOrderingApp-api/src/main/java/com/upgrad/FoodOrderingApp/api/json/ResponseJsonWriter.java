@@ -0,0 +1,193 @@
+package com.upgrad.FoodOrderingApp.api.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.upgrad.FoodOrderingApp.service.entity.AddressEntity;
+import com.upgrad.FoodOrderingApp.service.entity.CategoryEntity;
+import com.upgrad.FoodOrderingApp.service.entity.CouponEntity;
+import com.upgrad.FoodOrderingApp.service.entity.CustomerEntity;
+import com.upgrad.FoodOrderingApp.service.entity.ItemEntity;
+import com.upgrad.FoodOrderingApp.service.entity.OrderEntity;
+import com.upgrad.FoodOrderingApp.service.entity.OrderItemEntity;
+import com.upgrad.FoodOrderingApp.service.entity.RestaurantEntity;
+import com.upgrad.FoodOrderingApp.service.entity.StateEntity;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Writes the entities of the list responses straight to a JsonGenerator, in the shape of the response models
+ * Fields are written in the order and the format Jackson writes the models in, so the responses are the same bytes as
+ * the serialized models without building the models first
+ */
+public class ResponseJsonWriter {
+
+    private final JsonGenerator generator;
+
+    public ResponseJsonWriter(JsonGenerator generator) {
+        this.generator = generator;
+    }
+
+    /**
+     * Writes the restaurant as a RestaurantList
+     *
+     * @param restaurant The restaurant
+     * @param categories The categories on the menu of the restaurant
+     * @throws IOException If the response stream can't be written
+     */
+    public void writeRestaurant(RestaurantEntity restaurant, List<CategoryEntity> categories) throws IOException {
+        generator.writeStartObject();
+        writeUuidField("id", restaurant.getUuid());
+        generator.writeStringField("restaurant_name", restaurant.getRestaurantName());
+        generator.writeStringField("photo_URL", restaurant.getPhotoUrl());
+        generator.writeFieldName("customer_rating");
+        generator.writeNumber(BigDecimal.valueOf(restaurant.getCustomerRating()));
+        writeNumberField("average_price", restaurant.getAvgPrice());
+        writeNumberField("number_customers_rated", restaurant.getNumberCustomersRated());
+        generator.writeFieldName("address");
+        writeAddress(restaurant.getAddress());
+        // Names of the categories separated by a comma and a space
+        StringBuilder categoryNames = new StringBuilder();
+        for (CategoryEntity category : categories) {
+            if (categoryNames.length() > 0) {
+                categoryNames.append(", ");
+            }
+            categoryNames.append(category.getCategoryName());
+        }
+        generator.writeStringField("categories", categoryNames.toString());
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes the address with its state, the same shape for the address book, the restaurants and the orders
+     *
+     * @param address The address
+     * @throws IOException If the response stream can't be written
+     */
+    public void writeAddress(AddressEntity address) throws IOException {
+        generator.writeStartObject();
+        writeUuidField("id", address.getUuid());
+        generator.writeStringField("flat_building_name", address.getFlatBuilNo());
+        generator.writeStringField("locality", address.getLocality());
+        generator.writeStringField("city", address.getCity());
+        generator.writeStringField("pincode", address.getPincode());
+        StateEntity state = address.getState();
+        generator.writeObjectFieldStart("state");
+        writeUuidField("id", state.getUuid());
+        generator.writeStringField("state_name", state.getStateName());
+        generator.writeEndObject();
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes the order as an OrderList
+     *
+     * @param order      The order
+     * @param orderItems The items of the order
+     * @throws IOException If the response stream can't be written
+     */
+    public void writeOrder(OrderEntity order, List<OrderItemEntity> orderItems) throws IOException {
+        generator.writeStartObject();
+        writeUuidField("id", order.getUuid());
+        generator.writeFieldName("bill");
+        generator.writeNumber(BigDecimal.valueOf(order.getBill()));
+        CouponEntity coupon = order.getCoupon();
+        if (coupon == null) {
+            generator.writeNullField("coupon");
+        } else {
+            generator.writeObjectFieldStart("coupon");
+            writeUuidField("id", coupon.getUuid());
+            generator.writeStringField("coupon_name", coupon.getCouponName());
+            writeNumberField("percent", coupon.getPercent());
+            generator.writeEndObject();
+        }
+        generator.writeFieldName("discount");
+        generator.writeNumber(BigDecimal.valueOf(order.getDiscount() != null ? order.getDiscount() : 0.0));
+        generator.writeStringField("date", order.getDate().toString());
+
+        generator.writeObjectFieldStart("payment");
+        writeUuidField("id", order.getPayment().getUuid());
+        generator.writeStringField("payment_name", order.getPayment().getPaymentName());
+        generator.writeEndObject();
+
+        CustomerEntity customer = order.getCustomer();
+        generator.writeObjectFieldStart("customer");
+        writeUuidField("id", customer.getUuid());
+        generator.writeStringField("first_name", customer.getFirstName());
+        generator.writeStringField("last_name", customer.getLastName());
+        generator.writeStringField("email_address", customer.getEmail());
+        generator.writeStringField("contact_number", customer.getContactNumber());
+        generator.writeEndObject();
+
+        generator.writeFieldName("address");
+        writeAddress(order.getAddress());
+
+        generator.writeArrayFieldStart("item_quantities");
+        if (orderItems != null) {
+            for (OrderItemEntity orderItem : orderItems) {
+                ItemEntity item = orderItem.getItem();
+                generator.writeStartObject();
+                generator.writeObjectFieldStart("item");
+                writeUuidField("id", item.getUuid());
+                generator.writeStringField("item_name", item.getItemName());
+                // The price of the item is reported as the price it was ordered at
+                writeNumberField("item_price", orderItem.getPrice());
+                generator.writeStringField("type", item.getType() != null ? item.getType().getValue() : null);
+                generator.writeEndObject();
+                writeNumberField("quantity", orderItem.getQuantity());
+                writeNumberField("price", orderItem.getPrice());
+                generator.writeEndObject();
+            }
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes the category as a CategoryListResponse, without its items
+     *
+     * @param category The category
+     * @throws IOException If the response stream can't be written
+     */
+    public void writeCategory(CategoryEntity category) throws IOException {
+        generator.writeStartObject();
+        writeUuidField("id", category.getUuid());
+        generator.writeStringField("category_name", category.getCategoryName());
+        generator.writeEndObject();
+    }
+
+    private void writeUuidField(String name, String uuid) throws IOException {
+        generator.writeStringField(name, uuid == null ? null : canonicalUuid(uuid));
+    }
+
+    private void writeNumberField(String name, Integer value) throws IOException {
+        if (value == null) {
+            generator.writeNullField(name);
+        } else {
+            generator.writeNumberField(name, value.intValue());
+        }
+    }
+
+    /**
+     * The models hold the uuids as UUID, written in the lower case hexadecimal form
+     * The uuids stored in that form are written as they are, the others are parsed as the models did
+     *
+     * @param uuid The uuid as stored in the Database
+     * @return The uuid as a UUID is written
+     */
+    static String canonicalUuid(String uuid) {
+        if (uuid.length() != 36) {
+            return UUID.fromString(uuid).toString();
+        }
+        for (int index = 0; index < 36; index++) {
+            char c = uuid.charAt(index);
+            boolean valid = index == 8 || index == 13 || index == 18 || index == 23 ? c == '-'
+                    : (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f');
+            if (!valid) {
+                return UUID.fromString(uuid).toString();
+            }
+        }
+        return uuid;
+    }
+}
@@ -0,0 +1,58 @@
+package com.upgrad.FoodOrderingApp.api.json;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+
+/**
+ * Builds the list responses written to the response stream as the list is read, instead of through response models
+ * The generator is created and configured by the ObjectMapper of the Jackson message converter, so the output is
+ * formatted the same way the message converter formats the models
+ */
+@Component
+public class StreamingJsonResponses {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Creates the response holding a single array field, such as {"restaurants":[...]}
+     * The elements are written on the streaming executor, so anything that can fail with a status code has to be
+     * checked before calling this method
+     *
+     * @param field    The name of the array field
+     * @param elements Writes the elements of the array
+     * @return The OK response streaming the JSON object
+     */
+    public ResponseEntity<StreamingResponseBody> list(final String field, final ListWriter elements) {
+        StreamingResponseBody body = outputStream -> {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream, JsonEncoding.UTF8);
+            objectMapper.getSerializationConfig().initialize(generator);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartObject();
+            generator.writeArrayFieldStart(field);
+            elements.write(new ResponseJsonWriter(generator));
+            generator.writeEndArray();
+            generator.writeEndObject();
+            generator.close();
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON_UTF8).body(body);
+    }
+
+    @FunctionalInterface
+    public interface ListWriter {
+
+        /**
+         * @param writer Writes the entities to the array of the response
+         * @throws IOException If the response stream can't be written
+         */
+        void write(ResponseJsonWriter writer) throws IOException;
+    }
+}
@@ -0,0 +1,60 @@
+package com.upgrad.FoodOrderingApp.api.metrics;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram with fixed bucket bounds, in the form of a Prometheus histogram
+ * Every bucket is a LongAdder, recording never locks and threads recording at once don't contend on a single counter
+ */
+class BucketHistogram {
+
+    // Inclusive upper bound of every bucket, the last bucket is unbounded
+    private final long[] upperBounds;
+    private final LongAdder[] buckets;
+    private final LongAdder sum = new LongAdder();
+
+    BucketHistogram(long... upperBounds) {
+        this.upperBounds = upperBounds.clone();
+        this.buckets = new LongAdder[upperBounds.length + 1];
+        for (int index = 0; index < buckets.length; index++) {
+            buckets[index] = new LongAdder();
+        }
+    }
+
+    void record(long value) {
+        int bucket = Arrays.binarySearch(upperBounds, value);
+        // A value between two bounds goes to the bucket of the next bound
+        buckets[bucket >= 0 ? bucket : -bucket - 1].increment();
+        sum.add(value);
+    }
+
+    long[] getUpperBounds() {
+        return upperBounds.clone();
+    }
+
+    /**
+     * @return The number of values up to every bound, the last one being the count of all the values, so that the
+     * buckets of a scrape never decrease from one bucket to the next
+     */
+    long[] cumulativeCounts() {
+        long[] counts = new long[buckets.length];
+        long count = 0;
+        for (int index = 0; index < buckets.length; index++) {
+            count += buckets[index].sum();
+            counts[index] = count;
+        }
+        return counts;
+    }
+
+    long getSum() {
+        return sum.sum();
+    }
+
+    void reset() {
+        for (LongAdder bucket : buckets) {
+            bucket.reset();
+        }
+        sum.reset();
+    }
+}
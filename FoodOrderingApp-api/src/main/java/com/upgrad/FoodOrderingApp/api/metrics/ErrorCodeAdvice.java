@@ -0,0 +1,36 @@
+package com.upgrad.FoodOrderingApp.api.metrics;
+
+import com.upgrad.FoodOrderingApp.api.exception.RestExceptionHandler;
+import com.upgrad.FoodOrderingApp.api.model.ErrorResponse;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Keeps the error code of the ErrorResponse written by the RestExceptionHandler on the request, for the
+ * HttpMetricsFilter to count the error under its code
+ */
+@ControllerAdvice
+public class ErrorCodeAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return RestExceptionHandler.class.equals(returnType.getContainingClass());
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (body instanceof ErrorResponse && request instanceof ServletServerHttpRequest) {
+            ((ServletServerHttpRequest) request).getServletRequest()
+                    .setAttribute(HttpMetrics.ERROR_CODE_ATTRIBUTE, ((ErrorResponse) body).getCode());
+        }
+        return body;
+    }
+}
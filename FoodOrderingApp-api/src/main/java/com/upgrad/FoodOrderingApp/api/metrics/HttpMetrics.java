@@ -0,0 +1,134 @@
+package com.upgrad.FoodOrderingApp.api.metrics;
+
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Metrics of the requests of every route, recorded by the HttpMetricsFilter and the HttpMetricsInterceptor and
+ * written in the Prometheus text format
+ */
+@Component
+@ManagedResource(objectName = "FoodOrderingApp:type=HttpMetrics", description = "Latency, response size and errors of every route")
+public class HttpMetrics {
+
+    // The metrics of the route of the request, set by the interceptor once the route is known
+    static final String ROUTE_ATTRIBUTE = HttpMetrics.class.getName() + ".route";
+
+    // The error code of the ErrorResponse of the request, set when the response is written
+    static final String ERROR_CODE_ATTRIBUTE = HttpMetrics.class.getName() + ".errorCode";
+
+    private static final String PREFIX = "foodorderingapp_http_";
+
+    private final ConcurrentMap<String, RouteMetrics> routes = new ConcurrentHashMap<String, RouteMetrics>();
+
+    /**
+     * @param route The method and the path pattern of the route, such as GET /restaurant/{restaurant_id}
+     * @return The metrics of the route
+     */
+    public RouteMetrics route(String route) {
+        RouteMetrics metrics = routes.get(route);
+        return metrics != null ? metrics : routes.computeIfAbsent(route, RouteMetrics::new);
+    }
+
+    @ManagedAttribute(description = "Requests of every route being served")
+    public long getInFlightRequests() {
+        long inFlight = 0;
+        for (RouteMetrics route : routes.values()) {
+            inFlight += route.getInFlight();
+        }
+        return inFlight;
+    }
+
+    /**
+     * Resets the metrics of every route, to measure over a time window
+     */
+    @ManagedOperation(description = "Resets the metrics of every route")
+    public void reset() {
+        for (RouteMetrics route : routes.values()) {
+            route.reset();
+        }
+    }
+
+    /**
+     * @return The metrics of every route in the Prometheus text exposition format
+     */
+    public String toPrometheus() {
+        Map<String, RouteMetrics> sortedRoutes = new TreeMap<String, RouteMetrics>(routes);
+        StringBuilder text = new StringBuilder(4096);
+
+        header(text, "request_duration_seconds", "histogram", "Time from the request to the completion of the response");
+        for (RouteMetrics route : sortedRoutes.values()) {
+            histogram(text, "request_duration_seconds", route.getRoute(), route.getLatencies(), 1_000_000.0);
+        }
+        header(text, "response_size_bytes", "histogram", "Size of the response body");
+        for (RouteMetrics route : sortedRoutes.values()) {
+            histogram(text, "response_size_bytes", route.getRoute(), route.getResponseSizes(), 1.0);
+        }
+        header(text, "requests_in_flight", "gauge", "Requests being served");
+        for (RouteMetrics route : sortedRoutes.values()) {
+            sample(text, "requests_in_flight", route.getRoute(), null, null, Long.toString(route.getInFlight()));
+        }
+        header(text, "responses_total", "counter", "Responses by status code");
+        for (RouteMetrics route : sortedRoutes.values()) {
+            route.statusCounts().forEach((status, count) ->
+                    sample(text, "responses_total", route.getRoute(), "status", status.toString(), count.toString()));
+        }
+        header(text, "errors_total", "counter", "Error responses by the error code of the application");
+        for (RouteMetrics route : sortedRoutes.values()) {
+            route.errorCounts().forEach((code, count) ->
+                    sample(text, "errors_total", route.getRoute(), "code", code, count.toString()));
+        }
+        return text.toString();
+    }
+
+    private static void header(StringBuilder text, String name, String type, String help) {
+        text.append("# HELP ").append(PREFIX).append(name).append(' ').append(help).append('\n');
+        text.append("# TYPE ").append(PREFIX).append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void histogram(StringBuilder text, String name, String route, BucketHistogram histogram, double unit) {
+        long[] bounds = histogram.getUpperBounds();
+        long[] counts = histogram.cumulativeCounts();
+        for (int index = 0; index < bounds.length; index++) {
+            sample(text, name + "_bucket", route, "le", number(bounds[index] / unit), Long.toString(counts[index]));
+        }
+        sample(text, name + "_bucket", route, "le", "+Inf", Long.toString(counts[bounds.length]));
+        sample(text, name + "_sum", route, null, null, number(histogram.getSum() / unit));
+        sample(text, name + "_count", route, null, null, Long.toString(counts[bounds.length]));
+    }
+
+    private static void sample(StringBuilder text, String name, String route, String label, String labelValue, String value) {
+        text.append(PREFIX).append(name).append("{route=\"");
+        escape(text, route);
+        if (label != null) {
+            text.append("\",").append(label).append("=\"");
+            escape(text, labelValue);
+        }
+        text.append("\"} ").append(value).append('\n');
+    }
+
+    // Label values escape the backslash, the double quote and the line feed
+    private static void escape(StringBuilder text, String value) {
+        for (int index = 0; index < value.length(); index++) {
+            char character = value.charAt(index);
+            if (character == '\\' || character == '"') {
+                text.append('\\').append(character);
+            } else if (character == '\n') {
+                text.append("\\n");
+            } else {
+                text.append(character);
+            }
+        }
+    }
+
+    private static String number(double value) {
+        return value == Math.rint(value) && Math.abs(value) < 1e15 ? Long.toString((long) value) : Double.toString(value);
+    }
+}
@@ -0,0 +1,78 @@
+package com.upgrad.FoodOrderingApp.api.metrics;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Measures every request from the time it reaches the application to the completion of its response, and counts the
+ * bytes of the response body
+ * Requests completed on another thread, such as the DeferredResult and streamed responses, are recorded when the
+ * async request completes
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class HttpMetricsFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private HttpMetrics httpMetrics;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        final long started = System.nanoTime();
+        final CountingResponseWrapper countingResponse = new CountingResponseWrapper(response);
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, countingResponse);
+            failed = false;
+        } finally {
+            if (!failed && request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new AsyncListener() {
+
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        record(request, countingResponse, started, countingResponse.getStatus());
+                    }
+
+                    // Followed by onComplete
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                // The exception is sent back by the container as an internal server error
+                record(request, countingResponse, started, failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : countingResponse.getStatus());
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, CountingResponseWrapper response, long started, int status) {
+        RouteMetrics route = (RouteMetrics) request.getAttribute(HttpMetrics.ROUTE_ATTRIBUTE);
+        if (route == null) {
+            // Didn't reach a handler, such as requests rejected by the container or by another filter
+            route = httpMetrics.route(request.getMethod() + " unmatched");
+            route.requestStarted();
+        }
+        route.requestCompleted(System.nanoTime() - started, status, response.getBytesWritten(),
+                (String) request.getAttribute(HttpMetrics.ERROR_CODE_ATTRIBUTE));
+    }
+}
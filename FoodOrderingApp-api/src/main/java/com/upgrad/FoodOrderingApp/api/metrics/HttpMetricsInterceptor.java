@@ -0,0 +1,33 @@
+package com.upgrad.FoodOrderingApp.api.metrics;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.handler.HandlerInterceptorAdapter;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Resolves the route of the request once its handler is found, and counts the request as in flight on the route until
+ * the HttpMetricsFilter records its completion
+ * Routes are the path patterns of the handlers, so the metrics don't grow with the ids in the paths
+ */
+@Component
+public class HttpMetricsInterceptor extends HandlerInterceptorAdapter {
+
+    @Autowired
+    private HttpMetrics httpMetrics;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Called again by the dispatch completing an async request, which is still the same request
+        if (request.getAttribute(HttpMetrics.ROUTE_ATTRIBUTE) == null) {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            RouteMetrics route = httpMetrics.route(request.getMethod() + " " + (pattern == null ? "unmatched" : pattern));
+            route.requestStarted();
+            request.setAttribute(HttpMetrics.ROUTE_ATTRIBUTE, route);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,117 @@
+package com.upgrad.FoodOrderingApp.api.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency, response size, in flight count and responses by status and by error code of the requests of one route
+ */
+public class RouteMetrics {
+
+    // Bounds of the latency buckets in microseconds, from 1 ms to 10 s
+    static final long[] LATENCY_BOUNDS_MICROS = {1_000, 2_500, 5_000, 10_000, 25_000, 50_000, 100_000, 250_000,
+            500_000, 1_000_000, 2_500_000, 5_000_000, 10_000_000};
+
+    // Bounds of the response size buckets in bytes, from 100 bytes to 10 MB
+    static final long[] SIZE_BOUNDS_BYTES = {100, 1_000, 10_000, 100_000, 1_000_000, 10_000_000};
+
+    private final String route;
+    private final LongAdder inFlight = new LongAdder();
+    private final BucketHistogram latencies = new BucketHistogram(LATENCY_BOUNDS_MICROS);
+    private final BucketHistogram responseSizes = new BucketHistogram(SIZE_BOUNDS_BYTES);
+    private final ConcurrentMap<Integer, LongAdder> statuses = new ConcurrentHashMap<Integer, LongAdder>();
+    private final ConcurrentMap<String, LongAdder> errorCodes = new ConcurrentHashMap<String, LongAdder>();
+
+    RouteMetrics(String route) {
+        this.route = route;
+    }
+
+    public String getRoute() {
+        return route;
+    }
+
+    public long getInFlight() {
+        return inFlight.sum();
+    }
+
+    /**
+     * @param status The status code of the responses
+     * @return The number of responses of the route with the status code
+     */
+    public long getResponses(int status) {
+        LongAdder responses = statuses.get(status);
+        return responses == null ? 0 : responses.sum();
+    }
+
+    /**
+     * @param errorCode The application error code, such as RNF-001
+     * @return The number of error responses of the route with the error code
+     */
+    public long getErrors(String errorCode) {
+        LongAdder errors = errorCodes.get(errorCode);
+        return errors == null ? 0 : errors.sum();
+    }
+
+    /**
+     * Counts the request as in flight, until its completion is recorded
+     */
+    public void requestStarted() {
+        inFlight.increment();
+    }
+
+    /**
+     * @param latencyNanos The time from the request to the completion of the response in nanoseconds
+     * @param status       The status code of the response
+     * @param bytes        The size of the response body in bytes
+     * @param errorCode    The error code of the ErrorResponse, null if the response isn't an ErrorResponse
+     */
+    public void requestCompleted(long latencyNanos, int status, long bytes, String errorCode) {
+        inFlight.decrement();
+        latencies.record(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+        responseSizes.record(bytes);
+        counter(statuses, status).increment();
+        if (errorCode != null) {
+            counter(errorCodes, errorCode).increment();
+        }
+    }
+
+    BucketHistogram getLatencies() {
+        return latencies;
+    }
+
+    BucketHistogram getResponseSizes() {
+        return responseSizes;
+    }
+
+    // Sorted copies, so that the scrape lists the series in a stable order
+    Map<Integer, Long> statusCounts() {
+        return counts(statuses);
+    }
+
+    Map<String, Long> errorCounts() {
+        return counts(errorCodes);
+    }
+
+    // In flight requests aren't reset, their completion is still to be recorded
+    void reset() {
+        latencies.reset();
+        responseSizes.reset();
+        statuses.clear();
+        errorCodes.clear();
+    }
+
+    private static <K> LongAdder counter(ConcurrentMap<K, LongAdder> counters, K key) {
+        LongAdder counter = counters.get(key);
+        return counter != null ? counter : counters.computeIfAbsent(key, k -> new LongAdder());
+    }
+
+    private static <K> Map<K, Long> counts(ConcurrentMap<K, LongAdder> counters) {
+        Map<K, Long> counts = new TreeMap<K, Long>();
+        counters.forEach((key, counter) -> counts.put(key, counter.sum()));
+        return counts;
+    }
+}
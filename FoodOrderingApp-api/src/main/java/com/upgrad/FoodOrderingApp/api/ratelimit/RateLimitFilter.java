@@ -0,0 +1,54 @@
+package com.upgrad.FoodOrderingApp.api.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.upgrad.FoodOrderingApp.api.model.ErrorResponse;
+import com.upgrad.FoodOrderingApp.service.common.GenericErrorCode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rejects the requests of the clients that used up the budget of the endpoint with 429 Too Many Requests, before the
+ * request reaches Spring MVC, so a rejected request never reads the Database or hashes a password
+ * Runs after the HttpMetricsFilter, so the rejected requests are measured too
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private RateLimiter rateLimiter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long waitNanos = rateLimiter.acquire(request);
+        if (waitNanos == 0) {
+            filterChain.doFilter(request, response);
+            // The authorization is checked before the async processing of a request starts
+            rateLimiter.onResponse(request, response.getStatus());
+            return;
+        }
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        // Whole seconds, rounded up so that the retry isn't rejected again
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1))));
+        response.setContentType(MediaType.APPLICATION_JSON_UTF8_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse().code(GenericErrorCode.GEN_004.getCode())
+                .message(GenericErrorCode.GEN_004.getDefaultMessage()));
+    }
+}
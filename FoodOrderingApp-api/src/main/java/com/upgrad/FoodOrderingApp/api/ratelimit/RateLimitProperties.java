@@ -0,0 +1,118 @@
+package com.upgrad.FoodOrderingApp.api.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Request budgets of the endpoints, from foodorderingapp.rate-limit
+ */
+@Component
+@ConfigurationProperties("foodorderingapp.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // Buckets kept per route, the buckets closest to full are evicted for the clients beyond it
+    private int maxBuckets = 100_000;
+
+    private List<Route> routes = new ArrayList<Route>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxBuckets() {
+        return maxBuckets;
+    }
+
+    public void setMaxBuckets(int maxBuckets) {
+        this.maxBuckets = maxBuckets;
+    }
+
+    public List<Route> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(List<Route> routes) {
+        this.routes = routes;
+    }
+
+    /**
+     * Clients the requests are counted against
+     */
+    public enum Key {
+
+        // The access token of the customer once a request with it was authorized, the client IP until then and for the
+        // requests without one
+        CUSTOMER,
+
+        // The client IP, for the anonymous endpoints and the login
+        IP
+    }
+
+    /**
+     * Budget of the requests of one endpoint
+     */
+    public static class Route {
+
+        private String method;
+
+        // Ant pattern of the path within the context path, such as /order/coupon/*
+        private String path;
+
+        private Key key = Key.CUSTOMER;
+
+        // Requests a client can send at once
+        private int capacity;
+
+        // Requests per second a client can send once the capacity is used up
+        private double refillPerSecond;
+
+        public String getMethod() {
+            return method;
+        }
+
+        public void setMethod(String method) {
+            this.method = method;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        public Key getKey() {
+            return key;
+        }
+
+        public void setKey(Key key) {
+            this.key = key;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public double getRefillPerSecond() {
+            return refillPerSecond;
+        }
+
+        public void setRefillPerSecond(double refillPerSecond) {
+            this.refillPerSecond = refillPerSecond;
+        }
+    }
+}
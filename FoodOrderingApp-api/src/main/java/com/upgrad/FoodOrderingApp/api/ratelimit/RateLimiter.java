@@ -0,0 +1,267 @@
+package com.upgrad.FoodOrderingApp.api.ratelimit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.util.UrlPathHelper;
+
+import javax.annotation.PostConstruct;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Token buckets of the clients of every limited route
+ * The client is identified from the request alone, by the access token or the client IP, without a Database lookup or
+ * a token verification, so a rejected request costs no more than a map lookup. An access token only gets a bucket of
+ * its own once a request with it got past the authorization, until then its requests are counted against the client
+ * IP, so a client making up a new token for every request can't get a new budget with each of them
+ */
+@Component
+@ManagedResource(objectName = "FoodOrderingApp:type=RateLimiter", description = "Requests allowed and rejected by the request budgets")
+public class RateLimiter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    // The access token of a request counted against the client IP, given a bucket once the request is authorized
+    private static final String UNRESOLVED_TOKEN = RateLimiter.class.getName() + ".UNRESOLVED_TOKEN";
+
+    @Autowired
+    private RateLimitProperties properties;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+
+    private final List<LimitedRoute> routes = new ArrayList<LimitedRoute>();
+
+    @PostConstruct
+    public void initialize() {
+        for (RateLimitProperties.Route route : properties.getRoutes()) {
+            if (route.getPath() == null || route.getCapacity() < 1 || !(route.getRefillPerSecond() > 0)) {
+                throw new IllegalStateException("Rate limit of " + route.getMethod() + " " + route.getPath()
+                        + " needs a path, a capacity of at least 1 and a positive refill-per-second");
+            }
+            routes.add(new LimitedRoute(route));
+        }
+    }
+
+    /**
+     * Takes a token from the bucket of the client of the request, for the first route matching the request
+     *
+     * @param request The request
+     * @return 0 if the request is allowed, the nanoseconds until the client can send it again otherwise
+     */
+    public long acquire(HttpServletRequest request) {
+        if (!properties.isEnabled() || routes.isEmpty()) {
+            return 0;
+        }
+        String path = urlPathHelper.getPathWithinApplication(request);
+        for (LimitedRoute route : routes) {
+            if (route.matches(request.getMethod(), path)) {
+                return route.acquire(request, System.nanoTime());
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Gives the access token of the request a bucket of its own if the request got past the authorization, the later
+     * requests with the token are counted against it instead of the client IP
+     *
+     * @param request The request allowed by {@link #acquire(HttpServletRequest)}
+     * @param status  The status of the response, 401 and 403 for the tokens that failed the authorization
+     */
+    public void onResponse(HttpServletRequest request, int status) {
+        Object unresolvedToken = request.getAttribute(UNRESOLVED_TOKEN);
+        if (unresolvedToken instanceof UnresolvedToken && status != HttpServletResponse.SC_UNAUTHORIZED
+                && status != HttpServletResponse.SC_FORBIDDEN && status < HttpServletResponse.SC_INTERNAL_SERVER_ERROR) {
+            ((UnresolvedToken) unresolvedToken).resolve(System.nanoTime());
+        }
+    }
+
+    /**
+     * Drops the buckets that are full again, a client coming back gets a new full bucket, the same as the dropped one
+     * A request taking a token from a bucket while it's dropped gets the token back
+     */
+    @Scheduled(fixedDelayString = "${foodorderingapp.rate-limit.sweep-interval:60000}")
+    public void dropFullBuckets() {
+        long now = System.nanoTime();
+        for (LimitedRoute route : routes) {
+            route.dropFullBuckets(now);
+        }
+    }
+
+    @ManagedAttribute(description = "Buckets kept for the clients of every route")
+    public int getBucketCount() {
+        int buckets = 0;
+        for (LimitedRoute route : routes) {
+            buckets += route.buckets.size();
+        }
+        return buckets;
+    }
+
+    @ManagedAttribute(description = "Requests rejected on every route")
+    public long getRejectedRequests() {
+        long rejected = 0;
+        for (LimitedRoute route : routes) {
+            rejected += route.rejected.sum();
+        }
+        return rejected;
+    }
+
+    /**
+     * @return The budget, the requests allowed and rejected, the buckets evicted to keep to the maximum and the buckets
+     * kept, keyed by route
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<String, Object>();
+        for (LimitedRoute route : routes) {
+            Map<String, Object> routeStatistics = new LinkedHashMap<String, Object>();
+            routeStatistics.put("key", route.key.name().toLowerCase());
+            routeStatistics.put("capacity", route.capacity);
+            routeStatistics.put("refill_per_second", TimeUnit.SECONDS.toNanos(1) / (double) route.intervalNanos);
+            routeStatistics.put("allowed", route.allowed.sum());
+            routeStatistics.put("rejected", route.rejected.sum());
+            routeStatistics.put("evicted", route.evicted.sum());
+            routeStatistics.put("buckets", route.buckets.size());
+            statistics.put(route.method + " " + route.pattern, routeStatistics);
+        }
+        return statistics;
+    }
+
+    // 64 bit FNV-1a hash of the client, so the buckets don't keep the tokens and collisions are negligible
+    private static long clientKey(String client) {
+        long hash = 0xcbf29ce484222325L;
+        for (int index = 0; index < client.length(); index++) {
+            hash ^= client.charAt(index);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private class LimitedRoute {
+
+        private final String method;
+        private final String pattern;
+        private final RateLimitProperties.Key key;
+        private final int capacity;
+        private final long intervalNanos;
+        // Keyed by the hash of the access token or the client IP
+        private final ConcurrentMap<Long, TokenBucket> buckets = new ConcurrentHashMap<Long, TokenBucket>();
+        private final AtomicBoolean dropping = new AtomicBoolean();
+        private final LongAdder allowed = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder evicted = new LongAdder();
+
+        LimitedRoute(RateLimitProperties.Route route) {
+            this.method = route.getMethod() == null ? null : route.getMethod().toUpperCase();
+            this.pattern = route.getPath();
+            this.key = route.getKey();
+            this.capacity = route.getCapacity();
+            this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / route.getRefillPerSecond()));
+        }
+
+        boolean matches(String requestMethod, String path) {
+            return (method == null || method.equals(requestMethod)) && pathMatcher.match(pattern, path);
+        }
+
+        long acquire(HttpServletRequest request, long now) {
+            if (key == RateLimitProperties.Key.CUSTOMER) {
+                String authorization = request.getHeader("authorization");
+                if (authorization != null && authorization.startsWith(BEARER_PREFIX)) {
+                    long token = clientKey(authorization);
+                    TokenBucket bucket = buckets.get(token);
+                    if (bucket != null) {
+                        return take(bucket, now);
+                    }
+                    // Counted against the client IP until a request with the token got past the authorization
+                    request.setAttribute(UNRESOLVED_TOKEN, new UnresolvedToken(this, token));
+                }
+            }
+            return take(bucket(clientKey(request.getRemoteAddr()), now), now);
+        }
+
+        private long take(TokenBucket bucket, long now) {
+            long wait = bucket.tryAcquire(now, intervalNanos, capacity);
+            (wait == 0 ? allowed : rejected).increment();
+            return wait;
+        }
+
+        TokenBucket bucket(long client, long now) {
+            TokenBucket bucket = buckets.get(client);
+            if (bucket != null) {
+                return bucket;
+            }
+            if (buckets.size() >= properties.getMaxBuckets()) {
+                evictIdleBuckets(now);
+            }
+            // The requests coming in while another one evicts may add a few buckets over the maximum
+            return buckets.computeIfAbsent(client, c -> new TokenBucket(now));
+        }
+
+        void dropFullBuckets(long now) {
+            // One thread drops the buckets, the others go on with the buckets as they are
+            if (dropping.compareAndSet(false, true)) {
+                try {
+                    buckets.values().removeIf(bucket -> bucket.isFull(now));
+                } finally {
+                    dropping.set(false);
+                }
+            }
+        }
+
+        // Drops the buckets closest to full until a tenth of the maximum is free, the buckets of the clients that used
+        // up most of their budget are kept the longest. A client coming back after its bucket was evicted gets a full
+        // bucket, so a flood of new clients costs the others a part of their wait instead of all of their requests
+        void evictIdleBuckets(long now) {
+            if (!dropping.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                int size = buckets.size();
+                int target = properties.getMaxBuckets() - Math.max(1, properties.getMaxBuckets() / 10);
+                // Every bucket is full again within the capacity of the route, the last horizon covers them all
+                long horizon = 0;
+                while (true) {
+                    long fullBy = now + horizon;
+                    buckets.values().removeIf(bucket -> bucket.isFull(fullBy));
+                    if (buckets.size() <= target || horizon > intervalNanos * capacity) {
+                        break;
+                    }
+                    horizon = Math.max(intervalNanos, horizon * 2);
+                }
+                evicted.add(Math.max(0, size - buckets.size()));
+            } finally {
+                dropping.set(false);
+            }
+        }
+    }
+
+    // The access token of a request counted against the client IP
+    private static class UnresolvedToken {
+
+        private final LimitedRoute route;
+        private final long token;
+
+        UnresolvedToken(LimitedRoute route, long token) {
+            this.route = route;
+            this.token = token;
+        }
+
+        void resolve(long now) {
+            route.bucket(token, now);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.upgrad.FoodOrderingApp.api.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket kept as the time the bucket is full again, the whole state is a single AtomicLong updated with a compare
+ * and set, so taking a token never locks
+ * A request takes the emission interval off the bucket, it's allowed while the bucket isn't emptier than its capacity
+ */
+public class TokenBucket {
+
+    // The time the bucket is full again in nanoseconds, a bucket full since then is the same as a new bucket
+    private final AtomicLong fullAt;
+
+    public TokenBucket(long now) {
+        this.fullAt = new AtomicLong(now);
+    }
+
+    /**
+     * Takes a token from the bucket
+     *
+     * @param now              The current time in nanoseconds
+     * @param intervalNanos    The time a token takes to be added back in nanoseconds
+     * @param capacity         The number of tokens of a full bucket
+     * @return 0 if the token was taken, the nanoseconds until the next token otherwise
+     */
+    public long tryAcquire(long now, long intervalNanos, int capacity) {
+        long tolerance = intervalNanos * (capacity - 1);
+        while (true) {
+            long current = fullAt.get();
+            long start = Math.max(current, now);
+            long wait = start - now - tolerance;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, start + intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * @param now The current time in nanoseconds
+     * @return true if the bucket is full, it can be dropped and created again when needed
+     */
+    public boolean isFull(long now) {
+        return fullAt.get() - now <= 0;
+    }
+}
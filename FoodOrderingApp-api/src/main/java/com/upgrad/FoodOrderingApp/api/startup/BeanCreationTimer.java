@@ -0,0 +1,102 @@
+package com.upgrad.FoodOrderingApp.api.startup;
+
+import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessor;
+import org.springframework.util.ClassUtils;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Times the creation of every bean, from before its instantiation to after its initialization
+ * The beans created while a bean is created, its dependencies, are timed on their own and left out of its time
+ * Added to the bean factory ahead of every other post processor, so that the post processors are timed too. Once they
+ * are registered, the creations end after them with the EndOfCreation, so that the proxies they create are counted in
+ * the time of their bean
+ */
+class BeanCreationTimer implements InstantiationAwareBeanPostProcessor {
+
+    private final StartupReport report;
+
+    // Beans are created on the thread asking for them, the servlet filters are created on the thread starting Tomcat
+    private final ThreadLocal<Deque<BeanCreation>> creations = ThreadLocal.withInitial(ArrayDeque::new);
+
+    // Set once the EndOfCreation is called, the post processors of the bean factory are registered
+    private volatile boolean postProcessorsRegistered;
+
+    BeanCreationTimer(StartupReport report) {
+        this.report = report;
+    }
+
+    /**
+     * @return The post processor ending the creations, registered as a bean so that it runs after the ordered post
+     * processors
+     */
+    InstantiationAwareBeanPostProcessor endOfCreation() {
+        return new EndOfCreation();
+    }
+
+    @Override
+    public Object postProcessBeforeInstantiation(Class<?> beanClass, String beanName) {
+        if (!report.isComplete()) {
+            creations.get().push(new BeanCreation(beanName, ClassUtils.getUserClass(beanClass).getName(), System.nanoTime()));
+        }
+        return null;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!postProcessorsRegistered) {
+            endCreation(beanName);
+        }
+        return bean;
+    }
+
+    private void endCreation(String beanName) {
+        Deque<BeanCreation> stack = creations.get();
+        // Also called for the objects of the factory beans, which weren't pushed
+        if (stack.stream().noneMatch(creation -> creation.name.equals(beanName))) {
+            return;
+        }
+        // The beans above it failed to be created
+        BeanCreation creation;
+        do {
+            creation = stack.pop();
+        } while (!creation.name.equals(beanName));
+        long nanos = System.nanoTime() - creation.start;
+        report.addBean(creation.name, creation.type, nanos - creation.nestedNanos);
+        if (!stack.isEmpty()) {
+            stack.peek().nestedNanos += nanos;
+        }
+    }
+
+    private class EndOfCreation implements InstantiationAwareBeanPostProcessor {
+
+        @Override
+        public Object postProcessBeforeInstantiation(Class<?> beanClass, String beanName) {
+            postProcessorsRegistered = true;
+            return null;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (postProcessorsRegistered) {
+                endCreation(beanName);
+            }
+            return bean;
+        }
+    }
+
+    private static class BeanCreation {
+
+        private final String name;
+        private final String type;
+        private final long start;
+        private long nestedNanos;
+
+        private BeanCreation(String name, String type, long start) {
+            this.name = name;
+            this.type = type;
+            this.start = start;
+        }
+    }
+}
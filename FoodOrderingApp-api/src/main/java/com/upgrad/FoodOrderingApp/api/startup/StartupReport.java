@@ -0,0 +1,142 @@
+package com.upgrad.FoodOrderingApp.api.startup;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Time spent in every phase of the start of the application and in the creation of every bean, recorded by the
+ * StartupReportListener
+ * The time of a bean excludes the creation of the beans it depends on, so that the times of the beans add up to the
+ * time spent creating beans
+ */
+public class StartupReport {
+
+    private final Map<String, Long> phases = new LinkedHashMap<String, Long>();
+
+    private final List<BeanTiming> beans = new ArrayList<BeanTiming>();
+
+    private volatile boolean complete;
+
+    synchronized void addPhase(String phase, long nanos) {
+        phases.merge(phase, nanos, Long::sum);
+    }
+
+    synchronized void addBean(String name, String type, long nanos) {
+        beans.add(new BeanTiming(name, type, nanos));
+    }
+
+    void complete() {
+        complete = true;
+    }
+
+    /**
+     * @return true once the application is ready, the beans created after it aren't recorded
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * @param phase The name of the phase, such as bean creation
+     * @return The milliseconds spent in the phase, -1 if the phase wasn't reached
+     */
+    public synchronized double getPhaseMillis(String phase) {
+        Long nanos = phases.get(phase);
+        return nanos == null ? -1 : millis(nanos);
+    }
+
+    /**
+     * @param name The name of the bean
+     * @return The milliseconds spent creating the bean, -1 if the bean wasn't created during the start
+     */
+    public synchronized double getBeanMillis(String name) {
+        for (BeanTiming bean : beans) {
+            if (bean.name.equals(name)) {
+                return millis(bean.nanos);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return The phases in the order of the start and the beans from the slowest, with their time in milliseconds
+     */
+    public synchronized Map<String, Object> toMap() {
+        Map<String, Object> report = new LinkedHashMap<String, Object>();
+        report.put("complete", complete);
+        report.put("total_millis", millis(totalNanos()));
+        Map<String, Object> phaseMillis = new LinkedHashMap<String, Object>();
+        phases.forEach((phase, nanos) -> phaseMillis.put(phase, millis(nanos)));
+        report.put("phases", phaseMillis);
+        report.put("bean_count", beans.size());
+        report.put("bean_millis", millis(beanNanos()));
+        List<Map<String, Object>> beanMillis = new ArrayList<Map<String, Object>>(beans.size());
+        for (BeanTiming bean : slowestBeans(beans.size())) {
+            Map<String, Object> timing = new LinkedHashMap<String, Object>();
+            timing.put("name", bean.name);
+            timing.put("type", bean.type);
+            timing.put("millis", millis(bean.nanos));
+            beanMillis.add(timing);
+        }
+        report.put("beans", beanMillis);
+        return report;
+    }
+
+    /**
+     * @param topBeans The number of the slowest beans to list
+     * @return The phases and the slowest beans on one line each, for the log
+     */
+    public synchronized String summary(int topBeans) {
+        StringBuilder summary = new StringBuilder(1024);
+        summary.append(String.format("Started in %.1f ms", millis(totalNanos())));
+        phases.forEach((phase, nanos) -> summary.append(String.format("%n  %-18s %10.1f ms", phase, millis(nanos))));
+        if (topBeans > 0) {
+            summary.append(String.format("%nSlowest of %d beans created in %.1f ms", beans.size(), millis(beanNanos())));
+            for (BeanTiming bean : slowestBeans(topBeans)) {
+                summary.append(String.format("%n  %10.1f ms  %s (%s)", millis(bean.nanos), bean.name, bean.type));
+            }
+        }
+        return summary.toString();
+    }
+
+    private long totalNanos() {
+        long total = 0;
+        for (long nanos : phases.values()) {
+            total += nanos;
+        }
+        return total;
+    }
+
+    private long beanNanos() {
+        long total = 0;
+        for (BeanTiming bean : beans) {
+            total += bean.nanos;
+        }
+        return total;
+    }
+
+    private List<BeanTiming> slowestBeans(int count) {
+        List<BeanTiming> slowest = new ArrayList<BeanTiming>(beans);
+        slowest.sort((first, second) -> Long.compare(second.nanos, first.nanos));
+        return slowest.subList(0, Math.min(count, slowest.size()));
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 100_000.0) / 10.0;
+    }
+
+    private static class BeanTiming {
+
+        private final String name;
+        private final String type;
+        private final long nanos;
+
+        private BeanTiming(String name, String type, long nanos) {
+            this.name = name;
+            this.type = type;
+            this.nanos = nanos;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.upgrad.FoodOrderingApp.api.startup;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.SpringApplicationRunListener;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.ConfigurableEnvironment;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Records the StartupReport of the application, registered in META-INF/spring.factories so that it sees the start
+ * from the JVM to the runners
+ * Every phase ends when the next one begins: the JVM start up to the Spring Boot start, the environment and
+ * configuration files, the creation of the context, the loading of the sources, the bean definitions with the component
+ * scan, the creation of the beans, the start of the lifecycle beans, the start of the web server and the runners
+ */
+public class StartupReportListener implements SpringApplicationRunListener, Ordered {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StartupReportListener.class);
+
+    private final StartupReport report = new StartupReport();
+
+    private ConfigurableEnvironment environment;
+
+    private long phaseStart;
+
+    public StartupReportListener(SpringApplication application, String[] args) {
+    }
+
+    // After the listener publishing the events of the start, so that their listeners are counted in the phase they end
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+
+    @Override
+    public void starting() {
+        phaseStart = System.nanoTime();
+        report.addPhase("jvm", ManagementFactory.getRuntimeMXBean().getUptime() * 1_000_000);
+    }
+
+    @Override
+    public void environmentPrepared(ConfigurableEnvironment environment) {
+        this.environment = environment;
+        endPhase("environment");
+    }
+
+    @Override
+    public void contextPrepared(ConfigurableApplicationContext context) {
+        endPhase("context creation");
+        ConfigurableListableBeanFactory beanFactory = context.getBeanFactory();
+        beanFactory.registerSingleton("startupReport", report);
+        BeanCreationTimer beanCreationTimer = new BeanCreationTimer(report);
+        beanFactory.addBeanPostProcessor(beanCreationTimer);
+        beanFactory.registerSingleton("startupReportEndOfCreation", beanCreationTimer.endOfCreation());
+        // Singletons that aren't ordered, the bean factory post processors run last and the lifecycle phase starts first
+        beanFactory.registerSingleton("startupReportBeanDefinitionsEnd",
+                (BeanFactoryPostProcessor) factory -> endPhase("bean definitions"));
+        beanFactory.registerSingleton("startupReportBeanCreationEnd", new BeanCreationEnd());
+        context.addApplicationListener((ApplicationListener<ApplicationEvent>) event -> {
+            if (event instanceof ContextRefreshedEvent && ((ContextRefreshedEvent) event).getApplicationContext() == context) {
+                endPhase("lifecycle start");
+            } else if (event instanceof WebServerInitializedEvent
+                    && ((WebServerInitializedEvent) event).getApplicationContext() == context) {
+                endPhase("web server start");
+            }
+        });
+    }
+
+    @Override
+    public void contextLoaded(ConfigurableApplicationContext context) {
+        endPhase("source loading");
+    }
+
+    @Override
+    public void started(ConfigurableApplicationContext context) {
+    }
+
+    @Override
+    public void running(ConfigurableApplicationContext context) {
+        endPhase("runners");
+        report.complete();
+        LOGGER.info(report.summary(environment.getProperty("foodorderingapp.startup-report.top-beans", Integer.class, 10)));
+        if (environment.getProperty("foodorderingapp.startup-report.exit", Boolean.class, false)) {
+            System.exit(SpringApplication.exit(context));
+        }
+    }
+
+    @Override
+    public void failed(ConfigurableApplicationContext context, Throwable exception) {
+        report.complete();
+    }
+
+    private void endPhase(String phase) {
+        if (report.isComplete()) {
+            return;
+        }
+        long now = System.nanoTime();
+        report.addPhase(phase, now - phaseStart);
+        phaseStart = now;
+    }
+
+    // The lifecycle beans are started once every singleton is created
+    private class BeanCreationEnd implements SmartLifecycle {
+
+        private boolean running;
+
+        @Override
+        public int getPhase() {
+            return Integer.MIN_VALUE;
+        }
+
+        @Override
+        public boolean isAutoStartup() {
+            return true;
+        }
+
+        @Override
+        public void start() {
+            endPhase("bean creation");
+            running = true;
+        }
+
+        @Override
+        public void stop(Runnable callback) {
+            running = false;
+            callback.run();
+        }
+
+        @Override
+        public void stop() {
+            running = false;
+        }
+
+        @Override
+        public boolean isRunning() {
+            return running;
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package com.upgrad.FoodOrderingApp.api.controller;
+
+import com.upgrad.FoodOrderingApp.service.business.AddressBookCache;
+import com.upgrad.FoodOrderingApp.service.business.AddressService;
+import com.upgrad.FoodOrderingApp.service.business.OrderService;
+import com.upgrad.FoodOrderingApp.service.entity.AddressEntity;
+import com.upgrad.FoodOrderingApp.service.entity.CustomerAddressEntity;
+import com.upgrad.FoodOrderingApp.service.entity.CustomerEntity;
+import com.upgrad.FoodOrderingApp.service.entity.OrderEntity;
+import com.upgrad.FoodOrderingApp.service.entity.RestaurantEntity;
+import com.upgrad.FoodOrderingApp.service.exception.AddressNotFoundException;
+import com.upgrad.FoodOrderingApp.service.exception.AuthorizationFailedException;
+import com.upgrad.FoodOrderingApp.service.sql.SqlStatistics;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+// This class contains all the test cases regarding the address book cache of the customers
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+public class AddressBookCacheTest {
+
+    private static final String FIRST_ADDRESS = "82849cd5-106e-4b34-b9bf-94954c6ff527";
+    private static final String SECOND_ADDRESS = "82849cd5-106e-4b34-b9bf-94954c6ff528";
+    private static final String OTHER_CUSTOMERS_ADDRESS = "82849cd5-106e-4b34-b9bf-94954c6ff529";
+
+    @Autowired
+    private AddressService addressService;
+
+    @Autowired
+    private AddressBookCache addressBookCache;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private SqlStatistics sqlStatistics;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+
+    private CustomerEntity customer;
+
+    @Before
+    public void setUp() {
+        jdbcTemplate.update("DELETE FROM CUSTOMER_ADDRESS");
+        jdbcTemplate.update("DELETE FROM ADDRESS");
+        jdbcTemplate.update("DELETE FROM CUSTOMER");
+        jdbcTemplate.update("DELETE FROM STATE");
+        jdbcTemplate.update("INSERT INTO STATE(id, uuid, state_name) VALUES (1, 'c860e78a-a29b-11e8-9a3a-720006ceb890', 'Goa')");
+        jdbcTemplate.update("INSERT INTO CUSTOMER(id, uuid, firstname, lastname, email, contact_number, password, salt) VALUES " +
+                "(1, 'customer1', 'first', 'customer', 'first@upgrad.com', '9876543210', 'password', 'salt'), " +
+                "(2, 'customer2', 'second', 'customer', 'second@upgrad.com', '9876543211', 'password', 'salt')");
+        jdbcTemplate.update("INSERT INTO ADDRESS(id, uuid, flat_buil_number, locality, city, pincode, state_id, active) VALUES " +
+                "(1, '" + FIRST_ADDRESS + "', '1', 'locality', 'Panaji', '403001', 1, 1), " +
+                "(2, '" + SECOND_ADDRESS + "', '2', 'locality', 'Panaji', '403001', 1, 1), " +
+                "(3, '" + OTHER_CUSTOMERS_ADDRESS + "', '3', 'locality', 'Panaji', '403001', 1, 1)");
+        jdbcTemplate.update("INSERT INTO CUSTOMER_ADDRESS(id, customer_id, address_id) VALUES (1, 1, 1), (2, 1, 2), (3, 2, 3)");
+
+        customer = new CustomerEntity();
+        customer.setId(1);
+        customer.setUuid("customer1");
+        // Evict whatever the previous test cached, then warm the state so that only the address queries are counted
+        addressBookCache.evictAddressBook(1);
+        addressBookCache.evictAddressBook(2);
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        addressService.getAllStates();
+        statistics = sessionFactory.getStatistics();
+        statistics.clear();
+    }
+
+    //This test case passes when the address book of the customer is served from the cache on the second request.
+    @Test
+    public void shouldServeAddressBookFromCacheOnSecondRequest() {
+        final List<AddressEntity> firstAddresses = addressService.getAllAddress(customer);
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        final List<AddressEntity> secondAddresses = addressService.getAllAddress(customer);
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(2, secondAddresses.size());
+        assertEquals(firstAddresses.get(0).getUuid(), secondAddresses.get(0).getUuid());
+        assertEquals(SECOND_ADDRESS, secondAddresses.get(0).getUuid());
+        assertEquals("Goa", secondAddresses.get(0).getState().getStateName());
+    }
+
+    //This test case passes when an address book loaded while the address book of another customer is evicted is
+    // cached, and one loaded while the address book of the same customer is evicted isn't.
+    @Test
+    public void shouldOnlyDiscardAddressBookLoadedWhileTheSameCustomerIsEvicted() {
+        final long generation = addressBookCache.getGeneration();
+        addressBookCache.evictAddressBook(2);
+        addressBookCache.putAddressBook(1, Collections.<AddressEntity>emptyList(), generation);
+        assertNotNull(addressBookCache.getAddressBook(1));
+
+        final long staleGeneration = addressBookCache.getGeneration();
+        addressBookCache.evictAddressBook(1);
+        addressBookCache.putAddressBook(1, Collections.<AddressEntity>emptyList(), staleGeneration);
+        assertNull(addressBookCache.getAddressBook(1));
+    }
+
+    //This test case passes when the address of the customer is checked with a single query on a cache miss.
+    @Test
+    public void shouldCheckAddressOwnershipWithSingleQuery() throws Exception {
+        final AddressEntity address = addressService.getAddressByUUID(FIRST_ADDRESS, customer);
+        assertEquals(FIRST_ADDRESS, address.getUuid());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    //This test case passes when the address for checkout is served from the cached address book without any query.
+    @Test
+    public void shouldGetAddressFromCachedAddressBookWithoutQuery() throws Exception {
+        addressService.getAllAddress(customer);
+        final long statementCount = statistics.getPrepareStatementCount();
+
+        final AddressEntity address = addressService.getAddressByUUID(SECOND_ADDRESS, customer);
+        assertEquals(SECOND_ADDRESS, address.getUuid());
+        assertEquals(statementCount, statistics.getPrepareStatementCount());
+    }
+
+    //This test case passes when a returning customer places an order with an address of the cached address book, with
+    // the update archiving the address and the insert of the order as the only statements.
+    @Test
+    public void shouldPlaceOrderWithCachedAddressWithoutAddressQuery() throws Exception {
+        jdbcTemplate.update("INSERT INTO RESTAURANT(id, uuid, restaurant_name, photo_url, customer_rating, average_price_for_two, number_of_customers_rated, address_id) VALUES " +
+                "(1, 'restaurant1', 'Goan Kitchen', 'photo', 4.5, 300, 10, 3)");
+        jdbcTemplate.update("INSERT INTO ORDERS(id, uuid, bill, discount, date, customer_id, address_id, restaurant_id) VALUES " +
+                "(1, 'order1', 200, 0, CURRENT_TIMESTAMP, 1, 2, 1)");
+        try {
+            addressService.getAllAddress(customer);
+            final AddressEntity address = addressService.getAddressByUUID(FIRST_ADDRESS, customer);
+            final RestaurantEntity restaurant = new RestaurantEntity();
+            restaurant.setId(1);
+            final OrderEntity order = new OrderEntity();
+            order.setBill(250.0);
+            order.setCustomer(customer);
+            order.setAddress(address);
+            order.setRestaurant(restaurant);
+
+            // Only the statements of this thread are counted, the scheduled refreshes run statements of their own
+            sqlStatistics.beginRequest();
+            final AtomicLong statements;
+            try {
+                new TransactionTemplate(transactionManager).execute(status -> orderService.saveOrder(order));
+            } finally {
+                statements = sqlStatistics.suspendRequest();
+            }
+            // The update archiving the address, the insert of the order and, on H2, the read of the generated order id
+            assertEquals(3, statements.get());
+            assertEquals(Integer.valueOf(0), jdbcTemplate.queryForObject("SELECT active FROM ADDRESS WHERE id = 1", Integer.class));
+            assertNull(addressBookCache.getAddressBook(1));
+        } finally {
+            jdbcTemplate.update("DELETE FROM ORDERS WHERE restaurant_id = 1");
+            jdbcTemplate.update("DELETE FROM RESTAURANT WHERE id = 1");
+        }
+    }
+
+    //This test case passes when the address of another customer or an unknown address is refused, cached or not.
+    @Test
+    public void shouldRefuseAddressOfOtherCustomerAndUnknownAddress() {
+        for (int attempt = 0; attempt < 2; attempt++) {
+            try {
+                addressService.getAddressByUUID(OTHER_CUSTOMERS_ADDRESS, customer);
+                fail();
+            } catch (AuthorizationFailedException exception) {
+                assertEquals("ATHR-004", exception.getCode());
+            } catch (AddressNotFoundException exception) {
+                fail();
+            }
+            try {
+                addressService.getAddressByUUID("82849cd5-106e-4b34-b9bf-94954c6ff530", customer);
+                fail();
+            } catch (AddressNotFoundException exception) {
+                assertEquals("ANF-003", exception.getCode());
+            } catch (AuthorizationFailedException exception) {
+                fail();
+            }
+            // The second attempt is served by the cached address book
+            addressService.getAllAddress(customer);
+        }
+    }
+
+    //This test case passes when a saved address evicts the address book of the customer.
+    @Test
+    public void shouldEvictAddressBookWhenAddressIsSaved() throws Exception {
+        assertEquals(2, addressService.getAllAddress(customer).size());
+
+        final AddressEntity address = new AddressEntity(null, "4", "locality", "Panaji", "403001",
+                addressService.getStateByUUID("c860e78a-a29b-11e8-9a3a-720006ceb890"));
+        new TransactionTemplate(transactionManager).execute(status -> {
+            try {
+                addressService.saveAddress(address, customer);
+            } catch (Exception exception) {
+                throw new IllegalStateException(exception);
+            }
+            final CustomerAddressEntity customerAddress = new CustomerAddressEntity();
+            customerAddress.setCustomer(customer);
+            customerAddress.setAddress(address);
+            addressService.saveCustomerAddress(customerAddress);
+            return null;
+        });
+
+        final List<AddressEntity> addresses = addressService.getAllAddress(customer);
+        assertEquals(3, addresses.size());
+        assertEquals(address.getUuid(), addresses.get(0).getUuid());
+    }
+
+    //This test case passes when an address archived by an order evicts the address book of the customer.
+    @Test
+    public void shouldEvictAddressBookWhenAddressIsArchived() throws Exception {
+        final AddressEntity address = addressService.getAddressByUUID(FIRST_ADDRESS, customer);
+        addressService.getAllAddress(customer);
+        assertNotNull(addressBookCache.getAddressBook(1));
+
+        new TransactionTemplate(transactionManager).execute(status -> addressService.archiveAddress(address, customer));
+        assertNull(addressBookCache.getAddressBook(1));
+        assertEquals(Integer.valueOf(0), jdbcTemplate.queryForObject("SELECT active FROM ADDRESS WHERE id = 1", Integer.class));
+
+        final AddressEntity archivedAddress = addressService.getAddressByUUID(FIRST_ADDRESS, customer);
+        assertEquals(Integer.valueOf(0), archivedAddress.getActive());
+        // An archived address is kept when a delete is requested
+        assertEquals(FIRST_ADDRESS, addressService.deleteAddress(archivedAddress).getUuid());
+        assertEquals(Integer.valueOf(1), jdbcTemplate.queryForObject("SELECT COUNT(*) FROM ADDRESS WHERE id = 1", Integer.class));
+    }
+
+    //This test case passes when a deleted address evicts the address book of the customer.
+    @Test
+    public void shouldEvictAddressBookWhenAddressIsDeleted() throws Exception {
+        addressService.getAllAddress(customer);
+        final AddressEntity address = addressService.getAddressByUUID(SECOND_ADDRESS, customer);
+
+        new TransactionTemplate(transactionManager).execute(status -> addressService.deleteAddress(address));
+        assertNull(addressBookCache.getAddressBook(1));
+
+        final List<AddressEntity> addresses = addressService.getAllAddress(customer);
+        assertEquals(1, addresses.size());
+        assertEquals(FIRST_ADDRESS, addresses.get(0).getUuid());
+    }
+}
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.upgrad.FoodOrderingApp.api.model.CategoriesListResponse;
 import com.upgrad.FoodOrderingApp.api.model.CategoryDetailsResponse;
 import com.upgrad.FoodOrderingApp.service.business.CategoryService;
+import com.upgrad.FoodOrderingApp.service.common.CategoryItemsPage;
 import com.upgrad.FoodOrderingApp.service.entity.CategoryEntity;
 import com.upgrad.FoodOrderingApp.service.entity.ItemEntity;
 import com.upgrad.FoodOrderingApp.service.exception.CategoryNotFoundException;
@@ -16,6 +17,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.util.Collections;
 import java.util.UUID;
@@ -24,8 +26,10 @@ import static com.upgrad.FoodOrderingApp.service.common.ItemType.NON_VEG;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 // This class contains all the test cases regarding the category controller
@@ -53,10 +57,9 @@ public class CategoryControllerTest {
         final CategoryEntity categoryEntity = new CategoryEntity();
         final String categoryEntityId = UUID.randomUUID().toString();
         categoryEntity.setUuid(categoryEntityId);
-        categoryEntity.setItems(Collections.singletonList(itemEntity));
 
-
-        when(mockCategoryService.getCategoryById("sampleCategoryId")).thenReturn(categoryEntity);
+        when(mockCategoryService.getCategoryItems("sampleCategoryId", 50, null))
+                .thenReturn(new CategoryItemsPage(categoryEntity, Collections.singletonList(itemEntity), "nextCursor"));
 
         final String response = mockMvc
                 .perform(get("/category/sampleCategoryId").contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
@@ -70,35 +73,36 @@ public class CategoryControllerTest {
         assertEquals(categoryDetailsResponse.getItemList().get(0).getId().toString(), itemId);
         assertEquals(categoryDetailsResponse.getItemList().get(0).getPrice().intValue(), 200);
         assertEquals(categoryDetailsResponse.getItemList().get(0).getItemType().toString(), "NON_VEG");
-        verify(mockCategoryService, times(1)).getCategoryById("sampleCategoryId");
+        assertEquals(categoryDetailsResponse.getNextCursor(), "nextCursor");
+        verify(mockCategoryService, times(1)).getCategoryItems("sampleCategoryId", 50, null);
     }
 
     //This test case passes when you have handled the exception of trying to fetch any category but your category id
     // field is empty.
     @Test
     public void shouldNotGetCategoryByidIfCategoryIdIsEmpty() throws Exception {
-        when(mockCategoryService.getCategoryById(anyString()))
+        when(mockCategoryService.getCategoryItems(anyString(), anyInt(), any()))
                 .thenThrow(new CategoryNotFoundException("CNF-001", "Category id field should not be empty"));
 
         mockMvc
                 .perform(get("/category/emptyString").contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("code").value("CNF-001"));
-        verify(mockCategoryService, times(1)).getCategoryById(anyString());
+        verify(mockCategoryService, times(1)).getCategoryItems(anyString(), anyInt(), any());
     }
 
     //This test case passes when you have handled the exception of trying to fetch any category by its id, while there
     // is not category by that id in the database
     @Test
     public void shouldNotGetCategoryByIdIfCategoryDoesNotExistAgainstGivenId() throws Exception {
-        when(mockCategoryService.getCategoryById("someCategory"))
+        when(mockCategoryService.getCategoryItems("someCategory", 50, null))
                 .thenThrow(new CategoryNotFoundException("CNF-002", "No category by this id"));
 
         mockMvc
                 .perform(get("/category/someCategory").contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("code").value("CNF-002"));
-        verify(mockCategoryService, times(1)).getCategoryById("someCategory");
+        verify(mockCategoryService, times(1)).getCategoryItems("someCategory", 50, null);
     }
 
     //This test case passes when you are able to fetch the list of all categories ordered by their name.
@@ -111,8 +115,12 @@ public class CategoryControllerTest {
 
         when(mockCategoryService.getAllCategoriesOrderedByName()).thenReturn(Collections.singletonList(categoryEntity));
 
-        final String response = mockMvc
+        final MvcResult result = mockMvc
                 .perform(get("/category").contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        final String response = mockMvc
+                .perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andReturn().getResponse().getContentAsString();
 
@@ -128,8 +136,12 @@ public class CategoryControllerTest {
     public void shouldNotGetAnyCategoryOrderedByNameIfItDoesNotExists() throws Exception {
         when(mockCategoryService.getAllCategoriesOrderedByName()).thenReturn(Collections.emptyList());
 
-        final String response = mockMvc
+        final MvcResult result = mockMvc
                 .perform(get("/category").contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        final String response = mockMvc
+                .perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andReturn().getResponse().getContentAsString();
 
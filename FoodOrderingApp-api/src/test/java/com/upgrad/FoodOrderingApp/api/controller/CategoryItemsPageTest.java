@@ -0,0 +1,151 @@
+package com.upgrad.FoodOrderingApp.api.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import com.upgrad.FoodOrderingApp.service.sql.SqlStatistics;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// This class contains all the test cases regarding the pages of the items of a category
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+public class CategoryItemsPageTest {
+
+    private static final String CATEGORY_UUID = "b0a3f68e-a29b-11e8-9a3a-720006ceb880";
+
+    private static final String ROUTE = "GET /category/{category_id}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SqlStatistics sqlStatistics;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Before
+    public void setUp() {
+        jdbcTemplate.update("INSERT INTO CATEGORY(id, uuid, category_name) VALUES " +
+                "(981, '" + CATEGORY_UUID + "', 'Desserts'), (982, 'b0a3f68e-a29b-11e8-9a3a-720006ceb881', 'Empty')");
+        // Two items by the same name, ordered by their id
+        jdbcTemplate.update("INSERT INTO ITEM(id, uuid, item_name, price, type) VALUES " +
+                "(981, 'b0a3f68e-a29b-11e8-9a3a-720006ceb882', 'Rasgulla', 60, 0), " +
+                "(982, 'b0a3f68e-a29b-11e8-9a3a-720006ceb883', 'Kulfi', 50, 0), " +
+                "(983, 'b0a3f68e-a29b-11e8-9a3a-720006ceb884', 'Jalebi', 40, 0), " +
+                "(984, 'b0a3f68e-a29b-11e8-9a3a-720006ceb885', 'Kulfi', 70, 0)");
+        jdbcTemplate.update("INSERT INTO CATEGORY_ITEM(id, item_id, category_id) VALUES " +
+                "(981, 981, 981), (982, 982, 981), (983, 983, 981), (984, 984, 981)");
+        final SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        sessionFactory.getCache().evictAllRegions();
+        // Not evicted with the regions, a write rolled back by an earlier test leaves the tables invalidated for a
+        // while and the cached first page stale
+        sessionFactory.getCache().getUpdateTimestampsCache().clear();
+        sqlStatistics.reset();
+    }
+
+    @After
+    public void tearDown() {
+        jdbcTemplate.update("DELETE FROM CATEGORY_ITEM WHERE id IN (981, 982, 983, 984)");
+        jdbcTemplate.update("DELETE FROM ITEM WHERE id IN (981, 982, 983, 984)");
+        jdbcTemplate.update("DELETE FROM CATEGORY WHERE id IN (981, 982)");
+    }
+
+    //This test case passes when the category is read with all its items in the order of their names with one statement.
+    @Test
+    public void shouldGetCategoryWithItemsOrderedByNameWithOneStatement() throws Exception {
+        mockMvc.perform(get("/category/" + CATEGORY_UUID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("category_name").value("Desserts"))
+                .andExpect(jsonPath("item_list.length()").value(4))
+                .andExpect(jsonPath("item_list[0].item_name").value("Jalebi"))
+                .andExpect(jsonPath("item_list[1].price").value(50))
+                .andExpect(jsonPath("item_list[2].price").value(70))
+                .andExpect(jsonPath("item_list[3].item_name").value("Rasgulla"))
+                .andExpect(jsonPath("next_cursor").doesNotExist());
+
+        assertEquals(1, sqlStatistics.getQueryStatistics("firstItemsByCategoryUUID").getCalls());
+        assertEquals(1, sqlStatistics.getRequestStatistics(ROUTE).getStatements());
+    }
+
+    //This test case passes when the pages of items follow each other through the next cursor, across equal names.
+    @Test
+    public void shouldGetNextPagesAfterTheCursor() throws Exception {
+        final String firstPage = mockMvc.perform(get("/category/" + CATEGORY_UUID).param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("item_list.length()").value(2))
+                .andExpect(jsonPath("item_list[0].item_name").value("Jalebi"))
+                .andExpect(jsonPath("item_list[1].price").value(50))
+                .andReturn().getResponse().getContentAsString();
+        final String cursor = JsonPath.read(firstPage, "next_cursor");
+
+        mockMvc.perform(get("/category/" + CATEGORY_UUID).param("limit", "2").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("category_name").value("Desserts"))
+                .andExpect(jsonPath("item_list.length()").value(2))
+                .andExpect(jsonPath("item_list[0].price").value(70))
+                .andExpect(jsonPath("item_list[1].item_name").value("Rasgulla"))
+                .andExpect(jsonPath("next_cursor").doesNotExist());
+
+        assertEquals(1, sqlStatistics.getQueryStatistics("itemsByCategoryUUIDAfter").getCalls());
+    }
+
+    //This test case passes when the first page of a category is served from the query cache once it was read.
+    @Test
+    public void shouldServeFirstPageFromQueryCache() throws Exception {
+        mockMvc.perform(get("/category/" + CATEGORY_UUID)).andExpect(status().isOk());
+        sqlStatistics.reset();
+
+        mockMvc.perform(get("/category/" + CATEGORY_UUID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("item_list.length()").value(4));
+
+        assertEquals(0, sqlStatistics.getRequestStatistics(ROUTE).getStatements());
+    }
+
+    //This test case passes when a category without items is returned with an empty list, and an unknown category
+    // with the CNF-002 error.
+    @Test
+    public void shouldGetEmptyCategoryAndNotGetUnknownCategory() throws Exception {
+        mockMvc.perform(get("/category/b0a3f68e-a29b-11e8-9a3a-720006ceb881"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("category_name").value("Empty"))
+                .andExpect(jsonPath("item_list.length()").value(0));
+
+        mockMvc.perform(get("/category/b0a3f68e-a29b-11e8-9a3a-720006ceb889"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("code").value("CNF-002"));
+    }
+
+    //This test case passes when a limit out of range or a cursor that wasn't returned by the endpoint is rejected.
+    @Test
+    public void shouldNotGetItemsWithInvalidLimitOrCursor() throws Exception {
+        mockMvc.perform(get("/category/" + CATEGORY_UUID).param("limit", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/category/" + CATEGORY_UUID).param("limit", "201"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/category/" + CATEGORY_UUID).param("cursor", "not a cursor"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,109 @@
+package com.upgrad.FoodOrderingApp.api.controller;
+
+import com.upgrad.FoodOrderingApp.service.business.CouponRegistry;
+import com.upgrad.FoodOrderingApp.service.entity.CouponEntity;
+import com.upgrad.FoodOrderingApp.service.sql.SqlStatistics;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.AFTER_TEST_METHOD;
+
+// This class contains all the test cases regarding the in memory registry of the coupons
+@RunWith(SpringRunner.class)
+// Refreshed by the test cases only, the scheduled refresh runs once at start up
+@SpringBootTest(properties = "foodorderingapp.coupon-registry.refresh-interval=3600000")
+@ActiveProfiles("h2")
+@Sql("/sql/coupon-registry.sql")
+@Sql(scripts = "/sql/coupon-registry-cleanup.sql", executionPhase = AFTER_TEST_METHOD)
+public class CouponRegistryTest {
+
+    @Autowired
+    private CouponRegistry couponRegistry;
+
+    @Autowired
+    private SqlStatistics sqlStatistics;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Before
+    public void setUp() {
+        couponRegistry.refresh();
+        // Only the statements of this thread are counted, the scheduled refreshes run statements of their own
+        sqlStatistics.beginRequest();
+    }
+
+    @After
+    public void tearDown() {
+        sqlStatistics.suspendRequest();
+    }
+
+    //This test case passes when a coupon is found by its name in any case, and by its uuid, without querying the Database.
+    @Test
+    public void shouldGetCouponByNameIgnoringTheCase() {
+        final CouponEntity coupon = couponRegistry.getCouponByCouponName("monsoon25");
+        assertNotNull(coupon);
+        assertEquals("c1a3f68e-a29b-11e8-9a3a-720006ce1001", coupon.getUuid());
+        assertEquals("Monsoon25", coupon.getCouponName());
+        assertEquals(Integer.valueOf(25), coupon.getPercent());
+        assertEquals("c1a3f68e-a29b-11e8-9a3a-720006ce1002", couponRegistry.getCouponByCouponName("Winter10").getUuid());
+        assertEquals("WINTER10", couponRegistry.getCouponByUUID("c1a3f68e-a29b-11e8-9a3a-720006ce1002").getCouponName());
+        assertEquals(0, sqlStatistics.getRequestStatementCount());
+    }
+
+    //This test case passes when an unknown coupon name or uuid returns no coupon.
+    @Test
+    public void shouldNotGetUnknownCoupon() {
+        assertNull(couponRegistry.getCouponByCouponName("SUMMER99"));
+        assertNull(couponRegistry.getCouponByCouponName(null));
+        assertNull(couponRegistry.getCouponByUUID("c1a3f68e-a29b-11e8-9a3a-720006ce1009"));
+        assertEquals(0, sqlStatistics.getRequestStatementCount());
+    }
+
+    //This test case passes when the coupons added, changed or deleted in the Database are picked up by the refresh only.
+    @Test
+    public void shouldPickUpTheChangedCouponsOnRefresh() {
+        jdbcTemplate.update("INSERT INTO COUPON(id, uuid, coupon_name, percent) VALUES (1003, 'c1a3f68e-a29b-11e8-9a3a-720006ce1003', 'Diwali40', 40)");
+        jdbcTemplate.update("UPDATE COUPON SET percent = 15 WHERE id = 1002");
+        jdbcTemplate.update("DELETE FROM COUPON WHERE id = 1001");
+        assertNull(couponRegistry.getCouponByCouponName("DIWALI40"));
+        assertEquals(Integer.valueOf(10), couponRegistry.getCouponByCouponName("WINTER10").getPercent());
+        assertNotNull(couponRegistry.getCouponByCouponName("MONSOON25"));
+
+        couponRegistry.refresh();
+
+        assertEquals(Integer.valueOf(40), couponRegistry.getCouponByCouponName("DIWALI40").getPercent());
+        assertEquals(Integer.valueOf(15), couponRegistry.getCouponByCouponName("WINTER10").getPercent());
+        assertNull(couponRegistry.getCouponByCouponName("MONSOON25"));
+    }
+
+    //This test case passes when a change made to a coupon returned by the registry isn't seen by the next lookup.
+    @Test
+    public void shouldReturnCopiesOfTheCoupons() {
+        couponRegistry.getCouponByCouponName("MONSOON25").setPercent(90);
+
+        assertEquals(Integer.valueOf(25), couponRegistry.getCouponByCouponName("MONSOON25").getPercent());
+    }
+
+    //This test case passes when the coupons are looked up in the Database until the first refresh succeeded.
+    @Test
+    public void shouldGetCouponsFromTheDatabaseBeforeTheFirstRefresh() {
+        ReflectionTestUtils.setField(couponRegistry, "coupons", null);
+
+        assertEquals("c1a3f68e-a29b-11e8-9a3a-720006ce1001", couponRegistry.getCouponByCouponName("MONSOON25").getUuid());
+        assertNull(couponRegistry.getCouponByCouponName("SUMMER99"));
+        assertEquals(2, sqlStatistics.getRequestStatementCount());
+    }
+}
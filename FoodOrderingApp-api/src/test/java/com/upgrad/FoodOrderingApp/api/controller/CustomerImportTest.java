@@ -0,0 +1,187 @@
+package com.upgrad.FoodOrderingApp.api.controller;
+
+import com.upgrad.FoodOrderingApp.service.business.PasswordCryptographyProvider;
+import com.upgrad.FoodOrderingApp.service.dao.CustomerDao;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// This class contains all the test cases regarding the bulk import of customers
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+public class CustomerImportTest {
+
+    private static final String NDJSON = "application/x-ndjson";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerImportController customerImportController;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @SpyBean
+    private CustomerDao spyCustomerDao;
+
+    @Before
+    public void setUp() {
+        jdbcTemplate.update("INSERT INTO CUSTOMER(id, uuid, firstname, lastname, email, contact_number, password, salt) VALUES " +
+                "(991, 'c0a3f68e-a29b-11e8-9a3a-720006ceb880', 'registered', NULL, 'registered@upgrad.com', '9900000000', 'password', 'salt')");
+    }
+
+    @After
+    public void tearDown() {
+        jdbcTemplate.update("DELETE FROM CUSTOMER WHERE contact_number LIKE '990000%'");
+        ReflectionTestUtils.setField(customerImportController, "chunkSize", 500);
+    }
+
+    //This test case passes when the valid lines are saved with an encrypted password and every other line is
+    // reported with the error code of the signup.
+    @Test
+    public void shouldImportValidCustomersAndReportEveryLine() throws Exception {
+        final String customers = customer("first", "9900000001", "Password@1") + "\n" +
+                customer("second", "9900000002", "Password@2") + "\n" +
+                "\n" +
+                customer("registered", "9900000000", "Password@3") + "\n" +
+                customer("repeated", "9900000001", "Password@4") + "\n" +
+                "{\"first_name\":\"noemail\", \"contact_number\":\"9900000005\", \"password\":\"Password@5\"}\n" +
+                "{\"first_name\":\"email\", \"email_address\":\"email.upgrad.com\", \"contact_number\":\"9900000006\", \"password\":\"Password@6\"}\n" +
+                customer("contact", "99000007", "Password@7") + "\n" +
+                customer("weak", "9900000008", "password") + "\n" +
+                "{\"first_name\":";
+
+        mockMvc.perform(post("/admin/customers/import").contentType(NDJSON).content(customers)
+                .header("authorization", "Bearer admin_accesstoken"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("imported").value(2))
+                .andExpect(jsonPath("rejected").value(7))
+                .andExpect(jsonPath("results.length()").value(9))
+                .andExpect(jsonPath("results[0].line").value(1))
+                .andExpect(jsonPath("results[0].status").value("IMPORTED"))
+                .andExpect(jsonPath("results[0].id").exists())
+                .andExpect(jsonPath("results[1].status").value("IMPORTED"))
+                // The empty line is skipped
+                .andExpect(jsonPath("results[2].line").value(4))
+                .andExpect(jsonPath("results[2].code").value("SGR-001"))
+                .andExpect(jsonPath("results[3].contact_number").value("9900000001"))
+                .andExpect(jsonPath("results[3].code").value("SGR-001"))
+                .andExpect(jsonPath("results[4].code").value("SGR-005"))
+                .andExpect(jsonPath("results[5].code").value("SGR-002"))
+                .andExpect(jsonPath("results[6].code").value("SGR-003"))
+                .andExpect(jsonPath("results[7].status").value("REJECTED"))
+                .andExpect(jsonPath("results[7].code").value("SGR-004"))
+                .andExpect(jsonPath("results[8].line").value(10))
+                .andExpect(jsonPath("results[8].code").value("SGR-006"));
+
+        assertEquals(Integer.valueOf(3), jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM CUSTOMER WHERE contact_number LIKE '990000%'", Integer.class));
+        final Map<String, Object> saved = jdbcTemplate.queryForMap(
+                "SELECT firstname, email, password, salt FROM CUSTOMER WHERE contact_number = '9900000002'");
+        assertEquals("second", saved.get("firstname"));
+        assertEquals("second.import@upgrad.com", saved.get("email"));
+        assertEquals(PasswordCryptographyProvider.encrypt("Password@2", (String) saved.get("salt")), saved.get("password"));
+    }
+
+    //This test case passes when a contact number repeated in a later chunk is rejected as registered by the chunk
+    // before it.
+    @Test
+    public void shouldRejectContactNumbersRepeatedAcrossChunks() throws Exception {
+        ReflectionTestUtils.setField(customerImportController, "chunkSize", 2);
+        final String customers = customer("first", "9900000011", "Password@1") + "\n" +
+                customer("second", "9900000012", "Password@2") + "\n" +
+                customer("third", "9900000013", "Password@3") + "\n" +
+                customer("repeated", "9900000011", "Password@4") + "\n" +
+                customer("fifth", "9900000015", "Password@5") + "\n";
+
+        mockMvc.perform(post("/admin/customers/import").contentType(NDJSON).content(customers)
+                .header("authorization", "Bearer admin_accesstoken"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("imported").value(4))
+                .andExpect(jsonPath("rejected").value(1))
+                .andExpect(jsonPath("results[3].code").value("SGR-001"))
+                .andExpect(jsonPath("results[4].status").value("IMPORTED"));
+
+        assertEquals(Integer.valueOf(5), jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM CUSTOMER WHERE contact_number LIKE '990000%'", Integer.class));
+    }
+
+    //This test case passes when a contact number signed up after the check of its chunk is rejected as registered, while
+    // the other customers of the chunk and the chunk before it are still imported.
+    @Test
+    public void shouldRejectContactNumbersRegisteredWhileTheChunkIsSaved() throws Exception {
+        ReflectionTestUtils.setField(customerImportController, "chunkSize", 2);
+        final AtomicInteger checks = new AtomicInteger();
+        doAnswer(invocation -> {
+            final Object registered = invocation.callRealMethod();
+            // Signed up after the second chunk was checked, before it's inserted. On another thread, outside of the
+            // transaction of the chunk
+            if (checks.incrementAndGet() == 2) {
+                CompletableFuture.runAsync(() -> jdbcTemplate.update("INSERT INTO CUSTOMER(uuid, firstname, lastname, email, contact_number, password, salt) VALUES " +
+                        "('c0a3f68e-a29b-11e8-9a3a-720006ceb881', 'signup', NULL, 'signup@upgrad.com', '9900000034', 'password', 'salt')")).join();
+            }
+            return registered;
+        }).when(spyCustomerDao).getRegisteredContactNumbers(anyCollection());
+        final String customers = customer("first", "9900000031", "Password@1") + "\n" +
+                customer("second", "9900000032", "Password@2") + "\n" +
+                customer("third", "9900000033", "Password@3") + "\n" +
+                customer("fourth", "9900000034", "Password@4") + "\n";
+
+        mockMvc.perform(post("/admin/customers/import").contentType(NDJSON).content(customers)
+                .header("authorization", "Bearer admin_accesstoken"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("imported").value(3))
+                .andExpect(jsonPath("rejected").value(1))
+                .andExpect(jsonPath("results[1].status").value("IMPORTED"))
+                .andExpect(jsonPath("results[2].status").value("IMPORTED"))
+                .andExpect(jsonPath("results[2].id").exists())
+                .andExpect(jsonPath("results[3].code").value("SGR-001"));
+
+        assertEquals(Integer.valueOf(5), jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM CUSTOMER WHERE contact_number LIKE '990000%'", Integer.class));
+        assertEquals("signup", jdbcTemplate.queryForObject(
+                "SELECT firstname FROM CUSTOMER WHERE contact_number = '9900000034'", String.class));
+    }
+
+    //This test case passes when the import is refused without the admin access token.
+    @Test
+    public void shouldNotImportCustomersWithoutAdminToken() throws Exception {
+        mockMvc.perform(post("/admin/customers/import").contentType(NDJSON)
+                .content(customer("first", "9900000021", "Password@1"))
+                .header("authorization", "Bearer customer_token"))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("code").value("ATHR-005"));
+
+        assertEquals(Integer.valueOf(1), jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM CUSTOMER WHERE contact_number LIKE '990000%'", Integer.class));
+    }
+
+    private static String customer(String firstName, String contactNumber, String password) {
+        return "{\"first_name\":\"" + firstName + "\", \"last_name\":\"import\", \"email_address\":\"" + firstName +
+                ".import@upgrad.com\", \"contact_number\":\"" + contactNumber + "\", \"password\":\"" + password + "\"}";
+    }
+}
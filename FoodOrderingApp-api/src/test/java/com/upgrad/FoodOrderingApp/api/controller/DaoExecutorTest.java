@@ -0,0 +1,177 @@
+package com.upgrad.FoodOrderingApp.api.controller;
+
+import com.upgrad.FoodOrderingApp.service.async.DaoExecutor;
+import com.upgrad.FoodOrderingApp.service.async.StageStatistics;
+import com.upgrad.FoodOrderingApp.service.sql.SqlStatistics;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.AFTER_TEST_METHOD;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// This class contains all the test cases regarding the Database lookups run in parallel on the DAO executor
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+@Sql("/sql/dao-executor.sql")
+@Sql(scripts = "/sql/dao-executor-cleanup.sql", executionPhase = AFTER_TEST_METHOD)
+public class DaoExecutorTest {
+
+    private static final String RESTAURANT_UUID = "d0a3f68e-a29b-11e8-9a3a-720006ceb912";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DaoExecutor daoExecutor;
+
+    @Autowired
+    private SqlStatistics sqlStatistics;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Before
+    public void setUp() {
+        daoExecutor.reset();
+        sqlStatistics.reset();
+    }
+
+    //This test case passes when the restaurant details are combined from the lookups run on the DAO executor.
+    @Test
+    public void shouldGetRestaurantDetailsFromParallelLookups() throws Exception {
+        final MvcResult result = mockMvc.perform(get("/restaurant/" + RESTAURANT_UUID))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("restaurant_name").value("Momo House"))
+                .andExpect(jsonPath("address.state.state_name").value("Sikkim"))
+                .andExpect(jsonPath("categories.length()").value(2))
+                // In the order of the categories of the restaurant, by name
+                .andExpect(jsonPath("categories[0].category_name").value("Soups"))
+                .andExpect(jsonPath("categories[0].item_list[0].item_name").value("Thukpa"))
+                .andExpect(jsonPath("categories[1].category_name").value("Tibetan"))
+                .andExpect(jsonPath("categories[1].item_list[0].item_name").value("Veg Momo"));
+
+        assertEquals(1, daoExecutor.getStageStatistics("restaurant").getCalls());
+        assertEquals(1, daoExecutor.getStageStatistics("restaurant categories").getCalls());
+        assertEquals(2, daoExecutor.getStageStatistics("category items").getCalls());
+        // The statements run on the DAO threads are counted against the request
+        assertTrue(sqlStatistics.getRequestStatistics("GET /restaurant/{restaurant_id}").getStatements() >= 4);
+    }
+
+    //This test case passes when the admin endpoint serves the queue wait and execution time of every stage.
+    @Test
+    public void shouldGetDaoStatisticsWithAdminToken() throws Exception {
+        final MvcResult result = mockMvc.perform(get("/restaurant/" + RESTAURANT_UUID))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+
+        mockMvc.perform(get("/admin/dao/statistics").header("authorization", "Bearer admin_accesstoken"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("stages.restaurant.calls").value(1))
+                .andExpect(jsonPath("stages.['category items'].calls").value(2))
+                .andExpect(jsonPath("stages.['category items'].queue_wait_micros.p99").exists())
+                .andExpect(jsonPath("stages.['category items'].execution_micros.p99").exists());
+    }
+
+    //This test case passes when a call that doesn't complete in time fails with a TimeoutException and is interrupted.
+    @Test
+    public void shouldFailCallsThatDoNotCompleteInTime() throws Exception {
+        final DaoExecutor executor = newDaoExecutor(1, 1, 100);
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        try {
+            final CompletableFuture<Object> call = executor.submit("slow", () -> {
+                try {
+                    Thread.sleep(10000);
+                } catch (InterruptedException exception) {
+                    interrupted.countDown();
+                }
+                return null;
+            });
+            try {
+                call.get(5, TimeUnit.SECONDS);
+                fail();
+            } catch (ExecutionException exception) {
+                assertTrue(exception.getCause() instanceof TimeoutException);
+            }
+            assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+            assertEquals(1, executor.getStageStatistics("slow").getTimeouts());
+        } finally {
+            executor.destroy();
+        }
+    }
+
+    //This test case passes when calls are rejected once the queue is full and the queue wait is reported apart from
+    // the execution time.
+    @Test
+    public void shouldRejectCallsWhenTheQueueIsFull() throws Exception {
+        final DaoExecutor executor = newDaoExecutor(1, 1, 10000);
+        final CountDownLatch release = new CountDownLatch(1);
+        try {
+            final CompletableFuture<Boolean> running = executor.submit("blocking", () -> release.await(5, TimeUnit.SECONDS));
+            final CompletableFuture<String> queued = executor.submit("queued", () -> "done");
+            final CompletableFuture<String> rejected = executor.submit("queued", () -> "rejected");
+            try {
+                rejected.get(5, TimeUnit.SECONDS);
+                fail();
+            } catch (ExecutionException exception) {
+                assertTrue(exception.getCause() instanceof RejectedExecutionException);
+            }
+            Thread.sleep(50);
+            release.countDown();
+            assertTrue(running.get(5, TimeUnit.SECONDS));
+            assertEquals("done", queued.get(5, TimeUnit.SECONDS));
+
+            final StageStatistics statistics = executor.getStageStatistics("queued");
+            assertEquals(1, statistics.getRejections());
+            assertEquals(1, statistics.getCalls());
+            // Waited behind the blocking call, ran at once
+            final long queueWait = ((Number) ((Map<?, ?>) statistics.toMap().get("queue_wait_micros")).get("max")).longValue();
+            assertTrue(queueWait >= TimeUnit.MILLISECONDS.toMicros(50));
+        } finally {
+            executor.destroy();
+        }
+    }
+
+    private DaoExecutor newDaoExecutor(int poolSize, int queueCapacity, long timeoutMillis) {
+        final DaoExecutor executor = new DaoExecutor(poolSize, queueCapacity, timeoutMillis);
+        ReflectionTestUtils.setField(executor, "transactionManager", transactionManager);
+        ReflectionTestUtils.setField(executor, "sqlStatistics", sqlStatistics);
+        ReflectionTestUtils.setField(executor, "entityManagerFactory", entityManagerFactory);
+        return executor;
+    }
+}
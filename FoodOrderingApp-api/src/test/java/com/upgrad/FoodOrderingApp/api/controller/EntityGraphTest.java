@@ -0,0 +1,150 @@
+package com.upgrad.FoodOrderingApp.api.controller;
+
+import com.upgrad.FoodOrderingApp.service.business.AddressBookCache;
+import com.upgrad.FoodOrderingApp.service.sql.SqlStatistics;
+import org.hibernate.SessionFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.AFTER_TEST_METHOD;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// This class contains all the test cases regarding the number of statements the endpoints run with the entity graphs
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+@Sql("/sql/entity-graph.sql")
+@Sql(scripts = "/sql/entity-graph-cleanup.sql", executionPhase = AFTER_TEST_METHOD)
+public class EntityGraphTest {
+
+    private static final String ACCESS_TOKEN = "entity_graph_accesstoken";
+
+    private static final int CUSTOMER_ID = 920;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SqlStatistics sqlStatistics;
+
+    @Autowired
+    private AddressBookCache addressBookCache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Before
+    public void setUp() {
+        addressBookCache.evictAddressBook(CUSTOMER_ID);
+        // Start with empty caches, so that every association is read from the Database
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        sqlStatistics.reset();
+    }
+
+    @After
+    public void tearDown() {
+        addressBookCache.evictAddressBook(CUSTOMER_ID);
+    }
+
+    //This test case passes when the past orders are read with one statement for the token, one for the orders with
+    // their details and one per order for its items.
+    @Test
+    public void shouldGetPastOrdersWithOneStatementPerOrder() throws Exception {
+        perform(get("/order").header("authorization", "Bearer " + ACCESS_TOKEN))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("orders.length()").value(2))
+                .andExpect(jsonPath("orders[0].coupon").doesNotExist())
+                .andExpect(jsonPath("orders[1].coupon.coupon_name").value("GRAPH10"))
+                .andExpect(jsonPath("orders[1].payment.payment_name").value("Graph Pay"))
+                .andExpect(jsonPath("orders[1].customer.first_name").value("graph"))
+                .andExpect(jsonPath("orders[1].address.state.state_name").value("Assam"))
+                .andExpect(jsonPath("orders[1].item_quantities.length()").value(2));
+
+        assertEquals(1, calls("customerAuthByAccessToken"));
+        assertEquals(1, calls("pastOrdersByCustomerUUID"));
+        assertEquals(2, calls("itemsByOrderId"));
+        // The coupons, payments, customers, addresses, states and items come with the queries above
+        assertEquals(4, sqlStatistics.getRequestStatistics("GET /order").getStatements());
+    }
+
+    //This test case passes when the address book is read with one statement for the token and one for the
+    // addresses with their states.
+    @Test
+    public void shouldGetAddressBookWithTwoStatements() throws Exception {
+        perform(get("/address/customer").header("authorization", "Bearer " + ACCESS_TOKEN))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("addresses.length()").value(2))
+                .andExpect(jsonPath("addresses[0].state.state_name").value("Assam"))
+                .andExpect(jsonPath("addresses[1].state.state_name").value("Assam"));
+
+        assertEquals(1, calls("allAddressesForCustomer"));
+        assertEquals(2, sqlStatistics.getRequestStatistics("GET /address/customer").getStatements());
+    }
+
+    //This test case passes when the restaurants are read with the state of their address, and one statement per
+    // restaurant for its categories.
+    @Test
+    public void shouldGetRestaurantsByNameWithTheStatesOfTheirAddresses() throws Exception {
+        perform(get("/restaurant/name/Graph"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("restaurants.length()").value(1))
+                .andExpect(jsonPath("restaurants[0].address.state.state_name").value("Assam"))
+                .andExpect(jsonPath("restaurants[0].categories").value("Assamese"));
+
+        assertEquals(1, calls("restaurantsByName"));
+        assertEquals(1, calls("categoriesByRestaurantUUID"));
+        // The category of the restaurant category, the state of the address came with the restaurant
+        assertEquals(1, calls(SqlStatistics.OTHER_QUERIES));
+        assertEquals(3, sqlStatistics.getRequestStatistics("GET /restaurant/name/{restaurant_name}").getStatements());
+    }
+
+    //This test case passes when the customer of the token is read with the token, and nothing else is read to
+    // update the customer.
+    @Test
+    public void shouldUpdateCustomerWithoutReadingMoreThanTheToken() throws Exception {
+        mockMvc.perform(put("/customer")
+                .header("authorization", "Bearer " + ACCESS_TOKEN)
+                .contentType(MediaType.APPLICATION_JSON_UTF8_VALUE)
+                .content("{\"first_name\":\"graphs\", \"last_name\":\"customer\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("first_name").value("graphs"));
+
+        assertEquals(1, calls("customerAuthByAccessToken"));
+        // The token with its customer, then the update of the customer
+        assertEquals(2, sqlStatistics.getRequestStatistics("PUT /customer").getStatements());
+    }
+
+    // The list endpoints stream their response, the statements run while it is written count against the route
+    private ResultActions perform(MockHttpServletRequestBuilder requestBuilder) throws Exception {
+        final MvcResult result = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+
+    private long calls(String queryName) {
+        return sqlStatistics.getQueryStatistics(queryName).getCalls();
+    }
+}
@@ -0,0 +1,122 @@
+package com.upgrad.FoodOrderingApp.api.controller;
+
+import com.upgrad.FoodOrderingApp.api.metrics.HttpMetrics;
+import com.upgrad.FoodOrderingApp.api.metrics.RouteMetrics;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// This class contains all the test cases regarding the metrics of every route in the Prometheus format
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+public class HttpMetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private HttpMetrics httpMetrics;
+
+    @Before
+    public void setUp() {
+        httpMetrics.reset();
+    }
+
+    //This test case passes when the requests of a route are recorded under its path pattern with their status, latency
+    // and response size.
+    @Test
+    public void shouldRecordTheRequestsOfTheRoute() throws Exception {
+        final int responseSize = mockMvc.perform(get("/states")).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray().length;
+        mockMvc.perform(get("/states")).andExpect(status().isOk());
+
+        final RouteMetrics route = httpMetrics.route("GET /states");
+        assertEquals(2, route.getResponses(200));
+        assertEquals(0, route.getInFlight());
+
+        final String metrics = scrape();
+        assertTrue(metrics.contains("foodorderingapp_http_responses_total{route=\"GET /states\",status=\"200\"} 2\n"));
+        assertTrue(metrics.contains("foodorderingapp_http_request_duration_seconds_count{route=\"GET /states\"} 2\n"));
+        assertTrue(metrics.contains("foodorderingapp_http_request_duration_seconds_bucket{route=\"GET /states\",le=\"+Inf\"} 2\n"));
+        assertTrue(metrics.contains("foodorderingapp_http_response_size_bytes_sum{route=\"GET /states\"} " + 2 * responseSize + "\n"));
+        assertTrue(metrics.contains("foodorderingapp_http_requests_in_flight{route=\"GET /states\"} 0\n"));
+    }
+
+    //This test case passes when the buckets of the latency histogram never decrease from one bound to the next.
+    @Test
+    public void shouldWriteCumulativeBuckets() throws Exception {
+        for (int index = 0; index < 5; index++) {
+            mockMvc.perform(get("/payment")).andExpect(status().isOk());
+        }
+
+        final Matcher bucket = Pattern.compile("foodorderingapp_http_request_duration_seconds_bucket\\{route=\"GET /payment\",le=\"([^\"]+)\"} (\\d+)")
+                .matcher(scrape());
+        final List<Long> counts = new ArrayList<Long>();
+        while (bucket.find()) {
+            counts.add(Long.parseLong(bucket.group(2)));
+        }
+        assertEquals(14, counts.size());
+        for (int index = 1; index < counts.size(); index++) {
+            assertTrue(counts.get(index) >= counts.get(index - 1));
+        }
+        assertEquals(Long.valueOf(5), counts.get(counts.size() - 1));
+    }
+
+    //This test case passes when the error responses are counted by the error code sent back by the exception handler.
+    @Test
+    public void shouldCountErrorsByErrorCode() throws Exception {
+        mockMvc.perform(get("/address/customer").header("authorization", "Bearer unknown_token"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/admin/metrics")).andExpect(status().isForbidden());
+
+        assertEquals(1, httpMetrics.route("GET /address/customer").getErrors("ATHR-001"));
+        assertEquals(1, httpMetrics.route("GET /address/customer").getResponses(403));
+        assertEquals(1, httpMetrics.route("GET /admin/metrics").getErrors("ATHR-005"));
+        assertTrue(scrape().contains("foodorderingapp_http_errors_total{route=\"GET /address/customer\",code=\"ATHR-001\"} 1\n"));
+    }
+
+    //This test case passes when a request completed on another thread is recorded once it completes.
+    @Test
+    public void shouldRecordAsyncRequestsWhenTheyComplete() throws Exception {
+        final MvcResult result = mockMvc.perform(get("/restaurant/someRestaurantId"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isNotFound());
+
+        final RouteMetrics route = httpMetrics.route("GET /restaurant/{restaurant_id}");
+        assertEquals(1, route.getResponses(404));
+        assertEquals(1, route.getErrors("RNF-001"));
+        assertEquals(0, route.getInFlight());
+    }
+
+    private String scrape() throws Exception {
+        return mockMvc.perform(get("/admin/metrics").header("authorization", "Bearer admin_accesstoken"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/plain"))
+                .andExpect(content().string(containsString("# TYPE foodorderingapp_http_request_duration_seconds histogram")))
+                .andReturn().getResponse().getContentAsString();
+    }
+}
@@ -0,0 +1,52 @@
+package com.upgrad.FoodOrderingApp.api.controller;
+
+import com.upgrad.FoodOrderingApp.service.business.ItemService;
+import com.upgrad.FoodOrderingApp.service.dao.ItemDao;
+import com.upgrad.FoodOrderingApp.service.entity.ItemEntity;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.when;
+
+// This class contains all the test cases regarding the items of the restaurants served by the item service
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class ItemServiceTest {
+
+    @Autowired
+    private ItemService itemService;
+
+    @MockBean
+    private ItemDao mockItemDao;
+
+    //This test case passes when the items of the restaurant in the category are matched by the value of their ids, also
+    // for the ids above 127 boxed in to a different Integer by every query.
+    @Test
+    public void shouldGetItemsOfRestaurantInCategoryWithLargeIds() {
+        when(mockItemDao.getItemsByRestaurant("someRestaurant"))
+                .thenReturn(Arrays.asList(getItemEntity(100, "Dal"), getItemEntity(1000, "Paneer Tikka"), getItemEntity(1001, "Naan")));
+        when(mockItemDao.getItemsByCategory("someCategory"))
+                .thenReturn(Arrays.asList(getItemEntity(100, "Dal"), getItemEntity(1000, "Paneer Tikka"), getItemEntity(2000, "Lassi")));
+
+        final List<ItemEntity> items = itemService.getItemsByCategoryAndRestaurant("someRestaurant", "someCategory");
+        assertEquals(2, items.size());
+        assertEquals("Dal", items.get(0).getItemName());
+        assertEquals("Paneer Tikka", items.get(1).getItemName());
+    }
+
+    private static ItemEntity getItemEntity(int id, String itemName) {
+        final ItemEntity item = new ItemEntity();
+        // Boxed as the rows of a query are, only the ids up to 127 are the same Integer in every query
+        item.setId(Integer.valueOf(id));
+        item.setItemName(itemName);
+        return item;
+    }
+}
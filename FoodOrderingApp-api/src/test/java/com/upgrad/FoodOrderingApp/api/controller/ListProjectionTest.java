@@ -0,0 +1,128 @@
+package com.upgrad.FoodOrderingApp.api.controller;
+
+import com.upgrad.FoodOrderingApp.service.business.OrderService;
+import com.upgrad.FoodOrderingApp.service.business.RestaurantService;
+import com.upgrad.FoodOrderingApp.service.entity.OrderEntity;
+import com.upgrad.FoodOrderingApp.service.entity.RestaurantEntity;
+import com.upgrad.FoodOrderingApp.service.sql.SqlStatistics;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceContext;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.*;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.AFTER_TEST_METHOD;
+
+// This class contains all the test cases regarding the list reads that select only the columns of the responses
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@ActiveProfiles("h2")
+@Sql("/sql/list-projection.sql")
+@Sql(scripts = "/sql/list-projection-cleanup.sql", executionPhase = AFTER_TEST_METHOD)
+public class ListProjectionTest {
+
+    private static final String CUSTOMER_UUID = "f0a3f68e-a29b-11e8-9a3a-720006ceb933";
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private RestaurantService restaurantService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private SqlStatistics sqlStatistics;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Before
+    public void setUp() {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    //This test case passes when the past orders are read with one statement, without loading or tracking any entity.
+    @Test
+    public void shouldReadPastOrdersAsProjections() {
+        final List<OrderEntity> orders = inTransaction(() -> {
+            final List<OrderEntity> pastOrders = orderService.getOrdersByCustomers(CUSTOMER_UUID);
+            assertFalse(entityManager.contains(pastOrders.get(0)));
+            return pastOrders;
+        });
+
+        assertEquals(2, orders.size());
+        final OrderEntity latest = orders.get(0);
+        assertEquals("f0a3f68e-a29b-11e8-9a3a-720006ceb938", latest.getUuid());
+        assertEquals(Integer.valueOf(931), latest.getId());
+        assertNull(latest.getCoupon());
+        assertEquals("Projection Pay", latest.getPayment().getPaymentName());
+        assertEquals("Tripura", latest.getAddress().getState().getStateName());
+        assertEquals(CUSTOMER_UUID, latest.getCustomer().getUuid());
+        assertNull(latest.getCustomer().getLastName());
+        // Only the columns shown in the order history are read
+        assertNull(latest.getCustomer().getPassword());
+        assertNull(latest.getCustomer().getSalt());
+        assertEquals("TUPLE20", orders.get(1).getCoupon().getCouponName());
+        assertEquals(Double.valueOf(100), orders.get(1).getDiscount());
+    }
+
+    //This test case passes when the restaurants are read with one statement, without loading or tracking any entity.
+    @Test
+    public void shouldReadRestaurantsByRatingAsProjections() {
+        final List<RestaurantEntity> restaurants = inTransaction(() -> {
+            final List<RestaurantEntity> byRating = restaurantService.restaurantsByRating();
+            for (RestaurantEntity restaurant : byRating) {
+                assertFalse(entityManager.contains(restaurant));
+            }
+            return byRating;
+        });
+
+        final RestaurantEntity restaurant = restaurants.stream()
+                .filter(byRating -> "Projection Hut".equals(byRating.getRestaurantName())).findFirst().get();
+        assertEquals(Integer.valueOf(930), restaurant.getId());
+        assertEquals(Double.valueOf(4.9), restaurant.getCustomerRating());
+        assertEquals(Integer.valueOf(350), restaurant.getAvgPrice());
+        assertEquals(Integer.valueOf(21), restaurant.getNumberCustomersRated());
+        assertEquals("799001", restaurant.getAddress().getPincode());
+        assertEquals("Tripura", restaurant.getAddress().getState().getStateName());
+    }
+
+    // Runs the read with one statement and no entity in the persistence context. Only the statements of this thread
+    // are counted, the scheduled refreshes of the application run statements of their own
+    private <T> T inTransaction(Supplier<T> read) {
+        sqlStatistics.beginRequest();
+        final T result;
+        final AtomicLong statements;
+        try {
+            result = new TransactionTemplate(transactionManager).execute(status -> {
+                final T value = read.get();
+                assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+                return value;
+            });
+        } finally {
+            statements = sqlStatistics.suspendRequest();
+        }
+        assertEquals(1, statements.get());
+        return result;
+    }
+}
@@ -0,0 +1,198 @@
+package com.upgrad.FoodOrderingApp.api.controller;
+
+import com.upgrad.FoodOrderingApp.api.ratelimit.RateLimitProperties;
+import com.upgrad.FoodOrderingApp.api.ratelimit.RateLimiter;
+import com.upgrad.FoodOrderingApp.api.ratelimit.TokenBucket;
+import com.upgrad.FoodOrderingApp.service.business.CustomerService;
+import com.upgrad.FoodOrderingApp.service.business.OrderService;
+import com.upgrad.FoodOrderingApp.service.entity.CustomerEntity;
+import com.upgrad.FoodOrderingApp.service.exception.AuthenticationFailedException;
+import com.upgrad.FoodOrderingApp.service.exception.AuthorizationFailedException;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Base64.getEncoder;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// This class contains all the test cases regarding the request budgets of the endpoints
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = {
+        "foodorderingapp.rate-limit.routes[0].method=POST",
+        "foodorderingapp.rate-limit.routes[0].path=/customer/login",
+        "foodorderingapp.rate-limit.routes[0].key=ip",
+        "foodorderingapp.rate-limit.routes[0].capacity=2",
+        "foodorderingapp.rate-limit.routes[0].refill-per-second=0.001",
+        "foodorderingapp.rate-limit.routes[1].method=GET",
+        "foodorderingapp.rate-limit.routes[1].path=/order",
+        "foodorderingapp.rate-limit.routes[1].key=customer",
+        "foodorderingapp.rate-limit.routes[1].capacity=2",
+        "foodorderingapp.rate-limit.routes[1].refill-per-second=0.001",
+        "foodorderingapp.admin.access-token=admin_accesstoken"})
+@AutoConfigureMockMvc
+public class RateLimitTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RateLimiter rateLimiter;
+
+    @MockBean
+    private CustomerService mockCustomerService;
+
+    @MockBean
+    private OrderService mockOrderService;
+
+    //This test case passes when the logins over the budget of the client IP are rejected with 429 before the
+    // credentials are checked, while the other clients still log in.
+    @Test
+    public void shouldRejectLoginsOverTheBudgetOfTheClientIp() throws Exception {
+        when(mockCustomerService.authenticate(anyString(), anyString()))
+                .thenThrow(new AuthenticationFailedException("ATH-002", "Invalid Credentials"));
+        final String authorization = "Basic " + getEncoder().encodeToString("9090909090:password".getBytes());
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            mockMvc.perform(post("/customer/login").contentType(MediaType.APPLICATION_JSON_UTF8_VALUE).header("authorization", authorization).with(remoteAddress("10.0.1.1")))
+                    .andExpect(status().isUnauthorized());
+        }
+        mockMvc.perform(post("/customer/login").contentType(MediaType.APPLICATION_JSON_UTF8_VALUE).header("authorization", authorization).with(remoteAddress("10.0.1.1")))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"))
+                .andExpect(jsonPath("code").value("GEN-004"));
+        verify(mockCustomerService, times(2)).authenticate(anyString(), anyString());
+
+        mockMvc.perform(post("/customer/login").contentType(MediaType.APPLICATION_JSON_UTF8_VALUE).header("authorization", authorization).with(remoteAddress("10.0.1.2")))
+                .andExpect(status().isUnauthorized());
+    }
+
+    //This test case passes when the requests over the budget of an authorized access token are rejected with 429 while
+    // the other access tokens are still served.
+    @Test
+    public void shouldRejectRequestsOverTheBudgetOfTheAccessToken() throws Exception {
+        final CustomerEntity customer = new CustomerEntity();
+        customer.setUuid("rate-limited-customer");
+        when(mockCustomerService.getCustomer(anyString())).thenReturn(customer);
+        when(mockOrderService.getOrdersByCustomers("rate-limited-customer")).thenReturn(Collections.emptyList());
+
+        // The first request is counted against the client IP, the token gets its own bucket once it's authorized
+        for (int attempt = 0; attempt < 3; attempt++) {
+            mockMvc.perform(get("/order").header("authorization", "Bearer limited_token").with(remoteAddress("10.0.2.1")))
+                    .andExpect(status().isOk());
+        }
+        // The same access token from another address is the same customer
+        mockMvc.perform(get("/order").header("authorization", "Bearer limited_token").with(remoteAddress("10.0.2.2")))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(jsonPath("code").value("GEN-004"));
+        verify(mockCustomerService, times(3)).getCustomer("limited_token");
+
+        mockMvc.perform(get("/order").header("authorization", "Bearer other_token").with(remoteAddress("10.0.2.1")))
+                .andExpect(status().isOk());
+        // The admin endpoints have no budget
+        mockMvc.perform(get("/admin/rate-limit/statistics").header("authorization", "Bearer admin_accesstoken"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("['GET /order'].rejected").isNumber());
+    }
+
+    //This test case passes when the requests with access tokens that fail the authorization are counted against the
+    // client IP, so a new made up token for every request is rejected with 429 before the token is looked up.
+    @Test
+    public void shouldRejectMadeUpAccessTokensOverTheBudgetOfTheClientIp() throws Exception {
+        when(mockCustomerService.getCustomer(anyString()))
+                .thenThrow(new AuthorizationFailedException("ATHR-001", "Customer is not Logged in."));
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            mockMvc.perform(get("/order").header("authorization", "Bearer made_up_token_" + attempt).with(remoteAddress("10.0.4.1")))
+                    .andExpect(status().isForbidden());
+        }
+        mockMvc.perform(get("/order").header("authorization", "Bearer made_up_token_2").with(remoteAddress("10.0.4.1")))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(jsonPath("code").value("GEN-004"));
+        // Nor does a token that failed once get a bucket of its own
+        mockMvc.perform(get("/order").header("authorization", "Bearer made_up_token_0").with(remoteAddress("10.0.4.1")))
+                .andExpect(status().isTooManyRequests());
+        verify(mockCustomerService, times(2)).getCustomer(anyString());
+
+        mockMvc.perform(get("/order").header("authorization", "Bearer made_up_token_3").with(remoteAddress("10.0.4.2")))
+                .andExpect(status().isForbidden());
+    }
+
+    //This test case passes when a bucket gets its tokens back over time and reports when it's full again.
+    @Test
+    public void shouldRefillTheBucketOverTime() {
+        final long interval = TimeUnit.SECONDS.toNanos(1);
+        final TokenBucket bucket = new TokenBucket(0);
+        assertEquals(0, bucket.tryAcquire(0, interval, 2));
+        assertEquals(0, bucket.tryAcquire(0, interval, 2));
+        assertEquals(interval, bucket.tryAcquire(0, interval, 2));
+        assertFalse(bucket.isFull(interval));
+        // One token back after one interval
+        assertEquals(0, bucket.tryAcquire(interval, interval, 2));
+        assertEquals(interval, bucket.tryAcquire(interval, interval, 2));
+        assertTrue(bucket.isFull(3 * interval));
+    }
+
+    //This test case passes when the buckets closest to full are evicted for the clients over the maximum number of
+    // buckets, while the client that used up its budget is still rejected.
+    @Test
+    public void shouldNotKeepMoreBucketsThanTheMaximum() {
+        final RateLimitProperties properties = new RateLimitProperties();
+        properties.setMaxBuckets(2);
+        final RateLimitProperties.Route route = new RateLimitProperties.Route();
+        route.setMethod("POST");
+        route.setPath("/customer/signup");
+        route.setKey(RateLimitProperties.Key.IP);
+        route.setCapacity(2);
+        route.setRefillPerSecond(0.001);
+        properties.setRoutes(Collections.singletonList(route));
+        final RateLimiter limiter = new RateLimiter();
+        ReflectionTestUtils.setField(limiter, "properties", properties);
+        limiter.initialize();
+
+        assertEquals(0, limiter.acquire(signupRequest("10.0.3.1")));
+        assertEquals(0, limiter.acquire(signupRequest("10.0.3.1")));
+        assertEquals(0, limiter.acquire(signupRequest("10.0.3.2")));
+        // No full bucket to drop, the bucket of the second client is the closest to full
+        assertEquals(0, limiter.acquire(signupRequest("10.0.3.3")));
+        assertEquals(0, limiter.acquire(signupRequest("10.0.3.3")));
+        assertTrue(limiter.acquire(signupRequest("10.0.3.1")) > 0);
+        assertTrue(limiter.acquire(signupRequest("10.0.3.3")) > 0);
+        assertEquals(2, limiter.getBucketCount());
+        final Map<?, ?> statistics = (Map<?, ?>) limiter.getStatistics().get("POST /customer/signup");
+        assertEquals(1L, statistics.get("evicted"));
+        assertEquals(2L, statistics.get("rejected"));
+    }
+
+    private static RequestPostProcessor remoteAddress(final String address) {
+        return request -> {
+            request.setRemoteAddr(address);
+            return request;
+        };
+    }
+
+    private static MockHttpServletRequest signupRequest(String address) {
+        final MockHttpServletRequest request = new MockHttpServletRequest("POST", "/customer/signup");
+        request.setRemoteAddr(address);
+        return request;
+    }
+}
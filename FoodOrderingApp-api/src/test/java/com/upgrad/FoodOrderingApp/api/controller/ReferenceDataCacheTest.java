@@ -0,0 +1,141 @@
+package com.upgrad.FoodOrderingApp.api.controller;
+
+import com.upgrad.FoodOrderingApp.service.business.AddressService;
+import com.upgrad.FoodOrderingApp.service.business.PaymentService;
+import com.upgrad.FoodOrderingApp.service.entity.CategoryEntity;
+import com.upgrad.FoodOrderingApp.service.entity.CouponEntity;
+import com.upgrad.FoodOrderingApp.service.entity.PaymentEntity;
+import com.upgrad.FoodOrderingApp.service.entity.StateEntity;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// This class contains all the test cases regarding the second level and query cache of the reference data
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+public class ReferenceDataCacheTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private AddressService addressService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+
+    @Before
+    public void setUp() {
+        jdbcTemplate.update("DELETE FROM PAYMENT");
+        jdbcTemplate.update("DELETE FROM STATE");
+        jdbcTemplate.update("DELETE FROM CATEGORY");
+        jdbcTemplate.update("DELETE FROM COUPON");
+        jdbcTemplate.update("INSERT INTO PAYMENT(id, uuid, payment_name) VALUES (1, '9a1d3b7c-0c23-4a42-9e4a-6b1b4d1a0001', 'Cash on Delivery'), (2, '9a1d3b7c-0c23-4a42-9e4a-6b1b4d1a0002', 'Net Banking')");
+        jdbcTemplate.update("INSERT INTO STATE(id, uuid, state_name) VALUES (1, 'c860e78a-a29b-11e8-9a3a-720006ceb890', 'Goa'), (2, 'c860e78a-a29b-11e8-9a3a-720006ceb891', 'Kerala')");
+        jdbcTemplate.update("INSERT INTO CATEGORY(id, uuid, category_name) VALUES (1, '7a2f1d36-5f0e-4a8e-b9d1-3c2e5d6f0001', 'Drinks')");
+        jdbcTemplate.update("INSERT INTO COUPON(id, uuid, coupon_name, percent) VALUES (1, '2ddf6284-ecd0-11e8-8eb2-f2801f1b9fd1', 'FLAT30', 30)");
+        // The rows were changed behind the back of Hibernate, start every test with empty caches
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        statistics = sessionFactory.getStatistics();
+        statistics.clear();
+    }
+
+    //This test case passes when the second request for the payment methods is served without any SQL.
+    @Test
+    public void shouldGetPaymentMethodsFromCacheOnSecondRequest() throws Exception {
+        final String firstResponse = mockMvc.perform(get("/payment")).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertTrue(statistics.getPrepareStatementCount() > 0);
+
+        final long statementCount = statistics.getPrepareStatementCount();
+        final String secondResponse = mockMvc.perform(get("/payment")).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertEquals(statementCount, statistics.getPrepareStatementCount());
+        assertEquals(firstResponse, secondResponse);
+        assertEquals(1, statistics.getQueryCacheHitCount());
+    }
+
+    //This test case passes when the second lookup of a payment method by uuid is served without any SQL.
+    @Test
+    public void shouldGetPaymentByUuidFromCacheOnSecondLookup() throws Exception {
+        final PaymentEntity firstPayment = paymentService.getPaymentByUUID("9a1d3b7c-0c23-4a42-9e4a-6b1b4d1a0002");
+        final long statementCount = statistics.getPrepareStatementCount();
+        final PaymentEntity secondPayment = paymentService.getPaymentByUUID("9a1d3b7c-0c23-4a42-9e4a-6b1b4d1a0002");
+        assertEquals(statementCount, statistics.getPrepareStatementCount());
+        assertEquals(firstPayment.getPaymentName(), secondPayment.getPaymentName());
+        assertEquals("Net Banking", secondPayment.getPaymentName());
+    }
+
+    //This test case passes when the second request for the states is served without any SQL.
+    @Test
+    public void shouldGetStatesFromCacheOnSecondRequest() throws Exception {
+        final List<StateEntity> firstStates = addressService.getAllStates();
+        final long statementCount = statistics.getPrepareStatementCount();
+        final String response = mockMvc.perform(get("/states")).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertEquals(statementCount, statistics.getPrepareStatementCount());
+        assertEquals(2, firstStates.size());
+        assertTrue(response.contains("Kerala"));
+    }
+
+    //This test case passes when the second lookup of a state by uuid is served without any SQL.
+    @Test
+    public void shouldGetStateByUuidFromCacheOnSecondLookup() throws Exception {
+        addressService.getStateByUUID("c860e78a-a29b-11e8-9a3a-720006ceb890");
+        final long statementCount = statistics.getPrepareStatementCount();
+        final StateEntity state = addressService.getStateByUUID("c860e78a-a29b-11e8-9a3a-720006ceb890");
+        assertEquals(statementCount, statistics.getPrepareStatementCount());
+        assertEquals("Goa", state.getStateName());
+    }
+
+    //This test case passes when the categories and coupons are loaded by id from the entity cache.
+    @Test
+    public void shouldFindCategoryAndCouponFromCacheOnSecondLoad() {
+        findAndClose(CategoryEntity.class, 1);
+        findAndClose(CouponEntity.class, 1);
+        final long statementCount = statistics.getPrepareStatementCount();
+        assertEquals("Drinks", findAndClose(CategoryEntity.class, 1).getCategoryName());
+        assertEquals("FLAT30", findAndClose(CouponEntity.class, 1).getCouponName());
+        assertEquals(statementCount, statistics.getPrepareStatementCount());
+        assertEquals(2, statistics.getSecondLevelCacheHitCount());
+    }
+
+    // Loads the entity in a new persistence context, so the first level cache can't serve it
+    private <T> T findAndClose(Class<T> entityClass, Integer id) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            return entityManager.find(entityClass, id);
+        } finally {
+            entityManager.close();
+        }
+    }
+}
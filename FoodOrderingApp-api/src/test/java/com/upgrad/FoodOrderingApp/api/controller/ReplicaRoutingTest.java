@@ -0,0 +1,188 @@
+package com.upgrad.FoodOrderingApp.api.controller;
+
+import com.upgrad.FoodOrderingApp.service.business.RestaurantService;
+import com.upgrad.FoodOrderingApp.service.datasource.ReplicaRouting;
+import com.upgrad.FoodOrderingApp.service.entity.CustomerEntity;
+import com.upgrad.FoodOrderingApp.service.entity.OrderEntity;
+import com.upgrad.FoodOrderingApp.service.entity.RestaurantEntity;
+import com.upgrad.FoodOrderingApp.service.event.OrderPlacedEvent;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.util.Date;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.AFTER_TEST_METHOD;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// This class contains all the test cases regarding the routing of the read only transactions to the read replicas
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = {
+        "foodorderingapp.replicas.enabled=true",
+        // Only checked by the test cases
+        "foodorderingapp.replicas.lag-check-interval=3600000",
+        "foodorderingapp.replicas.lag-check-initial-delay=3600000",
+        "foodorderingapp.replicas.lag-query=SELECT seconds FROM REPLICA_LAG",
+        "foodorderingapp.replicas.datasources[0].name=replica-1",
+        "foodorderingapp.replicas.datasources[0].url=" + ReplicaRoutingTest.REPLICA_URL,
+        "foodorderingapp.replicas.datasources[0].username=sa"})
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+@Sql("/sql/replica-routing.sql")
+@Sql(scripts = "/sql/replica-routing-cleanup.sql", executionPhase = AFTER_TEST_METHOD)
+public class ReplicaRoutingTest {
+
+    // Second in memory Database standing in for the replica, it has the same schema as the primary but its own rows
+    static final String REPLICA_URL = "jdbc:h2:mem:replicadb;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE";
+
+    private static final String RESTAURANT_UUID = "e1b3f68e-a29b-11e8-9a3a-720006ceb942";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RestaurantService restaurantService;
+
+    @Autowired
+    private ReplicaRouting replicaRouting;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private DataSource replicaDataSource;
+
+    private JdbcTemplate replicaJdbcTemplate;
+
+    @Before
+    public void setUp() {
+        replicaDataSource = new DriverManagerDataSource(REPLICA_URL, "sa", "");
+        replicaJdbcTemplate = new JdbcTemplate(replicaDataSource);
+        if (replicaJdbcTemplate.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_NAME = 'RESTAURANT'", Integer.class) == 0) {
+            for (String statement : jdbcTemplate.queryForList("SCRIPT NODATA", String.class)) {
+                replicaJdbcTemplate.execute(statement);
+            }
+            replicaJdbcTemplate.execute("CREATE TABLE REPLICA_LAG(seconds DOUBLE)");
+            replicaJdbcTemplate.update("INSERT INTO REPLICA_LAG(seconds) VALUES (0)");
+        }
+        replicaJdbcTemplate.update("UPDATE REPLICA_LAG SET seconds = 0");
+        new ResourceDatabasePopulator(new ClassPathResource("sql/replica-routing.sql")).execute(replicaDataSource);
+        replicaJdbcTemplate.update("UPDATE RESTAURANT SET restaurant_name = 'Replica Kitchen' WHERE id = 940");
+        replicaRouting.checkReplicaLag();
+    }
+
+    @After
+    public void tearDown() {
+        replicaRouting.endRequest();
+        new ResourceDatabasePopulator(new ClassPathResource("sql/replica-routing-cleanup.sql")).execute(replicaDataSource);
+    }
+
+    //This test case passes when the read only transactions read from the replica and the admin endpoint reports it.
+    @Test
+    public void shouldReadFromTheReplicaInReadOnlyTransactions() throws Exception {
+        final long replicaConnections = replicaRouting.getReplicaConnections("replica-1");
+        assertEquals("Replica Kitchen", restaurantService.restaurantByUUID(RESTAURANT_UUID).getRestaurantName());
+        assertTrue(replicaRouting.getReplicaConnections("replica-1") > replicaConnections);
+        // Statements outside of read only transactions go to the primary
+        assertEquals("Primary Kitchen", jdbcTemplate.queryForObject("SELECT restaurant_name FROM RESTAURANT WHERE id = 940", String.class));
+
+        mockMvc.perform(get("/admin/replicas/statistics").header("authorization", "Bearer admin_accesstoken"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("replicas.replica-1.in_use").value(true))
+                .andExpect(jsonPath("replicas.replica-1.lag_millis").value(0));
+    }
+
+    //This test case passes when the reads go to the primary while the replica lags behind by more than the maximum lag.
+    @Test
+    public void shouldReadFromThePrimaryWhileTheReplicaLags() throws Exception {
+        replicaJdbcTemplate.update("UPDATE REPLICA_LAG SET seconds = 60");
+        replicaRouting.checkReplicaLag();
+        assertEquals(0, replicaRouting.getReplicasInUse());
+        assertEquals("Primary Kitchen", restaurantService.restaurantByUUID(RESTAURANT_UUID).getRestaurantName());
+
+        replicaJdbcTemplate.update("UPDATE REPLICA_LAG SET seconds = 0.5");
+        replicaRouting.checkReplicaLag();
+        assertEquals("Replica Kitchen", restaurantService.restaurantByUUID(RESTAURANT_UUID).getRestaurantName());
+    }
+
+    //This test case passes when the reads of the data just written, and the rest of a request that placed an order, go
+    // to the primary.
+    @Test
+    public void shouldReadYourWritesFromThePrimary() throws Exception {
+        replicaRouting.recordWrite("restaurant:" + RESTAURANT_UUID);
+        assertEquals("Primary Kitchen", replicaRouting.onPrimaryIfWritten("restaurant:" + RESTAURANT_UUID,
+                () -> restaurantByUUID(RESTAURANT_UUID)).getRestaurantName());
+        assertEquals("Replica Kitchen", replicaRouting.onPrimaryIfWritten("restaurant:other",
+                () -> restaurantByUUID(RESTAURANT_UUID)).getRestaurantName());
+
+        replicaRouting.onOrderPlaced(new OrderPlacedEvent(getOrderEntity()));
+        assertEquals("Primary Kitchen", restaurantService.restaurantByUUID(RESTAURANT_UUID).getRestaurantName());
+        replicaRouting.endRequest();
+        assertEquals("Replica Kitchen", restaurantService.restaurantByUUID(RESTAURANT_UUID).getRestaurantName());
+    }
+
+    //This test case passes when a write following a replica read in the same entity manager, as with the entity manager
+    // kept open for the view of a request, goes to the primary.
+    @Test
+    public void shouldWriteToThePrimaryAfterReadingFromTheReplica() throws Exception {
+        final EntityManager entityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+        try {
+            final RestaurantEntity restaurant = restaurantService.restaurantByUUID(RESTAURANT_UUID);
+            assertEquals("Replica Kitchen", restaurant.getRestaurantName());
+            restaurantService.updateRestaurantRating(restaurant, 5.0);
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            entityManager.close();
+        }
+        assertEquals(13, jdbcTemplate.queryForObject("SELECT number_of_customers_rated FROM RESTAURANT WHERE id = 940", Integer.class).intValue());
+        assertEquals(12, replicaJdbcTemplate.queryForObject("SELECT number_of_customers_rated FROM RESTAURANT WHERE id = 940", Integer.class).intValue());
+    }
+
+    private RestaurantEntity restaurantByUUID(String restaurantUUID) {
+        try {
+            return restaurantService.restaurantByUUID(restaurantUUID);
+        } catch (Exception exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private static OrderEntity getOrderEntity() {
+        final RestaurantEntity restaurant = new RestaurantEntity();
+        restaurant.setId(940);
+        restaurant.setUuid(RESTAURANT_UUID);
+        final CustomerEntity customer = new CustomerEntity();
+        customer.setUuid("customer1");
+        final OrderEntity order = new OrderEntity();
+        order.setId(940);
+        order.setUuid("e1b3f68e-a29b-11e8-9a3a-720006ceb943");
+        order.setBill(250.0);
+        order.setDate(new Date());
+        order.setRestaurant(restaurant);
+        order.setCustomer(customer);
+        return order;
+    }
+}
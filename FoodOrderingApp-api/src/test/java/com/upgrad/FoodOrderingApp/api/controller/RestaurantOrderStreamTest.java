@@ -0,0 +1,253 @@
+package com.upgrad.FoodOrderingApp.api.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import com.upgrad.FoodOrderingApp.api.config.OrderStreamAuthorizationInterceptor;
+import com.upgrad.FoodOrderingApp.service.entity.CustomerEntity;
+import com.upgrad.FoodOrderingApp.service.entity.OrderEntity;
+import com.upgrad.FoodOrderingApp.service.entity.RestaurantEntity;
+import com.upgrad.FoodOrderingApp.service.event.OrderFeed;
+import com.upgrad.FoodOrderingApp.service.event.OrderPlacedEvent;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.AFTER_TEST_METHOD;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// This class contains all the test cases regarding the stream of the new orders of a restaurant
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+@Sql("/sql/restaurant-order-stream.sql")
+@Sql(scripts = "/sql/restaurant-order-stream-cleanup.sql", executionPhase = AFTER_TEST_METHOD)
+public class RestaurantOrderStreamTest {
+
+    private static final String RESTAURANT_UUID = "e1b3f68e-a29b-11e8-9a3a-720006ceb952";
+
+    // Not in the Database, subscribed to directly. The streams opened by the other test cases stay subscribed to the
+    // restaurant above
+    private static final String SUBSCRIBED_RESTAURANT_UUID = "e1b3f68e-a29b-11e8-9a3a-720006ceb953";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrderFeed orderFeed;
+
+    @Autowired
+    private OrderStreamAuthorizationInterceptor streamTokenInterceptor;
+
+    //This test case passes when the orders placed at the restaurant after the stream is opened are sent as order events,
+    // and the orders of other restaurants aren't.
+    @Test
+    public void shouldStreamTheNewOrdersOfTheRestaurant() throws Exception {
+        final MvcResult result = mockMvc.perform(get("/restaurant/" + RESTAURANT_UUID + "/orders/stream")
+                .header("authorization", "Bearer " + streamToken(RESTAURANT_UUID)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        // Subscribed once the restaurant is found, the emitter then starts the stream
+        assertTrue(result.getAsyncResult(5000) instanceof SseEmitter);
+        mockMvc.perform(asyncDispatch(result));
+
+        final OrderPlacedEvent otherRestaurantOrder = getOrderPlacedEvent("e1b3f68e-a29b-11e8-9a3a-720006ceb000");
+        final OrderPlacedEvent order = getOrderPlacedEvent(RESTAURANT_UUID);
+        orderFeed.onOrderPlaced(otherRestaurantOrder);
+        orderFeed.onOrderPlaced(order);
+
+        // The id, the name and the data of the event are separate writes, the data is written last
+        final String content = awaitContent(result, order.getCustomerUuid());
+        assertTrue(content.contains("event:order\n"));
+        assertTrue(content.contains("id:" + order.getOrderUuid() + "\n"));
+        assertTrue(content.contains("\"customer_id\":\"" + order.getCustomerUuid() + "\""));
+        assertTrue(content.contains("\"bill\":250.0"));
+        assertFalse(content.contains(otherRestaurantOrder.getOrderUuid()));
+    }
+
+    //This test case passes when the stream is only opened with the stream token of the restaurant, not with the admin
+    // access token or the token of another restaurant, and for a restaurant that exists.
+    @Test
+    public void shouldStreamOrdersWithTheStreamTokenOfAnExistingRestaurant() throws Exception {
+        mockMvc.perform(get("/restaurant/" + RESTAURANT_UUID + "/orders/stream").header("authorization", "Bearer admin_accesstoken"))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("code").value("ATHR-006"));
+        mockMvc.perform(get("/restaurant/" + RESTAURANT_UUID + "/orders/stream")
+                .header("authorization", "Bearer " + streamTokenInterceptor.getStreamToken(SUBSCRIBED_RESTAURANT_UUID)))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("code").value("ATHR-006"));
+        // The stream tokens are only issued with the admin access token
+        mockMvc.perform(get("/admin/restaurant/" + RESTAURANT_UUID + "/orders/stream/token").header("authorization", "Bearer customer_token"))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("code").value("ATHR-005"));
+
+        final MvcResult result = mockMvc.perform(get("/restaurant/" + SUBSCRIBED_RESTAURANT_UUID + "/orders/stream")
+                .header("authorization", "Bearer " + streamTokenInterceptor.getStreamToken(SUBSCRIBED_RESTAURANT_UUID)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("code").value("RNF-001"));
+    }
+
+    //This test case passes when a subscriber falling behind by the buffer capacity is dropped, without holding up the
+    // other subscribers of the restaurant, and notified once its write returns.
+    @Test
+    public void shouldDropTheSlowSubscriber() throws Exception {
+        final CountDownLatch released = new CountDownLatch(1);
+        final CountDownLatch slowDropped = new CountDownLatch(1);
+        final CountDownLatch fastReceived = new CountDownLatch(66);
+        final long droppedSubscribers = orderFeed.getDroppedSubscribers();
+        final OrderFeed.Subscription slow = orderFeed.subscribe(SUBSCRIBED_RESTAURANT_UUID, new TestSubscriber() {
+            @Override
+            public void onOrderPlaced(OrderPlacedEvent event) throws Exception {
+                released.await(10, TimeUnit.SECONDS);
+            }
+
+            @Override
+            public void onDropped() {
+                slowDropped.countDown();
+            }
+        });
+        final OrderFeed.Subscription fast = orderFeed.subscribe(SUBSCRIBED_RESTAURANT_UUID, new TestSubscriber() {
+            @Override
+            public void onOrderPlaced(OrderPlacedEvent event) {
+                fastReceived.countDown();
+            }
+        });
+        try {
+            // The first order is taken out of the buffer by the stuck write, the next 64 fill the buffer
+            orderFeed.onOrderPlaced(getOrderPlacedEvent(SUBSCRIBED_RESTAURANT_UUID));
+            Thread.sleep(200);
+            for (int order = 0; order < 65; order++) {
+                orderFeed.onOrderPlaced(getOrderPlacedEvent(SUBSCRIBED_RESTAURANT_UUID));
+            }
+
+            assertTrue(slow.isCancelled());
+            assertEquals(droppedSubscribers + 1, orderFeed.getDroppedSubscribers());
+            assertTrue(fastReceived.await(5, TimeUnit.SECONDS));
+            assertFalse(fast.isCancelled());
+            // Completing the stream waits for the write it is stuck in
+            assertFalse(slowDropped.await(200, TimeUnit.MILLISECONDS));
+            released.countDown();
+            assertTrue(slowDropped.await(5, TimeUnit.SECONDS));
+        } finally {
+            released.countDown();
+            fast.cancel();
+        }
+    }
+
+    //This test case passes when a write blocked for longer than the write timeout is abandoned and another thread
+    // delivers the orders of the other subscribers, even with every thread of the pool blocked.
+    @Test
+    public void shouldAbandonTheWriteBlockedForLongerThanTheWriteTimeout() throws Exception {
+        final OrderFeed feed = new OrderFeed(1, 64, 60000, 200, 100);
+        final CountDownLatch released = new CountDownLatch(1);
+        final CountDownLatch stalledDropped = new CountDownLatch(1);
+        final CountDownLatch received = new CountDownLatch(1);
+        try {
+            final OrderFeed.Subscription stalled = feed.subscribe(RESTAURANT_UUID, new TestSubscriber() {
+                @Override
+                public void onOrderPlaced(OrderPlacedEvent event) throws Exception {
+                    released.await(10, TimeUnit.SECONDS);
+                }
+
+                @Override
+                public void onDropped() {
+                    stalledDropped.countDown();
+                }
+            });
+            feed.subscribe(SUBSCRIBED_RESTAURANT_UUID, new TestSubscriber() {
+                @Override
+                public void onOrderPlaced(OrderPlacedEvent event) {
+                    received.countDown();
+                }
+            });
+            // Blocks the only thread of the pool
+            feed.onOrderPlaced(getOrderPlacedEvent(RESTAURANT_UUID));
+            Thread.sleep(100);
+            feed.onOrderPlaced(getOrderPlacedEvent(SUBSCRIBED_RESTAURANT_UUID));
+
+            assertTrue(received.await(5, TimeUnit.SECONDS));
+            assertTrue(stalled.isCancelled());
+            assertEquals(1, feed.getDroppedSubscribers());
+            assertEquals(1, feed.getStalledThreads());
+
+            released.countDown();
+            assertTrue(stalledDropped.await(5, TimeUnit.SECONDS));
+            assertEquals(0, feed.getStalledThreads());
+        } finally {
+            released.countDown();
+            feed.destroy();
+        }
+    }
+
+    private String streamToken(String restaurantUuid) throws Exception {
+        final MvcResult result = mockMvc.perform(get("/admin/restaurant/" + restaurantUuid + "/orders/stream/token")
+                .header("authorization", "Bearer admin_accesstoken"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("restaurant_id").value(restaurantUuid))
+                .andReturn();
+        return JsonPath.read(result.getResponse().getContentAsString(), "stream_token");
+    }
+
+    private static String awaitContent(MvcResult result, String expected) throws Exception {
+        final long deadline = System.currentTimeMillis() + 5000;
+        String content = result.getResponse().getContentAsString();
+        while (!content.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            content = result.getResponse().getContentAsString();
+        }
+        return content;
+    }
+
+    private static OrderPlacedEvent getOrderPlacedEvent(String restaurantUuid) {
+        final RestaurantEntity restaurant = new RestaurantEntity();
+        restaurant.setId(950);
+        restaurant.setUuid(restaurantUuid);
+        final CustomerEntity customer = new CustomerEntity();
+        customer.setUuid(UUID.randomUUID().toString());
+        final OrderEntity order = new OrderEntity();
+        order.setId(950);
+        order.setUuid(UUID.randomUUID().toString());
+        order.setBill(250.0);
+        order.setDate(new Date());
+        order.setRestaurant(restaurant);
+        order.setCustomer(customer);
+        return new OrderPlacedEvent(order);
+    }
+
+    private static class TestSubscriber implements OrderFeed.OrderSubscriber {
+
+        @Override
+        public void onOrderPlaced(OrderPlacedEvent event) throws Exception {
+        }
+
+        @Override
+        public void onHeartbeat() {
+        }
+
+        @Override
+        public void onDropped() {
+        }
+    }
+}
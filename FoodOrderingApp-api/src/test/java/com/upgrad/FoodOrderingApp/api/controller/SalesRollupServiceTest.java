@@ -0,0 +1,89 @@
+package com.upgrad.FoodOrderingApp.api.controller;
+
+import com.upgrad.FoodOrderingApp.service.business.SalesRollupService;
+import com.upgrad.FoodOrderingApp.service.dao.SalesRollupDao;
+import com.upgrad.FoodOrderingApp.service.entity.CustomerEntity;
+import com.upgrad.FoodOrderingApp.service.entity.OrderEntity;
+import com.upgrad.FoodOrderingApp.service.entity.RestaurantEntity;
+import com.upgrad.FoodOrderingApp.service.event.OrderPlacedEvent;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+// This class contains all the test cases regarding the flushes of the restaurant sales rollups
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = "foodorderingapp.sales-rollup.flush-interval=3600000")
+@ActiveProfiles("h2")
+public class SalesRollupServiceTest {
+
+    @Autowired
+    private SalesRollupService salesRollupService;
+
+    @MockBean
+    private SalesRollupDao mockSalesRollupDao;
+
+    //This test case passes when only the orders not counted yet, by a rebuild on any node, are added by the flush,
+    // and the orders of a failed flush are added by the next one.
+    @Test
+    public void shouldFlushOnlyTheOrdersNotCountedYet() {
+        // 981 and 982 were counted by a rebuild since they were placed
+        when(mockSalesRollupDao.markOrdersRolledUp(anyList())).thenReturn(Collections.singletonList(983));
+        salesRollupService.onOrderPlaced(getOrderPlacedEvent(981, 100.0));
+        salesRollupService.onOrderPlaced(getOrderPlacedEvent(982, 200.0));
+        salesRollupService.onOrderPlaced(getOrderPlacedEvent(983, 250.0));
+
+        salesRollupService.flushPendingSales();
+        verify(mockSalesRollupDao, times(1)).markOrdersRolledUp(Arrays.asList(981, 982, 983));
+        verify(mockSalesRollupDao, times(1)).addToHourlySales(eq(981), any(Date.class), eq(1L), eq(BigDecimal.valueOf(250.0)));
+        verify(mockSalesRollupDao, times(1)).addToDailySales(eq(981), any(Date.class), eq(1L), eq(BigDecimal.valueOf(250.0)));
+        verify(mockSalesRollupDao, times(1)).addToHourlySales(anyInt(), any(Date.class), anyLong(), any(BigDecimal.class));
+    }
+
+    //This test case passes when the orders of a failed flush are flagged and added again by the next flush.
+    @Test
+    public void shouldRetryTheOrdersOfAFailedFlush() {
+        when(mockSalesRollupDao.markOrdersRolledUp(anyList())).thenReturn(Collections.singletonList(984));
+        doThrow(new QueryTimeoutException("Timed out")).doNothing()
+                .when(mockSalesRollupDao).addToHourlySales(anyInt(), any(Date.class), anyLong(), any(BigDecimal.class));
+        salesRollupService.onOrderPlaced(getOrderPlacedEvent(984, 300.0));
+
+        salesRollupService.flushPendingSales();
+        salesRollupService.flushPendingSales();
+        verify(mockSalesRollupDao, times(2)).markOrdersRolledUp(Collections.singletonList(984));
+        verify(mockSalesRollupDao, times(1)).addToDailySales(eq(981), any(Date.class), eq(1L), eq(BigDecimal.valueOf(300.0)));
+    }
+
+    private static OrderPlacedEvent getOrderPlacedEvent(Integer orderId, Double bill) {
+        final RestaurantEntity restaurant = new RestaurantEntity();
+        restaurant.setId(981);
+        restaurant.setUuid(UUID.randomUUID().toString());
+        final CustomerEntity customer = new CustomerEntity();
+        customer.setUuid(UUID.randomUUID().toString());
+        final OrderEntity order = new OrderEntity();
+        order.setId(orderId);
+        order.setUuid(UUID.randomUUID().toString());
+        order.setBill(bill);
+        order.setDate(new Date());
+        order.setRestaurant(restaurant);
+        order.setCustomer(customer);
+        return new OrderPlacedEvent(order);
+    }
+}
@@ -0,0 +1,174 @@
+package com.upgrad.FoodOrderingApp.api.controller;
+
+import com.upgrad.FoodOrderingApp.service.entity.StateEntity;
+import com.upgrad.FoodOrderingApp.service.sql.QueryStatistics;
+import com.upgrad.FoodOrderingApp.service.sql.RequestStatistics;
+import com.upgrad.FoodOrderingApp.service.sql.SqlStatistics;
+import org.hibernate.SessionFactory;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceContext;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.AFTER_TEST_METHOD;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// This class contains all the test cases regarding the SQL statistics per named query and per route
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+@Sql("/sql/sql-statistics.sql")
+@Sql(scripts = "/sql/sql-statistics-cleanup.sql", executionPhase = AFTER_TEST_METHOD)
+public class SqlStatisticsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SqlStatistics sqlStatistics;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // The states of the other test classes are read along with the states of this class
+    private long stateCount;
+
+    @Before
+    public void setUp() {
+        stateCount = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM STATE", Long.class);
+        // The states are cached, start every test with empty caches so that the query runs
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        sqlStatistics.reset();
+    }
+
+    //This test case passes when the named query is reported under its name with the rows it read.
+    @Test
+    public void shouldRecordCallsAndRowsPerNamedQuery() throws Exception {
+        mockMvc.perform(get("/states")).andExpect(status().isOk());
+
+        final QueryStatistics allStates = sqlStatistics.getQueryStatistics("allStates");
+        assertNotNull(allStates);
+        assertEquals(1, allStates.getCalls());
+        assertEquals(stateCount, allStates.getRows());
+        assertEquals(0, allStates.getErrors());
+    }
+
+    //This test case passes when the insert of an entity is reported under the entity name.
+    @Test
+    public void shouldRecordEntityInsertsPerEntity() {
+        new TransactionTemplate(transactionManager).execute(status -> {
+            entityManager.persist(new StateEntity("c860e78a-a29b-11e8-9a3a-720006ceb903", "Assam"));
+            return null;
+        });
+
+        final QueryStatistics insertState = sqlStatistics.getQueryStatistics("insert StateEntity");
+        assertNotNull(insertState);
+        assertEquals(1, insertState.getCalls());
+        assertEquals(1, insertState.getRows());
+    }
+
+    //This test case passes when the statements of a request are counted against the route of the request.
+    @Test
+    public void shouldCountStatementsPerRequest() throws Exception {
+        mockMvc.perform(get("/states")).andExpect(status().isOk());
+        // Served from the query cache without any statement
+        mockMvc.perform(get("/states")).andExpect(status().isOk());
+
+        final RequestStatistics states = sqlStatistics.getRequestStatistics("GET /states");
+        assertNotNull(states);
+        assertEquals(2, states.getRequests());
+        assertEquals(1, states.getStatements());
+    }
+
+    //This test case passes when the statements executed while a response is streamed are counted against the route.
+    @Test
+    public void shouldCountStatementsOfStreamedResponses() throws Exception {
+        final MvcResult result = mockMvc.perform(get("/restaurant"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+
+        // The restaurants and their addresses are read before the response is handed over, the categories while
+        // it is written
+        final long statements = calls("restaurantsByRating") + calls(SqlStatistics.OTHER_QUERIES)
+                + calls("categoriesByRestaurantUUID");
+        assertEquals(1, calls("categoriesByRestaurantUUID"));
+        assertEquals(statements, sqlStatistics.getRequestStatistics("GET /restaurant").getStatements());
+    }
+
+    //This test case passes when the rows updated by a statement are counted.
+    @Test
+    public void shouldRecordUpdatedRows() {
+        jdbcTemplate.update("UPDATE STATE SET state_name = state_name WHERE id BETWEEN 900 AND 909");
+
+        assertEquals(3, sqlStatistics.getQueryStatistics(SqlStatistics.OTHER_QUERIES).getRows());
+        // Statements outside of a request aren't counted against any route
+        assertEquals(-1, sqlStatistics.getRequestStatementCount());
+    }
+
+    //This test case passes when the admin endpoint serves the statistics of the named queries and the routes.
+    @Test
+    public void shouldGetSqlStatisticsWithAdminToken() throws Exception {
+        mockMvc.perform(get("/states")).andExpect(status().isOk());
+
+        mockMvc.perform(get("/admin/sql/statistics").header("authorization", "Bearer admin_accesstoken"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("queries.allStates.calls").value(1))
+                .andExpect(jsonPath("queries.allStates.rows").value(stateCount))
+                .andExpect(jsonPath("requests.['GET /states'].requests").value(1));
+    }
+
+    //This test case passes when the admin endpoint resets the statistics.
+    @Test
+    public void shouldResetSqlStatisticsWithAdminToken() throws Exception {
+        mockMvc.perform(get("/states")).andExpect(status().isOk());
+
+        mockMvc.perform(delete("/admin/sql/statistics").header("authorization", "Bearer admin_accesstoken"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("queries.allStates.calls").value(0));
+    }
+
+    //This test case passes when the SQL statistics are refused without the admin access token.
+    @Test
+    public void shouldNotGetSqlStatisticsWithoutAdminToken() throws Exception {
+        mockMvc.perform(get("/admin/sql/statistics").header("authorization", "Bearer customer_token"))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("code").value("ATHR-005"));
+    }
+
+    private long calls(String queryName) {
+        final QueryStatistics statistics = sqlStatistics.getQueryStatistics(queryName);
+        return statistics == null ? 0 : statistics.getCalls();
+    }
+}
@@ -0,0 +1,79 @@
+package com.upgrad.FoodOrderingApp.api.controller;
+
+import com.upgrad.FoodOrderingApp.api.startup.StartupReport;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import springfox.documentation.spring.web.plugins.DocumentationPluginsBootstrapper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// This class contains all the test cases regarding the startup report and the fast-boot profile
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles({"h2", "fast-boot"})
+public class StartupReportTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StartupReport startupReport;
+
+    @Autowired
+    private DocumentationPluginsBootstrapper documentationPluginsBootstrapper;
+
+    //This test case passes when every phase of the start and the creation of the beans are recorded once the
+    // application is started.
+    @Test
+    public void shouldRecordThePhasesAndTheBeansOfTheStart() {
+        assertTrue(startupReport.isComplete());
+        for (String phase : new String[]{"jvm", "environment", "context creation", "source loading", "bean definitions",
+                "bean creation", "lifecycle start", "runners"}) {
+            assertTrue(phase, startupReport.getPhaseMillis(phase) >= 0);
+        }
+        // Mock servlet environment, without a web server
+        assertEquals(-1, startupReport.getPhaseMillis("web server start"), 0);
+        assertTrue(startupReport.getBeanMillis("entityManagerFactory") > 0);
+        assertTrue(startupReport.getBeanMillis("restaurantController") >= 0);
+    }
+
+    //This test case passes when the startup report is retrieved with the admin access token only.
+    @Test
+    public void shouldGetStartupReportWithAdminToken() throws Exception {
+        mockMvc.perform(get("/admin/startup").header("authorization", "Bearer admin_accesstoken"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("complete").value(true))
+                .andExpect(jsonPath("phases.['bean creation']").exists())
+                .andExpect(jsonPath("beans[0].name").exists())
+                .andExpect(jsonPath("beans[0].millis").isNumber());
+
+        mockMvc.perform(get("/admin/startup").header("authorization", "Bearer customer_token"))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("code").value("ATHR-005"));
+    }
+
+    //This test case passes when the Swagger documentation isn't built on the start with the fast-boot profile, but on
+    // its first request.
+    @Test
+    public void shouldBuildSwaggerDocumentationOnFirstRequest() throws Exception {
+        assertFalse(documentationPluginsBootstrapper.isRunning());
+
+        mockMvc.perform(get("/v2/api-docs"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("paths['/restaurant/{restaurant_id}']").exists());
+
+        assertTrue(documentationPluginsBootstrapper.isRunning());
+    }
+}
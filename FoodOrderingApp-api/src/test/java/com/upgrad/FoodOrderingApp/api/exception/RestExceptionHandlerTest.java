@@ -0,0 +1,63 @@
+package com.upgrad.FoodOrderingApp.api.exception;
+
+import com.upgrad.FoodOrderingApp.api.model.ErrorResponse;
+import com.upgrad.FoodOrderingApp.service.exception.AuthorizationFailedException;
+import com.upgrad.FoodOrderingApp.service.exception.RestaurantNotFoundException;
+import com.upgrad.FoodOrderingApp.service.exception.ServiceException;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+// This class contains the test cases regarding the stack traces of the service exceptions and their error responses
+public class RestExceptionHandlerTest {
+
+    private final RestExceptionHandler restExceptionHandler = new RestExceptionHandler();
+
+    @After
+    public void tearDown() {
+        ServiceException.setStackTraces(false);
+    }
+
+    //This test case passes when the service exceptions are created without a stack trace by default.
+    @Test
+    public void shouldNotCaptureStackTracesByDefault() {
+        final RestaurantNotFoundException exception = new RestaurantNotFoundException("RNF-001", "No restaurant by this id");
+
+        assertEquals(0, exception.getStackTrace().length);
+        assertNull(exception.getMessage());
+        // Not writable, a suppressed exception isn't kept
+        exception.addSuppressed(new IllegalStateException());
+        assertEquals(0, exception.getSuppressed().length);
+    }
+
+    //This test case passes when the stack traces are captured once enabled.
+    @Test
+    public void shouldCaptureStackTracesWhenEnabled() {
+        ServiceException.setStackTraces(true);
+        final RestaurantNotFoundException exception = new RestaurantNotFoundException("RNF-001", "No restaurant by this id");
+
+        assertTrue(exception.getStackTrace().length > 0);
+        assertEquals(getClass().getName(), exception.getStackTrace()[0].getClassName());
+    }
+
+    //This test case passes when the error response of an exception without a stack trace is the same as with one.
+    @Test
+    public void shouldSendTheSameErrorResponseWithoutStackTrace() {
+        final ResponseEntity<ErrorResponse> stackless = restExceptionHandler.authorizationFailedException(
+                new AuthorizationFailedException("ATHR-001", "Customer is not Logged in."), null);
+        ServiceException.setStackTraces(true);
+        final ResponseEntity<ErrorResponse> withStackTrace = restExceptionHandler.authorizationFailedException(
+                new AuthorizationFailedException("ATHR-001", "Customer is not Logged in."), null);
+
+        assertEquals(HttpStatus.FORBIDDEN, stackless.getStatusCode());
+        assertEquals(withStackTrace.getStatusCode(), stackless.getStatusCode());
+        assertEquals(withStackTrace.getBody(), stackless.getBody());
+        assertEquals("ATHR-001", stackless.getBody().getCode());
+        assertEquals("Customer is not Logged in.", stackless.getBody().getMessage());
+    }
+}
@@ -0,0 +1,219 @@
+package com.upgrad.FoodOrderingApp.api.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.upgrad.FoodOrderingApp.api.model.*;
+import com.upgrad.FoodOrderingApp.service.common.ItemType;
+import com.upgrad.FoodOrderingApp.service.entity.*;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+// This class contains the test cases comparing the streamed list responses with the serialized response models
+public class StreamingJsonResponsesTest {
+
+    private ObjectMapper objectMapper;
+
+    private StreamingJsonResponses streamingJsonResponses;
+
+    @Before
+    public void setUp() {
+        // Configured as the Jackson message converter of Spring MVC
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        streamingJsonResponses = new StreamingJsonResponses();
+        ReflectionTestUtils.setField(streamingJsonResponses, "objectMapper", objectMapper);
+    }
+
+    //This test case passes when the streamed restaurants are the same bytes as the serialized RestaurantListResponse.
+    @Test
+    public void shouldStreamRestaurantsAsTheResponseModel() throws Exception {
+        final RestaurantEntity first = getRestaurantEntity("Café \"Delight\"\n", 4.0, 1200);
+        final RestaurantEntity second = getRestaurantEntity("Dhaba", 1.0E7, null);
+        second.setPhotoUrl(null);
+        final List<CategoryEntity> categories = Arrays.asList(getCategoryEntity("Chinese"), getCategoryEntity("Indian"));
+
+        final RestaurantListResponse expected = new RestaurantListResponse();
+        expected.addRestaurantsItem(getRestaurantList(first, categories));
+        expected.addRestaurantsItem(getRestaurantList(second, Collections.emptyList()));
+
+        final byte[] streamed = write(streamingJsonResponses.list("restaurants", writer -> {
+            writer.writeRestaurant(first, categories);
+            writer.writeRestaurant(second, Collections.emptyList());
+        }));
+        assertArrayEquals(objectMapper.writeValueAsBytes(expected), streamed);
+    }
+
+    //This test case passes when the streamed orders are the same bytes as the serialized CustomerOrderResponse.
+    @Test
+    public void shouldStreamOrdersAsTheResponseModel() throws Exception {
+        final OrderEntity withCoupon = getOrderEntity(new CouponEntity(UUID.randomUUID().toString(), "FLAT30", 30), 0.1);
+        final OrderEntity withoutCoupon = getOrderEntity(null, null);
+        final List<OrderItemEntity> orderItems = Arrays.asList(getOrderItemEntity(ItemType.VEG, 2),
+                getOrderItemEntity(ItemType.NON_VEG, 1));
+
+        final CustomerOrderResponse expected = new CustomerOrderResponse();
+        expected.addOrdersItem(getOrderList(withCoupon, orderItems));
+        expected.addOrdersItem(getOrderList(withoutCoupon, Collections.emptyList()));
+
+        final byte[] streamed = write(streamingJsonResponses.list("orders", writer -> {
+            writer.writeOrder(withCoupon, orderItems);
+            writer.writeOrder(withoutCoupon, Collections.emptyList());
+        }));
+        assertArrayEquals(objectMapper.writeValueAsBytes(expected), streamed);
+    }
+
+    //This test case passes when the streamed addresses and categories are the same bytes as the serialized responses.
+    @Test
+    public void shouldStreamAddressesAndCategoriesAsTheResponseModels() throws Exception {
+        final AddressEntity address = getAddressEntity();
+        final AddressList addressList = new AddressList();
+        addressList.id(UUID.fromString(address.getUuid())).flatBuildingName(address.getFlatBuilNo())
+                .locality(address.getLocality()).city(address.getCity()).pincode(address.getPincode())
+                .state(new AddressListState().id(UUID.fromString(address.getState().getUuid())).stateName(address.getState().getStateName()));
+        final AddressListResponse addresses = new AddressListResponse();
+        addresses.setAddresses(Collections.singletonList(addressList));
+        assertArrayEquals(objectMapper.writeValueAsBytes(addresses),
+                write(streamingJsonResponses.list("addresses", writer -> writer.writeAddress(address))));
+
+        final CategoryEntity category = getCategoryEntity("Snacks");
+        final CategoriesListResponse categories = new CategoriesListResponse();
+        categories.addCategoriesItem(new CategoryListResponse().id(UUID.fromString(category.getUuid())).categoryName(category.getCategoryName()));
+        assertArrayEquals(objectMapper.writeValueAsBytes(categories),
+                write(streamingJsonResponses.list("categories", writer -> writer.writeCategory(category))));
+
+        final CategoriesListResponse noCategories = new CategoriesListResponse();
+        noCategories.setCategories(Collections.emptyList());
+        assertArrayEquals(objectMapper.writeValueAsBytes(noCategories),
+                write(streamingJsonResponses.list("categories", writer -> {
+                })));
+    }
+
+    //This test case passes when the uuids are written in the form a UUID is written in.
+    @Test
+    public void shouldWriteUuidsInTheCanonicalForm() {
+        final String uuid = UUID.randomUUID().toString();
+        assertEquals(uuid, ResponseJsonWriter.canonicalUuid(uuid));
+        assertEquals(uuid, ResponseJsonWriter.canonicalUuid(uuid.toUpperCase()));
+        assertEquals("00000001-0002-0003-0004-000000000005", ResponseJsonWriter.canonicalUuid("1-2-3-4-5"));
+    }
+
+    private byte[] write(ResponseEntity<StreamingResponseBody> response) throws Exception {
+        assertEquals(MediaType.APPLICATION_JSON_UTF8, response.getHeaders().getContentType());
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        response.getBody().writeTo(outputStream);
+        return outputStream.toByteArray();
+    }
+
+    // Mapping of the restaurant the controller did before the responses were streamed
+    private RestaurantList getRestaurantList(RestaurantEntity restaurant, List<CategoryEntity> categories) {
+        final AddressEntity address = restaurant.getAddress();
+        final RestaurantDetailsResponseAddress responseAddress = new RestaurantDetailsResponseAddress();
+        responseAddress.id(UUID.fromString(address.getUuid())).flatBuildingName(address.getFlatBuilNo())
+                .locality(address.getLocality()).city(address.getCity()).pincode(address.getPincode())
+                .state(new RestaurantDetailsResponseAddressState().id(UUID.fromString(address.getState().getUuid()))
+                        .stateName(address.getState().getStateName()));
+        final StringBuilder categoryNames = new StringBuilder();
+        for (int index = 0; index < categories.size(); index++) {
+            categoryNames.append(categories.get(index).getCategoryName());
+            if (index < categories.size() - 1) {
+                categoryNames.append(",").append(" ");
+            }
+        }
+        return new RestaurantList().id(UUID.fromString(restaurant.getUuid())).restaurantName(restaurant.getRestaurantName())
+                .address(responseAddress).photoURL(restaurant.getPhotoUrl()).customerRating(BigDecimal.valueOf(restaurant.getCustomerRating()))
+                .averagePrice(restaurant.getAvgPrice()).numberCustomersRated(restaurant.getNumberCustomersRated())
+                .categories(categoryNames.toString());
+    }
+
+    // Mapping of the order the controller did before the responses were streamed
+    private OrderList getOrderList(OrderEntity order, List<OrderItemEntity> orderItems) {
+        final OrderList orderList = new OrderList();
+        orderList.id(UUID.fromString(order.getUuid())).bill(BigDecimal.valueOf(order.getBill()))
+                .discount(BigDecimal.valueOf(order.getDiscount() != null ? order.getDiscount() : 0.0)).date(order.getDate().toString());
+        if (order.getCoupon() != null) {
+            orderList.coupon(new OrderListCoupon().id(UUID.fromString(order.getCoupon().getUuid()))
+                    .couponName(order.getCoupon().getCouponName()).percent(order.getCoupon().getPercent()));
+        }
+        orderList.payment(new OrderListPayment().id(UUID.fromString(order.getPayment().getUuid())).paymentName(order.getPayment().getPaymentName()));
+        final CustomerEntity customer = order.getCustomer();
+        orderList.customer(new OrderListCustomer().id(UUID.fromString(customer.getUuid())).firstName(customer.getFirstName())
+                .lastName(customer.getLastName()).emailAddress(customer.getEmail()).contactNumber(customer.getContactNumber()));
+        final AddressEntity address = order.getAddress();
+        orderList.address(new OrderListAddress().id(UUID.fromString(address.getUuid())).flatBuildingName(address.getFlatBuilNo())
+                .locality(address.getLocality()).city(address.getCity()).pincode(address.getPincode())
+                .state(new OrderListAddressState().id(UUID.fromString(address.getState().getUuid())).stateName(address.getState().getStateName())));
+        for (OrderItemEntity orderItem : orderItems) {
+            final ItemQuantityResponseItem item = new ItemQuantityResponseItem().id(UUID.fromString(orderItem.getItem().getUuid()))
+                    .itemName(orderItem.getItem().getItemName()).itemPrice(orderItem.getPrice())
+                    .type(ItemQuantityResponseItem.TypeEnum.fromValue(orderItem.getItem().getType().getValue()));
+            orderList.addItemQuantitiesItem(new ItemQuantityResponse().item(item).quantity(orderItem.getQuantity()).price(orderItem.getPrice()));
+        }
+        if (orderList.getItemQuantities() == null) {
+            orderList.setItemQuantities(Collections.emptyList());
+        }
+        return orderList;
+    }
+
+    private RestaurantEntity getRestaurantEntity(String name, double rating, Integer averagePrice) {
+        final RestaurantEntity restaurant = new RestaurantEntity();
+        restaurant.setUuid(UUID.randomUUID().toString());
+        restaurant.setRestaurantName(name);
+        restaurant.setPhotoUrl("https://images.foodorderingapp.io/restaurant.jpg");
+        restaurant.setCustomerRating(rating);
+        restaurant.setAvgPrice(averagePrice);
+        restaurant.setNumberCustomersRated(51);
+        restaurant.setAddress(getAddressEntity());
+        return restaurant;
+    }
+
+    private AddressEntity getAddressEntity() {
+        return new AddressEntity(UUID.randomUUID().toString(), "12, Brigade Road", "Ashok Nagar", "Bengaluru", "560025",
+                new StateEntity(UUID.randomUUID().toString().toUpperCase(), "Karnataka"));
+    }
+
+    private CategoryEntity getCategoryEntity(String name) {
+        final CategoryEntity category = new CategoryEntity();
+        category.setUuid(UUID.randomUUID().toString());
+        category.setCategoryName(name);
+        return category;
+    }
+
+    private OrderEntity getOrderEntity(CouponEntity coupon, Double discount) {
+        final CustomerEntity customer = new CustomerEntity();
+        customer.setUuid(UUID.randomUUID().toString());
+        customer.setFirstName("Ravi");
+        customer.setLastName(null);
+        customer.setEmail("ravi@example.com");
+        customer.setContactNumber("9090909090");
+        return new OrderEntity(UUID.randomUUID().toString(), 1234.56, coupon, discount,
+                Timestamp.valueOf("2024-12-31 19:30:05.25"), new PaymentEntity(UUID.randomUUID().toString(), "UPI"),
+                customer, getAddressEntity(), null);
+    }
+
+    private OrderItemEntity getOrderItemEntity(ItemType type, int quantity) {
+        final ItemEntity item = new ItemEntity();
+        item.setUuid(UUID.randomUUID().toString());
+        item.setItemName("Paneer करी");
+        item.setPrice(220);
+        item.setType(type);
+        final OrderItemEntity orderItem = new OrderItemEntity();
+        orderItem.setItem(item);
+        orderItem.setQuantity(quantity);
+        orderItem.setPrice(200 * quantity);
+        return orderItem;
+    }
+}
@@ -0,0 +1 @@
+DELETE FROM COUPON WHERE id BETWEEN 1001 AND 1009;
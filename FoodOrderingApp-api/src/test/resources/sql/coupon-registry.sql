@@ -0,0 +1,3 @@
+-- Coupons of the CouponRegistryTest, ids 1001 to 1009
+INSERT INTO COUPON(id, uuid, coupon_name, percent) VALUES (1001, 'c1a3f68e-a29b-11e8-9a3a-720006ce1001', 'Monsoon25', 25);
+INSERT INTO COUPON(id, uuid, coupon_name, percent) VALUES (1002, 'c1a3f68e-a29b-11e8-9a3a-720006ce1002', 'WINTER10', 10);
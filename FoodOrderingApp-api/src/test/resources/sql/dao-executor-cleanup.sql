@@ -0,0 +1,8 @@
+DELETE FROM CATEGORY_ITEM WHERE id BETWEEN 910 AND 919;
+DELETE FROM RESTAURANT_ITEM WHERE id BETWEEN 910 AND 919;
+DELETE FROM ITEM WHERE id BETWEEN 910 AND 919;
+DELETE FROM RESTAURANT_CATEGORY WHERE id BETWEEN 910 AND 919;
+DELETE FROM CATEGORY WHERE id BETWEEN 910 AND 919;
+DELETE FROM RESTAURANT WHERE id BETWEEN 910 AND 919;
+DELETE FROM ADDRESS WHERE id BETWEEN 910 AND 919;
+DELETE FROM STATE WHERE id BETWEEN 910 AND 919;
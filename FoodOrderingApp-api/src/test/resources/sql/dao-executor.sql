@@ -0,0 +1,9 @@
+-- Rows of the DaoExecutorTest, ids 910 to 919
+INSERT INTO STATE(id, uuid, state_name) VALUES (910, 'd0a3f68e-a29b-11e8-9a3a-720006ceb910', 'Sikkim');
+INSERT INTO ADDRESS(id, uuid, flat_buil_number, locality, city, pincode, state_id, active) VALUES (910, 'd0a3f68e-a29b-11e8-9a3a-720006ceb911', '2 MG Marg', 'Gangtok', 'Gangtok', '737101', 910, 1);
+INSERT INTO RESTAURANT(id, uuid, restaurant_name, photo_url, customer_rating, average_price_for_two, number_of_customers_rated, address_id) VALUES (910, 'd0a3f68e-a29b-11e8-9a3a-720006ceb912', 'Momo House', 'photo', 4.2, 250, 12, 910);
+INSERT INTO CATEGORY(id, uuid, category_name) VALUES (910, 'd0a3f68e-a29b-11e8-9a3a-720006ceb913', 'Tibetan'), (911, 'd0a3f68e-a29b-11e8-9a3a-720006ceb914', 'Soups');
+INSERT INTO RESTAURANT_CATEGORY(id, restaurant_id, category_id) VALUES (910, 910, 910), (911, 910, 911);
+INSERT INTO ITEM(id, uuid, item_name, price, type) VALUES (910, 'd0a3f68e-a29b-11e8-9a3a-720006ceb915', 'Veg Momo', 120, 0), (911, 'd0a3f68e-a29b-11e8-9a3a-720006ceb916', 'Thukpa', 150, 1);
+INSERT INTO RESTAURANT_ITEM(id, item_id, restaurant_id) VALUES (910, 910, 910), (911, 911, 910);
+INSERT INTO CATEGORY_ITEM(id, item_id, category_id) VALUES (910, 910, 910), (911, 911, 911);
@@ -0,0 +1,13 @@
+DELETE FROM ORDER_ITEM WHERE id BETWEEN 920 AND 929;
+DELETE FROM ORDERS WHERE id BETWEEN 920 AND 929;
+DELETE FROM COUPON WHERE id BETWEEN 920 AND 929;
+DELETE FROM PAYMENT WHERE id BETWEEN 920 AND 929;
+DELETE FROM ITEM WHERE id BETWEEN 920 AND 929;
+DELETE FROM RESTAURANT_CATEGORY WHERE id BETWEEN 920 AND 929;
+DELETE FROM CATEGORY WHERE id BETWEEN 920 AND 929;
+DELETE FROM RESTAURANT WHERE id BETWEEN 920 AND 929;
+DELETE FROM CUSTOMER_ADDRESS WHERE id BETWEEN 920 AND 929;
+DELETE FROM CUSTOMER_AUTH WHERE id BETWEEN 920 AND 929;
+DELETE FROM CUSTOMER WHERE id BETWEEN 920 AND 929;
+DELETE FROM ADDRESS WHERE id BETWEEN 920 AND 929;
+DELETE FROM STATE WHERE id BETWEEN 920 AND 929;
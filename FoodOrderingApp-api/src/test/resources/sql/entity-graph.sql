@@ -0,0 +1,24 @@
+-- Rows of the EntityGraphTest, ids 920 to 929
+INSERT INTO STATE(id, uuid, state_name) VALUES (920, 'e0a3f68e-a29b-11e8-9a3a-720006ceb920', 'Assam');
+INSERT INTO ADDRESS(id, uuid, flat_buil_number, locality, city, pincode, state_id, active) VALUES
+    (920, 'e0a3f68e-a29b-11e8-9a3a-720006ceb921', '3 GS Road', 'Dispur', 'Guwahati', '781006', 920, 1),
+    (921, 'e0a3f68e-a29b-11e8-9a3a-720006ceb922', '4 GS Road', 'Dispur', 'Guwahati', '781006', 920, 0),
+    (922, 'e0a3f68e-a29b-11e8-9a3a-720006ceb923', '5 Zoo Road', 'Dispur', 'Guwahati', '781005', 920, 1);
+INSERT INTO CUSTOMER(id, uuid, firstname, lastname, email, contact_number, password, salt) VALUES
+    (920, 'e0a3f68e-a29b-11e8-9a3a-720006ceb924', 'graph', 'customer', 'graph@upgrad.com', '9876543920', 'password', 'salt');
+INSERT INTO CUSTOMER_AUTH(id, uuid, customer_id, access_token, login_at, expires_at) VALUES
+    (920, 'e0a3f68e-a29b-11e8-9a3a-720006ceb925', 920, 'entity_graph_accesstoken', CURRENT_TIMESTAMP, DATEADD('HOUR', 1, CURRENT_TIMESTAMP));
+INSERT INTO CUSTOMER_ADDRESS(id, customer_id, address_id) VALUES (920, 920, 920), (921, 920, 921);
+INSERT INTO RESTAURANT(id, uuid, restaurant_name, photo_url, customer_rating, average_price_for_two, number_of_customers_rated, address_id) VALUES
+    (920, 'e0a3f68e-a29b-11e8-9a3a-720006ceb926', 'Graph Dhaba', 'photo', 4.1, 200, 8, 922);
+INSERT INTO CATEGORY(id, uuid, category_name) VALUES (920, 'e0a3f68e-a29b-11e8-9a3a-720006ceb927', 'Assamese');
+INSERT INTO RESTAURANT_CATEGORY(id, restaurant_id, category_id) VALUES (920, 920, 920);
+INSERT INTO ITEM(id, uuid, item_name, price, type) VALUES
+    (920, 'e0a3f68e-a29b-11e8-9a3a-720006ceb928', 'Masor Tenga', 180, 1), (921, 'e0a3f68e-a29b-11e8-9a3a-720006ceb929', 'Khar', 120, 0);
+INSERT INTO PAYMENT(id, uuid, payment_name) VALUES (920, 'e0a3f68e-a29b-11e8-9a3a-720006ceb930', 'Graph Pay');
+INSERT INTO COUPON(id, uuid, coupon_name, percent) VALUES (920, 'e0a3f68e-a29b-11e8-9a3a-720006ceb931', 'GRAPH10', 10);
+INSERT INTO ORDERS(id, uuid, bill, coupon_id, discount, date, payment_id, customer_id, address_id, restaurant_id) VALUES
+    (920, 'e0a3f68e-a29b-11e8-9a3a-720006ceb932', 270, 920, 30, '2024-12-30 12:00:00', 920, 920, 921, 920),
+    (921, 'e0a3f68e-a29b-11e8-9a3a-720006ceb933', 120, NULL, 0, '2024-12-31 12:00:00', 920, 920, 921, 920);
+INSERT INTO ORDER_ITEM(id, order_id, item_id, quantity, price) VALUES
+    (920, 920, 920, 1, 180), (921, 920, 921, 1, 120), (922, 921, 921, 1, 120);
@@ -0,0 +1,7 @@
+DELETE FROM ORDERS WHERE id BETWEEN 930 AND 939;
+DELETE FROM COUPON WHERE id BETWEEN 930 AND 939;
+DELETE FROM PAYMENT WHERE id BETWEEN 930 AND 939;
+DELETE FROM RESTAURANT WHERE id BETWEEN 930 AND 939;
+DELETE FROM CUSTOMER WHERE id BETWEEN 930 AND 939;
+DELETE FROM ADDRESS WHERE id BETWEEN 930 AND 939;
+DELETE FROM STATE WHERE id BETWEEN 930 AND 939;
@@ -0,0 +1,14 @@
+-- Rows of the ListProjectionTest, ids 930 to 939
+INSERT INTO STATE(id, uuid, state_name) VALUES (930, 'f0a3f68e-a29b-11e8-9a3a-720006ceb930', 'Tripura');
+INSERT INTO ADDRESS(id, uuid, flat_buil_number, locality, city, pincode, state_id, active) VALUES
+    (930, 'f0a3f68e-a29b-11e8-9a3a-720006ceb931', '6 HGB Road', 'Melarmath', 'Agartala', '799001', 930, 0),
+    (931, 'f0a3f68e-a29b-11e8-9a3a-720006ceb932', '7 HGB Road', 'Melarmath', 'Agartala', '799001', 930, 1);
+INSERT INTO CUSTOMER(id, uuid, firstname, lastname, email, contact_number, password, salt) VALUES
+    (930, 'f0a3f68e-a29b-11e8-9a3a-720006ceb933', 'projection', NULL, 'projection@upgrad.com', '9876543930', 'password', 'salt');
+INSERT INTO RESTAURANT(id, uuid, restaurant_name, photo_url, customer_rating, average_price_for_two, number_of_customers_rated, address_id) VALUES
+    (930, 'f0a3f68e-a29b-11e8-9a3a-720006ceb934', 'Projection Hut', 'photo', 4.9, 350, 21, 931);
+INSERT INTO PAYMENT(id, uuid, payment_name) VALUES (930, 'f0a3f68e-a29b-11e8-9a3a-720006ceb935', 'Projection Pay');
+INSERT INTO COUPON(id, uuid, coupon_name, percent) VALUES (930, 'f0a3f68e-a29b-11e8-9a3a-720006ceb936', 'TUPLE20', 20);
+INSERT INTO ORDERS(id, uuid, bill, coupon_id, discount, date, payment_id, customer_id, address_id, restaurant_id) VALUES
+    (930, 'f0a3f68e-a29b-11e8-9a3a-720006ceb937', 400, 930, 100, '2024-12-30 12:00:00', 930, 930, 930, 930),
+    (931, 'f0a3f68e-a29b-11e8-9a3a-720006ceb938', 250, NULL, 0, '2024-12-31 12:00:00', 930, 930, 930, 930);
@@ -0,0 +1,3 @@
+DELETE FROM RESTAURANT WHERE id BETWEEN 940 AND 949;
+DELETE FROM ADDRESS WHERE id BETWEEN 940 AND 949;
+DELETE FROM STATE WHERE id BETWEEN 940 AND 949;
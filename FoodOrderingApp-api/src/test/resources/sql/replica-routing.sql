@@ -0,0 +1,4 @@
+-- Rows of the ReplicaRoutingTest, ids 940 to 949. Also inserted into the replica, where the restaurant is renamed
+INSERT INTO STATE(id, uuid, state_name) VALUES (940, 'e1b3f68e-a29b-11e8-9a3a-720006ceb940', 'Assam');
+INSERT INTO ADDRESS(id, uuid, flat_buil_number, locality, city, pincode, state_id, active) VALUES (940, 'e1b3f68e-a29b-11e8-9a3a-720006ceb941', '7 GS Road', 'Dispur', 'Guwahati', '781006', 940, 1);
+INSERT INTO RESTAURANT(id, uuid, restaurant_name, photo_url, customer_rating, average_price_for_two, number_of_customers_rated, address_id) VALUES (940, 'e1b3f68e-a29b-11e8-9a3a-720006ceb942', 'Primary Kitchen', 'photo', 4.0, 300, 12, 940);
@@ -0,0 +1,3 @@
+DELETE FROM RESTAURANT WHERE id BETWEEN 950 AND 959;
+DELETE FROM ADDRESS WHERE id BETWEEN 950 AND 959;
+DELETE FROM STATE WHERE id BETWEEN 950 AND 959;
@@ -0,0 +1,4 @@
+-- Rows of the RestaurantOrderStreamTest, ids 950 to 959
+INSERT INTO STATE(id, uuid, state_name) VALUES (950, 'e1b3f68e-a29b-11e8-9a3a-720006ceb950', 'Assam');
+INSERT INTO ADDRESS(id, uuid, flat_buil_number, locality, city, pincode, state_id, active) VALUES (950, 'e1b3f68e-a29b-11e8-9a3a-720006ceb951', '7 GS Road', 'Dispur', 'Guwahati', '781006', 950, 1);
+INSERT INTO RESTAURANT(id, uuid, restaurant_name, photo_url, customer_rating, average_price_for_two, number_of_customers_rated, address_id) VALUES (950, 'e1b3f68e-a29b-11e8-9a3a-720006ceb952', 'Stream Kitchen', 'photo', 4.0, 300, 12, 950);
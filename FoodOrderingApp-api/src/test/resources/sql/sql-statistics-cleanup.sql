@@ -0,0 +1,4 @@
+DELETE FROM RESTAURANT WHERE id BETWEEN 900 AND 909;
+DELETE FROM ADDRESS WHERE id BETWEEN 900 AND 909;
+-- The state persisted by the test gets a generated id
+DELETE FROM STATE WHERE id BETWEEN 900 AND 909 OR uuid = 'c860e78a-a29b-11e8-9a3a-720006ceb903';
@@ -0,0 +1,4 @@
+-- Rows of the SqlStatisticsTest, ids 900 to 909
+INSERT INTO STATE(id, uuid, state_name) VALUES (900, 'c860e78a-a29b-11e8-9a3a-720006ceb900', 'Goa'), (901, 'c860e78a-a29b-11e8-9a3a-720006ceb901', 'Kerala'), (902, 'c860e78a-a29b-11e8-9a3a-720006ceb902', 'Punjab');
+INSERT INTO ADDRESS(id, uuid, flat_buil_number, locality, city, pincode, state_id, active) VALUES (900, 'b0a3f68e-a29b-11e8-9a3a-720006ceb890', '1 Main Road', 'Panjim', 'Goa', '403001', 900, 1);
+INSERT INTO RESTAURANT(id, uuid, restaurant_name, photo_url, customer_rating, average_price_for_two, number_of_customers_rated, address_id) VALUES (900, 'b0a3f68e-a29b-11e8-9a3a-720006ceb891', 'Goan Kitchen', 'photo', 4.5, 300, 10, 900);
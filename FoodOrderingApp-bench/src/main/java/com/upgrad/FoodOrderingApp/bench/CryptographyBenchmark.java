@@ -0,0 +1,67 @@
+package com.upgrad.FoodOrderingApp.bench;
+
+import com.upgrad.FoodOrderingApp.service.business.JwtTokenProvider;
+import com.upgrad.FoodOrderingApp.service.business.PasswordCryptographyProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Password hashing of the sign up and login, and the access token signing of the login
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class CryptographyBenchmark {
+
+    private static final String PASSWORD = "Str0ng#Passw0rd";
+
+    private PasswordCryptographyProvider passwordCryptographyProvider;
+    private String salt;
+    private JwtTokenProvider jwtTokenProvider;
+    private String customerUuid;
+    private ZonedDateTime issuedAt;
+    private ZonedDateTime expiresAt;
+
+    @Setup
+    public void setUp() {
+        passwordCryptographyProvider = new PasswordCryptographyProvider();
+        salt = passwordCryptographyProvider.encrypt(PASSWORD)[0];
+        // Same secret length as a token signed with a password hash at login
+        jwtTokenProvider = new JwtTokenProvider(PasswordCryptographyProvider.encrypt(PASSWORD, salt));
+        customerUuid = UUID.randomUUID().toString();
+        issuedAt = ZonedDateTime.now();
+        expiresAt = issuedAt.plusHours(8);
+    }
+
+    // Sign up, a new salt and the hash of the password
+    @Benchmark
+    public String[] encryptWithNewSalt() {
+        return passwordCryptographyProvider.encrypt(PASSWORD);
+    }
+
+    // Login, the hash of the password with the salt of the customer
+    @Benchmark
+    public String encryptWithSalt() {
+        return PasswordCryptographyProvider.encrypt(PASSWORD, salt);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtTokenProvider.generateToken(customerUuid, issuedAt, expiresAt);
+    }
+}
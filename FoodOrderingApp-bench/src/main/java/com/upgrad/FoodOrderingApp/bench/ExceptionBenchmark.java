@@ -0,0 +1,70 @@
+package com.upgrad.FoodOrderingApp.bench;
+
+import com.upgrad.FoodOrderingApp.api.exception.RestExceptionHandler;
+import com.upgrad.FoodOrderingApp.api.model.ErrorResponse;
+import com.upgrad.FoodOrderingApp.service.exception.AuthorizationFailedException;
+import com.upgrad.FoodOrderingApp.service.exception.ServiceException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A rejected token, from the exception thrown below the frames of the servlet container and Spring MVC to the error
+ * response of the RestExceptionHandler, with and without the stack trace of the exception
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class ExceptionBenchmark {
+
+    // Frames between the Tomcat thread and the service of a request are around 100
+    @Param({"100"})
+    private int depth;
+
+    @Param({"false", "true"})
+    private boolean stackTraces;
+
+    private RestExceptionHandler restExceptionHandler;
+
+    @Setup
+    public void setUp() {
+        ServiceException.setStackTraces(stackTraces);
+        restExceptionHandler = new RestExceptionHandler();
+    }
+
+    @TearDown
+    public void tearDown() {
+        ServiceException.setStackTraces(false);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> rejectToken() {
+        try {
+            return authorize(depth);
+        } catch (AuthorizationFailedException exception) {
+            return restExceptionHandler.authorizationFailedException(exception, null);
+        }
+    }
+
+    private static ResponseEntity<ErrorResponse> authorize(int frames) throws AuthorizationFailedException {
+        if (frames == 0) {
+            throw new AuthorizationFailedException("ATHR-001", "Customer is not Logged in.");
+        }
+        return authorize(frames - 1);
+    }
+}
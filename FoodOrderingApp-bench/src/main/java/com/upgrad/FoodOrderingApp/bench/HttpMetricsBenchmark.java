@@ -0,0 +1,63 @@
+package com.upgrad.FoodOrderingApp.bench;
+
+import com.upgrad.FoodOrderingApp.api.metrics.HttpMetrics;
+import com.upgrad.FoodOrderingApp.api.metrics.RouteMetrics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recording of the route metrics of a request, as done by the HttpMetricsFilter and HttpMetricsInterceptor, from
+ * threads recording the same route at once, and a Prometheus scrape of the recorded routes
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class HttpMetricsBenchmark {
+
+    private static final String ROUTE = "GET /restaurant/{restaurant_id}";
+
+    private HttpMetrics httpMetrics;
+
+    @Setup
+    public void setUp() {
+        httpMetrics = new HttpMetrics();
+        // The routes and error codes of a running application
+        for (String route : new String[]{"GET /restaurant", ROUTE, "GET /category", "GET /category/{category_id}",
+                "POST /order", "GET /order", "POST /customer/login", "GET /address/customer"}) {
+            RouteMetrics metrics = httpMetrics.route(route);
+            metrics.requestStarted();
+            metrics.requestCompleted(TimeUnit.MILLISECONDS.toNanos(12), 200, 4096, null);
+            metrics.requestStarted();
+            metrics.requestCompleted(TimeUnit.MILLISECONDS.toNanos(3), 404, 60, "RNF-001");
+        }
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void recordRequest() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        RouteMetrics route = httpMetrics.route(ROUTE);
+        route.requestStarted();
+        route.requestCompleted(random.nextLong(100_000, 50_000_000), 200, random.nextLong(100, 20_000), null);
+    }
+
+    @Benchmark
+    public String scrape() {
+        return httpMetrics.toPrometheus();
+    }
+}
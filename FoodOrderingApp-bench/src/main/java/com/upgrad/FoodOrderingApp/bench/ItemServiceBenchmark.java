@@ -0,0 +1,62 @@
+package com.upgrad.FoodOrderingApp.bench;
+
+import com.upgrad.FoodOrderingApp.service.business.ItemService;
+import com.upgrad.FoodOrderingApp.service.entity.CategoryEntity;
+import com.upgrad.FoodOrderingApp.service.entity.ItemEntity;
+import com.upgrad.FoodOrderingApp.service.entity.RestaurantEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filtering of the menu of a restaurant down to one category, run for every category of the restaurant details
+ * The items of a category are the items of every restaurant, so the cost grows with the number of restaurants
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class ItemServiceBenchmark {
+
+    @Param({"50", "500"})
+    private int restaurants;
+
+    // Items of every category on the menu of a restaurant, 6 categories per restaurant
+    @Param({"10", "25"})
+    private int itemsPerCategory;
+
+    private ItemService itemService;
+    private String restaurantUuid;
+    private String categoryUuid;
+
+    @Setup
+    public void setUp() {
+        SyntheticData data = new SyntheticData(restaurants, 6, itemsPerCategory, 42);
+        itemService = data.itemService();
+        RestaurantEntity restaurant = data.getRestaurant(restaurants / 2);
+        restaurantUuid = restaurant.getUuid();
+        List<CategoryEntity> categories = data.getCategories(restaurant);
+        categoryUuid = categories.get(categories.size() / 2).getUuid();
+        if (itemService.getItemsByCategoryAndRestaurant(restaurantUuid, categoryUuid).size() != itemsPerCategory) {
+            throw new IllegalStateException("The items of the category weren't found in the menu of the restaurant");
+        }
+    }
+
+    @Benchmark
+    public List<ItemEntity> getItemsByCategoryAndRestaurant() {
+        return itemService.getItemsByCategoryAndRestaurant(restaurantUuid, categoryUuid);
+    }
+}
@@ -0,0 +1,88 @@
+package com.upgrad.FoodOrderingApp.bench;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.upgrad.FoodOrderingApp.api.controller.RestaurantController;
+import com.upgrad.FoodOrderingApp.api.model.RestaurantDetailsResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping of the restaurants to the GET /restaurant and GET /restaurant/{restaurant_id} responses
+ * The restaurant list is streamed straight to JSON, the restaurant details are read on the DAO executor and mapped to
+ * the response model alone and followed by the Jackson serialization the message converter does
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class RestaurantResponseBenchmark {
+
+    @Param({"50", "500"})
+    private int restaurants;
+
+    // A menu of 6 categories of this many items
+    @Param({"10", "25"})
+    private int itemsPerCategory;
+
+    private RestaurantController restaurantController;
+    private ObjectMapper objectMapper;
+    private String restaurantUuid;
+
+    @Setup
+    public void setUp() {
+        SyntheticData data = new SyntheticData(restaurants, 6, itemsPerCategory, 42);
+        restaurantController = data.restaurantController();
+        // Configured as the Jackson message converter of Spring MVC
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        restaurantUuid = data.getRestaurant(restaurants / 2).getUuid();
+    }
+
+    @Benchmark
+    public byte[] streamRestaurantList() throws IOException {
+        // Starts at the size of the servlet response buffer
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(8192);
+        restaurantController.getAllRestaurants().getBody().writeTo(outputStream);
+        return outputStream.toByteArray();
+    }
+
+    @Benchmark
+    public RestaurantDetailsResponse populateRestaurantDetailsResponse() {
+        return restaurantDetails();
+    }
+
+    @Benchmark
+    public byte[] populateRestaurantDetailsResponseToJson() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(restaurantDetails());
+    }
+
+    // Waits for the lookups run on the DAO executor, as the async dispatch of the request does
+    @SuppressWarnings("unchecked")
+    private RestaurantDetailsResponse restaurantDetails() {
+        CompletableFuture<Object> response = new CompletableFuture<Object>();
+        restaurantController.restaurantByUUID(restaurantUuid).setResultHandler(response::complete);
+        Object result = response.join();
+        if (result instanceof Throwable) {
+            throw new IllegalStateException((Throwable) result);
+        }
+        return ((ResponseEntity<RestaurantDetailsResponse>) result).getBody();
+    }
+}
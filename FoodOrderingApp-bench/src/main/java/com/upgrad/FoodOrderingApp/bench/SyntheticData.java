@@ -0,0 +1,248 @@
+package com.upgrad.FoodOrderingApp.bench;
+
+import com.upgrad.FoodOrderingApp.api.controller.RestaurantController;
+import com.upgrad.FoodOrderingApp.api.json.StreamingJsonResponses;
+import com.upgrad.FoodOrderingApp.service.async.DaoExecutor;
+import com.upgrad.FoodOrderingApp.service.business.CategoryService;
+import com.upgrad.FoodOrderingApp.service.business.ItemService;
+import com.upgrad.FoodOrderingApp.service.business.RestaurantService;
+import com.upgrad.FoodOrderingApp.service.common.ItemType;
+import com.upgrad.FoodOrderingApp.service.dao.ItemDao;
+import com.upgrad.FoodOrderingApp.service.dao.RestaurantCategoryDao;
+import com.upgrad.FoodOrderingApp.service.dao.RestaurantDao;
+import com.upgrad.FoodOrderingApp.service.entity.AddressEntity;
+import com.upgrad.FoodOrderingApp.service.entity.CategoryEntity;
+import com.upgrad.FoodOrderingApp.service.entity.ItemEntity;
+import com.upgrad.FoodOrderingApp.service.entity.RestaurantCategoryEntity;
+import com.upgrad.FoodOrderingApp.service.entity.RestaurantEntity;
+import com.upgrad.FoodOrderingApp.service.entity.StateEntity;
+import com.upgrad.FoodOrderingApp.service.sql.SqlStatistics;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Restaurants, categories and menus generated in memory, served by Daos overriding the Database queries
+ * The services and the controller under benchmark are wired to these Daos, so they run their real code without a
+ * Database. The data is generated from a fixed seed, every run benchmarks the same data
+ */
+public class SyntheticData {
+
+    private static final String[] CATEGORY_NAMES = {"Indian", "Chinese", "Italian", "Drinks", "Desserts", "Snacks",
+            "Salads", "Soup", "Breakfast", "Mexican", "Thai", "Continental"};
+    private static final String[] STATE_NAMES = {"Karnataka", "Maharashtra", "Delhi", "Tamil Nadu", "Goa"};
+    private static final String[] DISHES = {"Paneer Tikka", "Veg Biryani", "Hakka Noodles", "Margherita", "Cold Coffee",
+            "Gulab Jamun", "Samosa", "Caesar Salad", "Tomato Soup", "Masala Dosa", "Burrito", "Pad Thai"};
+
+    private final Random random;
+    private final List<CategoryEntity> categories = new ArrayList<CategoryEntity>();
+    private final List<RestaurantEntity> restaurants = new ArrayList<RestaurantEntity>();
+    private final Map<String, RestaurantEntity> restaurantsByUuid = new HashMap<String, RestaurantEntity>();
+    private final Map<String, List<RestaurantCategoryEntity>> restaurantCategories = new HashMap<String, List<RestaurantCategoryEntity>>();
+    private final Map<String, List<ItemEntity>> restaurantItems = new HashMap<String, List<ItemEntity>>();
+    private final Map<String, List<ItemEntity>> categoryItems = new HashMap<String, List<ItemEntity>>();
+
+    /**
+     * @param restaurantCount         The number of restaurants
+     * @param categoriesPerRestaurant The number of categories on the menu of every restaurant
+     * @param itemsPerCategory        The number of items of every category on the menu of every restaurant
+     * @param seed                    The seed of the generated values
+     */
+    public SyntheticData(int restaurantCount, int categoriesPerRestaurant, int itemsPerCategory, long seed) {
+        this.random = new Random(seed);
+        for (int index = 0; index < CATEGORY_NAMES.length; index++) {
+            CategoryEntity category = new CategoryEntity();
+            category.setId(index + 1);
+            category.setUuid(uuid());
+            category.setCategoryName(CATEGORY_NAMES[index]);
+            categories.add(category);
+            categoryItems.put(category.getUuid(), new ArrayList<ItemEntity>());
+        }
+        List<StateEntity> states = new ArrayList<StateEntity>();
+        for (int index = 0; index < STATE_NAMES.length; index++) {
+            StateEntity state = new StateEntity(uuid(), STATE_NAMES[index]);
+            state.setId(index + 1);
+            states.add(state);
+        }
+
+        int itemId = 0;
+        for (int restaurantIndex = 0; restaurantIndex < restaurantCount; restaurantIndex++) {
+            RestaurantEntity restaurant = new RestaurantEntity();
+            restaurant.setId(restaurantIndex + 1);
+            restaurant.setUuid(uuid());
+            restaurant.setRestaurantName("Restaurant " + (restaurantIndex + 1));
+            restaurant.setPhotoUrl("https://images.foodorderingapp.io/restaurant/" + (restaurantIndex + 1) + ".jpg");
+            restaurant.setCustomerRating(Math.round((2 + random.nextDouble() * 3) * 10) / 10.0);
+            restaurant.setAvgPrice(200 + random.nextInt(60) * 10);
+            restaurant.setNumberCustomersRated(random.nextInt(2000));
+            AddressEntity address = new AddressEntity(uuid(), (1 + random.nextInt(400)) + ", Main Road",
+                    "Sector " + (1 + random.nextInt(30)), "City " + (1 + random.nextInt(20)),
+                    String.valueOf(560001 + random.nextInt(99)), states.get(random.nextInt(states.size())));
+            address.setId(restaurantIndex + 1);
+            restaurant.setAddress(address);
+
+            List<RestaurantCategoryEntity> menuCategories = new ArrayList<RestaurantCategoryEntity>();
+            List<ItemEntity> menuItems = new ArrayList<ItemEntity>();
+            int firstCategory = random.nextInt(categories.size());
+            for (int categoryIndex = 0; categoryIndex < Math.min(categoriesPerRestaurant, categories.size()); categoryIndex++) {
+                CategoryEntity category = categories.get((firstCategory + categoryIndex) % categories.size());
+                RestaurantCategoryEntity restaurantCategory = new RestaurantCategoryEntity();
+                restaurantCategory.setRestaurant(restaurant);
+                restaurantCategory.setCategory(category);
+                menuCategories.add(restaurantCategory);
+                for (int itemIndex = 0; itemIndex < itemsPerCategory; itemIndex++) {
+                    ItemEntity item = new ItemEntity();
+                    // Ids are boxed independently as Hibernate does, so identity comparisons of ids don't hold
+                    item.setId(new Integer(++itemId));
+                    item.setUuid(uuid());
+                    item.setItemName(DISHES[random.nextInt(DISHES.length)] + " " + (itemIndex + 1));
+                    item.setPrice(50 + random.nextInt(40) * 10);
+                    item.setType(random.nextBoolean() ? ItemType.VEG : ItemType.NON_VEG);
+                    menuItems.add(item);
+                    categoryItems.get(category.getUuid()).add(item);
+                }
+            }
+            restaurants.add(restaurant);
+            restaurantsByUuid.put(restaurant.getUuid(), restaurant);
+            restaurantCategories.put(restaurant.getUuid(), menuCategories);
+            restaurantItems.put(restaurant.getUuid(), menuItems);
+        }
+        restaurants.sort(Comparator.comparing(RestaurantEntity::getCustomerRating).reversed());
+    }
+
+    public List<RestaurantEntity> getRestaurants() {
+        return Collections.unmodifiableList(restaurants);
+    }
+
+    /**
+     * @param index The index of the restaurant, wrapped around the number of restaurants
+     * @return The restaurant at the index in the rating order
+     */
+    public RestaurantEntity getRestaurant(int index) {
+        return restaurants.get(Math.floorMod(index, restaurants.size()));
+    }
+
+    /**
+     * @param restaurant The restaurant
+     * @return The categories on the menu of the restaurant
+     */
+    public List<CategoryEntity> getCategories(RestaurantEntity restaurant) {
+        List<CategoryEntity> menuCategories = new ArrayList<CategoryEntity>();
+        for (RestaurantCategoryEntity restaurantCategory : restaurantCategories.get(restaurant.getUuid())) {
+            menuCategories.add(restaurantCategory.getCategory());
+        }
+        return menuCategories;
+    }
+
+    /**
+     * @return An ItemService reading the items of the synthetic data
+     */
+    public ItemService itemService() {
+        ItemService itemService = new ItemService();
+        inject(itemService, "itemDao", new SyntheticItemDao());
+        return itemService;
+    }
+
+    /**
+     * @return A RestaurantController whose services read the restaurants, categories and items of the synthetic data
+     */
+    public RestaurantController restaurantController() {
+        RestaurantService restaurantService = new RestaurantService();
+        inject(restaurantService, "restaurantDao", new SyntheticRestaurantDao());
+        CategoryService categoryService = new CategoryService();
+        inject(categoryService, "restaurantCategoryDao", new SyntheticRestaurantCategoryDao());
+
+        RestaurantController restaurantController = new RestaurantController();
+        inject(restaurantController, "restaurantService", restaurantService);
+        inject(restaurantController, "categoryService", categoryService);
+        inject(restaurantController, "itemService", itemService());
+        inject(restaurantController, "daoExecutor", daoExecutor());
+        // Configured as the Jackson message converter of Spring MVC
+        StreamingJsonResponses streamingJsonResponses = new StreamingJsonResponses();
+        inject(streamingJsonResponses, "objectMapper", Jackson2ObjectMapperBuilder.json().build());
+        inject(restaurantController, "streamingJsonResponses", streamingJsonResponses);
+        return restaurantController;
+    }
+
+    /**
+     * @return A DaoExecutor of the default size, running the lookups without a transaction manager
+     */
+    public DaoExecutor daoExecutor() {
+        DaoExecutor daoExecutor = new DaoExecutor(8, 200, 2000);
+        inject(daoExecutor, "transactionManager", new PlatformTransactionManager() {
+            @Override
+            public TransactionStatus getTransaction(TransactionDefinition definition) {
+                return new SimpleTransactionStatus(false);
+            }
+
+            @Override
+            public void commit(TransactionStatus status) {
+            }
+
+            @Override
+            public void rollback(TransactionStatus status) {
+            }
+        });
+        inject(daoExecutor, "sqlStatistics", new SqlStatistics(0));
+        return daoExecutor;
+    }
+
+    private String uuid() {
+        return new UUID(random.nextLong(), random.nextLong()).toString();
+    }
+
+    // Sets the @Autowired field, as Spring would
+    private static void inject(Object target, String fieldName, Object value) {
+        Field field = ReflectionUtils.findField(target.getClass(), fieldName);
+        if (field == null) {
+            throw new IllegalStateException("No field " + fieldName + " in " + target.getClass().getName());
+        }
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+    }
+
+    private class SyntheticItemDao extends ItemDao {
+        @Override
+        public List<ItemEntity> getItemsByRestaurant(String uuid) {
+            // A query returns a new list on every call
+            return new ArrayList<ItemEntity>(restaurantItems.getOrDefault(uuid, Collections.emptyList()));
+        }
+
+        @Override
+        public List<ItemEntity> getItemsByCategory(String categoryUuid) {
+            return new ArrayList<ItemEntity>(categoryItems.getOrDefault(categoryUuid, Collections.emptyList()));
+        }
+    }
+
+    private class SyntheticRestaurantDao extends RestaurantDao {
+        @Override
+        public List<RestaurantEntity> restaurantsByRating() {
+            return new ArrayList<RestaurantEntity>(restaurants);
+        }
+
+        @Override
+        public RestaurantEntity getRestaurantByUUID(String restaurantUUID) {
+            return restaurantsByUuid.get(restaurantUUID);
+        }
+    }
+
+    private class SyntheticRestaurantCategoryDao extends RestaurantCategoryDao {
+        @Override
+        public List<RestaurantCategoryEntity> getRestaurantCategoriesByRestaurantUUID(String restaurantUUID) {
+            return new ArrayList<RestaurantCategoryEntity>(restaurantCategories.getOrDefault(restaurantUUID, Collections.emptyList()));
+        }
+    }
+}
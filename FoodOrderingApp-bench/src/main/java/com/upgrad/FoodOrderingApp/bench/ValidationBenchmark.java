@@ -0,0 +1,75 @@
+package com.upgrad.FoodOrderingApp.bench;
+
+import com.upgrad.FoodOrderingApp.service.exception.AuthorizationFailedException;
+import com.upgrad.FoodOrderingApp.service.util.FoodOrderingUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Input validators run on every sign up, login, address save and authorized request
+ * Every benchmark validates a mix of valid and invalid inputs, so both outcomes are measured
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class ValidationBenchmark {
+
+    private final String[] emails = {"john.doe@upgrad.com", "jane_doe+food@mail.example.co.in", "john.doe@", "john doe@upgrad.com"};
+    private final String[] contactNumbers = {"9876543210", "8123456789", "98765", "98765abcde"};
+    private final String[] passwords = {"Str0ng#Passw0rd", "An0ther!Secret", "weakpassword", "Sh0rt!"};
+    private final String[] pincodes = {"560001", "110011", "5600", "56000a"};
+    private final String[] authorizations = {"Bearer eyJraWQiOiJhIiwidHlwIjoiSldUIiwiYWxnIjoiSFM1MTIifQ.eyJhdWQiOiJjIn0.c2ln",
+            "Bearer 1a2b3c", "Basic abc", "eyJraWQiOiJhIn0"};
+
+    @Benchmark
+    public void isInValidEmail(Blackhole blackhole) {
+        for (String email : emails) {
+            blackhole.consume(FoodOrderingUtil.isInValidEmail(email));
+        }
+    }
+
+    @Benchmark
+    public void isInValidContactNumber(Blackhole blackhole) {
+        for (String contactNumber : contactNumbers) {
+            blackhole.consume(FoodOrderingUtil.isInValidContactNumber(contactNumber));
+        }
+    }
+
+    @Benchmark
+    public void isStrongPassword(Blackhole blackhole) {
+        for (String password : passwords) {
+            blackhole.consume(FoodOrderingUtil.isStrongPassword(password));
+        }
+    }
+
+    @Benchmark
+    public void isInvalidPinCode(Blackhole blackhole) {
+        for (String pincode : pincodes) {
+            blackhole.consume(FoodOrderingUtil.isInvalidPinCode(pincode));
+        }
+    }
+
+    @Benchmark
+    public void decodeBearerToken(Blackhole blackhole) {
+        for (String authorization : authorizations) {
+            try {
+                blackhole.consume(FoodOrderingUtil.decodeBearerToken(authorization));
+            } catch (AuthorizationFailedException exception) {
+                blackhole.consume(exception);
+            }
+        }
+    }
+}
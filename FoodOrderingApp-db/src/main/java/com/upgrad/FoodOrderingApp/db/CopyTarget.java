@@ -0,0 +1,19 @@
+package com.upgrad.FoodOrderingApp.db;
+
+import java.io.IOException;
+
+/**
+ * Where the generated rows of a table are copied to, a COPY FROM STDIN of a connection when loading a Database
+ */
+public interface CopyTarget {
+
+    /**
+     * Starts copying rows into a table, one table is copied at a time and the writer is closed before the next
+     *
+     * @param table   The table
+     * @param columns The columns of the rows, comma separated
+     * @return The writer of the rows, closing it ends the copy
+     * @throws IOException If the copy can't be started
+     */
+    CopyWriter copy(String table, String columns) throws IOException;
+}
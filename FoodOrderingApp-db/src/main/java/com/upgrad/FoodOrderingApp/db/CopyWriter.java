@@ -0,0 +1,95 @@
+package com.upgrad.FoodOrderingApp.db;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Encodes rows in the text format of PostgreSQL COPY FROM STDIN, tab separated columns and \N for nulls
+ * The rows are written to the stream of a COPY, or to any stream when the rows are checked without a Database
+ */
+public class CopyWriter implements Closeable {
+
+    private final OutputStream output;
+    private final StringBuilder row = new StringBuilder(256);
+    private boolean firstColumn = true;
+    private long rows;
+
+    public CopyWriter(OutputStream output) {
+        this.output = output;
+    }
+
+    public CopyWriter column(long value) {
+        separate();
+        row.append(value);
+        return this;
+    }
+
+    public CopyWriter column(double value) {
+        separate();
+        row.append(value);
+        return this;
+    }
+
+    /**
+     * @param value The value of the column, null for a NULL column
+     * @return This writer
+     */
+    public CopyWriter column(String value) {
+        separate();
+        if (value == null) {
+            row.append("\\N");
+            return this;
+        }
+        for (int index = 0; index < value.length(); index++) {
+            char character = value.charAt(index);
+            switch (character) {
+                case '\\':
+                    row.append("\\\\");
+                    break;
+                case '\t':
+                    row.append("\\t");
+                    break;
+                case '\n':
+                    row.append("\\n");
+                    break;
+                case '\r':
+                    row.append("\\r");
+                    break;
+                default:
+                    row.append(character);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Ends the row and writes it to the stream
+     *
+     * @throws IOException If the stream can't be written
+     */
+    public void endRow() throws IOException {
+        row.append('\n');
+        output.write(row.toString().getBytes(StandardCharsets.UTF_8));
+        row.setLength(0);
+        firstColumn = true;
+        rows++;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    @Override
+    public void close() throws IOException {
+        output.close();
+    }
+
+    private void separate() {
+        if (!firstColumn) {
+            row.append('\t');
+        }
+        firstColumn = false;
+    }
+}
@@ -0,0 +1,381 @@
+package com.upgrad.FoodOrderingApp.db;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+/**
+ * Generates the rows of a synthetic dataset: categories, restaurants with their addresses and menus, customers with
+ * their addresses and orders with their items
+ * Every table of every chunk is generated from a Random seeded by the seed of the dataset, the table and the chunk, so
+ * the dataset is the same for a seed whatever the number of chunks generated in parallel and their order. Ids are
+ * computed from the position of the rows, so the chunks reference each other without reading the Database
+ */
+public class DatasetGenerator {
+
+    private static final String[] CATEGORY_NAMES = {"Indian", "Chinese", "Italian", "Drinks", "Desserts", "Snacks",
+            "Salads", "Soup", "Breakfast", "Mexican", "Thai", "Continental", "Biryani", "Street Food", "Seafood", "Bakery"};
+    private static final String[] RESTAURANT_ADJECTIVES = {"Golden", "Royal", "Spicy", "Urban", "Little", "Green",
+            "Blue", "Happy", "Grand", "Old", "Hungry", "Coastal"};
+    private static final String[] RESTAURANT_NOUNS = {"Kitchen", "Tandoor", "Bistro", "Dhaba", "Cafe", "Diner",
+            "Grill", "House", "Table", "Spoon", "Pantry", "Wok"};
+    private static final String[] DISHES = {"Paneer Tikka", "Veg Biryani", "Hakka Noodles", "Margherita", "Cold Coffee",
+            "Gulab Jamun", "Samosa", "Caesar Salad", "Tomato Soup", "Masala Dosa", "Burrito", "Pad Thai", "Butter Chicken",
+            "Fish Curry", "Idli", "Pav Bhaji", "Momos", "Brownie", "Lassi", "Kathi Roll"};
+    private static final String[] FIRST_NAMES = {"Aarav", "Vivaan", "Aditya", "Diya", "Ananya", "Isha", "Rohan",
+            "Kabir", "Meera", "Saanvi", "Arjun", "Priya", "Neha", "Rahul", "Zoya", "Farhan"};
+    private static final String[] LAST_NAMES = {"Sharma", "Iyer", "Reddy", "Khan", "Patel", "Nair", "Gupta", "Das",
+            "Mehta", "Singh", "Rao", "Joshi"};
+    private static final String[] LOCALITIES = {"Indiranagar", "Koramangala", "Bandra West", "Andheri East", "Powai",
+            "Hitech City", "Gachibowli", "Connaught Place", "Hauz Khas", "Adyar", "Kothrud", "Salt Lake"};
+    private static final String[] CITIES = {"Bengaluru", "Mumbai", "Hyderabad", "Delhi", "Chennai", "Pune", "Kolkata"};
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    // Tables seeding the Random of a chunk, a new table is added at the end so that the other tables don't change
+    private static final int CATALOG = 1;
+    private static final int CUSTOMER = 2;
+    private static final int CUSTOMER_ADDRESS = 3;
+    private static final int ORDERS = 4;
+
+    // Customers generated by the loader log in with this password
+    public static final String CUSTOMER_PASSWORD = "Dataset#2024";
+
+    private final DatasetOptions options;
+    private final ReferenceData referenceData;
+    private final int[] itemPrices;
+    private final ZipfDistribution restaurantPopularity;
+    private final ZipfDistribution itemPopularity;
+    private final String[][] credentials;
+
+    /**
+     * Generates the item prices and hashes the pool of customer credentials, the rows are generated by the write
+     * methods
+     *
+     * @param options       The sizes and seed of the dataset
+     * @param referenceData The states, payments, coupons and pincodes the rows reference, kept from the seed data
+     */
+    public DatasetGenerator(DatasetOptions options, ReferenceData referenceData) {
+        this.options = options;
+        this.referenceData = referenceData;
+        this.itemPrices = new int[options.getRestaurants() * options.getItemsPerRestaurant()];
+        Random random = random(CATALOG, -1);
+        for (int index = 0; index < itemPrices.length; index++) {
+            itemPrices[index] = 50 + random.nextInt(60) * 10;
+        }
+        this.restaurantPopularity = new ZipfDistribution(options.getRestaurants(), options.getSkew());
+        this.itemPopularity = new ZipfDistribution(options.getItemsPerRestaurant(), options.getSkew());
+        Random saltRandom = random(CUSTOMER, -1);
+        byte[][] salts = new byte[options.getPasswordSalts()][32];
+        for (byte[] salt : salts) {
+            saltRandom.nextBytes(salt);
+        }
+        this.credentials = IntStream.range(0, salts.length).parallel()
+                .mapToObj(index -> PasswordHasher.hash(CUSTOMER_PASSWORD, salts[index]))
+                .toArray(String[][]::new);
+    }
+
+    /**
+     * Writes the categories, the restaurants with their addresses and their menus
+     *
+     * @param target Where the rows are copied to
+     * @throws IOException If the rows can't be copied
+     */
+    public void writeCatalog(CopyTarget target) throws IOException {
+        Random random = random(CATALOG, 0);
+        try (CopyWriter writer = target.copy("CATEGORY", "id,uuid,category_name")) {
+            for (int category = 1; category <= options.getCategories(); category++) {
+                String name = CATEGORY_NAMES[(category - 1) % CATEGORY_NAMES.length];
+                if (category > CATEGORY_NAMES.length) {
+                    name += " " + ((category - 1) / CATEGORY_NAMES.length + 1);
+                }
+                writer.column(category).column(uuid(random)).column(name).endRow();
+            }
+        }
+        try (CopyWriter writer = target.copy("ADDRESS", "id,uuid,flat_buil_number,locality,city,pincode,state_id,active")) {
+            for (int restaurant = 1; restaurant <= options.getRestaurants(); restaurant++) {
+                writeAddress(writer, restaurant, random);
+            }
+        }
+        try (CopyWriter writer = target.copy("RESTAURANT", "id,uuid,restaurant_name,photo_url,customer_rating,"
+                + "average_price_for_two,number_of_customers_rated,address_id")) {
+            for (int restaurant = 1; restaurant <= options.getRestaurants(); restaurant++) {
+                int rating = 20 + random.nextInt(31);
+                writer.column(restaurant).column(uuid(random))
+                        .column(pick(RESTAURANT_ADJECTIVES, random) + " " + pick(RESTAURANT_NOUNS, random) + " " + restaurant)
+                        .column("https://images.foodorderingapp.io/restaurant/" + restaurant + ".jpg")
+                        .column(rating / 10 + "." + rating % 10)
+                        .column(200 + random.nextInt(100) * 20)
+                        .column(random.nextInt(5000))
+                        .column(restaurant).endRow();
+            }
+        }
+        try (CopyWriter writer = target.copy("ITEM", "id,uuid,item_name,price,type")) {
+            for (int item = 1; item <= itemPrices.length; item++) {
+                // The item type is stored as the ordinal of ItemType, 0 for VEG and 1 for NON_VEG
+                writer.column(item).column(uuid(random))
+                        .column(pick(DISHES, random) + " " + ((item - 1) % options.getItemsPerCategory() + 1))
+                        .column(itemPrices[item - 1]).column(random.nextInt(3) == 0 ? "1" : "0").endRow();
+            }
+        }
+        try (CopyWriter writer = target.copy("RESTAURANT_ITEM", "id,item_id,restaurant_id")) {
+            for (int item = 1; item <= itemPrices.length; item++) {
+                writer.column(item).column(item).column(restaurantOfItem(item)).endRow();
+            }
+        }
+        try (CopyWriter writer = target.copy("RESTAURANT_CATEGORY", "id,restaurant_id,category_id")) {
+            for (int restaurant = 1; restaurant <= options.getRestaurants(); restaurant++) {
+                for (int index = 0; index < options.getCategoriesPerRestaurant(); index++) {
+                    writer.column((restaurant - 1) * options.getCategoriesPerRestaurant() + index + 1)
+                            .column(restaurant).column(categoryOfMenu(restaurant, index)).endRow();
+                }
+            }
+        }
+        try (CopyWriter writer = target.copy("CATEGORY_ITEM", "id,item_id,category_id")) {
+            for (int item = 1; item <= itemPrices.length; item++) {
+                int index = (item - 1) % options.getItemsPerRestaurant() / options.getItemsPerCategory();
+                writer.column(item).column(item).column(categoryOfMenu(restaurantOfItem(item), index)).endRow();
+            }
+        }
+    }
+
+    /**
+     * @return The number of chunks of customers
+     */
+    public int getCustomerChunks() {
+        return (int) ((options.getCustomers() + options.getChunkSize() - 1) / options.getChunkSize());
+    }
+
+    /**
+     * Writes a chunk of customers, with their addresses
+     *
+     * @param chunk  The chunk, from 0 to the number of chunks - 1
+     * @param target Where the rows are copied to
+     * @throws IOException If the rows can't be copied
+     */
+    public void writeCustomers(int chunk, CopyTarget target) throws IOException {
+        int first = chunk * options.getChunkSize() + 1;
+        int last = Math.min(options.getCustomers(), first + options.getChunkSize() - 1);
+        Random random = random(CUSTOMER, chunk);
+        try (CopyWriter writer = target.copy("CUSTOMER", "id,uuid,firstname,lastname,email,contact_number,password,salt")) {
+            for (int customer = first; customer <= last; customer++) {
+                String[] credential = credentials[customer % credentials.length];
+                writer.column(customer).column(uuid(random)).column(pick(FIRST_NAMES, random)).column(pick(LAST_NAMES, random))
+                        .column("customer" + customer + "@example.com")
+                        // Unique 10 digit numbers, the login of the customer
+                        .column(String.valueOf(7000000000L + customer))
+                        .column(credential[1]).column(credential[0]).endRow();
+            }
+        }
+        random = random(CUSTOMER_ADDRESS, chunk);
+        int addresses = options.getAddressesPerCustomer();
+        try (CopyWriter writer = target.copy("ADDRESS", "id,uuid,flat_buil_number,locality,city,pincode,state_id,active")) {
+            for (int customer = first; customer <= last; customer++) {
+                for (int index = 0; index < addresses; index++) {
+                    writeAddress(writer, customerAddressId(customer, index), random);
+                }
+            }
+        }
+        try (CopyWriter writer = target.copy("CUSTOMER_ADDRESS", "id,customer_id,address_id")) {
+            for (int customer = first; customer <= last; customer++) {
+                for (int index = 0; index < addresses; index++) {
+                    int addressId = customerAddressId(customer, index);
+                    writer.column(addressId - options.getRestaurants()).column(customer).column(addressId).endRow();
+                }
+            }
+        }
+    }
+
+    /**
+     * @return The number of chunks of orders
+     */
+    public int getOrderChunks() {
+        return (int) ((options.getOrders() + options.getChunkSize() - 1) / options.getChunkSize());
+    }
+
+    /**
+     * Writes a chunk of orders, with their items
+     * The restaurants and the items of the menus are drawn from a Zipf distribution, so that a few restaurants and
+     * dishes get most of the orders
+     *
+     * @param chunk  The chunk, from 0 to the number of chunks - 1
+     * @param target Where the rows are copied to
+     * @throws IOException If the rows can't be copied
+     */
+    public void writeOrders(int chunk, CopyTarget target) throws IOException {
+        long first = (long) chunk * options.getChunkSize() + 1;
+        long last = Math.min(options.getOrders(), first + options.getChunkSize() - 1);
+        Random random = random(ORDERS, chunk);
+        int maxItems = options.getMaxItemsPerOrder();
+        int itemsPerRestaurant = options.getItemsPerRestaurant();
+        LocalDateTime since = options.getUntil().minusDays(options.getDays()).atStartOfDay();
+        long seconds = options.getDays() * 86400L;
+
+        // The items are generated with their order, they are copied once the orders are
+        OrderItems orderItems = new OrderItems((int) (last - first + 1) * maxItems);
+        int[] lineItems = new int[maxItems];
+        try (CopyWriter writer = target.copy("ORDERS", "id,uuid,bill,coupon_id,discount,date,payment_id,customer_id,"
+                + "address_id,restaurant_id")) {
+            for (long order = first; order <= last; order++) {
+                int restaurant = restaurantPopularity.sample(random) + 1;
+                // Rotates the popular dishes of the restaurants over their categories
+                int offset = (restaurant * 7) % itemsPerRestaurant;
+                int lines = 1 + random.nextInt(maxItems);
+                long totalCents = 0;
+                for (int line = 0; line < lines; line++) {
+                    int item;
+                    do {
+                        item = (restaurant - 1) * itemsPerRestaurant + (itemPopularity.sample(random) + offset) % itemsPerRestaurant + 1;
+                    } while (contains(lineItems, line, item));
+                    lineItems[line] = item;
+                    int quantity = 1 + random.nextInt(3);
+                    int price = itemPrices[item - 1] * quantity;
+                    totalCents += price * 100L;
+                    orderItems.add((order - 1) * maxItems + line + 1, order, item, quantity, price);
+                }
+                String couponId = null;
+                long discountCents = 0;
+                if (!referenceData.couponIds.isEmpty() && random.nextInt(10) == 0) {
+                    int coupon = random.nextInt(referenceData.couponIds.size());
+                    couponId = String.valueOf(referenceData.couponIds.get(coupon));
+                    discountCents = totalCents * referenceData.couponPercents.get(coupon) / 100;
+                }
+                int customer = 1 + random.nextInt(options.getCustomers());
+                writer.column(order).column(uuid(random)).column(money(totalCents - discountCents)).column(couponId)
+                        .column(money(discountCents))
+                        .column(since.plusSeconds((long) (random.nextDouble() * seconds)).format(TIMESTAMP))
+                        .column(pick(referenceData.paymentIds, random)).column(customer)
+                        .column(customerAddressId(customer, random.nextInt(options.getAddressesPerCustomer())))
+                        .column(restaurant).endRow();
+            }
+        }
+        try (CopyWriter writer = target.copy("ORDER_ITEM", "id,order_id,item_id,quantity,price")) {
+            orderItems.write(writer);
+        }
+    }
+
+    private void writeAddress(CopyWriter writer, int id, Random random) throws IOException {
+        String pincode = referenceData.pincodes.isEmpty() ? String.valueOf(560001 + random.nextInt(100))
+                : pick(referenceData.pincodes, random);
+        writer.column(id).column(uuid(random)).column((1 + random.nextInt(500)) + ", " + pick(RESTAURANT_ADJECTIVES, random) + " Residency")
+                .column(pick(LOCALITIES, random)).column(pick(CITIES, random)).column(pincode)
+                .column(pick(referenceData.stateIds, random)).column(1).endRow();
+    }
+
+    private int restaurantOfItem(int item) {
+        return (item - 1) / options.getItemsPerRestaurant() + 1;
+    }
+
+    // The categories of a menu are consecutive, starting from a category that depends on the restaurant
+    private int categoryOfMenu(int restaurant, int index) {
+        return (restaurant * 5 + index) % options.getCategories() + 1;
+    }
+
+    // Customer addresses follow the addresses of the restaurants
+    private int customerAddressId(int customer, int index) {
+        return options.getRestaurants() + (customer - 1) * options.getAddressesPerCustomer() + index + 1;
+    }
+
+    private Random random(int table, int chunk) {
+        return new Random(options.getSeed() * 1000003L + table * 7919L + chunk * 104729L);
+    }
+
+    private static String uuid(Random random) {
+        // Version 4 UUIDs, drawn from the Random so that they are the same for a seed
+        long most = random.nextLong() & 0xFFFFFFFFFFFF0FFFL | 0x0000000000004000L;
+        long least = random.nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+        return new UUID(most, least).toString();
+    }
+
+    private static String money(long cents) {
+        long fraction = cents % 100;
+        return cents / 100 + (fraction < 10 ? ".0" : ".") + fraction;
+    }
+
+    private static boolean contains(int[] values, int count, int value) {
+        for (int index = 0; index < count; index++) {
+            if (values[index] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static <T> T pick(T[] values, Random random) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static <T> T pick(List<T> values, Random random) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    /**
+     * The items of a chunk of orders, kept in arrays until the orders are copied
+     */
+    private static class OrderItems {
+        private final long[] ids;
+        private final long[] orders;
+        private final int[] items;
+        private final int[] quantities;
+        private final int[] prices;
+        private int size;
+
+        OrderItems(int capacity) {
+            ids = new long[capacity];
+            orders = new long[capacity];
+            items = new int[capacity];
+            quantities = new int[capacity];
+            prices = new int[capacity];
+        }
+
+        void add(long id, long order, int item, int quantity, int price) {
+            ids[size] = id;
+            orders[size] = order;
+            items[size] = item;
+            quantities[size] = quantity;
+            prices[size] = price;
+            size++;
+        }
+
+        void write(CopyWriter writer) throws IOException {
+            for (int index = 0; index < size; index++) {
+                writer.column(ids[index]).column(orders[index]).column(items[index]).column(quantities[index])
+                        .column(prices[index]).endRow();
+            }
+        }
+    }
+
+    /**
+     * The rows of the seed data the generated rows reference
+     */
+    public static class ReferenceData {
+        private final List<Integer> stateIds;
+        private final List<Integer> paymentIds;
+        private final List<Integer> couponIds;
+        private final List<Integer> couponPercents;
+        private final List<String> pincodes;
+
+        /**
+         * @param stateIds       The ids of the states
+         * @param paymentIds     The ids of the payment methods
+         * @param couponIds      The ids of the coupons, a tenth of the orders use one
+         * @param couponPercents The discount percent of every coupon
+         * @param pincodes       The pincodes with a known centroid, random pincodes are generated when empty
+         */
+        public ReferenceData(List<Integer> stateIds, List<Integer> paymentIds, List<Integer> couponIds,
+                             List<Integer> couponPercents, List<String> pincodes) {
+            if (stateIds.isEmpty() || paymentIds.isEmpty()) {
+                throw new IllegalArgumentException("The seed data needs at least one state and one payment method");
+            }
+            this.stateIds = stateIds;
+            this.paymentIds = paymentIds;
+            this.couponIds = couponIds;
+            this.couponPercents = couponPercents;
+            this.pincodes = pincodes;
+        }
+    }
+}
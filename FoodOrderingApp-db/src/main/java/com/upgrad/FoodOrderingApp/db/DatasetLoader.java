@@ -0,0 +1,215 @@
+package com.upgrad.FoodOrderingApp.db;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Loads a synthetic dataset into the PostgreSQL Database through COPY FROM STDIN, over parallel connections
+ * The generated tables are emptied first, the states, payment methods, coupons and pincodes of the seed data are kept
+ * and referenced by the generated rows. The schema must exist, created by the setup profile of this module
+ */
+public class DatasetLoader {
+
+    // Emptied before the load, the order is irrelevant with CASCADE
+    private static final String[] GENERATED_TABLES = {"ORDER_ITEM", "ORDERS", "CUSTOMER_AUTH", "CUSTOMER_ADDRESS",
+            "CUSTOMER", "RESTAURANT_CATEGORY", "CATEGORY_ITEM", "RESTAURANT_ITEM", "ITEM", "RESTAURANT", "ADDRESS",
+            "CATEGORY", "RESTAURANT_SALES_HOURLY", "RESTAURANT_SALES_DAILY"};
+
+    // Tables with a SERIAL id, their sequences are moved past the generated ids
+    private static final String[] SERIAL_TABLES = {"ORDER_ITEM", "ORDERS", "CUSTOMER_AUTH", "CUSTOMER_ADDRESS",
+            "CUSTOMER", "RESTAURANT_CATEGORY", "CATEGORY_ITEM", "RESTAURANT_ITEM", "ITEM", "RESTAURANT", "ADDRESS",
+            "CATEGORY"};
+
+    private static final int COPY_BUFFER_SIZE = 1 << 16;
+
+    private final DatasetOptions options;
+    private final Map<String, LongAdder> rows = new ConcurrentHashMap<String, LongAdder>();
+    private final Map<String, LongAdder> copyNanos = new ConcurrentHashMap<String, LongAdder>();
+
+    public DatasetLoader(DatasetOptions options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new DatasetLoader(DatasetOptions.parse(args)).load();
+    }
+
+    /**
+     * Empties the generated tables and loads the dataset, the customers and the orders are copied in parallel chunks
+     *
+     * @throws SQLException         If the Database can't be read or written
+     * @throws IOException          If the rows can't be copied
+     * @throws InterruptedException If the load is interrupted
+     */
+    public void load() throws SQLException, IOException, InterruptedException {
+        long startNanos = System.nanoTime();
+        System.out.println("Generating " + options.toMap() + " into " + options.getUrl());
+        DatasetGenerator generator;
+        try (Connection connection = connect()) {
+            generator = new DatasetGenerator(options, readReferenceData(connection));
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("TRUNCATE " + String.join(", ", GENERATED_TABLES) + " RESTART IDENTITY CASCADE");
+            }
+            generator.writeCatalog(copyTarget(connection));
+        }
+        report("catalog", startNanos);
+
+        long customersNanos = System.nanoTime();
+        runChunks(generator.getCustomerChunks(), generator::writeCustomers);
+        report("customers", customersNanos);
+
+        long ordersNanos = System.nanoTime();
+        runChunks(generator.getOrderChunks(), generator::writeOrders);
+        report("orders", ordersNanos);
+
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            for (String table : SERIAL_TABLES) {
+                statement.execute("SELECT setval(pg_get_serial_sequence('" + table.toLowerCase() + "', 'id'), "
+                        + "(SELECT COALESCE(MAX(id), 0) + 1 FROM " + table + "), false)");
+            }
+            long analyzeNanos = System.nanoTime();
+            statement.execute("ANALYZE");
+            report("analyze", analyzeNanos);
+        }
+        for (Map.Entry<String, LongAdder> table : new TreeMap<String, LongAdder>(rows).entrySet()) {
+            double seconds = copyNanos.get(table.getKey()).sum() / 1e9;
+            System.out.println(String.format("%-20s %,14d rows %10.1f s copying %,12.0f rows/s per stream", table.getKey(),
+                    table.getValue().sum(), seconds, seconds > 0 ? table.getValue().sum() / seconds : 0));
+        }
+        report("total", startNanos);
+    }
+
+    private void runChunks(int chunks, ChunkWriter chunkWriter) throws InterruptedException, IOException, SQLException {
+        int streams = Math.max(1, Math.min(options.getStreams(), chunks));
+        ExecutorService executor = Executors.newFixedThreadPool(streams);
+        // One connection per stream, a connection copies one table at a time
+        ThreadLocal<Connection> connections = new ThreadLocal<Connection>();
+        List<Connection> opened = new ArrayList<Connection>();
+        try {
+            List<Future<?>> futures = new ArrayList<Future<?>>();
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                int index = chunk;
+                futures.add(executor.submit(() -> {
+                    Connection connection = connections.get();
+                    if (connection == null) {
+                        connection = connect();
+                        connections.set(connection);
+                        synchronized (opened) {
+                            opened.add(connection);
+                        }
+                    }
+                    chunkWriter.write(index, copyTarget(connection));
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException exception) {
+            Throwable cause = exception.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof SQLException) {
+                throw (SQLException) cause;
+            }
+            throw new IllegalStateException(cause);
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+            for (Connection connection : opened) {
+                connection.close();
+            }
+        }
+    }
+
+    private CopyTarget copyTarget(Connection connection) throws SQLException {
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        return (table, columns) -> {
+            long startNanos = System.nanoTime();
+            PGCopyOutputStream copy;
+            try {
+                copy = new PGCopyOutputStream(pgConnection, "COPY " + table + "(" + columns + ") FROM STDIN", COPY_BUFFER_SIZE);
+            } catch (SQLException exception) {
+                throw new IOException("Couldn't start copying into " + table, exception);
+            }
+            return new CopyWriter(new BufferedOutputStream(copy, COPY_BUFFER_SIZE)) {
+                @Override
+                public void close() throws IOException {
+                    super.close();
+                    rows.computeIfAbsent(table, name -> new LongAdder()).add(getRows());
+                    copyNanos.computeIfAbsent(table, name -> new LongAdder()).add(System.nanoTime() - startNanos);
+                }
+            };
+        };
+    }
+
+    private DatasetGenerator.ReferenceData readReferenceData(Connection connection) throws SQLException {
+        List<Integer> stateIds = new ArrayList<Integer>();
+        List<Integer> paymentIds = new ArrayList<Integer>();
+        List<Integer> couponIds = new ArrayList<Integer>();
+        List<Integer> couponPercents = new ArrayList<Integer>();
+        List<String> pincodes = new ArrayList<String>();
+        try (Statement statement = connection.createStatement()) {
+            try (ResultSet resultSet = statement.executeQuery("SELECT id FROM STATE ORDER BY id")) {
+                while (resultSet.next()) {
+                    stateIds.add(resultSet.getInt(1));
+                }
+            }
+            try (ResultSet resultSet = statement.executeQuery("SELECT id FROM PAYMENT ORDER BY id")) {
+                while (resultSet.next()) {
+                    paymentIds.add(resultSet.getInt(1));
+                }
+            }
+            try (ResultSet resultSet = statement.executeQuery("SELECT id, percent FROM COUPON ORDER BY id")) {
+                while (resultSet.next()) {
+                    couponIds.add(resultSet.getInt(1));
+                    couponPercents.add(resultSet.getInt(2));
+                }
+            }
+            try (ResultSet resultSet = statement.executeQuery("SELECT to_regclass('pincode_geo') IS NOT NULL")) {
+                resultSet.next();
+                if (!resultSet.getBoolean(1)) {
+                    return new DatasetGenerator.ReferenceData(stateIds, paymentIds, couponIds, couponPercents, pincodes);
+                }
+            }
+            try (ResultSet resultSet = statement.executeQuery("SELECT pincode FROM PINCODE_GEO ORDER BY pincode")) {
+                while (resultSet.next()) {
+                    pincodes.add(resultSet.getString(1));
+                }
+            }
+        }
+        return new DatasetGenerator.ReferenceData(stateIds, paymentIds, couponIds, couponPercents, pincodes);
+    }
+
+    private Connection connect() throws SQLException {
+        return DriverManager.getConnection(options.getUrl(), options.getUser(), options.getPassword());
+    }
+
+    private static void report(String phase, long startNanos) {
+        System.out.println(String.format("%-20s done in %.1f s", phase, (System.nanoTime() - startNanos) / 1e9));
+    }
+
+    private interface ChunkWriter {
+        void write(int chunk, CopyTarget target) throws IOException;
+    }
+}
@@ -0,0 +1,197 @@
+package com.upgrad.FoodOrderingApp.db;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Options of a dataset generation, parsed from --name=value arguments
+ * The Database defaults to the one of config/localhost.properties, the one the setup profile creates
+ */
+public class DatasetOptions {
+
+    private final Map<String, String> values;
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int restaurants;
+    private final int categories;
+    private final int categoriesPerRestaurant;
+    private final int itemsPerCategory;
+    private final int customers;
+    private final int addressesPerCustomer;
+    private final long orders;
+    private final int maxItemsPerOrder;
+    private final double skew;
+    private final int passwordSalts;
+    private final LocalDate until;
+    private final int days;
+    private final long seed;
+    private final int streams;
+    private final int chunkSize;
+
+    private DatasetOptions(Map<String, String> values, Properties database) {
+        this.values = values;
+        this.url = values.getOrDefault("url", "jdbc:postgresql://" + database.getProperty("server.host", "localhost") + ":"
+                + database.getProperty("server.port", "5432") + "/" + database.getProperty("database.name", "restaurantdb"));
+        this.user = values.getOrDefault("user", database.getProperty("database.username", "postgres"));
+        this.password = values.getOrDefault("password", database.getProperty("database.password", ""));
+        this.restaurants = positive("restaurants", 1000);
+        this.categories = positive("categories", 12);
+        this.categoriesPerRestaurant = Math.min(categories, positive("categories-per-restaurant", 4));
+        this.itemsPerCategory = positive("items-per-category", 10);
+        this.customers = positive("customers", 100000);
+        this.addressesPerCustomer = positive("addresses-per-customer", 2);
+        this.orders = Long.parseLong(values.getOrDefault("orders", "1000000"));
+        this.maxItemsPerOrder = Math.min(categoriesPerRestaurant * itemsPerCategory, positive("max-items-per-order", 4));
+        this.skew = Double.parseDouble(values.getOrDefault("skew", "1.1"));
+        this.passwordSalts = positive("password-salts", 1024);
+        this.until = LocalDate.parse(values.getOrDefault("until", "2025-01-01"));
+        this.days = positive("days", 365);
+        this.seed = Long.parseLong(values.getOrDefault("seed", "42"));
+        this.streams = positive("streams", Runtime.getRuntime().availableProcessors());
+        this.chunkSize = positive("chunk-size", 50000);
+        if (orders < 0 || skew < 0) {
+            throw new IllegalArgumentException("--orders and --skew can't be negative");
+        }
+        if ((long) customers * addressesPerCustomer + restaurants > Integer.MAX_VALUE
+                || (orders + 1) * maxItemsPerOrder > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("The ids of the addresses or order items would overflow the SERIAL columns");
+        }
+    }
+
+    /**
+     * @param args The --name=value arguments, e.g. --orders=10000000 --streams=8
+     * @return The options with the defaults of the options not passed
+     */
+    public static DatasetOptions parse(String... args) {
+        Map<String, String> values = new HashMap<String, String>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || arg.indexOf('=') < 0) {
+                throw new IllegalArgumentException("Expected --name=value but was " + arg);
+            }
+            values.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        Properties database = new Properties();
+        try (InputStream input = DatasetOptions.class.getResourceAsStream("/config/localhost.properties")) {
+            if (input != null) {
+                database.load(input);
+            }
+        } catch (IOException exception) {
+            throw new IllegalStateException("Couldn't read config/localhost.properties", exception);
+        }
+        return new DatasetOptions(values, database);
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public String getUser() {
+        return user;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public int getRestaurants() {
+        return restaurants;
+    }
+
+    public int getCategories() {
+        return categories;
+    }
+
+    public int getCategoriesPerRestaurant() {
+        return categoriesPerRestaurant;
+    }
+
+    public int getItemsPerCategory() {
+        return itemsPerCategory;
+    }
+
+    public int getItemsPerRestaurant() {
+        return categoriesPerRestaurant * itemsPerCategory;
+    }
+
+    public int getCustomers() {
+        return customers;
+    }
+
+    public int getAddressesPerCustomer() {
+        return addressesPerCustomer;
+    }
+
+    public long getOrders() {
+        return orders;
+    }
+
+    public int getMaxItemsPerOrder() {
+        return maxItemsPerOrder;
+    }
+
+    // Zipf exponent of the popularity of the restaurants and of the items of a menu, 0 is uniform
+    public double getSkew() {
+        return skew;
+    }
+
+    // Number of distinct salts the customer passwords are hashed with, hashing every password would take hours
+    public int getPasswordSalts() {
+        return passwordSalts;
+    }
+
+    // Orders are dated over the days before this date, a fixed date keeps the dataset the same for a seed
+    public LocalDate getUntil() {
+        return until;
+    }
+
+    public int getDays() {
+        return days;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    // Number of connections copying in parallel, the generated rows don't depend on it
+    public int getStreams() {
+        return streams;
+    }
+
+    // Number of customers or orders generated by a task, every chunk is generated from its own seed
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * @return The options without the Database credentials, to log with the timings
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> options = new LinkedHashMap<String, Object>();
+        options.put("restaurants", restaurants);
+        options.put("categories", categories);
+        options.put("categories-per-restaurant", categoriesPerRestaurant);
+        options.put("items-per-category", itemsPerCategory);
+        options.put("customers", customers);
+        options.put("addresses-per-customer", addressesPerCustomer);
+        options.put("orders", orders);
+        options.put("max-items-per-order", maxItemsPerOrder);
+        options.put("skew", skew);
+        options.put("seed", seed);
+        options.put("streams", streams);
+        return options;
+    }
+
+    private int positive(String name, int defaultValue) {
+        int value = Integer.parseInt(values.getOrDefault(name, String.valueOf(defaultValue)));
+        if (value <= 0) {
+            throw new IllegalArgumentException("--" + name + " must be positive");
+        }
+        return value;
+    }
+}
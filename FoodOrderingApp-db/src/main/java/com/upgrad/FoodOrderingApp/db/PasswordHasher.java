@@ -0,0 +1,41 @@
+package com.upgrad.FoodOrderingApp.db;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+
+/**
+ * Hashes the passwords of the generated customers as PasswordCryptographyProvider of FoodOrderingApp-service does,
+ * so that the generated customers can log in. The two must stay in sync
+ */
+public final class PasswordHasher {
+
+    private static final String SECRET_KEY_ALGORITHM = "PBKDF2WithHmacSHA512";
+    private static final int HASHING_ITERATIONS = 1000;
+    private static final int HASHING_KEY_LENGTH = 64;
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    private PasswordHasher() {
+    }
+
+    /**
+     * @param password The password
+     * @param salt     The salt bytes
+     * @return The Base64 encoded salt and the hex encoded hash, as stored in the salt and password columns
+     */
+    public static String[] hash(String password, byte[] salt) {
+        try {
+            PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, HASHING_ITERATIONS, HASHING_KEY_LENGTH);
+            byte[] hash = SecretKeyFactory.getInstance(SECRET_KEY_ALGORITHM).generateSecret(spec).getEncoded();
+            char[] hex = new char[hash.length * 2];
+            for (int index = 0; index < hash.length; index++) {
+                hex[index * 2] = HEX[(hash[index] & 0xFF) >>> 4];
+                hex[index * 2 + 1] = HEX[hash[index] & 0x0F];
+            }
+            return new String[]{Base64.getEncoder().encodeToString(salt), new String(hex)};
+        } catch (GeneralSecurityException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+}
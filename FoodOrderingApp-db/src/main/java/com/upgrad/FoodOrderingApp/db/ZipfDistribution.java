@@ -0,0 +1,43 @@
+package com.upgrad.FoodOrderingApp.db;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Zipf distribution over the ranks 0 to size - 1, rank 0 is the most frequent
+ * Sampled by a binary search of the cumulative probabilities, the probabilities are computed once and shared by the
+ * threads, each thread passes its own Random
+ */
+public class ZipfDistribution {
+
+    private final double[] cumulative;
+
+    /**
+     * @param size     The number of ranks
+     * @param exponent The skew, 0 is uniform and the larger the exponent the more the first ranks are drawn
+     */
+    public ZipfDistribution(int size, double exponent) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("A Zipf distribution needs at least one rank");
+        }
+        cumulative = new double[size];
+        double total = 0;
+        for (int rank = 0; rank < size; rank++) {
+            total += 1 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = total;
+        }
+        for (int rank = 0; rank < size; rank++) {
+            cumulative[rank] /= total;
+        }
+    }
+
+    /**
+     * @param random The source of the draw
+     * @return A rank drawn from the distribution
+     */
+    public int sample(Random random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        int rank = index >= 0 ? index : -index - 1;
+        return Math.min(rank, cumulative.length - 1);
+    }
+}
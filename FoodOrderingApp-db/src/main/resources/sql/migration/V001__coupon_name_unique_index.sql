@@ -0,0 +1,7 @@
+-- Coupon names are looked up case insensitively, keep only the first coupon created for every name
+-- Orders placed with a duplicate coupon are moved to the coupon that is kept before the duplicates are deleted
+UPDATE ORDERS SET coupon_id = (SELECT MIN(k.id) FROM COUPON c JOIN COUPON k ON lower(k.coupon_name) = lower(c.coupon_name) WHERE c.id = ORDERS.coupon_id) WHERE coupon_id IN (SELECT c.id FROM COUPON c JOIN COUPON k ON lower(k.coupon_name) = lower(c.coupon_name) AND k.id < c.id);
+
+DELETE FROM COUPON WHERE id IN (SELECT c.id FROM COUPON c JOIN COUPON k ON lower(k.coupon_name) = lower(c.coupon_name) AND k.id < c.id);
+
+CREATE UNIQUE INDEX IF NOT EXISTS COUPON_LOWER_COUPON_NAME_KEY ON COUPON (lower(coupon_name));
@@ -0,0 +1,51 @@
+-- Centroid of every pincode, used to find the restaurants nearby an address
+-- Seeded from the list below, rerunning the migration updates the centroids of the pincodes already present
+CREATE TABLE IF NOT EXISTS PINCODE_GEO(pincode VARCHAR(30) NOT NULL, latitude DOUBLE PRECISION NOT NULL, longitude DOUBLE PRECISION NOT NULL, PRIMARY KEY (pincode));
+
+INSERT INTO PINCODE_GEO(pincode,latitude,longitude) VALUES
+('400001',18.9388,72.8354),
+('400005',18.9067,72.8147),
+('400011',18.9827,72.8258),
+('400012',18.9986,72.8403),
+('400013',19.0069,72.8295),
+('400016',19.0413,72.8403),
+('400018',18.9947,72.8162),
+('400021',18.9256,72.8242),
+('400049',19.1075,72.8263),
+('400050',19.0544,72.8402),
+('400052',19.0717,72.8347),
+('400053',19.1351,72.8266),
+('400058',19.1197,72.8468),
+('400063',19.1646,72.8493),
+('400069',19.1136,72.8697),
+('400070',19.0736,72.8886),
+('400071',19.0522,72.9005),
+('400072',19.1031,72.8867),
+('400076',19.1197,72.9051),
+('400080',19.1726,72.9425),
+('400092',19.2307,72.8567),
+('400098',19.0728,72.8544),
+('400102',19.1482,72.8356),
+('400104',19.1663,72.8526),
+('400112',19.0664,72.8656),
+('400614',19.0237,73.0404),
+('411001',18.5196,73.8553),
+('411014',18.5679,73.9143),
+('500003',17.4399,78.4983),
+('500032',17.4483,78.3489),
+('500033',17.4344,78.3875),
+('500081',17.4504,78.3808),
+('560001',12.9757,77.6011),
+('560034',12.9352,77.6245),
+('560038',12.9784,77.6408),
+('560066',12.9698,77.7500),
+('560071',12.9609,77.6387),
+('560095',12.9343,77.6262),
+('560100',12.8452,77.6602),
+('600017',13.0418,80.2341),
+('600040',13.0850,80.2101),
+('110001',28.6328,77.2197),
+('110016',28.5494,77.2001),
+('110017',28.5245,77.2066),
+('122002',28.4717,77.0725)
+ON CONFLICT (pincode) DO UPDATE SET latitude = EXCLUDED.latitude, longitude = EXCLUDED.longitude;
@@ -0,0 +1,48 @@
+-- Indexes of the foreign keys and of the sorts of the named queries, every lookup by foreign key was a sequential scan
+-- The columns a query reads after the lookup follow the lookup columns, so the index covers the query
+-- Plain CREATE INDEX so that the migration also runs on H2, on a loaded Database run it outside of peak hours
+
+-- pastOrdersByCustomerUUID, orders of a customer newest first
+CREATE INDEX IF NOT EXISTS ORDERS_CUSTOMER_ID_DATE_IDX ON ORDERS (customer_id, date DESC);
+
+-- itemsByPopularity and ordersForExportByRestaurant, orders of a restaurant over a period
+CREATE INDEX IF NOT EXISTS ORDERS_RESTAURANT_ID_DATE_IDX ON ORDERS (restaurant_id, date);
+
+-- ordersForExport, orders over a period
+CREATE INDEX IF NOT EXISTS ORDERS_DATE_IDX ON ORDERS (date);
+
+CREATE INDEX IF NOT EXISTS ORDERS_ADDRESS_ID_IDX ON ORDERS (address_id);
+
+-- itemsByOrderId and the items of the exported orders
+CREATE INDEX IF NOT EXISTS ORDER_ITEM_ORDER_ID_IDX ON ORDER_ITEM (order_id, item_id);
+
+CREATE INDEX IF NOT EXISTS ORDER_ITEM_ITEM_ID_IDX ON ORDER_ITEM (item_id);
+
+-- categoriesByRestaurantUUID and restaurantsByCategory
+CREATE INDEX IF NOT EXISTS RESTAURANT_CATEGORY_RESTAURANT_ID_IDX ON RESTAURANT_CATEGORY (restaurant_id, category_id);
+
+CREATE INDEX IF NOT EXISTS RESTAURANT_CATEGORY_CATEGORY_ID_IDX ON RESTAURANT_CATEGORY (category_id, restaurant_id);
+
+-- itemsByRestaurantUUID
+CREATE INDEX IF NOT EXISTS RESTAURANT_ITEM_RESTAURANT_ID_IDX ON RESTAURANT_ITEM (restaurant_id, item_id);
+
+CREATE INDEX IF NOT EXISTS RESTAURANT_ITEM_ITEM_ID_IDX ON RESTAURANT_ITEM (item_id);
+
+-- itemsByCategoryUUID
+CREATE INDEX IF NOT EXISTS CATEGORY_ITEM_CATEGORY_ID_IDX ON CATEGORY_ITEM (category_id, item_id);
+
+CREATE INDEX IF NOT EXISTS CATEGORY_ITEM_ITEM_ID_IDX ON CATEGORY_ITEM (item_id);
+
+-- allAddressesForCustomer, addressByUuidForCustomer and customerAddressByAddressUuid
+CREATE INDEX IF NOT EXISTS CUSTOMER_ADDRESS_CUSTOMER_ID_IDX ON CUSTOMER_ADDRESS (customer_id, address_id);
+
+CREATE INDEX IF NOT EXISTS CUSTOMER_ADDRESS_ADDRESS_ID_IDX ON CUSTOMER_ADDRESS (address_id);
+
+-- customerAuthByAccessToken, run by every authenticated request
+CREATE INDEX IF NOT EXISTS CUSTOMER_AUTH_ACCESS_TOKEN_IDX ON CUSTOMER_AUTH (access_token);
+
+CREATE INDEX IF NOT EXISTS CUSTOMER_AUTH_CUSTOMER_ID_IDX ON CUSTOMER_AUTH (customer_id);
+
+-- restaurantsByRating reads every restaurant, sorting them costs less than reading them through an index on the rating
+
+CREATE INDEX IF NOT EXISTS RESTAURANT_ADDRESS_ID_IDX ON RESTAURANT (address_id);
@@ -0,0 +1,3 @@
+-- Flags the orders counted in the restaurant sales rollups, so that a rebuild and the flushes of every node never count
+-- an order twice or drop it. The orders placed before are flagged by the next rebuild, run it after the migration
+ALTER TABLE ORDERS ADD COLUMN IF NOT EXISTS sales_rolled_up BOOLEAN NOT NULL DEFAULT FALSE;
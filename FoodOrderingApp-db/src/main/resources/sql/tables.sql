@@ -27,7 +27,7 @@ DROP TABLE IF EXISTS RESTAURANT CASCADE;
 CREATE TABLE RESTAURANT(id SERIAL,uuid VARCHAR(200) UNIQUE NOT NULL, restaurant_name VARCHAR(50) NOT NULL, photo_url VARCHAR(255), customer_rating DECIMAL NOT NULL, average_price_for_two INTEGER NOT NULL, number_of_customers_rated INTEGER NOT NULL DEFAULT 0, address_id INTEGER NOT NULL , PRIMARY KEY(id), FOREIGN KEY (address_id) REFERENCES ADDRESS(id) ON DELETE CASCADE);
 
 DROP TABLE IF EXISTS ORDERS CASCADE;
-CREATE TABLE ORDERS(id SERIAL,uuid VARCHAR(200) UNIQUE NOT NULL, bill DECIMAL NOT NULL, coupon_id INTEGER,discount DECIMAL DEFAULT 0, date TIMESTAMP NOT NULL , payment_id INTEGER,customer_id INTEGER NOT NULL, address_id INTEGER NOT NULL,PRIMARY KEY(id), restaurant_id INTEGER NOT NULL ,FOREIGN KEY (payment_id) REFERENCES PAYMENT(id),FOREIGN KEY (restaurant_id) REFERENCES RESTAURANT(id),FOREIGN KEY (customer_id) REFERENCES CUSTOMER(id) ON DELETE CASCADE, FOREIGN KEY (address_id) REFERENCES ADDRESS(id),FOREIGN KEY (coupon_id) REFERENCES COUPON(id));
+CREATE TABLE ORDERS(id SERIAL,uuid VARCHAR(200) UNIQUE NOT NULL, bill DECIMAL NOT NULL, coupon_id INTEGER,discount DECIMAL DEFAULT 0, date TIMESTAMP NOT NULL , payment_id INTEGER,customer_id INTEGER NOT NULL, address_id INTEGER NOT NULL,PRIMARY KEY(id), restaurant_id INTEGER NOT NULL, sales_rolled_up BOOLEAN NOT NULL DEFAULT FALSE, FOREIGN KEY (payment_id) REFERENCES PAYMENT(id),FOREIGN KEY (restaurant_id) REFERENCES RESTAURANT(id),FOREIGN KEY (customer_id) REFERENCES CUSTOMER(id) ON DELETE CASCADE, FOREIGN KEY (address_id) REFERENCES ADDRESS(id),FOREIGN KEY (coupon_id) REFERENCES COUPON(id));
 
 DROP TABLE IF EXISTS CATEGORY_ITEM CASCADE;
 CREATE TABLE CATEGORY_ITEM(id SERIAL,item_id INTEGER NOT NULL,category_id INTEGER NOT NULL, PRIMARY KEY (id),FOREIGN KEY (item_id) REFERENCES item(id) ON DELETE CASCADE, FOREIGN KEY (category_id) REFERENCES CATEGORY(id) ON DELETE CASCADE);
@@ -42,4 +42,10 @@ DROP TABLE IF EXISTS RESTAURANT_CATEGORY CASCADE;
 CREATE TABLE RESTAURANT_CATEGORY(id SERIAL,restaurant_id INTEGER NOT NULL, category_id INTEGER NOT NULL,PRIMARY KEY (id), FOREIGN KEY (category_id) REFERENCES CATEGORY(id) ON DELETE CASCADE, FOREIGN KEY (restaurant_id) REFERENCES RESTAURANT(id) ON DELETE CASCADE);
 
 DROP TABLE IF EXISTS CUSTOMER_AUTH CASCADE;
-CREATE TABLE CUSTOMER_AUTH(id SERIAL,uuid VARCHAR(200) UNIQUE NOT NULL, customer_id INTEGER NOT NULL, access_token VARCHAR(500), login_at TIMESTAMP, logout_at TIMESTAMP,expires_at TIMESTAMP, PRIMARY KEY (id), FOREIGN KEY (customer_id) REFERENCES CUSTOMER(id) ON DELETE CASCADE);
\ No newline at end of file
+CREATE TABLE CUSTOMER_AUTH(id SERIAL,uuid VARCHAR(200) UNIQUE NOT NULL, customer_id INTEGER NOT NULL, access_token VARCHAR(500), login_at TIMESTAMP, logout_at TIMESTAMP,expires_at TIMESTAMP, PRIMARY KEY (id), FOREIGN KEY (customer_id) REFERENCES CUSTOMER(id) ON DELETE CASCADE);
+
+DROP TABLE IF EXISTS RESTAURANT_SALES_HOURLY CASCADE;
+CREATE TABLE RESTAURANT_SALES_HOURLY(restaurant_id INTEGER NOT NULL, bucket_start TIMESTAMP NOT NULL, order_count BIGINT NOT NULL DEFAULT 0, revenue DECIMAL NOT NULL DEFAULT 0, PRIMARY KEY (restaurant_id, bucket_start), FOREIGN KEY (restaurant_id) REFERENCES RESTAURANT(id) ON DELETE CASCADE);
+
+DROP TABLE IF EXISTS RESTAURANT_SALES_DAILY CASCADE;
+CREATE TABLE RESTAURANT_SALES_DAILY(restaurant_id INTEGER NOT NULL, bucket_start TIMESTAMP NOT NULL, order_count BIGINT NOT NULL DEFAULT 0, revenue DECIMAL NOT NULL DEFAULT 0, PRIMARY KEY (restaurant_id, bucket_start), FOREIGN KEY (restaurant_id) REFERENCES RESTAURANT(id) ON DELETE CASCADE);
@@ -0,0 +1,118 @@
+package com.upgrad.FoodOrderingApp.db;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.EncodedResource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+// This class contains the test cases of the migration making the coupon names unique ignoring the case, run on H2 in
+// PostgreSQL mode over the seed data. H2 can't index an expression, so the unique index itself is only created on
+// PostgreSQL
+public class CouponMigrationTest {
+
+    private static final String MIGRATION = "sql/migration/V001__coupon_name_unique_index.sql";
+
+    private Connection connection;
+
+    @Before
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:couponmigration;MODE=PostgreSQL;DB_CLOSE_DELAY=-1", "sa", "");
+        ScriptUtils.executeSqlScript(connection, new ClassPathResource("sql/tables.sql"));
+        ScriptUtils.executeSqlScript(connection, new ClassPathResource("sql/insert.sql"));
+        // The seed coupons are NEW30 to FLAT30 with the ids 1 to 4, the duplicates get the ids 5 to 7
+        execute("INSERT INTO COUPON(uuid, coupon_name, percent) VALUES ('c0a3f68e-a29b-11e8-9a3a-720006ceb005', 'new30', 30), "
+                + "('c0a3f68e-a29b-11e8-9a3a-720006ceb006', 'Flat50', 50), ('c0a3f68e-a29b-11e8-9a3a-720006ceb007', 'NEW30', 35)");
+        execute("INSERT INTO ORDERS(uuid, bill, coupon_id, date, payment_id, customer_id, address_id, restaurant_id) VALUES "
+                + "('c0a3f68e-a29b-11e8-9a3a-720006ceb101', 100, 5, NOW(), 1, 1, 1, 1), "
+                + "('c0a3f68e-a29b-11e8-9a3a-720006ceb102', 200, 6, NOW(), 1, 1, 1, 1), "
+                + "('c0a3f68e-a29b-11e8-9a3a-720006ceb103', 300, 7, NOW(), 1, 1, 1, 1), "
+                + "('c0a3f68e-a29b-11e8-9a3a-720006ceb104', 400, 2, NOW(), 1, 1, 1, 1), "
+                + "('c0a3f68e-a29b-11e8-9a3a-720006ceb105', 500, NULL, NOW(), 1, 1, 1, 1)");
+    }
+
+    @After
+    public void tearDown() throws SQLException {
+        execute("SHUTDOWN");
+        connection.close();
+    }
+
+    //This test case passes when only the first coupon created for every name ignoring the case is kept, and the
+    // orders of the duplicates are moved to it.
+    @Test
+    public void shouldKeepTheFirstCouponOfEveryName() throws Exception {
+        migrate();
+
+        final Map<Integer, String> coupons = query("SELECT id, coupon_name FROM COUPON ORDER BY id");
+        assertEquals(4, coupons.size());
+        assertEquals("NEW30", coupons.get(1));
+        assertEquals("FLAT50", coupons.get(3));
+        final Map<Integer, String> orderCoupons = query("SELECT CAST(bill AS INTEGER), coupon_id FROM ORDERS ORDER BY id");
+        assertEquals("1", orderCoupons.get(100));
+        assertEquals("3", orderCoupons.get(200));
+        assertEquals("1", orderCoupons.get(300));
+        assertEquals("2", orderCoupons.get(400));
+        assertNull(orderCoupons.get(500));
+    }
+
+    //This test case passes when running the migration again changes nothing.
+    @Test
+    public void shouldRunTheMigrationAgain() throws Exception {
+        migrate();
+        final Map<Integer, String> coupons = query("SELECT id, coupon_name FROM COUPON ORDER BY id");
+        final Map<Integer, String> orderCoupons = query("SELECT CAST(bill AS INTEGER), coupon_id FROM ORDERS ORDER BY id");
+
+        migrate();
+
+        assertEquals(coupons, query("SELECT id, coupon_name FROM COUPON ORDER BY id"));
+        assertEquals(orderCoupons, query("SELECT CAST(bill AS INTEGER), coupon_id FROM ORDERS ORDER BY id"));
+    }
+
+    private void migrate() throws IOException, SQLException {
+        final ClassPathResource migration = new ClassPathResource(MIGRATION);
+        final List<String> statements = new ArrayList<String>();
+        ScriptUtils.splitSqlScript(new EncodedResource(migration),
+                StreamUtils.copyToString(migration.getInputStream(), StandardCharsets.UTF_8),
+                ScriptUtils.DEFAULT_STATEMENT_SEPARATOR, ScriptUtils.DEFAULT_COMMENT_PREFIX,
+                ScriptUtils.DEFAULT_BLOCK_COMMENT_START_DELIMITER, ScriptUtils.DEFAULT_BLOCK_COMMENT_END_DELIMITER,
+                statements);
+        assertEquals(3, statements.size());
+        // The last statement creates the unique index on the expression
+        for (String sql : statements.subList(0, 2)) {
+            execute(sql);
+        }
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private Map<Integer, String> query(String sql) throws SQLException {
+        final Map<Integer, String> rows = new LinkedHashMap<Integer, String>();
+        try (Statement statement = connection.createStatement(); ResultSet resultSet = statement.executeQuery(sql)) {
+            while (resultSet.next()) {
+                rows.put(resultSet.getInt(1), resultSet.getString(2));
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,111 @@
+package com.upgrad.FoodOrderingApp.db;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+// This class contains the test cases of the dataset generator, the rows are copied in memory instead of a Database
+public class DatasetGeneratorTest {
+
+    private static final DatasetGenerator.ReferenceData REFERENCE_DATA = new DatasetGenerator.ReferenceData(
+            Arrays.asList(1, 2, 3), Arrays.asList(1, 2), Arrays.asList(1, 2), Arrays.asList(10, 50),
+            Arrays.asList("560001", "400018"));
+
+    //This test case passes when the same seed generates the same rows, whatever the order the chunks are generated in
+    @Test
+    public void shouldGenerateTheSameRowsForASeed() throws IOException {
+        Map<String, List<String>> forward = generate(options("--seed=7"), false);
+        Map<String, List<String>> reversed = generate(options("--seed=7"), true);
+        Map<String, List<String>> otherSeed = generate(options("--seed=8"), false);
+
+        assertEquals(forward, reversed);
+        assertNotEquals(forward.get("ORDERS"), otherSeed.get("ORDERS"));
+        assertEquals(120, forward.get("ITEM").size());
+        assertEquals(500, forward.get("CUSTOMER").size());
+        assertEquals(10 + 500 * 2, forward.get("ADDRESS").size());
+        assertEquals(2000, forward.get("ORDERS").size());
+    }
+
+    //This test case passes when the bill of every order is the price of its items less the coupon discount
+    @Test
+    public void shouldBillTheItemsOfTheOrders() throws IOException {
+        Map<String, List<String>> tables = generate(options("--seed=7"), false);
+
+        Map<String, Long> itemCents = new HashMap<String, Long>();
+        for (String row : tables.get("ORDER_ITEM")) {
+            String[] columns = row.split("\t");
+            itemCents.merge(columns[1], Long.parseLong(columns[4]) * 100, Long::sum);
+        }
+        for (String row : tables.get("ORDERS")) {
+            String[] columns = row.split("\t");
+            long billCents = Math.round(Double.parseDouble(columns[2]) * 100);
+            long discountCents = Math.round(Double.parseDouble(columns[4]) * 100);
+            assertEquals(itemCents.get(columns[0]).longValue(), billCents + discountCents);
+            assertEquals("\\N".equals(columns[3]), discountCents == 0);
+        }
+    }
+
+    //This test case passes when the most popular restaurant gets several times the orders of the median restaurant
+    @Test
+    public void shouldSkewThePopularityOfTheRestaurants() throws IOException {
+        Map<String, List<String>> tables = generate(options("--seed=7"), false);
+
+        int[] ordersPerRestaurant = new int[10];
+        for (String row : tables.get("ORDERS")) {
+            String[] columns = row.split("\t");
+            ordersPerRestaurant[Integer.parseInt(columns[9]) - 1]++;
+        }
+        assertTrue(ordersPerRestaurant[0] > 3 * ordersPerRestaurant[5]);
+    }
+
+    private static DatasetOptions options(String seed) {
+        return DatasetOptions.parse(seed, "--restaurants=10", "--categories=6", "--categories-per-restaurant=3",
+                "--items-per-category=4", "--customers=500", "--orders=2000", "--chunk-size=300", "--password-salts=4");
+    }
+
+    private static Map<String, List<String>> generate(DatasetOptions options, boolean reversed) throws IOException {
+        Map<String, List<String>> tables = new HashMap<String, List<String>>();
+        CopyTarget target = (table, columns) -> new CopyWriter(new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                String rows = new String(toByteArray(), StandardCharsets.UTF_8);
+                tables.computeIfAbsent(table, name -> new ArrayList<String>()).addAll(Arrays.asList(rows.split("\n")));
+            }
+        });
+        DatasetGenerator generator = new DatasetGenerator(options, REFERENCE_DATA);
+        generator.writeCatalog(target);
+        List<Integer> customerChunks = chunks(generator.getCustomerChunks(), reversed);
+        for (int chunk : customerChunks) {
+            generator.writeCustomers(chunk, target);
+        }
+        for (int chunk : chunks(generator.getOrderChunks(), reversed)) {
+            generator.writeOrders(chunk, target);
+        }
+        // Rows are compared regardless of the order the chunks were copied in
+        tables.values().forEach(Collections::sort);
+        return tables;
+    }
+
+    private static List<Integer> chunks(int count, boolean reversed) {
+        List<Integer> chunks = new ArrayList<Integer>();
+        for (int chunk = 0; chunk < count; chunk++) {
+            chunks.add(chunk);
+        }
+        if (reversed) {
+            Collections.reverse(chunks);
+        }
+        return chunks;
+    }
+}
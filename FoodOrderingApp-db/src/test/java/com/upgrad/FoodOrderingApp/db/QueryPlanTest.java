@@ -0,0 +1,347 @@
+package com.upgrad.FoodOrderingApp.db;
+
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.engine.query.spi.HQLQueryPlan;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.hql.spi.ParameterTranslations;
+import org.hibernate.hql.spi.QueryTranslator;
+import org.hibernate.type.Type;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.EncodedResource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.util.StreamUtils;
+
+import javax.persistence.Entity;
+import javax.persistence.NamedQueries;
+import javax.persistence.NamedQuery;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+// This class explains every named query of the entities against the schema, the migrations and a scaled dataset
+// The queries run on H2 in PostgreSQL mode by default, H2 indexes the foreign keys by itself so only the other
+// indexes are checked there. Pass -Dqueryplan.url, -Dqueryplan.user and -Dqueryplan.password
+// to explain them on a PostgreSQL Database loaded by the generate profile instead
+public class QueryPlanTest {
+
+    private static final String ENTITY_PACKAGE = "com.upgrad.FoodOrderingApp.service.entity";
+
+    // Reference data of a few rows, reading them whole is cheaper than any index
+    private static final Set<String> SMALL_TABLES = new HashSet<String>(Arrays.asList("STATE", "PAYMENT", "COUPON",
+            "CATEGORY", "PINCODE_GEO"));
+
+    // Queries reading a large table whole by design, with the tables they scan
+    private static final Map<String, Set<String>> ALLOWED_SCANS = new LinkedHashMap<String, Set<String>>();
+
+    static {
+        // The restaurant list and the locator read every restaurant
+        ALLOWED_SCANS.put("restaurantsByRating", tables("RESTAURANT"));
+        ALLOWED_SCANS.put("restaurantPincodes", tables("RESTAURANT", "ADDRESS"));
+        // A name containing the search, a B-tree index can't serve a leading wildcard
+        ALLOWED_SCANS.put("restaurantsByName", tables("RESTAURANT"));
+        // The orders of a period are joined to every restaurant, reading the restaurants whole for the join is cheaper
+        // than a lookup per order
+        ALLOWED_SCANS.put("ordersForExport", tables("RESTAURANT"));
+    }
+
+    // H2 can't index an expression, the coupon names are only unique ignoring the case on PostgreSQL
+    private static final String H2_UNSUPPORTED_INDEX = "CREATE UNIQUE INDEX IF NOT EXISTS COUPON_LOWER_COUPON_NAME_KEY ";
+
+    // The conflict clause of an upsert, H2 doesn't know it
+    private static final Pattern UPSERT = Pattern.compile("\\s+ON CONFLICT\\b.*$", Pattern.DOTALL);
+
+    private static final Pattern H2_TABLE_SCAN = Pattern.compile("/\\* PUBLIC\\.(\\w+)\\.tableScan");
+    private static final Pattern POSTGRESQL_SEQ_SCAN = Pattern.compile("Seq Scan on (\\w+)");
+
+    private static Connection connection;
+    private static boolean postgresql;
+    private static SessionFactoryImplementor sessionFactory;
+    private static StandardServiceRegistry registry;
+
+    @BeforeClass
+    public static void createDatabase() throws Exception {
+        String url = System.getProperty("queryplan.url");
+        postgresql = url != null;
+        if (postgresql) {
+            connection = DriverManager.getConnection(url, System.getProperty("queryplan.user", "postgres"),
+                    System.getProperty("queryplan.password", ""));
+        } else {
+            connection = DriverManager.getConnection("jdbc:h2:mem:queryplan;MODE=PostgreSQL;DB_CLOSE_DELAY=-1", "sa", "");
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("sql/tables.sql"));
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("sql/insert.sql"));
+            migrate(connection);
+            loadDataset(connection);
+        }
+
+        registry = new StandardServiceRegistryBuilder()
+                .applySetting("hibernate.dialect", postgresql ? "org.hibernate.dialect.PostgreSQL9Dialect" : "org.hibernate.dialect.H2Dialect")
+                .applySetting("hibernate.temp.use_jdbc_metadata_defaults", "false")
+                .applySetting("hibernate.cache.use_second_level_cache", "false")
+                .applySetting("hibernate.cache.use_query_cache", "false")
+                .build();
+        MetadataSources sources = new MetadataSources(registry);
+        for (Class<?> entity : entityClasses()) {
+            sources.addAnnotatedClass(entity);
+        }
+        sessionFactory = (SessionFactoryImplementor) sources.buildMetadata().buildSessionFactory();
+    }
+
+    @AfterClass
+    public static void dropDatabase() throws SQLException {
+        if (sessionFactory != null) {
+            sessionFactory.close();
+            StandardServiceRegistryBuilder.destroy(registry);
+        }
+        if (connection != null) {
+            if (!postgresql) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SHUTDOWN");
+                }
+            }
+            connection.close();
+        }
+    }
+
+    //This test case passes when no named query scans a large table whole, apart from the queries reading it by design
+    @Test
+    public void shouldServeEveryNamedQueryFromAnIndex() throws Exception {
+        Map<String, String> failures = new TreeMap<String, String>();
+        int explained = 0;
+        for (NamedQuery namedQuery : namedQueries()) {
+            String plan = explain(namedQuery.query());
+            Set<String> scanned = scannedTables(plan);
+            scanned.removeAll(SMALL_TABLES);
+            scanned.removeAll(ALLOWED_SCANS.getOrDefault(namedQuery.name(), Collections.<String>emptySet()));
+            if (!scanned.isEmpty()) {
+                failures.put(namedQuery.name(), "scans " + scanned + "\n" + plan);
+            }
+            explained++;
+        }
+        assertTrue("No named query found in " + ENTITY_PACKAGE, explained > 20);
+        if (!failures.isEmpty()) {
+            StringBuilder message = new StringBuilder("Named queries scanning a large table:");
+            failures.forEach((name, failure) -> message.append("\n\n").append(name).append(' ').append(failure));
+            fail(message.toString());
+        }
+    }
+
+    //This test case passes when the check detects the scan of a query on a column without an index
+    @Test
+    public void shouldDetectATableScan() throws Exception {
+        Set<String> scanned = scannedTables(explain("select o from OrderEntity o where o.bill > 100000"));
+
+        assertTrue(scanned.contains("ORDERS"));
+        assertFalse(scannedTables(explain("select o from OrderEntity o where o.customer.id = 1")).contains("ORDERS"));
+    }
+
+    /**
+     * @param hql The HQL of the query, a select or a bulk update
+     * @return The plan of the SQL of the query, with sample parameters
+     */
+    private static String explain(String hql) throws SQLException {
+        HQLQueryPlan queryPlan = sessionFactory.getQueryPlanCache().getHQLQueryPlan(hql, false, Collections.emptyMap());
+        QueryTranslator translator = queryPlan.getTranslators()[0];
+        // The SQL of an update or a delete is only collected, a select has a single statement either way
+        try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + translator.collectSqlStrings().get(0))) {
+            ParameterTranslations parameters = translator.getParameterTranslations();
+            for (Object name : parameters.getNamedParameterNames()) {
+                Object value = sampleValue((String) name, parameters.getNamedParameterExpectedType((String) name));
+                for (int location : parameters.getNamedParameterSqlLocations((String) name)) {
+                    statement.setObject(location + 1, value);
+                }
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    plan.append(resultSet.getString(1)).append('\n');
+                }
+            }
+            return plan.toString();
+        }
+    }
+
+    // Values of the parameters, selective like the values the application passes
+    private static Object sampleValue(String name, Type type) {
+        Class<?> javaType = type == null ? String.class : type.getReturnedClass();
+        if (Number.class.isAssignableFrom(javaType) || javaType.isPrimitive()) {
+            return 1;
+        }
+        if (java.util.Date.class.isAssignableFrom(javaType)) {
+            // A week of orders, as exported by the nightly export
+            LocalDate until = LocalDate.parse("2025-01-01");
+            return Timestamp.valueOf(name.startsWith("to") ? until.atStartOfDay() : until.minusDays(7).atStartOfDay());
+        }
+        if (name.startsWith("like")) {
+            return "%kitchen%";
+        }
+        return "7d174a25-ba31-45a8-85b4-b06ffc9d5f8f";
+    }
+
+    private static Set<String> scannedTables(String plan) {
+        Set<String> tables = new HashSet<String>();
+        Matcher matcher = (postgresql ? POSTGRESQL_SEQ_SCAN : H2_TABLE_SCAN).matcher(plan);
+        while (matcher.find()) {
+            tables.add(matcher.group(1).toUpperCase());
+        }
+        return tables;
+    }
+
+    private static List<Class<?>> entityClasses() throws ClassNotFoundException {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new AnnotationTypeFilter(Entity.class));
+        List<Class<?>> entities = new ArrayList<Class<?>>();
+        for (BeanDefinition definition : scanner.findCandidateComponents(ENTITY_PACKAGE)) {
+            entities.add(Class.forName(definition.getBeanClassName()));
+        }
+        return entities;
+    }
+
+    private static List<NamedQuery> namedQueries() throws ClassNotFoundException {
+        List<NamedQuery> namedQueries = new ArrayList<NamedQuery>();
+        for (Class<?> entity : entityClasses()) {
+            NamedQueries annotation = entity.getAnnotation(NamedQueries.class);
+            if (annotation != null) {
+                namedQueries.addAll(Arrays.asList(annotation.value()));
+            }
+            if (entity.getAnnotation(NamedQuery.class) != null) {
+                namedQueries.add(entity.getAnnotation(NamedQuery.class));
+            }
+        }
+        return namedQueries;
+    }
+
+    private static Set<String> tables(String... tables) {
+        return new HashSet<String>(Arrays.asList(tables));
+    }
+
+    // Runs the migrations on H2 in version order, any statement failing fails the test. The index on an expression is
+    // skipped and the upserts run as plain inserts, the Database being empty
+    private static void migrate(Connection connection) throws IOException, SQLException {
+        Resource[] migrations = new PathMatchingResourcePatternResolver().getResources("classpath*:sql/migration/V*.sql");
+        Arrays.sort(migrations, Comparator.comparing(Resource::getFilename));
+        try (Statement statement = connection.createStatement()) {
+            for (Resource migration : migrations) {
+                List<String> statements = new ArrayList<String>();
+                ScriptUtils.splitSqlScript(new EncodedResource(migration),
+                        StreamUtils.copyToString(migration.getInputStream(), StandardCharsets.UTF_8),
+                        ScriptUtils.DEFAULT_STATEMENT_SEPARATOR, ScriptUtils.DEFAULT_COMMENT_PREFIX,
+                        ScriptUtils.DEFAULT_BLOCK_COMMENT_START_DELIMITER, ScriptUtils.DEFAULT_BLOCK_COMMENT_END_DELIMITER,
+                        statements);
+                for (String sql : statements) {
+                    if (sql.startsWith(H2_UNSUPPORTED_INDEX)) {
+                        continue;
+                    }
+                    try {
+                        statement.execute(UPSERT.matcher(sql).replaceFirst(""));
+                    } catch (SQLException exception) {
+                        throw new SQLException(migration.getFilename() + " failed on " + sql, exception);
+                    }
+                }
+            }
+        }
+    }
+
+    // Loads a dataset of a few hundred restaurants and tens of thousands of orders, and logs in every customer
+    private static void loadDataset(Connection connection) throws IOException, SQLException {
+        DatasetOptions options = DatasetOptions.parse("--restaurants=300", "--customers=5000", "--orders=40000",
+                "--password-salts=4", "--chunk-size=10000");
+        List<Integer> stateIds = ids(connection, "SELECT id FROM STATE");
+        List<Integer> paymentIds = ids(connection, "SELECT id FROM PAYMENT");
+        List<Integer> couponIds = ids(connection, "SELECT id FROM COUPON");
+        List<Integer> couponPercents = ids(connection, "SELECT percent FROM COUPON");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DELETE FROM RESTAURANT_CATEGORY; DELETE FROM CATEGORY_ITEM; DELETE FROM RESTAURANT_ITEM; "
+                    + "DELETE FROM RESTAURANT; DELETE FROM ITEM; DELETE FROM CUSTOMER_ADDRESS; DELETE FROM CUSTOMER; "
+                    + "DELETE FROM ADDRESS; DELETE FROM CATEGORY");
+        }
+        DatasetGenerator generator = new DatasetGenerator(options, new DatasetGenerator.ReferenceData(stateIds,
+                paymentIds, couponIds, couponPercents, Collections.<String>emptyList()));
+        CopyTarget target = (table, columns) -> new CopyWriter(new ByteArrayOutputStream() {
+            @Override
+            public void close() throws IOException {
+                try {
+                    insert(connection, table, columns, new String(toByteArray(), StandardCharsets.UTF_8));
+                } catch (SQLException exception) {
+                    throw new IOException(exception);
+                }
+            }
+        });
+        generator.writeCatalog(target);
+        for (int chunk = 0; chunk < generator.getCustomerChunks(); chunk++) {
+            generator.writeCustomers(chunk, target);
+        }
+        for (int chunk = 0; chunk < generator.getOrderChunks(); chunk++) {
+            generator.writeOrders(chunk, target);
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO CUSTOMER_AUTH(uuid, customer_id, access_token, login_at, expires_at) "
+                    + "SELECT RANDOM_UUID(), id, RANDOM_UUID(), CURRENT_TIMESTAMP, CURRENT_TIMESTAMP FROM CUSTOMER");
+            statement.execute("ANALYZE");
+        }
+    }
+
+    // Inserts the rows of the COPY text format in batches
+    private static void insert(Connection connection, String table, String columns, String rows) throws SQLException {
+        int columnCount = columns.split(",").length;
+        String placeholders = String.join(",", Collections.nCopies(columnCount, "?"));
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO " + table + "(" + columns + ") VALUES (" + placeholders + ")")) {
+            int batched = 0;
+            for (String row : rows.split("\n")) {
+                String[] values = row.split("\t", -1);
+                for (int index = 0; index < columnCount; index++) {
+                    statement.setString(index + 1, "\\N".equals(values[index]) ? null : values[index]);
+                }
+                statement.addBatch();
+                if (++batched % 5000 == 0) {
+                    statement.executeBatch();
+                }
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private static List<Integer> ids(Connection connection, String sql) throws SQLException {
+        List<Integer> ids = new ArrayList<Integer>();
+        try (Statement statement = connection.createStatement(); ResultSet resultSet = statement.executeQuery(sql)) {
+            while (resultSet.next()) {
+                ids.add(resultSet.getInt(1));
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,211 @@
+package com.upgrad.FoodOrderingApp.exporter;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.*;
+import org.apache.arrow.vector.dictionary.Dictionary;
+import org.apache.arrow.vector.dictionary.DictionaryProvider;
+import org.apache.arrow.vector.ipc.ArrowFileWriter;
+import org.apache.arrow.vector.types.TimeUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.DictionaryEncoding;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One batch of rows of an exported table held in off-heap column vectors, written as a single Arrow IPC file
+ * Dictionary columns store the index of the value in each row, the distinct values are written once per file
+ */
+public class ArrowBatch implements AutoCloseable {
+
+    private static final ArrowType INDEX_TYPE = new ArrowType.Int(32, true);
+
+    private final ExportTable table;
+    private final BufferAllocator allocator;
+    private final List<FieldVector> vectors = new ArrayList<FieldVector>();
+    // The distinct values of every dictionary column mapped to their index, null for the other columns
+    private final List<Map<String, Integer>> dictionaries = new ArrayList<Map<String, Integer>>();
+    private int rowCount;
+    private int firstId;
+    private int lastId;
+
+    public ArrowBatch(ExportTable table, BufferAllocator allocator) {
+        this.table = table;
+        this.allocator = allocator;
+        List<ExportColumn> columns = table.getColumns();
+        for (int index = 0; index < columns.size(); index++) {
+            ExportColumn column = columns.get(index);
+            vectors.add(createVector(column, index));
+            dictionaries.add(column.getType() == ColumnType.DICTIONARY ? new LinkedHashMap<String, Integer>() : null);
+        }
+    }
+
+    private FieldVector createVector(ExportColumn column, long dictionaryId) {
+        switch (column.getType()) {
+            case INT:
+                return new IntVector(column.getName(), allocator);
+            case DOUBLE:
+                return new Float8Vector(column.getName(), allocator);
+            case TIMESTAMP:
+                // Order dates are stored without a time zone, they are written as wall clock time
+                return new TimeStampMilliVector(column.getName(),
+                        FieldType.nullable(new ArrowType.Timestamp(TimeUnit.MILLISECOND, null)), allocator);
+            case STRING:
+                return new VarCharVector(column.getName(), allocator);
+            default:
+                return new IntVector(column.getName(),
+                        new FieldType(true, INDEX_TYPE, new DictionaryEncoding(dictionaryId, false, (ArrowType.Int) INDEX_TYPE)),
+                        allocator);
+        }
+    }
+
+    /**
+     * Appends the current row of the result set to the column vectors
+     *
+     * @param resultSet The result set of the export query positioned on the row
+     * @throws SQLException If the row can't be read
+     */
+    public void addRow(ResultSet resultSet) throws SQLException {
+        List<ExportColumn> columns = table.getColumns();
+        for (int index = 0; index < columns.size(); index++) {
+            FieldVector vector = vectors.get(index);
+            switch (columns.get(index).getType()) {
+                case INT:
+                    int intValue = resultSet.getInt(index + 1);
+                    if (resultSet.wasNull()) {
+                        ((IntVector) vector).setNull(rowCount);
+                    } else {
+                        ((IntVector) vector).setSafe(rowCount, intValue);
+                    }
+                    break;
+                case DOUBLE:
+                    double doubleValue = resultSet.getDouble(index + 1);
+                    if (resultSet.wasNull()) {
+                        ((Float8Vector) vector).setNull(rowCount);
+                    } else {
+                        ((Float8Vector) vector).setSafe(rowCount, doubleValue);
+                    }
+                    break;
+                case TIMESTAMP:
+                    Timestamp timestamp = resultSet.getTimestamp(index + 1);
+                    if (timestamp == null) {
+                        ((TimeStampMilliVector) vector).setNull(rowCount);
+                    } else {
+                        ((TimeStampMilliVector) vector).setSafe(rowCount,
+                                timestamp.toLocalDateTime().toInstant(ZoneOffset.UTC).toEpochMilli());
+                    }
+                    break;
+                case STRING:
+                    String stringValue = resultSet.getString(index + 1);
+                    if (stringValue == null) {
+                        ((VarCharVector) vector).setNull(rowCount);
+                    } else {
+                        ((VarCharVector) vector).setSafe(rowCount, stringValue.getBytes(StandardCharsets.UTF_8));
+                    }
+                    break;
+                default:
+                    String dictionaryValue = resultSet.getString(index + 1);
+                    if (dictionaryValue == null) {
+                        ((IntVector) vector).setNull(rowCount);
+                    } else {
+                        Map<String, Integer> dictionary = dictionaries.get(index);
+                        Integer dictionaryIndex = dictionary.get(dictionaryValue);
+                        if (dictionaryIndex == null) {
+                            dictionaryIndex = dictionary.size();
+                            dictionary.put(dictionaryValue, dictionaryIndex);
+                        }
+                        ((IntVector) vector).setSafe(rowCount, dictionaryIndex);
+                    }
+            }
+        }
+        lastId = resultSet.getInt(1);
+        if (rowCount == 0) {
+            firstId = lastId;
+        }
+        rowCount++;
+    }
+
+    /**
+     * Writes the batch with its dictionaries to the Arrow IPC file
+     * The file is written under a temporary name and renamed once synced, so a file with the final name is always complete
+     *
+     * @param file The path of the Arrow file to be written, replaced if it exists
+     * @throws IOException If the file can't be written
+     */
+    public void writeTo(Path file) throws IOException {
+        List<Field> fields = new ArrayList<Field>();
+        for (FieldVector vector : vectors) {
+            vector.setValueCount(rowCount);
+            fields.add(vector.getField());
+        }
+        DictionaryProvider.MapDictionaryProvider provider = new DictionaryProvider.MapDictionaryProvider();
+        List<VarCharVector> dictionaryVectors = new ArrayList<VarCharVector>();
+        try {
+            for (int index = 0; index < vectors.size(); index++) {
+                Map<String, Integer> dictionary = dictionaries.get(index);
+                if (dictionary == null) {
+                    continue;
+                }
+                VarCharVector dictionaryVector = new VarCharVector(table.getColumns().get(index).getName(), allocator);
+                dictionaryVectors.add(dictionaryVector);
+                dictionaryVector.allocateNew(dictionary.size());
+                for (Map.Entry<String, Integer> value : dictionary.entrySet()) {
+                    dictionaryVector.setSafe(value.getValue(), value.getKey().getBytes(StandardCharsets.UTF_8));
+                }
+                dictionaryVector.setValueCount(dictionary.size());
+                provider.put(new Dictionary(dictionaryVector, vectors.get(index).getField().getDictionary()));
+            }
+
+            Files.createDirectories(file.getParent());
+            Path temporaryFile = file.resolveSibling(file.getFileName() + ".tmp");
+            try (VectorSchemaRoot root = new VectorSchemaRoot(fields, new ArrayList<FieldVector>(vectors), rowCount);
+                 FileChannel channel = FileChannel.open(temporaryFile, StandardOpenOption.CREATE,
+                         StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+                 ArrowFileWriter writer = new ArrowFileWriter(root, provider, channel)) {
+                writer.start();
+                writer.writeBatch();
+                writer.end();
+                channel.force(true);
+            }
+            Files.move(temporaryFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            for (VarCharVector dictionaryVector : dictionaryVectors) {
+                dictionaryVector.close();
+            }
+        }
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public int getFirstId() {
+        return firstId;
+    }
+
+    public int getLastId() {
+        return lastId;
+    }
+
+    @Override
+    public void close() {
+        for (FieldVector vector : vectors) {
+            vector.close();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.upgrad.FoodOrderingApp.exporter;
+
+/**
+ * The type of an exported column in the columnar files
+ * Dictionary columns are strings with few distinct values, written once per file and referenced by index in each row
+ */
+public enum ColumnType {
+    INT,
+
+    DOUBLE,
+
+    TIMESTAMP,
+
+    STRING,
+
+    DICTIONARY
+}
@@ -0,0 +1,88 @@
+package com.upgrad.FoodOrderingApp.exporter;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+public class ColumnarExporter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ColumnarExporter.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Path outputDirectory;
+    private final Path checkpointFile;
+    private final int batchSize;
+
+    @Autowired
+    public ColumnarExporter(JdbcTemplate jdbcTemplate,
+                            @Value("${foodorderingapp.exporter.output-directory:export}") String outputDirectory,
+                            @Value("${foodorderingapp.exporter.checkpoint-file:export/checkpoint.properties}") String checkpointFile,
+                            @Value("${foodorderingapp.exporter.batch-size:100000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.outputDirectory = Paths.get(outputDirectory);
+        this.checkpointFile = Paths.get(checkpointFile);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Exports the rows added to the tables since the last export, resuming from the checkpoint
+     *
+     * @param tables The tables to be exported
+     * @return The number of rows exported by table name
+     * @throws IOException If the columnar files or the checkpoint can't be written
+     */
+    public Map<String, Integer> export(List<ExportTable> tables) throws IOException {
+        ExportCheckpoint checkpoint = ExportCheckpoint.load(checkpointFile);
+        Map<String, Integer> exportedRows = new LinkedHashMap<String, Integer>();
+        try (BufferAllocator allocator = new RootAllocator()) {
+            for (ExportTable table : tables) {
+                int rows = exportTable(table, checkpoint, allocator);
+                exportedRows.put(table.getName(), rows);
+                LOGGER.info("Exported {} rows of {} up to id {}", rows, table.getName(), checkpoint.getWatermark(table.getName()));
+            }
+        }
+        return exportedRows;
+    }
+
+    /**
+     * Exports the table in batches of rows with ids above the watermark, one Arrow file per batch
+     * Files are named after the first id of the batch, so a batch exported again after a crash replaces its
+     * previous file instead of duplicating the rows
+     * Rows updated after they were exported are not exported again, the watermark only moves forward
+     */
+    private int exportTable(ExportTable table, ExportCheckpoint checkpoint, BufferAllocator allocator) throws IOException {
+        Path tableDirectory = outputDirectory.resolve(table.getName());
+        int exportedRows = 0;
+        while (true) {
+            final int watermark = checkpoint.getWatermark(table.getName());
+            try (ArrowBatch batch = new ArrowBatch(table, allocator)) {
+                jdbcTemplate.query(table.getQuery(), preparedStatement -> {
+                    preparedStatement.setInt(1, watermark);
+                    preparedStatement.setInt(2, batchSize);
+                }, batch::addRow);
+                if (batch.getRowCount() == 0) {
+                    return exportedRows;
+                }
+                batch.writeTo(tableDirectory.resolve(String.format("part-%010d.arrow", batch.getFirstId())));
+                checkpoint.update(table.getName(), batch.getLastId());
+                exportedRows += batch.getRowCount();
+                if (batch.getRowCount() < batchSize) {
+                    return exportedRows;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.upgrad.FoodOrderingApp.exporter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Properties;
+
+/**
+ * The last id exported of every table, persisted to a properties file after each batch
+ * The file is replaced atomically, so an interrupted export resumes from the last batch completely written
+ */
+public class ExportCheckpoint {
+
+    private final Path file;
+    private final Properties watermarks = new Properties();
+
+    private ExportCheckpoint(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Loads the checkpoint from the file, an empty checkpoint is returned when the file doesn't exist yet
+     *
+     * @param file The path of the checkpoint file
+     * @return The checkpoint with the watermarks of the previous exports
+     * @throws IOException If the checkpoint file can't be read
+     */
+    public static ExportCheckpoint load(Path file) throws IOException {
+        ExportCheckpoint checkpoint = new ExportCheckpoint(file);
+        if (Files.exists(file)) {
+            try (InputStream inputStream = Files.newInputStream(file)) {
+                checkpoint.watermarks.load(inputStream);
+            }
+        }
+        return checkpoint;
+    }
+
+    /**
+     * @param table The name of the exported table
+     * @return The last id exported of the table, 0 if the table was never exported
+     */
+    public int getWatermark(String table) {
+        return Integer.parseInt(watermarks.getProperty(table, "0"));
+    }
+
+    /**
+     * Moves the watermark of the table forward and persists the checkpoint
+     *
+     * @param table     The name of the exported table
+     * @param watermark The last id of the batch written
+     * @throws IOException If the checkpoint file can't be written
+     */
+    public void update(String table, int watermark) throws IOException {
+        watermarks.setProperty(table, String.valueOf(watermark));
+        Path temporaryFile = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporaryFile, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            OutputStream outputStream = Channels.newOutputStream(channel);
+            watermarks.store(outputStream, "Last id exported of every table");
+            outputStream.flush();
+            channel.force(true);
+        }
+        Files.move(temporaryFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+}
@@ -0,0 +1,23 @@
+package com.upgrad.FoodOrderingApp.exporter;
+
+/**
+ * A column of an exported table, in the order it is selected by the export query
+ */
+public class ExportColumn {
+
+    private final String name;
+    private final ColumnType type;
+
+    public ExportColumn(String name, ColumnType type) {
+        this.name = name;
+        this.type = type;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public ColumnType getType() {
+        return type;
+    }
+}
@@ -0,0 +1,73 @@
+package com.upgrad.FoodOrderingApp.exporter;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static com.upgrad.FoodOrderingApp.exporter.ColumnType.*;
+
+/**
+ * A table exported incrementally by its id watermark
+ * The query selects the id as the first column and takes the watermark and the batch size as parameters,
+ * so every batch continues from the last id exported with an index range scan on the primary key
+ */
+public class ExportTable {
+
+    public static final ExportTable ORDERS = new ExportTable("orders",
+            "SELECT o.id, o.uuid, o.bill, o.discount, o.date, o.customer_id, o.address_id, o.restaurant_id, " +
+                    "o.payment_id, p.payment_name, o.coupon_id, c.coupon_name FROM ORDERS o " +
+                    "LEFT JOIN PAYMENT p ON p.id = o.payment_id LEFT JOIN COUPON c ON c.id = o.coupon_id " +
+                    "WHERE o.id > ? ORDER BY o.id LIMIT ?",
+            new ExportColumn("id", INT), new ExportColumn("uuid", STRING), new ExportColumn("bill", DOUBLE),
+            new ExportColumn("discount", DOUBLE), new ExportColumn("date", TIMESTAMP),
+            new ExportColumn("customer_id", INT), new ExportColumn("address_id", INT),
+            new ExportColumn("restaurant_id", INT), new ExportColumn("payment_id", INT),
+            new ExportColumn("payment_name", DICTIONARY), new ExportColumn("coupon_id", INT),
+            new ExportColumn("coupon_name", DICTIONARY));
+
+    public static final ExportTable ORDER_ITEM = new ExportTable("order_item",
+            "SELECT id, order_id, item_id, quantity, price FROM ORDER_ITEM WHERE id > ? ORDER BY id LIMIT ?",
+            new ExportColumn("id", INT), new ExportColumn("order_id", INT), new ExportColumn("item_id", INT),
+            new ExportColumn("quantity", INT), new ExportColumn("price", INT));
+
+    public static final ExportTable ITEM = new ExportTable("item",
+            "SELECT id, uuid, item_name, price, type FROM ITEM WHERE id > ? ORDER BY id LIMIT ?",
+            new ExportColumn("id", INT), new ExportColumn("uuid", STRING), new ExportColumn("item_name", STRING),
+            new ExportColumn("price", INT), new ExportColumn("type", DICTIONARY));
+
+    public static final ExportTable RESTAURANT = new ExportTable("restaurant",
+            "SELECT r.id, r.uuid, r.restaurant_name, r.photo_url, r.customer_rating, r.average_price_for_two, " +
+                    "r.number_of_customers_rated, r.address_id, a.city, s.state_name FROM RESTAURANT r " +
+                    "LEFT JOIN ADDRESS a ON a.id = r.address_id LEFT JOIN STATE s ON s.id = a.state_id " +
+                    "WHERE r.id > ? ORDER BY r.id LIMIT ?",
+            new ExportColumn("id", INT), new ExportColumn("uuid", STRING), new ExportColumn("restaurant_name", STRING),
+            new ExportColumn("photo_url", STRING), new ExportColumn("customer_rating", DOUBLE),
+            new ExportColumn("average_price_for_two", INT), new ExportColumn("number_of_customers_rated", INT),
+            new ExportColumn("address_id", INT), new ExportColumn("city", DICTIONARY),
+            new ExportColumn("state_name", DICTIONARY));
+
+    // The dimensions are exported before the facts referencing them
+    public static final List<ExportTable> ALL = Collections.unmodifiableList(Arrays.asList(RESTAURANT, ITEM, ORDERS, ORDER_ITEM));
+
+    private final String name;
+    private final String query;
+    private final List<ExportColumn> columns;
+
+    public ExportTable(String name, String query, ExportColumn... columns) {
+        this.name = name;
+        this.query = query;
+        this.columns = Collections.unmodifiableList(Arrays.asList(columns));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    public List<ExportColumn> getColumns() {
+        return columns;
+    }
+}
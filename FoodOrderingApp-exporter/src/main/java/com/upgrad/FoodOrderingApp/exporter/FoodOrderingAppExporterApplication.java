@@ -0,0 +1,27 @@
+package com.upgrad.FoodOrderingApp.exporter;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * Batch application exporting the orders, order items, items and restaurants to columnar Arrow files for analytics.
+ * Every run exports the rows added since the previous run and exits, e.g. mvn -pl FoodOrderingApp-exporter spring-boot:run
+ */
+@SpringBootApplication
+public class FoodOrderingAppExporterApplication implements ApplicationRunner {
+
+    @Autowired
+    private ColumnarExporter columnarExporter;
+
+    public static void main(String[] args) {
+        SpringApplication.run(FoodOrderingAppExporterApplication.class, args);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        columnarExporter.export(ExportTable.ALL);
+    }
+}
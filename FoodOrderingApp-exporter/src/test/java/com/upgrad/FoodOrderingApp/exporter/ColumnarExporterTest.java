@@ -0,0 +1,124 @@
+package com.upgrad.FoodOrderingApp.exporter;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.dictionary.DictionaryEncoder;
+import org.apache.arrow.vector.ipc.ArrowFileReader;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+// This class contains all the test cases regarding the columnar exporter
+public class ColumnarExporterTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private JdbcTemplate jdbcTemplate;
+
+    private Path outputDirectory;
+
+    @Before
+    public void setUp() throws Exception {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("CREATE TABLE PAYMENT(id SERIAL, payment_name VARCHAR(255), PRIMARY KEY (id))");
+        jdbcTemplate.execute("CREATE TABLE COUPON(id SERIAL, coupon_name VARCHAR(255), PRIMARY KEY (id))");
+        jdbcTemplate.execute("CREATE TABLE ORDERS(id SERIAL, uuid VARCHAR(200), bill DECIMAL, discount DECIMAL, date TIMESTAMP, " +
+                "customer_id INTEGER, address_id INTEGER, restaurant_id INTEGER, payment_id INTEGER, coupon_id INTEGER, PRIMARY KEY (id))");
+        jdbcTemplate.execute("INSERT INTO PAYMENT(payment_name) VALUES ('Cash on Delivery'), ('Net Banking')");
+        jdbcTemplate.execute("INSERT INTO COUPON(coupon_name) VALUES ('FLAT30')");
+        outputDirectory = temporaryFolder.getRoot().toPath();
+    }
+
+    //This test case passes when you are able to export the orders in batches and resume from the checkpoint.
+    @Test
+    public void shouldExportOrdersIncrementallyFromCheckpoint() throws Exception {
+        insertOrders(5);
+        final ColumnarExporter exporter = new ColumnarExporter(jdbcTemplate, outputDirectory.toString(),
+                outputDirectory.resolve("checkpoint.properties").toString(), 2);
+
+        Map<String, Integer> exportedRows = exporter.export(Collections.singletonList(ExportTable.ORDERS));
+        assertEquals(Integer.valueOf(5), exportedRows.get("orders"));
+        assertEquals(Arrays.asList("part-0000000001.arrow", "part-0000000003.arrow", "part-0000000005.arrow"), listFiles());
+        assertEquals(5, ExportCheckpoint.load(outputDirectory.resolve("checkpoint.properties")).getWatermark("orders"));
+
+        // Only the orders placed since the last export are exported by the next run
+        insertOrders(1);
+        exportedRows = exporter.export(Collections.singletonList(ExportTable.ORDERS));
+        assertEquals(Integer.valueOf(1), exportedRows.get("orders"));
+        assertEquals(Arrays.asList("part-0000000001.arrow", "part-0000000003.arrow", "part-0000000005.arrow",
+                "part-0000000006.arrow"), listFiles());
+        assertEquals(6, ExportCheckpoint.load(outputDirectory.resolve("checkpoint.properties")).getWatermark("orders"));
+
+        exportedRows = exporter.export(Collections.singletonList(ExportTable.ORDERS));
+        assertEquals(Integer.valueOf(0), exportedRows.get("orders"));
+    }
+
+    //This test case passes when you are able to read back the dictionary encoded columns of the exported orders.
+    @Test
+    public void shouldWriteDictionaryEncodedColumns() throws Exception {
+        insertOrders(3);
+        new ColumnarExporter(jdbcTemplate, outputDirectory.toString(),
+                outputDirectory.resolve("checkpoint.properties").toString(), 10)
+                .export(Collections.singletonList(ExportTable.ORDERS));
+
+        try (BufferAllocator allocator = new RootAllocator();
+             FileChannel channel = FileChannel.open(outputDirectory.resolve("orders").resolve("part-0000000001.arrow"),
+                     StandardOpenOption.READ);
+             ArrowFileReader reader = new ArrowFileReader(channel, allocator)) {
+            assertTrue(reader.loadNextBatch());
+            VectorSchemaRoot root = reader.getVectorSchemaRoot();
+            assertEquals(3, root.getRowCount());
+            assertEquals(3, ((IntVector) root.getVector("id")).get(2));
+
+            FieldVector paymentNames = root.getVector("payment_name");
+            assertNotNull(paymentNames.getField().getDictionary());
+            try (VarCharVector decoded = (VarCharVector) DictionaryEncoder.decode(paymentNames,
+                    reader.getDictionaryVectors().get(paymentNames.getField().getDictionary().getId()))) {
+                assertEquals("Cash on Delivery", decoded.getObject(0).toString());
+                assertEquals("Net Banking", decoded.getObject(1).toString());
+                assertEquals("Cash on Delivery", decoded.getObject(2).toString());
+            }
+            assertEquals(2, reader.getDictionaryVectors().get(paymentNames.getField().getDictionary().getId()).getVector().getValueCount());
+            assertTrue(root.getVector("coupon_name").isNull(0));
+            assertFalse(root.getVector("coupon_name").isNull(1));
+        }
+    }
+
+    private void insertOrders(int count) {
+        for (int index = 0; index < count; index++) {
+            int orderNumber = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM ORDERS", Integer.class);
+            jdbcTemplate.update("INSERT INTO ORDERS(uuid, bill, discount, date, customer_id, address_id, restaurant_id, " +
+                            "payment_id, coupon_id) VALUES (?, 100.5, 0, CURRENT_TIMESTAMP, 1, 1, 1, ?, ?)",
+                    UUID.randomUUID().toString(), orderNumber % 2 + 1, orderNumber % 2 == 0 ? null : 1);
+        }
+    }
+
+    private List<String> listFiles() throws Exception {
+        try (Stream<Path> files = Files.list(outputDirectory.resolve("orders"))) {
+            return files.map(file -> file.getFileName().toString()).sorted().collect(Collectors.toList());
+        }
+    }
+}
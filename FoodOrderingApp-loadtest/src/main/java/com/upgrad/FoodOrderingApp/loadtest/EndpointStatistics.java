@@ -0,0 +1,110 @@
+package com.upgrad.FoodOrderingApp.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies and outcomes of the requests of one endpoint
+ * The response time is measured from the time the request was scheduled to be sent, so the time a request waited
+ * behind a slow response is counted (coordinated omission correction). The service time is measured from the time
+ * the request was actually sent, the gap between the two shows the queueing of the client
+ */
+public class EndpointStatistics {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    private final String endpoint;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final Map<Integer, LongAdder> statusCounts = new ConcurrentHashMap<Integer, LongAdder>();
+    private final Histogram responseTimes = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private final Histogram serviceTimes = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+
+    public EndpointStatistics(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    /**
+     * @param intendedStartNanos The time the request was scheduled to be sent
+     * @param startNanos         The time the request was sent
+     * @param endNanos           The time the response was read
+     * @param status             The response status, 0 if no response was received
+     */
+    public void record(long intendedStartNanos, long startNanos, long endNanos, int status) {
+        requests.increment();
+        if (status < 200 || status >= 300) {
+            errors.increment();
+        }
+        statusCounts.computeIfAbsent(status, key -> new LongAdder()).increment();
+        responseTimes.recordValue(micros(endNanos - intendedStartNanos));
+        serviceTimes.recordValue(micros(endNanos - startNanos));
+    }
+
+    /**
+     * @param durationSeconds The measured duration of the run
+     * @return The counts, the throughput and the percentiles in milliseconds
+     */
+    public Map<String, Object> toMap(double durationSeconds) {
+        Map<String, Object> statistics = new LinkedHashMap<String, Object>();
+        statistics.put("requests", getRequests());
+        statistics.put("errors", getErrors());
+        Map<String, Object> statuses = new TreeMap<String, Object>();
+        statusCounts.forEach((status, count) -> statuses.put(String.valueOf(status), count.sum()));
+        statistics.put("statuses", statuses);
+        statistics.put("throughput_per_second", round(getRequests() / durationSeconds));
+        statistics.put("response_time_ms", percentiles(responseTimes.copy()));
+        statistics.put("service_time_ms", percentiles(serviceTimes.copy()));
+        return statistics;
+    }
+
+    /**
+     * @return The response time percentiles in milliseconds, for the summary printed at the end of the run
+     */
+    public double[] responseTimePercentiles() {
+        Histogram snapshot = responseTimes.copy();
+        return new double[]{millis(snapshot.getValueAtPercentile(50)), millis(snapshot.getValueAtPercentile(99)),
+                millis(snapshot.getValueAtPercentile(99.9)), millis(snapshot.getMaxValue())};
+    }
+
+    private static Map<String, Object> percentiles(Histogram snapshot) {
+        Map<String, Object> percentiles = new LinkedHashMap<String, Object>();
+        percentiles.put("mean", round(snapshot.getMean() / 1000.0));
+        percentiles.put("p50", millis(snapshot.getValueAtPercentile(50)));
+        percentiles.put("p90", millis(snapshot.getValueAtPercentile(90)));
+        percentiles.put("p99", millis(snapshot.getValueAtPercentile(99)));
+        percentiles.put("p999", millis(snapshot.getValueAtPercentile(99.9)));
+        percentiles.put("max", millis(snapshot.getMaxValue()));
+        return percentiles;
+    }
+
+    private static long micros(long nanos) {
+        return Math.min(HIGHEST_TRACKABLE_MICROS, Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos)));
+    }
+
+    private static double millis(long micros) {
+        return round(micros / 1000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
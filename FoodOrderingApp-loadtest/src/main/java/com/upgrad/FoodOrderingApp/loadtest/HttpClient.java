@@ -0,0 +1,105 @@
+package com.upgrad.FoodOrderingApp.loadtest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Minimal HTTP client of the load test, over the JDK connection so that the client adds no dependency
+ * Responses are always read to the end, so that the keep alive connections are reused
+ */
+public class HttpClient {
+
+    private final String baseUrl;
+
+    /**
+     * @param baseUrl The URL the request paths are appended to, e.g. http://localhost:8080/api
+     */
+    public HttpClient(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    /**
+     * @param method        The HTTP method
+     * @param path          The path of the request, appended to the base URL
+     * @param authorization The authorization header, null to send none
+     * @param body          The JSON body, null to send none
+     * @return The response status, body and access token header
+     * @throws IOException If the request couldn't be sent or the response couldn't be read
+     */
+    public Response send(String method, String path, String authorization, String body) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(baseUrl + path).openConnection();
+        try {
+            connection.setRequestMethod(method);
+            connection.setConnectTimeout(10000);
+            connection.setReadTimeout(60000);
+            connection.setRequestProperty("Accept", "application/json");
+            if (authorization != null) {
+                connection.setRequestProperty("authorization", authorization);
+            }
+            if (body != null || "POST".equals(method) || "PUT".equals(method)) {
+                byte[] content = (body == null ? "" : body).getBytes(StandardCharsets.UTF_8);
+                connection.setDoOutput(true);
+                connection.setRequestProperty("Content-Type", "application/json;charset=UTF-8");
+                connection.setFixedLengthStreamingMode(content.length);
+                try (OutputStream output = connection.getOutputStream()) {
+                    output.write(content);
+                }
+            }
+            int status = connection.getResponseCode();
+            InputStream input = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+            return new Response(status, read(input), connection.getHeaderField("access-token"));
+        } catch (IOException exception) {
+            // Drain the error response, so that the connection can be reused
+            read(connection.getErrorStream());
+            throw exception;
+        }
+    }
+
+    private static String read(InputStream input) throws IOException {
+        if (input == null) {
+            return "";
+        }
+        try (InputStream stream = input) {
+            ByteArrayOutputStream content = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int count;
+            while ((count = stream.read(buffer)) > 0) {
+                content.write(buffer, 0, count);
+            }
+            return new String(content.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+
+    public static class Response {
+        private final int status;
+        private final String body;
+        private final String accessToken;
+
+        Response(int status, String body, String accessToken) {
+            this.status = status;
+            this.body = body;
+            this.accessToken = accessToken;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        public String getBody() {
+            return body;
+        }
+
+        public String getAccessToken() {
+            return accessToken;
+        }
+
+        public boolean isSuccess() {
+            return status >= 200 && status < 300;
+        }
+    }
+}
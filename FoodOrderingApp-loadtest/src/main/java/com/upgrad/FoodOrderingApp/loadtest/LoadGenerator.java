@@ -0,0 +1,107 @@
+package com.upgrad.FoodOrderingApp.loadtest;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends the traffic mix at a constant rate from a fixed number of client threads
+ * The load is open: every thread sends its requests on a fixed schedule, a request due while the thread still waits
+ * for a slow response is sent as soon as the response arrives, and its latency is counted from the time it was due.
+ * A closed loop would instead wait before sending the next request and hide the stall from the percentiles
+ */
+public class LoadGenerator {
+
+    private final HttpClient client;
+    private final Workload workload;
+    private final LoadTestOptions options;
+    private final Traffic[] traffic;
+    private final int[] cumulativeWeights;
+
+    private final ConcurrentMap<String, EndpointStatistics> endpoints = new ConcurrentHashMap<String, EndpointStatistics>();
+
+    public LoadGenerator(HttpClient client, Workload workload, LoadTestOptions options) {
+        this.client = client;
+        this.workload = workload;
+        this.options = options;
+        this.traffic = options.getMix().keySet().toArray(new Traffic[0]);
+        this.cumulativeWeights = new int[traffic.length];
+        int total = 0;
+        for (int index = 0; index < traffic.length; index++) {
+            total += options.getMix().get(traffic[index]);
+            cumulativeWeights[index] = total;
+        }
+    }
+
+    /**
+     * Runs the warmup and then the measured duration, only the requests due within the measured duration are recorded
+     *
+     * @return The statistics of every endpoint, sorted by endpoint
+     * @throws InterruptedException If the run is interrupted
+     */
+    public Map<String, EndpointStatistics> run() throws InterruptedException {
+        int threads = options.getThreads();
+        long intervalNanos = TimeUnit.SECONDS.toNanos(threads) / options.getRate();
+        long startNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+        long measureStartNanos = startNanos + TimeUnit.SECONDS.toNanos(options.getWarmupSeconds());
+        long endNanos = measureStartNanos + TimeUnit.SECONDS.toNanos(options.getDurationSeconds());
+
+        List<Thread> clients = new ArrayList<Thread>();
+        for (int index = 0; index < threads; index++) {
+            // Threads are staggered, so that the requests are spread evenly over every interval
+            long firstNanos = startNanos + intervalNanos * index / threads;
+            Random random = new Random(options.getSeed() + index);
+            Thread thread = new Thread(() -> sendLoop(random, firstNanos, intervalNanos, measureStartNanos, endNanos),
+                    "loadtest-client-" + index);
+            thread.setDaemon(true);
+            clients.add(thread);
+            thread.start();
+        }
+        for (Thread thread : clients) {
+            thread.join();
+        }
+        return new TreeMap<String, EndpointStatistics>(endpoints);
+    }
+
+    private void sendLoop(Random random, long firstNanos, long intervalNanos, long measureStartNanos, long endNanos) {
+        for (long intendedNanos = firstNanos; intendedNanos < endNanos; intendedNanos += intervalNanos) {
+            long waitNanos;
+            while ((waitNanos = intendedNanos - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(waitNanos);
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            Request request = workload.next(pick(random), random);
+            long sentNanos = System.nanoTime();
+            int status;
+            try {
+                status = client.send(request.getMethod(), request.getPath(), request.getAuthorization(), request.getBody()).getStatus();
+            } catch (IOException exception) {
+                status = 0;
+            }
+            long receivedNanos = System.nanoTime();
+            if (intendedNanos >= measureStartNanos) {
+                endpoints.computeIfAbsent(request.getEndpoint(), EndpointStatistics::new)
+                        .record(intendedNanos, sentNanos, receivedNanos, status);
+            }
+        }
+    }
+
+    private Traffic pick(Random random) {
+        int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int index = 0; index < cumulativeWeights.length; index++) {
+            if (value < cumulativeWeights[index]) {
+                return traffic[index];
+            }
+        }
+        return traffic[traffic.length - 1];
+    }
+}
@@ -0,0 +1,136 @@
+package com.upgrad.FoodOrderingApp.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.upgrad.FoodOrderingApp.api.FoodOrderingAppApiApplication;
+import com.upgrad.FoodOrderingApp.reactive.FoodOrderingAppReactiveApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Load test of the API, run without network access or an external Database
+ * Boots the application on a random local port over an in memory Database seeded by FoodOrderingApp-db, signs up the
+ * customers of the run and sends the traffic mix, then writes the latency percentiles and throughput of every endpoint
+ * as JSON and prints a summary
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        Map<String, Object> results = run(options);
+        File output = new File(options.getOutput());
+        if (output.getAbsoluteFile().getParentFile() != null) {
+            output.getAbsoluteFile().getParentFile().mkdirs();
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(output, results);
+        System.out.println("Results written to " + output.getAbsolutePath());
+        // The application threads aren't all daemons
+        System.exit(0);
+    }
+
+    /**
+     * @param options The options of the run
+     * @return The options, the statistics of every endpoint and the totals of the run
+     * @throws SQLException         If the Database can't be created
+     * @throws IOException          If the customers of the run can't be set up
+     * @throws InterruptedException If the run is interrupted
+     */
+    public static Map<String, Object> run(LoadTestOptions options) throws SQLException, IOException, InterruptedException {
+        LoadTestDatabase database = new LoadTestDatabase("loadtest" + System.nanoTime());
+        database.create();
+        try (ConfigurableApplicationContext context = start(database, options.getServer())) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            HttpClient client = new HttpClient("http://localhost:" + port + "/api");
+
+            Workload workload = Workload.discover(database);
+            // The reactive API doesn't serve the customer endpoints, a catalog only mix doesn't need customers
+            if (!options.isCatalogOnly()) {
+                workload.signUpCustomers(client, options.getCustomers(), new Random(options.getSeed()));
+            }
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            threads.resetPeakThreadCount();
+            Map<String, EndpointStatistics> endpoints = new LoadGenerator(client, workload, options).run();
+            printSummary(options, endpoints);
+            System.out.println("JVM threads: " + threads.getThreadCount() + " live, " + threads.getPeakThreadCount() + " peak");
+            return results(options, endpoints, threads);
+        } finally {
+            database.drop();
+        }
+    }
+
+    private static ConfigurableApplicationContext start(LoadTestDatabase database, String server) {
+        Map<String, Object> properties = new LinkedHashMap<String, Object>();
+        properties.put("server.port", 0);
+        properties.put("spring.datasource.url", database.getUrl());
+        properties.put("spring.datasource.driverClassName", "org.h2.Driver");
+        properties.put("spring.datasource.username", database.getUsername());
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.jpa.database-platform", "org.hibernate.dialect.H2Dialect");
+        // The schema comes from FoodOrderingApp-db, Hibernate would drop it for an embedded Database otherwise
+        properties.put("spring.jpa.hibernate.ddl-auto", "none");
+        properties.put("spring.main.banner-mode", "off");
+        properties.put("logging.level.root", "WARN");
+        properties.put("logging.level.com.upgrad.FoodOrderingApp.loadtest", "INFO");
+        // The sales rollup upserts are PostgreSQL only, their flushes fail on H2 without affecting the requests, the
+        // failures of the requests are counted as errors in the results
+        properties.put("logging.level.com.upgrad.FoodOrderingApp.service.business.SalesRollupService", "ERROR");
+        properties.put("logging.level.org.hibernate.engine.jdbc.spi.SqlExceptionHelper", "OFF");
+        // Every simulated customer signs up and logs in from the same address, the per IP budgets would reject them
+        properties.put("foodorderingapp.rate-limit.enabled", false);
+        // Added in front of the application.yaml of the application, default properties would be overridden by it
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("loadtest", properties));
+        SpringApplicationBuilder application = LoadTestOptions.SERVER_REACTIVE.equals(server)
+                ? FoodOrderingAppReactiveApplication.builder() : new SpringApplicationBuilder(FoodOrderingAppApiApplication.class);
+        return application.environment(environment).run();
+    }
+
+    private static Map<String, Object> results(LoadTestOptions options, Map<String, EndpointStatistics> endpoints,
+                                               ThreadMXBean threads) {
+        double durationSeconds = options.getDurationSeconds();
+        Map<String, Object> statistics = new LinkedHashMap<String, Object>();
+        long requests = 0;
+        long errors = 0;
+        for (EndpointStatistics endpoint : endpoints.values()) {
+            statistics.put(endpoint.getEndpoint(), endpoint.toMap(durationSeconds));
+            requests += endpoint.getRequests();
+            errors += endpoint.getErrors();
+        }
+        Map<String, Object> totals = new LinkedHashMap<String, Object>();
+        totals.put("requests", requests);
+        totals.put("errors", errors);
+        totals.put("throughput_per_second", Math.round(requests / durationSeconds * 1000) / 1000.0);
+        // Threads of the application and of the client threads together, the client threads are the same for every server
+        totals.put("jvm_threads_live", threads.getThreadCount());
+        totals.put("jvm_threads_peak", threads.getPeakThreadCount());
+
+        Map<String, Object> results = new LinkedHashMap<String, Object>();
+        results.put("options", options.toMap());
+        results.put("totals", totals);
+        results.put("endpoints", statistics);
+        return results;
+    }
+
+    private static void printSummary(LoadTestOptions options, Map<String, EndpointStatistics> endpoints) {
+        System.out.println(String.format("%-40s %9s %7s %9s %9s %9s %9s %9s", "endpoint", "requests", "errors",
+                "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms"));
+        for (EndpointStatistics endpoint : endpoints.values()) {
+            double[] percentiles = endpoint.responseTimePercentiles();
+            System.out.println(String.format("%-40s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f", endpoint.getEndpoint(),
+                    endpoint.getRequests(), endpoint.getErrors(), endpoint.getRequests() / (double) options.getDurationSeconds(),
+                    percentiles[0], percentiles[1], percentiles[2], percentiles[3]));
+        }
+    }
+}
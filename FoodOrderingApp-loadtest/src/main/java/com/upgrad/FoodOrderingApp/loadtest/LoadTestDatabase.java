@@ -0,0 +1,96 @@
+package com.upgrad.FoodOrderingApp.loadtest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.EncodedResource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * In memory H2 Database in PostgreSQL mode, created from the schema, seed data and migrations of FoodOrderingApp-db
+ * The statements of the migrations that only PostgreSQL understands are skipped with a warning, they only rewrite
+ * data that the seed doesn't have
+ */
+public class LoadTestDatabase {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LoadTestDatabase.class);
+
+    private final String url;
+
+    /**
+     * @param name The name of the in memory Database, so that runs in the same JVM don't share data
+     */
+    public LoadTestDatabase(String name) {
+        this.url = "jdbc:h2:mem:" + name + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE";
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public String getUsername() {
+        return "sa";
+    }
+
+    /**
+     * Creates the tables, inserts the seed data and runs the migrations in version order
+     *
+     * @throws SQLException If the schema or the seed data can't be created
+     * @throws IOException  If the scripts can't be read from the classpath
+     */
+    public void create() throws SQLException, IOException {
+        try (Connection connection = new SingleConnectionDataSource(url, getUsername(), "", true).getConnection()) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("sql/tables.sql"));
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("sql/insert.sql"));
+            Resource[] migrations = new PathMatchingResourcePatternResolver().getResources("classpath*:sql/migration/V*.sql");
+            Arrays.sort(migrations, Comparator.comparing(Resource::getFilename));
+            for (Resource migration : migrations) {
+                migrate(connection, migration);
+            }
+        }
+    }
+
+    /**
+     * Drops the in memory Database, freeing its memory
+     *
+     * @throws SQLException If the Database can't be reached
+     */
+    public void drop() throws SQLException {
+        try (Connection connection = new SingleConnectionDataSource(url, getUsername(), "", true).getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("SHUTDOWN");
+        }
+    }
+
+    private static void migrate(Connection connection, Resource migration) throws IOException, SQLException {
+        String script = StreamUtils.copyToString(migration.getInputStream(), StandardCharsets.UTF_8);
+        List<String> statements = new ArrayList<String>();
+        ScriptUtils.splitSqlScript(new EncodedResource(migration), script, ScriptUtils.DEFAULT_STATEMENT_SEPARATOR,
+                ScriptUtils.DEFAULT_COMMENT_PREFIX, ScriptUtils.DEFAULT_BLOCK_COMMENT_START_DELIMITER,
+                ScriptUtils.DEFAULT_BLOCK_COMMENT_END_DELIMITER, statements);
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : statements) {
+                try {
+                    statement.execute(sql);
+                } catch (SQLException exception) {
+                    LOGGER.warn("Skipped a statement of {} that H2 can't run, error {}: {}", migration.getFilename(),
+                            exception.getErrorCode(), sql.length() > 80 ? sql.substring(0, 80) + "..." : sql);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.upgrad.FoodOrderingApp.loadtest;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Options of a load test run, parsed from --name=value arguments
+ * Every option has a default, so the load test runs without any argument
+ */
+public class LoadTestOptions {
+
+    // The servlet API on Tomcat
+    public static final String SERVER_MVC = "mvc";
+
+    // The catalog endpoints of FoodOrderingApp-reactive-api on Netty
+    public static final String SERVER_REACTIVE = "reactive";
+
+    private static final String DEFAULT_MIX = "browse=50,search=20,login=5,address=10,order=15";
+
+    private final Map<String, String> values;
+    private final int threads;
+    private final int rate;
+    private final int warmupSeconds;
+    private final int durationSeconds;
+    private final int customers;
+    private final long seed;
+    private final String output;
+    private final Map<Traffic, Integer> mix;
+    private final String server;
+
+    private LoadTestOptions(Map<String, String> values) {
+        this.values = values;
+        this.threads = positive("threads", 16);
+        this.rate = positive("rate", 200);
+        this.warmupSeconds = integer("warmup", 10);
+        this.durationSeconds = positive("duration", 60);
+        this.customers = positive("customers", 50);
+        this.seed = Long.parseLong(values.getOrDefault("seed", "42"));
+        this.output = values.getOrDefault("output", "target/loadtest/results.json");
+        this.mix = parseMix(values.getOrDefault("mix", DEFAULT_MIX));
+        this.server = values.getOrDefault("server", SERVER_MVC);
+        if (!SERVER_MVC.equals(server) && !SERVER_REACTIVE.equals(server)) {
+            throw new IllegalArgumentException("--server should be " + SERVER_MVC + " or " + SERVER_REACTIVE + " but was " + server);
+        }
+        if (SERVER_REACTIVE.equals(server) && !isCatalogOnly()) {
+            throw new IllegalArgumentException("--server=" + SERVER_REACTIVE + " only serves the browse and search traffic");
+        }
+    }
+
+    /**
+     * @param args The --name=value arguments, e.g. --threads=32 --rate=500 --mix=browse=70,order=30
+     * @return The options with the defaults of the options not passed
+     */
+    public static LoadTestOptions parse(String... args) {
+        Map<String, String> values = new HashMap<String, String>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || arg.indexOf('=') < 0) {
+                throw new IllegalArgumentException("Expected --name=value but was " + arg);
+            }
+            values.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        return new LoadTestOptions(values);
+    }
+
+    // Number of client threads sending the requests
+    public int getThreads() {
+        return threads;
+    }
+
+    // Requests per second sent by all the threads together
+    public int getRate() {
+        return rate;
+    }
+
+    public int getWarmupSeconds() {
+        return warmupSeconds;
+    }
+
+    public int getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    // Number of customers signed up before the load starts, the login, address and order traffic is spread over them
+    public int getCustomers() {
+        return customers;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public String getOutput() {
+        return output;
+    }
+
+    // Weight of every kind of traffic, kinds left out of the mix aren't sent
+    public Map<Traffic, Integer> getMix() {
+        return mix;
+    }
+
+    // Application the traffic is sent to
+    public String getServer() {
+        return server;
+    }
+
+    /**
+     * @return true if the mix only reads the catalog, no customer has to be signed up for it
+     */
+    public boolean isCatalogOnly() {
+        for (Traffic traffic : mix.keySet()) {
+            if (traffic != Traffic.BROWSE && traffic != Traffic.SEARCH) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return The options as passed to the run, written in the results so that runs can be compared
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> options = new LinkedHashMap<String, Object>();
+        options.put("server", server);
+        options.put("threads", threads);
+        options.put("rate", rate);
+        options.put("warmup_seconds", warmupSeconds);
+        options.put("duration_seconds", durationSeconds);
+        options.put("customers", customers);
+        options.put("seed", seed);
+        Map<String, Object> weights = new LinkedHashMap<String, Object>();
+        mix.forEach((traffic, weight) -> weights.put(traffic.name().toLowerCase(), weight));
+        options.put("mix", weights);
+        return options;
+    }
+
+    private int integer(String name, int defaultValue) {
+        int value = Integer.parseInt(values.getOrDefault(name, String.valueOf(defaultValue)));
+        if (value < 0) {
+            throw new IllegalArgumentException("--" + name + " can't be negative");
+        }
+        return value;
+    }
+
+    private int positive(String name, int defaultValue) {
+        int value = integer(name, defaultValue);
+        if (value == 0) {
+            throw new IllegalArgumentException("--" + name + " must be positive");
+        }
+        return value;
+    }
+
+    private static Map<Traffic, Integer> parseMix(String mix) {
+        Map<Traffic, Integer> weights = new EnumMap<Traffic, Integer>(Traffic.class);
+        for (String entry : mix.split(",")) {
+            String[] weight = entry.split("=");
+            if (weight.length != 2) {
+                throw new IllegalArgumentException("Expected traffic=weight in --mix but was " + entry);
+            }
+            int value = Integer.parseInt(weight[1].trim());
+            if (value > 0) {
+                weights.put(Traffic.valueOf(weight[0].trim().toUpperCase()), value);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("--mix needs at least one traffic with a positive weight");
+        }
+        return Collections.unmodifiableMap(weights);
+    }
+}
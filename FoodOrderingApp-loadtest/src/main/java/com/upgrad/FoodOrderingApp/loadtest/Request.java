@@ -0,0 +1,48 @@
+package com.upgrad.FoodOrderingApp.loadtest;
+
+/**
+ * One HTTP request of the traffic, with the endpoint its latency is recorded against
+ */
+public class Request {
+
+    private final String endpoint;
+    private final String method;
+    private final String path;
+    private final String authorization;
+    private final String body;
+
+    /**
+     * @param endpoint      The method and path pattern of the endpoint, e.g. GET /restaurant/{restaurant_id}
+     * @param method        The HTTP method
+     * @param path          The path with the variables filled in
+     * @param authorization The authorization header, null to send none
+     * @param body          The JSON body, null to send none
+     */
+    public Request(String endpoint, String method, String path, String authorization, String body) {
+        this.endpoint = endpoint;
+        this.method = method;
+        this.path = path;
+        this.authorization = authorization;
+        this.body = body;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public String getAuthorization() {
+        return authorization;
+    }
+
+    public String getBody() {
+        return body;
+    }
+}
@@ -0,0 +1,22 @@
+package com.upgrad.FoodOrderingApp.loadtest;
+
+/**
+ * Kinds of traffic of the mix, every request of the load test belongs to one of them
+ */
+public enum Traffic {
+
+    // Restaurant list, restaurant details and category details
+    BROWSE,
+
+    // Restaurants by name and by category
+    SEARCH,
+
+    // Customer login, hashing the password and signing a token
+    LOGIN,
+
+    // Saved addresses of the customer and new addresses
+    ADDRESS,
+
+    // New orders, past orders and coupon lookups
+    ORDER
+}
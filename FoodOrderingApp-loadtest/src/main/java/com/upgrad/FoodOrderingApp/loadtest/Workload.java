@@ -0,0 +1,267 @@
+package com.upgrad.FoodOrderingApp.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * The data the traffic is made of, the restaurants, categories, items, payments and coupons of the seed data and the
+ * customers signed up for the run, and the requests of every kind of traffic built from them
+ */
+public class Workload {
+
+    private static final String PASSWORD = "LoadTest#2024";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final List<String[]> restaurants = new ArrayList<String[]>();
+    private final List<String> categories = new ArrayList<String>();
+    private final Map<String, List<Object[]>> restaurantItems = new HashMap<String, List<Object[]>>();
+    private final List<String> payments = new ArrayList<String>();
+    private final List<String> states = new ArrayList<String>();
+    private final List<String> coupons = new ArrayList<String>();
+    private final List<Customer> customers = new ArrayList<Customer>();
+
+    /**
+     * Reads the reference data the requests are built from, straight from the Database so that no request is sent
+     * before the load starts
+     *
+     * @param database The Database of the application under load
+     * @return The workload, without customers
+     * @throws SQLException If the Database can't be read
+     */
+    public static Workload discover(LoadTestDatabase database) throws SQLException {
+        Workload workload = new Workload();
+        try (Connection connection = DriverManager.getConnection(database.getUrl(), database.getUsername(), "");
+             Statement statement = connection.createStatement()) {
+            try (ResultSet resultSet = statement.executeQuery("SELECT uuid, restaurant_name FROM RESTAURANT ORDER BY id")) {
+                while (resultSet.next()) {
+                    workload.restaurants.add(new String[]{resultSet.getString(1), resultSet.getString(2)});
+                }
+            }
+            try (ResultSet resultSet = statement.executeQuery("SELECT r.uuid, i.uuid, i.price FROM RESTAURANT_ITEM ri "
+                    + "JOIN RESTAURANT r ON r.id = ri.restaurant_id JOIN ITEM i ON i.id = ri.item_id ORDER BY ri.id")) {
+                while (resultSet.next()) {
+                    workload.restaurantItems.computeIfAbsent(resultSet.getString(1), uuid -> new ArrayList<Object[]>())
+                            .add(new Object[]{resultSet.getString(2), resultSet.getInt(3)});
+                }
+            }
+            readColumn(statement, "SELECT uuid FROM CATEGORY ORDER BY id", workload.categories);
+            readColumn(statement, "SELECT uuid FROM PAYMENT ORDER BY id", workload.payments);
+            readColumn(statement, "SELECT uuid FROM STATE ORDER BY id", workload.states);
+            readColumn(statement, "SELECT coupon_name FROM COUPON WHERE coupon_name IS NOT NULL ORDER BY id", workload.coupons);
+        }
+        // Only the restaurants with a menu can be ordered from
+        workload.restaurants.removeIf(restaurant -> !workload.restaurantItems.containsKey(restaurant[0]));
+        if (workload.restaurants.isEmpty() || workload.categories.isEmpty() || workload.payments.isEmpty()
+                || workload.states.isEmpty()) {
+            throw new IllegalStateException("The seed data has no restaurant menu, category, payment or state to load with");
+        }
+        return workload;
+    }
+
+    /**
+     * Signs up, logs in and saves an address for every customer of the run, before the load starts
+     *
+     * @param client The client of the application
+     * @param count  The number of customers
+     * @param random The source of the customer details
+     * @throws IOException If a customer can't be set up
+     */
+    public void signUpCustomers(HttpClient client, int count, Random random) throws IOException {
+        for (int index = 0; index < count; index++) {
+            Customer customer = new Customer(String.valueOf(9000000000L + random.nextInt(1000000000)));
+            Map<String, Object> signup = new LinkedHashMap<String, Object>();
+            signup.put("first_name", "Load");
+            signup.put("last_name", "Test" + index);
+            signup.put("email_address", "loadtest" + customer.contactNumber + "@foodorderingapp.io");
+            signup.put("contact_number", customer.contactNumber);
+            signup.put("password", PASSWORD);
+            HttpClient.Response response = client.send("POST", "/customer/signup", null, json(signup));
+            if (response.getStatus() == 400 && response.getBody().contains("SGR-001")) {
+                // The random contact number was already taken, draw another one
+                index--;
+                continue;
+            }
+            expectSuccess(response, "sign up");
+
+            response = client.send("POST", "/customer/login", customer.basicAuthorization(), null);
+            expectSuccess(response, "log in");
+            customer.authorization = "Bearer " + response.getAccessToken();
+
+            response = client.send("POST", "/address", customer.authorization, addressJson(random));
+            expectSuccess(response, "save the address of");
+            customer.addressId = objectMapper.readTree(response.getBody()).get("id").asText();
+            customers.add(customer);
+        }
+    }
+
+    /**
+     * @param traffic The kind of traffic
+     * @param random  The source of the choices of the request, owned by the calling thread
+     * @return The next request of the kind of traffic
+     */
+    public Request next(Traffic traffic, Random random) {
+        String[] restaurant = pick(restaurants, random);
+        String category = pick(categories, random);
+        switch (traffic) {
+            case BROWSE:
+                switch (random.nextInt(3)) {
+                    case 0:
+                        return new Request("GET /restaurant", "GET", "/restaurant", null, null);
+                    case 1:
+                        return new Request("GET /restaurant/{restaurant_id}", "GET", "/restaurant/" + restaurant[0], null, null);
+                    default:
+                        return new Request("GET /category/{category_id}", "GET", "/category/" + category, null, null);
+                }
+            case SEARCH:
+                if (random.nextBoolean()) {
+                    // Search by a part of the name, as typed in a search box
+                    String name = restaurant[1].substring(0, Math.min(restaurant[1].length(), 3 + random.nextInt(4)));
+                    return new Request("GET /restaurant/name/{restaurant_name}", "GET", "/restaurant/name/" + encode(name), null, null);
+                }
+                return new Request("GET /restaurant/category/{category_id}", "GET", "/restaurant/category/" + category, null, null);
+            case LOGIN:
+                return new Request("POST /customer/login", "POST", "/customer/login", customer(random).basicAuthorization(), null);
+            case ADDRESS:
+                if (random.nextInt(4) > 0) {
+                    return new Request("GET /address/customer", "GET", "/address/customer", customer(random).authorization, null);
+                }
+                return new Request("POST /address", "POST", "/address", customer(random).authorization, addressJson(random));
+            case ORDER:
+                Customer customer = customer(random);
+                switch (random.nextInt(3)) {
+                    case 0:
+                        return new Request("POST /order", "POST", "/order", customer.authorization, orderJson(customer, restaurant[0], random));
+                    case 1:
+                        return new Request("GET /order", "GET", "/order", customer.authorization, null);
+                    default:
+                        if (coupons.isEmpty()) {
+                            return new Request("GET /order", "GET", "/order", customer.authorization, null);
+                        }
+                        return new Request("GET /order/coupon/{coupon_name}", "GET", "/order/coupon/" + encode(pick(coupons, random)),
+                                customer.authorization, null);
+                }
+            default:
+                throw new IllegalArgumentException("Unknown traffic " + traffic);
+        }
+    }
+
+    private String orderJson(Customer customer, String restaurantUuid, Random random) {
+        List<Object[]> menu = restaurantItems.get(restaurantUuid);
+        List<Map<String, Object>> itemQuantities = new ArrayList<Map<String, Object>>();
+        int bill = 0;
+        for (int count = 1 + random.nextInt(3); count > 0; count--) {
+            Object[] item = pick(menu, random);
+            int quantity = 1 + random.nextInt(2);
+            Map<String, Object> itemQuantity = new LinkedHashMap<String, Object>();
+            itemQuantity.put("item_id", item[0]);
+            itemQuantity.put("quantity", quantity);
+            itemQuantity.put("price", (Integer) item[1] * quantity);
+            itemQuantities.add(itemQuantity);
+            bill += (Integer) item[1] * quantity;
+        }
+        Map<String, Object> order = new LinkedHashMap<String, Object>();
+        order.put("address_id", customer.addressId);
+        order.put("payment_id", pick(payments, random));
+        order.put("bill", bill);
+        order.put("discount", 0);
+        order.put("restaurant_id", restaurantUuid);
+        order.put("item_quantities", itemQuantities);
+        return json(order);
+    }
+
+    private String addressJson(Random random) {
+        Map<String, Object> address = new LinkedHashMap<String, Object>();
+        address.put("flat_building_name", (1 + random.nextInt(400)) + ", Load Test Apartments");
+        address.put("locality", "Sector " + (1 + random.nextInt(30)));
+        address.put("city", "Bengaluru");
+        address.put("pincode", String.valueOf(560001 + random.nextInt(99)));
+        address.put("state_uuid", pick(states, random));
+        return json(address);
+    }
+
+    private Customer customer(Random random) {
+        if (customers.isEmpty()) {
+            throw new IllegalStateException("No customer signed up for the login, address and order traffic");
+        }
+        return customers.get(random.nextInt(customers.size()));
+    }
+
+    public List<Customer> getCustomers() {
+        return Collections.unmodifiableList(customers);
+    }
+
+    private String json(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private static void expectSuccess(HttpClient.Response response, String action) {
+        if (!response.isSuccess()) {
+            throw new IllegalStateException("Couldn't " + action + " a load test customer, status " + response.getStatus()
+                    + ": " + response.getBody());
+        }
+    }
+
+    private static void readColumn(Statement statement, String sql, List<String> values) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery(sql)) {
+            while (resultSet.next()) {
+                values.add(resultSet.getString(1));
+            }
+        }
+    }
+
+    private static <T> T pick(List<T> values, Random random) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private static String encode(String value) {
+        try {
+            return URLEncoder.encode(value, "UTF-8").replace("+", "%20");
+        } catch (UnsupportedEncodingException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    /**
+     * A customer signed up for the run, with its access token and the address its orders are delivered to
+     */
+    public static class Customer {
+        private final String contactNumber;
+        private String authorization;
+        private String addressId;
+
+        Customer(String contactNumber) {
+            this.contactNumber = contactNumber;
+        }
+
+        public String getContactNumber() {
+            return contactNumber;
+        }
+
+        String basicAuthorization() {
+            return "Basic " + Base64.getEncoder().encodeToString((contactNumber + ":" + PASSWORD).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.upgrad.FoodOrderingApp.loadtest;
+
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+// This class contains a short run of the load test against the application booted on the in memory Database
+public class LoadTestTest {
+
+    //This test case passes when a short run of every kind of traffic completes without a failed request
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldRunTheTrafficMixWithoutErrors() throws Exception {
+        Map<String, Object> results = LoadTest.run(LoadTestOptions.parse("--threads=4", "--rate=50", "--warmup=1",
+                "--duration=2", "--customers=3"));
+
+        Map<String, Object> totals = (Map<String, Object>) results.get("totals");
+        assertTrue((Long) totals.get("requests") > 0);
+        assertEquals(0L, totals.get("errors"));
+        Map<String, Object> endpoints = (Map<String, Object>) results.get("endpoints");
+        assertTrue(endpoints.containsKey("GET /restaurant"));
+        assertTrue(endpoints.containsKey("POST /order"));
+        Map<String, Object> restaurants = (Map<String, Object>) endpoints.get("GET /restaurant");
+        assertTrue(((Map<String, Object>) restaurants.get("response_time_ms")).containsKey("p99"));
+    }
+
+    //This test case passes when the catalog traffic is served by the reactive API without a failed request
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldRunTheCatalogTrafficOnTheReactiveApi() throws Exception {
+        Map<String, Object> results = LoadTest.run(LoadTestOptions.parse("--server=reactive", "--mix=browse=3,search=1",
+                "--threads=4", "--rate=50", "--warmup=1", "--duration=2"));
+
+        Map<String, Object> totals = (Map<String, Object>) results.get("totals");
+        assertTrue((Long) totals.get("requests") > 0);
+        assertEquals(0L, totals.get("errors"));
+        assertTrue(((Map<String, Object>) results.get("endpoints")).containsKey("GET /restaurant/{restaurant_id}"));
+    }
+
+    //This test case passes when the reactive API is only chosen for the traffic it serves
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotRunCustomerTrafficOnTheReactiveApi() {
+        LoadTestOptions.parse("--server=reactive", "--mix=browse=1,order=1");
+    }
+
+    //This test case passes when the traffic mix is parsed with the kinds left out dropped
+    @Test
+    public void shouldParseTheTrafficMix() {
+        LoadTestOptions options = LoadTestOptions.parse("--mix=browse=3,order=1,login=0");
+
+        assertEquals(2, options.getMix().size());
+        assertEquals(Integer.valueOf(3), options.getMix().get(Traffic.BROWSE));
+        assertEquals(Integer.valueOf(1), options.getMix().get(Traffic.ORDER));
+    }
+}
@@ -0,0 +1,42 @@
+package com.upgrad.FoodOrderingApp.reactive;
+
+import com.upgrad.FoodOrderingApp.service.ServiceConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Launches the read only catalog endpoints of the API on Spring WebFlux and Netty
+ * The configuration of the API is read from its application.yaml, overridden by reactive-api.yaml
+ */
+@SpringBootApplication
+@Import(ServiceConfiguration.class)
+public class FoodOrderingAppReactiveApplication {
+
+    // Configuration files read by the application, the later ones override the earlier ones
+    public static final String CONFIG_NAME = "application,reactive-api";
+
+    public static void main(String[] args) {
+        builder().run(args);
+    }
+
+    /**
+     * @return Netty, also when Tomcat is on the classpath with the servlet API, as in the load test
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    /**
+     * @return The builder of the application, reactive even when the servlet stack is on the classpath
+     */
+    public static SpringApplicationBuilder builder() {
+        return new SpringApplicationBuilder(FoodOrderingAppReactiveApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .properties("spring.config.name=" + CONFIG_NAME);
+    }
+}
@@ -0,0 +1,29 @@
+package com.upgrad.FoodOrderingApp.reactive.controller;
+
+import com.upgrad.FoodOrderingApp.service.async.DaoExecutor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Runs the blocking service calls of the reactive endpoints on the DAO executor, off the Netty event loops
+ * The calls are bounded by the size and the queue of the executor, time out with it and are reported per stage by
+ * GET /admin/dao/statistics of the servlet API and over JMX
+ */
+@Component
+public class BlockingCalls {
+
+    @Autowired
+    private DaoExecutor daoExecutor;
+
+    /**
+     * @param stage The name the queue wait and execution time of the call are reported under
+     * @param call  The blocking call, entities have to be mapped within it as their lazy associations can't be read
+     *              after it
+     * @param <T>   The type of the result of the call
+     * @return The Mono submitting the call when subscribed, failed with the exception of the call
+     */
+    public <T> Mono<T> call(String stage, DaoExecutor.DaoCall<T> call) {
+        return Mono.defer(() -> Mono.fromFuture(daoExecutor.submit(stage, call)));
+    }
+}
@@ -0,0 +1,107 @@
+package com.upgrad.FoodOrderingApp.reactive.controller;
+
+import com.upgrad.FoodOrderingApp.api.model.CategoryDetailsResponse;
+import com.upgrad.FoodOrderingApp.api.model.ItemList;
+import com.upgrad.FoodOrderingApp.reactive.json.JsonLists;
+import com.upgrad.FoodOrderingApp.service.business.CategoryService;
+import com.upgrad.FoodOrderingApp.service.common.CategoryItemsPage;
+import com.upgrad.FoodOrderingApp.service.entity.CategoryEntity;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@CrossOrigin
+@RestController
+@RequestMapping("${foodorderingapp.reactive.base-path:/api}")
+public class ReactiveCategoryController {
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private BlockingCalls blockingCalls;
+
+    @Autowired
+    private JsonLists jsonLists;
+
+    @Value("${foodorderingapp.category-items.default-limit:50}")
+    private int defaultItemsLimit;
+
+    @Value("${foodorderingapp.category-items.max-limit:200}")
+    private int maxItemsLimit;
+
+    /**
+     * Retrieves the List of all Categories available in the Database
+     * No authorization required for this endpoint
+     *
+     * @return The list of categories with uuid and name for each category
+     */
+    @RequestMapping(method = RequestMethod.GET,
+            produces = MediaType.APPLICATION_JSON_UTF8_VALUE, path = "/category")
+    public Mono<ResponseEntity<byte[]>> getAllCategories() {
+        return blockingCalls.call("categories", () -> {
+            final List<CategoryEntity> categories = categoryService.getAllCategoriesOrderedByName();
+            return jsonLists.list("categories", writer -> {
+                // Check if the Database records has any categories or not, an empty array is written if not
+                if (categories != null) {
+                    for (CategoryEntity category : categories) {
+                        writer.writeCategory(category);
+                    }
+                }
+            });
+        }).map(body -> ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON_UTF8).body(body));
+    }
+
+    /**
+     * This method retrieves the category with a page of the items matching that category based on the uuid of category
+     * The items are in the order of their names, the next page starts after the next cursor of the response
+     * No authorization required for this endpoint
+     *
+     * @param categoryUUID The uuid of the category to be retrieved
+     * @param limit        The maximum number of items to return
+     * @param cursor       The next cursor of the previous page, the first page is returned without it
+     * @return The category with a page of the items under it, failed with a CategoryNotFoundException If the category
+     * uuid is not matched with any of the records in Database
+     */
+    @RequestMapping(method = RequestMethod.GET,
+            produces = MediaType.APPLICATION_JSON_UTF8_VALUE, path = "/category/{category_id}")
+    public Mono<CategoryDetailsResponse> getCategoryDetails(@PathVariable("category_id") String categoryUUID,
+                                                            @RequestParam(name = "limit", required = false) Integer limit,
+                                                            @RequestParam(name = "cursor", required = false) String cursor) {
+        if (limit != null && (limit < 1 || limit > maxItemsLimit)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit should be between 1 and " + maxItemsLimit);
+        }
+        final CategoryItemsPage.Cursor after;
+        try {
+            after = cursor != null ? CategoryItemsPage.parseCursor(cursor) : null;
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+        final int pageLimit = limit != null ? limit : defaultItemsLimit;
+        return blockingCalls.call("category", () -> {
+            CategoryItemsPage page = categoryService.getCategoryItems(categoryUUID, pageLimit, after);
+
+            List<ItemList> itemsList = new ArrayList<ItemList>();
+            page.getItems().forEach(item -> {
+                ItemList itemList = new ItemList();
+                itemList.id(UUID.fromString(item.getUuid())).itemName(item.getItemName()).price(item.getPrice())
+                        .itemType(ItemList.ItemTypeEnum.fromValue(item.getType().getValue()));
+                itemsList.add(itemList);
+            });
+            CategoryEntity category = page.getCategory();
+            CategoryDetailsResponse categoryDetailsResponse = new CategoryDetailsResponse();
+            categoryDetailsResponse.itemList(itemsList).nextCursor(page.getNextCursor());
+            categoryDetailsResponse.id(UUID.fromString(category.getUuid())).categoryName(category.getCategoryName());
+            return categoryDetailsResponse;
+        });
+    }
+}
@@ -0,0 +1,83 @@
+package com.upgrad.FoodOrderingApp.reactive.controller;
+
+import com.upgrad.FoodOrderingApp.api.model.PaymentListResponse;
+import com.upgrad.FoodOrderingApp.api.model.PaymentResponse;
+import com.upgrad.FoodOrderingApp.api.model.StatesList;
+import com.upgrad.FoodOrderingApp.api.model.StatesListResponse;
+import com.upgrad.FoodOrderingApp.service.business.AddressService;
+import com.upgrad.FoodOrderingApp.service.business.PaymentService;
+import com.upgrad.FoodOrderingApp.service.entity.PaymentEntity;
+import com.upgrad.FoodOrderingApp.service.entity.StateEntity;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@CrossOrigin
+@RestController
+@RequestMapping("${foodorderingapp.reactive.base-path:/api}")
+public class ReactiveReferenceDataController {
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private AddressService addressService;
+
+    @Autowired
+    private BlockingCalls blockingCalls;
+
+    /**
+     * This method retrieves all the Payment methods available in the Database
+     * No authorization required for this endpoint
+     *
+     * @return The List of available payment methods from Database
+     */
+    @RequestMapping(method = RequestMethod.GET,
+            produces = MediaType.APPLICATION_JSON_UTF8_VALUE, path = "/payment")
+    public Mono<PaymentListResponse> getAllPaymentMethods() {
+        return blockingCalls.call("payment methods", () -> paymentService.getAllPaymentMethods()).map(paymentMethods -> {
+            List<PaymentResponse> paymentResponses = new ArrayList<PaymentResponse>();
+            // Check if any payment methods returned from database
+            if (paymentMethods != null && !paymentMethods.isEmpty()) {
+                for (PaymentEntity paymentMethod : paymentMethods) {
+                    PaymentResponse paymentResponse = new PaymentResponse();
+                    paymentResponse.id(UUID.fromString(paymentMethod.getUuid())).paymentName(paymentMethod.getPaymentName());
+                    paymentResponses.add(paymentResponse);
+                }
+            }
+            PaymentListResponse paymentListResponse = new PaymentListResponse();
+            paymentListResponse.setPaymentMethods(paymentResponses);
+            return paymentListResponse;
+        });
+    }
+
+    /**
+     * This is used to get the list of all states
+     * No authorization required for this endpoint
+     *
+     * @return List of all States available in db
+     */
+    @RequestMapping(method = RequestMethod.GET,
+            produces = MediaType.APPLICATION_JSON_UTF8_VALUE, path = "/states")
+    public Mono<StatesListResponse> getAllStates() {
+        return blockingCalls.call("states", () -> addressService.getAllStates()).map(states -> {
+            List<StatesList> statesLists = new ArrayList<>();
+            //Check if any state is returned or not
+            if (states != null && !states.isEmpty()) {
+                for (StateEntity state : states) {
+                    StatesList stateList = new StatesList();
+                    stateList.id(UUID.fromString(state.getUuid())).stateName(state.getStateName());
+                    statesLists.add(stateList);
+                }
+            }
+            StatesListResponse statesListResponse = new StatesListResponse();
+            statesListResponse.setStates(statesLists);
+            return statesListResponse;
+        });
+    }
+}
@@ -0,0 +1,182 @@
+package com.upgrad.FoodOrderingApp.reactive.controller;
+
+import com.upgrad.FoodOrderingApp.api.model.*;
+import com.upgrad.FoodOrderingApp.reactive.json.JsonLists;
+import com.upgrad.FoodOrderingApp.service.business.CategoryService;
+import com.upgrad.FoodOrderingApp.service.business.ItemService;
+import com.upgrad.FoodOrderingApp.service.business.RestaurantService;
+import com.upgrad.FoodOrderingApp.service.entity.AddressEntity;
+import com.upgrad.FoodOrderingApp.service.entity.CategoryEntity;
+import com.upgrad.FoodOrderingApp.service.entity.ItemEntity;
+import com.upgrad.FoodOrderingApp.service.entity.RestaurantEntity;
+import com.upgrad.FoodOrderingApp.service.async.DaoExecutor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@CrossOrigin
+@RestController
+@RequestMapping("${foodorderingapp.reactive.base-path:/api}")
+public class ReactiveRestaurantController {
+
+    @Autowired
+    private RestaurantService restaurantService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private BlockingCalls blockingCalls;
+
+    @Autowired
+    private JsonLists jsonLists;
+
+    /**
+     * This method returns the list of all available restaurants with the details
+     * No authorization required for this endpoint
+     *
+     * @return The list of all available restaurants with details sorted by rating descending
+     */
+    @RequestMapping(method = RequestMethod.GET, path = "/restaurant",
+            produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
+    public Mono<ResponseEntity<byte[]>> getAllRestaurants() {
+        return restaurantList("restaurants", () -> restaurantService.restaurantsByRating());
+    }
+
+    /**
+     * This method is used to find the restaurant List partially matching the restaurant name passed in request
+     * Also the name searched is not be case sensitive
+     *
+     * @param restaurantName The restaurant name field send in the resquest
+     * @return List of all restaurant partially matching the name passed in alphabetic order of restraunt name,
+     * failed with a RestaurantNotFoundException If restaurant name field entered by the customer is empty
+     */
+    @RequestMapping(method = RequestMethod.GET, path = {"/restaurant/name/{restaurant_name}", "/restaurant/name"},
+            produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
+    public Mono<ResponseEntity<byte[]>> restaurantsByName(@PathVariable(name = "restaurant_name", required = false)
+                                                                  String restaurantName) {
+        return restaurantList("restaurants by name", () -> restaurantService.restaurantsByName(restaurantName));
+    }
+
+    /**
+     * This method is used to get restaurants based upon the category uuid
+     *
+     * @param categoryId The category uuid based upon which restaurants will be fetched from database
+     * @return List all restaurants having same category uuid, failed with a CategoryNotFoundException If the category
+     * id field entered by the customer is empty or If there is no category by the uuid entered by the customer
+     */
+    @RequestMapping(method = RequestMethod.GET, path = {"/restaurant/category/{category_id}", "/restaurant/category"},
+            produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
+    public Mono<ResponseEntity<byte[]>> restaurantByCategory(@PathVariable(name = "category_id", required = false)
+                                                                     String categoryId) {
+        return restaurantList("restaurants by category", () -> restaurantService.restaurantByCategory(categoryId));
+    }
+
+    /**
+     * This method is used to find the details of the restaurant by its uuid
+     * The restaurant and its categories are read in parallel, then the items of every category in parallel
+     *
+     * @param restaurantUuid The restaurant uuid passed in the path variable
+     * @return Restaurant Details with all the items grouped by category, failed with a RestaurantNotFoundException
+     * If there is no restaurant by the uuid entered by the customer
+     */
+    @RequestMapping(method = RequestMethod.GET, path = "/restaurant/{restaurant_id}",
+            produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
+    public Mono<RestaurantDetailsResponse> restaurantByUUID(@PathVariable(name = "restaurant_id") String restaurantUuid) {
+        Mono<RestaurantEntity> restaurant = blockingCalls.call("restaurant",
+                () -> restaurantService.restaurantByUUID(restaurantUuid));
+        Mono<List<CategoryEntity>> categories = blockingCalls.call("restaurant categories",
+                () -> categoryService.getCategoriesByRestaurant(restaurantUuid));
+        // The items are only read once the restaurant is found, an unknown restaurant cancels the categories
+        return Mono.zip(restaurant, categories).flatMap(restaurantCategories -> Flux.fromIterable(restaurantCategories.getT2())
+                // In the order of the categories, the items of every category read in parallel
+                .flatMapSequential(category -> blockingCalls.call("category items",
+                        () -> itemService.getItemsByCategoryAndRestaurant(restaurantUuid, category.getUuid()))
+                        .map(itemEntities -> populateCategoryList(category, itemEntities)))
+                .collectList()
+                .map(categoryLists -> populateRestaurantDetailsResponse(restaurantCategories.getT1(), categoryLists)));
+    }
+
+    /**
+     * Reads the restaurants and the categories of every restaurant in one call, and writes them as a
+     * RestaurantListResponse
+     *
+     * @param stage       The name the call is reported under
+     * @param restaurants Reads the restaurants
+     * @return The OK response with the RestaurantListResponse
+     */
+    private Mono<ResponseEntity<byte[]>> restaurantList(String stage, DaoExecutor.DaoCall<List<RestaurantEntity>> restaurants) {
+        return blockingCalls.call(stage, () -> {
+            List<RestaurantEntity> restaurantEntityList = restaurants.call();
+            return jsonLists.list("restaurants", writer -> {
+                // If restaurantEntityList is empty then just write an empty array
+                if (restaurantEntityList != null) {
+                    for (RestaurantEntity restaurantEntity : restaurantEntityList) {
+                        writer.writeRestaurant(restaurantEntity, categoryService.getCategoriesByRestaurant(restaurantEntity.getUuid()));
+                    }
+                }
+            });
+        }).map(body -> ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON_UTF8).body(body));
+    }
+
+    /**
+     * This method gets the Restaurant Entity and converts to RestaurantDetailResponse
+     *
+     * @param restaurantEntity The restaurant Entity fetched from database
+     * @param categoryLists    The categories of the restaurant with their items
+     * @return Restaurant Detail Response
+     */
+    private RestaurantDetailsResponse populateRestaurantDetailsResponse(RestaurantEntity restaurantEntity, List<CategoryList> categoryLists) {
+        // Frame the address in response
+        AddressEntity restaurantAddress = restaurantEntity.getAddress();
+        RestaurantDetailsResponseAddress responseAddress = new RestaurantDetailsResponseAddress();
+        responseAddress.id(UUID.fromString(restaurantAddress.getUuid())).flatBuildingName(restaurantAddress.getFlatBuilNo())
+                .locality(restaurantAddress.getLocality()).city(restaurantAddress.getCity()).pincode(restaurantAddress.getPincode());
+
+        // Frame the state details in the response
+        RestaurantDetailsResponseAddressState state = new RestaurantDetailsResponseAddressState();
+        state.id(UUID.fromString(restaurantAddress.getState().getUuid())).stateName(restaurantAddress.getState().getStateName());
+        responseAddress.state(state);
+
+        RestaurantDetailsResponse restaurantDetailsResponse = new RestaurantDetailsResponse();
+        // Add restaurant details to the response object
+        restaurantDetailsResponse.id(UUID.fromString(restaurantEntity.getUuid())).restaurantName(restaurantEntity.getRestaurantName())
+                .address(responseAddress).photoURL(restaurantEntity.getPhotoUrl()).customerRating(BigDecimal.valueOf(restaurantEntity.getCustomerRating()))
+                .averagePrice(restaurantEntity.getAvgPrice()).numberCustomersRated(restaurantEntity.getNumberCustomersRated());
+
+        restaurantDetailsResponse.categories(categoryLists);
+        return restaurantDetailsResponse;
+    }
+
+    /**
+     * This method converts the category and its items to the CategoryList of the RestaurantDetailResponse
+     *
+     * @param category     The category of the restaurant
+     * @param itemEntities The items of the restaurant in the category
+     * @return Category List with its items
+     */
+    private CategoryList populateCategoryList(CategoryEntity category, List<ItemEntity> itemEntities) {
+        CategoryList categoryList = new CategoryList();
+        categoryList.id(UUID.fromString(category.getUuid())).categoryName(category.getCategoryName());
+        List<ItemList> itemListArrayList = new ArrayList<>();
+        for (ItemEntity itemEntity : itemEntities) {
+            ItemList itemList = new ItemList();
+            itemList.id(UUID.fromString(itemEntity.getUuid())).itemName(itemEntity.getItemName()).price(itemEntity.getPrice()).
+                    itemType(ItemList.ItemTypeEnum.fromValue(itemEntity.getType().toString()));
+            itemListArrayList.add(itemList);
+        }
+        categoryList.itemList(itemListArrayList);
+        return categoryList;
+    }
+}
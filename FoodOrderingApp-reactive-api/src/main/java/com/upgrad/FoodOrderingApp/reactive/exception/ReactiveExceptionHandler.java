@@ -0,0 +1,75 @@
+package com.upgrad.FoodOrderingApp.reactive.exception;
+
+import com.upgrad.FoodOrderingApp.api.model.ErrorResponse;
+import com.upgrad.FoodOrderingApp.service.common.GenericErrorCode;
+import com.upgrad.FoodOrderingApp.service.exception.CategoryNotFoundException;
+import com.upgrad.FoodOrderingApp.service.exception.RestaurantNotFoundException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Maps the exceptions of the reactive endpoints to the same Error Responses the RestExceptionHandler of the servlet
+ * API sends back
+ */
+@ControllerAdvice
+public class ReactiveExceptionHandler {
+
+    /**
+     * Exception handler for category search Failures
+     *
+     * @param exception The Category Not Found Exception when there is no match for the uuid
+     * @return The Error Response consisting of the Http status code and an error message
+     */
+    @ExceptionHandler(CategoryNotFoundException.class)
+    public ResponseEntity<ErrorResponse> categoryNotFoundException(CategoryNotFoundException exception) {
+        return new ResponseEntity<ErrorResponse>(
+                new ErrorResponse().code(exception.getCode()).message(exception.getErrorMessage()), HttpStatus.NOT_FOUND
+        );
+    }
+
+    /**
+     * Exception handler for restaurant search Failures
+     *
+     * @param exception The Restaurant Not Found Exception when there is no match for the uuid
+     * @return The Error Response consisting of the Http status code and an error message
+     */
+    @ExceptionHandler(RestaurantNotFoundException.class)
+    public ResponseEntity<ErrorResponse> restaurantNotFoundException(RestaurantNotFoundException exception) {
+        return new ResponseEntity<ErrorResponse>(
+                new ErrorResponse().code(exception.getCode()).message(exception.getErrorMessage()), HttpStatus.NOT_FOUND
+        );
+    }
+
+    /**
+     * Exception handler for the Database calls rejected because the DAO executor is saturated
+     *
+     * @param exception The Rejected Execution Exception of the call
+     * @return The Error Response consisting of the Http status code and an error message
+     */
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<ErrorResponse> rejectedExecutionException(RejectedExecutionException exception) {
+        return new ResponseEntity<ErrorResponse>(
+                new ErrorResponse().code(GenericErrorCode.GEN_002.getCode()).message(GenericErrorCode.GEN_002.getDefaultMessage()),
+                HttpStatus.SERVICE_UNAVAILABLE
+        );
+    }
+
+    /**
+     * Exception handler for the Database calls that didn't complete within their timeout
+     *
+     * @param exception The Timeout Exception of the call
+     * @return The Error Response consisting of the Http status code and an error message
+     */
+    @ExceptionHandler(TimeoutException.class)
+    public ResponseEntity<ErrorResponse> timeoutException(TimeoutException exception) {
+        return new ResponseEntity<ErrorResponse>(
+                new ErrorResponse().code(GenericErrorCode.GEN_003.getCode()).message(GenericErrorCode.GEN_003.getDefaultMessage()),
+                HttpStatus.GATEWAY_TIMEOUT
+        );
+    }
+}
@@ -0,0 +1,54 @@
+package com.upgrad.FoodOrderingApp.reactive.json;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.upgrad.FoodOrderingApp.api.json.ResponseJsonWriter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * Writes the list responses with the ResponseJsonWriter of the servlet API, so both APIs return the same bytes
+ * The list is written to memory on the thread reading it, the event loop only writes the bytes to the connection
+ */
+@Component
+public class JsonLists {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Writes a JSON object holding a single array field, such as {"restaurants":[...]}
+     *
+     * @param field    The name of the array field
+     * @param elements Writes the elements of the array
+     * @return The UTF-8 encoded JSON object
+     * @throws IOException If the elements can't be written
+     */
+    public byte[] list(String field, ListWriter elements) throws IOException {
+        // Starts at the size of the servlet response buffer
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(8192);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream, JsonEncoding.UTF8);
+        objectMapper.getSerializationConfig().initialize(generator);
+        generator.writeStartObject();
+        generator.writeArrayFieldStart(field);
+        elements.write(new ResponseJsonWriter(generator));
+        generator.writeEndArray();
+        generator.writeEndObject();
+        generator.close();
+        return outputStream.toByteArray();
+    }
+
+    @FunctionalInterface
+    public interface ListWriter {
+
+        /**
+         * @param writer Writes the entities to the array of the response
+         * @throws IOException If the entities can't be written
+         */
+        void write(ResponseJsonWriter writer) throws IOException;
+    }
+}
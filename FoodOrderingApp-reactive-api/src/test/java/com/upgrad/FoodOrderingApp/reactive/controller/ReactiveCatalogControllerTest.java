@@ -0,0 +1,172 @@
+package com.upgrad.FoodOrderingApp.reactive.controller;
+
+import com.upgrad.FoodOrderingApp.reactive.FoodOrderingAppReactiveApplication;
+import com.upgrad.FoodOrderingApp.service.async.DaoExecutor;
+import org.hibernate.SessionFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+// This class contains all the test cases regarding the catalog endpoints of the reactive API
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = "spring.config.name=" + FoodOrderingAppReactiveApplication.CONFIG_NAME)
+@AutoConfigureWebTestClient
+@ActiveProfiles("h2")
+public class ReactiveCatalogControllerTest {
+
+    private static final String RESTAURANT_UUID = "d0a3f68e-a29b-11e8-9a3a-720006ceb891";
+
+    private static final String CATEGORY_UUID = "d0a3f68e-a29b-11e8-9a3a-720006ceb892";
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private DaoExecutor daoExecutor;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Before
+    public void setUp() {
+        jdbcTemplate.update("INSERT INTO STATE(id, uuid, state_name) VALUES (951, 'd0a3f68e-a29b-11e8-9a3a-720006ceb880', 'Sikkim')");
+        jdbcTemplate.update("INSERT INTO ADDRESS(id, uuid, flat_buil_number, locality, city, pincode, state_id, active) VALUES (951, 'd0a3f68e-a29b-11e8-9a3a-720006ceb890', '2 MG Marg', 'Gangtok', 'Gangtok', '737101', 951, 1)");
+        jdbcTemplate.update("INSERT INTO RESTAURANT(id, uuid, restaurant_name, photo_url, customer_rating, average_price_for_two, number_of_customers_rated, address_id) VALUES (951, '" + RESTAURANT_UUID + "', 'Momo House', 'photo', 4.2, 250, 12, 951)");
+        jdbcTemplate.update("INSERT INTO CATEGORY(id, uuid, category_name) VALUES (951, '" + CATEGORY_UUID + "', 'Tibetan'), (952, 'd0a3f68e-a29b-11e8-9a3a-720006ceb893', 'Soups')");
+        jdbcTemplate.update("INSERT INTO RESTAURANT_CATEGORY(id, restaurant_id, category_id) VALUES (951, 951, 951), (952, 951, 952)");
+        jdbcTemplate.update("INSERT INTO ITEM(id, uuid, item_name, price, type) VALUES (951, 'd0a3f68e-a29b-11e8-9a3a-720006ceb894', 'Veg Momo', 120, 0), (952, 'd0a3f68e-a29b-11e8-9a3a-720006ceb895', 'Thukpa', 150, 1)");
+        jdbcTemplate.update("INSERT INTO RESTAURANT_ITEM(id, item_id, restaurant_id) VALUES (951, 951, 951), (952, 952, 951)");
+        jdbcTemplate.update("INSERT INTO CATEGORY_ITEM(id, item_id, category_id) VALUES (951, 951, 951), (952, 952, 952)");
+        jdbcTemplate.update("INSERT INTO PAYMENT(id, uuid, payment_name) VALUES (951, '9a1d3b7c-0c23-4a42-9e4a-6b1b4d1a0951', 'UPI')");
+        // The rows were changed behind the back of Hibernate, start every test with empty caches
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        daoExecutor.reset();
+    }
+
+    @After
+    public void tearDown() {
+        jdbcTemplate.update("DELETE FROM PAYMENT WHERE id = 951");
+        jdbcTemplate.update("DELETE FROM CATEGORY_ITEM WHERE id IN (951, 952)");
+        jdbcTemplate.update("DELETE FROM RESTAURANT_ITEM WHERE id IN (951, 952)");
+        jdbcTemplate.update("DELETE FROM ITEM WHERE id IN (951, 952)");
+        jdbcTemplate.update("DELETE FROM RESTAURANT_CATEGORY WHERE id IN (951, 952)");
+        jdbcTemplate.update("DELETE FROM CATEGORY WHERE id IN (951, 952)");
+        jdbcTemplate.update("DELETE FROM RESTAURANT WHERE id = 951");
+        jdbcTemplate.update("DELETE FROM ADDRESS WHERE id = 951");
+        jdbcTemplate.update("DELETE FROM STATE WHERE id = 951");
+    }
+
+    //This test case passes when the restaurant details are combined from the calls run on the DAO executor.
+    @Test
+    public void shouldGetRestaurantDetailsUsingRestaurantId() {
+        webTestClient.get().uri("/api/restaurant/" + RESTAURANT_UUID).exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON_UTF8)
+                .expectBody()
+                .jsonPath("restaurant_name").isEqualTo("Momo House")
+                .jsonPath("address.state.state_name").isEqualTo("Sikkim")
+                .jsonPath("categories.length()").isEqualTo(2)
+                // In the order of the categories of the restaurant, by name
+                .jsonPath("categories[0].category_name").isEqualTo("Soups")
+                .jsonPath("categories[0].item_list[0].item_name").isEqualTo("Thukpa")
+                .jsonPath("categories[0].item_list[0].item_type").isEqualTo("NON_VEG")
+                .jsonPath("categories[1].category_name").isEqualTo("Tibetan")
+                .jsonPath("categories[1].item_list[0].item_name").isEqualTo("Veg Momo");
+
+        assertEquals(1, daoExecutor.getStageStatistics("restaurant").getCalls());
+        // Sized by reactive-api.yaml over the application.yaml of the API
+        assertEquals(10, daoExecutor.getStatistics().get("pool_size"));
+        assertEquals(2, daoExecutor.getStageStatistics("category items").getCalls());
+    }
+
+    //This test case passes when an unknown restaurant is answered with the error of the servlet API, without reading
+    // any items.
+    @Test
+    public void shouldNotGetRestaurantDetailsIfRestaurantIdIsNotFound() {
+        webTestClient.get().uri("/api/restaurant/someRestaurantId").exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("code").isEqualTo("RNF-001")
+                .jsonPath("message").isEqualTo("No restaurant by this id");
+
+        assertNull(daoExecutor.getStageStatistics("category items"));
+    }
+
+    //This test case passes when the restaurants are listed with their categories.
+    @Test
+    public void shouldGetAllRestaurantDetails() {
+        webTestClient.get().uri("/api/restaurant").exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON_UTF8)
+                .expectBody()
+                .jsonPath("restaurants[0].id").isEqualTo(RESTAURANT_UUID)
+                .jsonPath("restaurants[0].customer_rating").isEqualTo(4.2)
+                .jsonPath("restaurants[0].categories").isEqualTo("Soups, Tibetan");
+    }
+
+    //This test case passes when the restaurants are searched by name, case insensitive.
+    @Test
+    public void shouldGetRestaurantsByName() {
+        webTestClient.get().uri("/api/restaurant/name/momo").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("restaurants.length()").isEqualTo(1)
+                .jsonPath("restaurants[0].restaurant_name").isEqualTo("Momo House");
+
+        webTestClient.get().uri("/api/restaurant/name/nothing").exchange()
+                .expectStatus().isOk()
+                .expectBody().json("{\"restaurants\":[]}");
+    }
+
+    //This test case passes when the categories are listed and a category is read with its items.
+    @Test
+    public void shouldGetCategories() {
+        webTestClient.get().uri("/api/category").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("categories[?(@.id == '" + CATEGORY_UUID + "')].category_name").isEqualTo("Tibetan");
+
+        webTestClient.get().uri("/api/category/" + CATEGORY_UUID).exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("category_name").isEqualTo("Tibetan")
+                .jsonPath("item_list[0].item_name").isEqualTo("Veg Momo")
+                .jsonPath("item_list[0].item_type").isEqualTo("VEG");
+
+        webTestClient.get().uri("/api/category/someCategoryId").exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("code").isEqualTo("CNF-002");
+    }
+
+    //This test case passes when the payment methods and states are listed.
+    @Test
+    public void shouldGetPaymentMethodsAndStates() {
+        webTestClient.get().uri("/api/payment").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("paymentMethods[?(@.id == '9a1d3b7c-0c23-4a42-9e4a-6b1b4d1a0951')].payment_name").isEqualTo("UPI");
+
+        webTestClient.get().uri("/api/states").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("states[?(@.id == 'd0a3f68e-a29b-11e8-9a3a-720006ceb880')].state_name").isEqualTo("Sikkim");
+    }
+}
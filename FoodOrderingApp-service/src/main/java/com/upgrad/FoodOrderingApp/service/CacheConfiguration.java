@@ -0,0 +1,30 @@
+package com.upgrad.FoodOrderingApp.service;
+
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.URISyntaxException;
+import java.net.URL;
+
+/**
+ * Points the JCache provider of the Hibernate second level cache to the region configuration on the classpath.
+ * The configuration is passed as a resolved URI, as the JCache provider can't read classpath: locations.
+ */
+@Configuration
+public class CacheConfiguration {
+
+    private static final String CACHE_CONFIGURATION = "/hibernate-ehcache.xml";
+
+    @Bean
+    public HibernatePropertiesCustomizer cacheConfigurationCustomizer() {
+        return hibernateProperties -> {
+            URL configuration = CacheConfiguration.class.getResource(CACHE_CONFIGURATION);
+            try {
+                hibernateProperties.putIfAbsent("hibernate.javax.cache.uri", configuration.toURI().toString());
+            } catch (URISyntaxException exception) {
+                throw new IllegalStateException("Invalid cache configuration location " + configuration, exception);
+            }
+        };
+    }
+}
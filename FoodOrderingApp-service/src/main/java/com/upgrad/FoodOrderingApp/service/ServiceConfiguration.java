@@ -1,14 +1,35 @@
 package com.upgrad.FoodOrderingApp.service;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 
 /**
  * Enabling the component scan and entity scan of classes in the below mentioned "com.upgrad.FoodOrderingApp.service" and "com.upgrad.FoodOrderingApp.service.entity" packages respectively.
+ * Scheduling is enabled for the periodic jobs of the services, each one declared with @Scheduled on the component it belongs to.
  */
 @Configuration
+@EnableScheduling
 @ComponentScan("com.upgrad.FoodOrderingApp.service")
 @EntityScan("com.upgrad.FoodOrderingApp.service.entity")
 public class ServiceConfiguration {
+
+    /**
+     * Runs the periodic jobs on a pool instead of the single thread scheduling defaults to, so that a job waiting on a
+     * Database, such as the lag check of a replica that stopped responding, doesn't hold up the others
+     *
+     * @param poolSize The number of jobs running at once
+     * @return The scheduler of the @Scheduled jobs
+     */
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(@Value("${foodorderingapp.scheduling.pool-size:4}") int poolSize) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadNamePrefix("scheduling-");
+        return scheduler;
+    }
 }
@@ -0,0 +1,254 @@
+package com.upgrad.FoodOrderingApp.service.async;
+
+import com.upgrad.FoodOrderingApp.service.sql.SqlStatistics;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded executor running independent Database lookups of a request in parallel
+ * Every call runs with its own read only EntityManager, on its own connection, and fails with a TimeoutException when
+ * it doesn't complete in time, the thread running it is interrupted. Calls are rejected with a
+ * RejectedExecutionException when the queue is full instead of piling up behind a slow Database
+ * The statements of the calls are counted against the request that submitted them
+ */
+@Component
+@ManagedResource(objectName = "FoodOrderingApp:type=DaoExecutor", description = "Queue wait and execution time of the parallel Database lookups")
+public class DaoExecutor implements DisposableBean {
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private SqlStatistics sqlStatistics;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final ThreadPoolExecutor executor;
+
+    // Fails the calls that are still running at their timeout
+    private final ScheduledThreadPoolExecutor timeouts;
+
+    private final long timeoutMillis;
+
+    private final ConcurrentMap<String, StageStatistics> stages = new ConcurrentHashMap<String, StageStatistics>();
+
+    public DaoExecutor(@Value("${foodorderingapp.dao-executor.pool-size:8}") int poolSize,
+                       @Value("${foodorderingapp.dao-executor.queue-capacity:200}") int queueCapacity,
+                       @Value("${foodorderingapp.dao-executor.timeout:2000}") long timeoutMillis) {
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<Runnable>(queueCapacity), threadFactory("dao-"));
+        this.timeouts = new ScheduledThreadPoolExecutor(1, threadFactory("dao-timeout-"));
+        // Timeouts are cancelled as soon as the call completes, most never fire
+        this.timeouts.setRemoveOnCancelPolicy(true);
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Submits a Database lookup to run in parallel with the thread of the request
+     *
+     * @param stage The name the queue wait and execution time of the call are reported under
+     * @param call  The lookup, run with its own read only EntityManager
+     * @param <T>   The type of the result of the lookup
+     * @return The future completed with the result of the call, or with the exception thrown by the call,
+     * a TimeoutException if the call didn't complete in time or a RejectedExecutionException if the queue is full
+     */
+    public <T> CompletableFuture<T> submit(final String stage, final DaoCall<T> call) {
+        final StageStatistics statistics = stageStatistics(stage);
+        final CompletableFuture<T> result = new CompletableFuture<T>();
+        final AtomicLong requestStatements = sqlStatistics.currentRequest();
+        final long submitted = System.nanoTime();
+        final Future<?> task;
+        try {
+            task = executor.submit(() -> run(call, result, statistics, requestStatements, submitted));
+        } catch (RejectedExecutionException exception) {
+            statistics.recordRejection();
+            result.completeExceptionally(exception);
+            return result;
+        }
+        final ScheduledFuture<?> timeout = timeouts.schedule(() -> {
+            if (result.completeExceptionally(new TimeoutException(stage + " did not complete in " + timeoutMillis + " ms"))) {
+                statistics.recordTimeout();
+                // Interrupts the call if it is running, removes it from the queue otherwise
+                task.cancel(true);
+            }
+        }, timeoutMillis, TimeUnit.MILLISECONDS);
+        result.whenComplete((value, exception) -> timeout.cancel(false));
+        return result;
+    }
+
+    private <T> void run(DaoCall<T> call, CompletableFuture<T> result, StageStatistics statistics,
+                         AtomicLong requestStatements, long submitted) {
+        long started = System.nanoTime();
+        if (requestStatements != null) {
+            sqlStatistics.resumeRequest(requestStatements);
+        }
+        // One EntityManager for the whole call, the read only transactions of the services called use it instead of
+        // closing their own before the call reads the lazy associations of their results
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+        try {
+            T value = null;
+            Throwable failure = null;
+            try {
+                value = transactionTemplate().execute(status -> {
+                    try {
+                        return call.call();
+                    } catch (RuntimeException exception) {
+                        throw exception;
+                    } catch (Exception exception) {
+                        throw new CallException(exception);
+                    }
+                });
+            } catch (CallException exception) {
+                failure = exception.getCause();
+            } catch (RuntimeException | Error exception) {
+                failure = exception;
+            }
+            // Recorded before completing, the stages depending on the result run on this thread when it completes
+            statistics.recordCall(started - submitted, System.nanoTime() - started, failure == null);
+            if (failure == null) {
+                result.complete(value);
+            } else {
+                result.completeExceptionally(failure);
+            }
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            EntityManagerFactoryUtils.closeEntityManager(entityManager);
+            sqlStatistics.suspendRequest();
+        }
+    }
+
+    private TransactionTemplate transactionTemplate() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        // Read only for the whole call without starting a transaction, the connection is only acquired by the first
+        // statement and goes to a read replica when they are enabled
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_SUPPORTS);
+        transactionTemplate.setReadOnly(true);
+        return transactionTemplate;
+    }
+
+    // Lookups never keep the JVM from exiting
+    private static CustomizableThreadFactory threadFactory(String threadNamePrefix) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(threadNamePrefix);
+        threadFactory.setDaemon(true);
+        return threadFactory;
+    }
+
+    private StageStatistics stageStatistics(String stage) {
+        StageStatistics statistics = stages.get(stage);
+        return statistics != null ? statistics : stages.computeIfAbsent(stage, StageStatistics::new);
+    }
+
+    /**
+     * @param stage The name of the stage
+     * @return The statistics of the stage, null if nothing was submitted under the name
+     */
+    public StageStatistics getStageStatistics(String stage) {
+        return stages.get(stage);
+    }
+
+    /**
+     * Retrieves the size of the executor and the statistics of every stage, since the application start or the last reset
+     *
+     * @return The statistics keyed by stage name
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<String, Object>();
+        statistics.put("pool_size", executor.getMaximumPoolSize());
+        statistics.put("active_threads", executor.getActiveCount());
+        statistics.put("queued_calls", executor.getQueue().size());
+        statistics.put("timeout_millis", timeoutMillis);
+        Map<String, Object> stageStatistics = new LinkedHashMap<String, Object>();
+        for (StageStatistics stage : new TreeMap<String, StageStatistics>(stages).values()) {
+            stageStatistics.put(stage.getName(), stage.toMap());
+        }
+        statistics.put("stages", stageStatistics);
+        return statistics;
+    }
+
+    @ManagedOperation(description = "Queue wait and execution time of every stage, one line per stage")
+    public String[] stagesSummary() {
+        List<String> summary = new ArrayList<String>();
+        for (StageStatistics stage : new TreeMap<String, StageStatistics>(stages).values()) {
+            summary.add(stage.toString());
+        }
+        return summary.toArray(new String[0]);
+    }
+
+    @ManagedAttribute(description = "Calls waiting for a thread")
+    public int getQueuedCalls() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * Resets the statistics of every stage, to measure over a time window
+     */
+    @ManagedOperation(description = "Resets the statistics of every stage")
+    public void reset() {
+        for (StageStatistics stage : stages.values()) {
+            stage.reset();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+        timeouts.shutdownNow();
+    }
+
+    /**
+     * A Database lookup run on the executor
+     *
+     * @param <T> The type of the result of the lookup
+     */
+    @FunctionalInterface
+    public interface DaoCall<T> {
+
+        /**
+         * @return The result of the lookup
+         * @throws Exception The exception the future is completed with
+         */
+        T call() throws Exception;
+    }
+
+    // Carries the checked exceptions of the calls out of the transaction
+    private static class CallException extends RuntimeException {
+
+        CallException(Exception cause) {
+            super(cause);
+        }
+    }
+}
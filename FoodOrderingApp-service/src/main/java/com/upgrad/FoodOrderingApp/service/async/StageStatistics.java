@@ -0,0 +1,110 @@
+package com.upgrad.FoodOrderingApp.service.async;
+
+import com.upgrad.FoodOrderingApp.service.sql.QueryStatistics;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Queue wait and execution time of the calls of one stage run on the DAO executor
+ * A stage whose queue wait grows while its execution time doesn't is waiting for a thread, not for the Database
+ */
+public class StageStatistics {
+
+    // Times are recorded in microseconds, anything above an hour is recorded as an hour
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.HOURS.toMicros(1);
+
+    private final String name;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+    private final Histogram queueWaits = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 2);
+    private final Histogram executions = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 2);
+
+    StageStatistics(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    public long getTimeouts() {
+        return timeouts.sum();
+    }
+
+    public long getRejections() {
+        return rejections.sum();
+    }
+
+    /**
+     * @param queueWaitNanos The time the call waited for a thread in nanoseconds
+     * @param executionNanos The time the call ran in nanoseconds
+     * @param success        false if the call failed
+     */
+    void recordCall(long queueWaitNanos, long executionNanos, boolean success) {
+        calls.increment();
+        if (!success) {
+            errors.increment();
+        }
+        queueWaits.recordValue(micros(queueWaitNanos));
+        executions.recordValue(micros(executionNanos));
+    }
+
+    void recordTimeout() {
+        timeouts.increment();
+    }
+
+    void recordRejection() {
+        rejections.increment();
+    }
+
+    void reset() {
+        calls.reset();
+        errors.reset();
+        timeouts.reset();
+        rejections.reset();
+        queueWaits.reset();
+        executions.reset();
+    }
+
+    /**
+     * @return The counts and the queue wait and execution percentiles in microseconds, keyed by the statistic name
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> statistics = new LinkedHashMap<String, Object>();
+        statistics.put("calls", getCalls());
+        statistics.put("errors", getErrors());
+        statistics.put("timeouts", getTimeouts());
+        statistics.put("rejections", getRejections());
+        statistics.put("queue_wait_micros", QueryStatistics.percentiles(queueWaits.copy()));
+        statistics.put("execution_micros", QueryStatistics.percentiles(executions.copy()));
+        return statistics;
+    }
+
+    @Override
+    public String toString() {
+        Histogram queueWait = queueWaits.copy();
+        Histogram execution = executions.copy();
+        return name + " calls=" + getCalls() + " errors=" + getErrors() + " timeouts=" + getTimeouts()
+                + " rejections=" + getRejections() + " wait.p99=" + queueWait.getValueAtPercentile(99)
+                + "us exec.p50=" + execution.getValueAtPercentile(50) + "us exec.p99=" + execution.getValueAtPercentile(99) + "us";
+    }
+
+    private static long micros(long nanos) {
+        return Math.min(HIGHEST_TRACKABLE_MICROS, Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos)));
+    }
+}
@@ -0,0 +1,152 @@
+package com.upgrad.FoodOrderingApp.service.business;
+
+import com.upgrad.FoodOrderingApp.service.entity.AddressEntity;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bounded in memory cache of the address book of every customer, keyed by the customer id
+ * The least recently used address books are dropped once more than the configured number of customers are cached
+ * An address book is evicted when an address of the customer is saved, deleted or archived by an order
+ */
+@Component
+public class AddressBookCache {
+
+    private final int maxCustomers;
+
+    private final Map<Integer, List<AddressEntity>> addressBooks;
+
+    // Bumped on every eviction, the generations of the address books are taken from it
+    private long generation;
+
+    // Generation of the last eviction of every customer, so an address book loaded before a change of the customer is
+    // never put in to the cache after it, while the address books of the other customers still are. Bounded as the
+    // address books, the generations dropped are folded in to the floor
+    private final Map<Integer, Long> evictions;
+
+    // Highest generation dropped from the evictions, the eviction of a customer not in them is taken to be as recent
+    private long evictionFloor;
+
+    public AddressBookCache(@Value("${foodorderingapp.address-book-cache.max-customers:10000}") final int maxCustomers) {
+        this.maxCustomers = maxCustomers;
+        this.addressBooks = new LinkedHashMap<Integer, List<AddressEntity>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<AddressEntity>> eldest) {
+                return size() > AddressBookCache.this.maxCustomers;
+            }
+        };
+        this.evictions = new LinkedHashMap<Integer, Long>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Long> eldest) {
+                if (size() <= AddressBookCache.this.maxCustomers) {
+                    return false;
+                }
+                evictionFloor = Math.max(evictionFloor, eldest.getValue());
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Retrieves the cached address book of the customer
+     *
+     * @param customerId The id of the customer
+     * @return Copies of the addresses of the customer, null if the address book is not cached
+     */
+    public List<AddressEntity> getAddressBook(Integer customerId) {
+        List<AddressEntity> addressBook;
+        synchronized (this) {
+            addressBook = addressBooks.get(customerId);
+        }
+        if (addressBook == null) {
+            return null;
+        }
+        List<AddressEntity> copies = new ArrayList<AddressEntity>(addressBook.size());
+        for (AddressEntity address : addressBook) {
+            copies.add(copy(address));
+        }
+        return copies;
+    }
+
+    /**
+     * Retrieves the generation to pass to {@link #putAddressBook}, to be taken before the address book is loaded
+     *
+     * @return The current generation of the cache
+     */
+    public synchronized long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Caches the address book of the customer, unless the address book of the customer was evicted since the generation
+     * was taken
+     *
+     * @param customerId  The id of the customer
+     * @param addresses   The addresses of the customer loaded from the Database
+     * @param generation  The generation taken before the addresses were loaded
+     */
+    public void putAddressBook(Integer customerId, List<AddressEntity> addresses, long generation) {
+        List<AddressEntity> addressBook = new ArrayList<AddressEntity>(addresses.size());
+        for (AddressEntity address : addresses) {
+            addressBook.add(copy(address));
+        }
+        synchronized (this) {
+            Long evicted = evictions.get(customerId);
+            if (generation >= (evicted != null ? evicted : evictionFloor)) {
+                addressBooks.put(customerId, Collections.unmodifiableList(addressBook));
+            }
+        }
+    }
+
+    /**
+     * Evicts the address book of the customer now, and once more when the current transaction completes so that
+     * the address book is not cached again with the data read before the commit
+     *
+     * @param customerId The id of the customer whose addresses changed
+     */
+    public void evictAddressBook(final Integer customerId) {
+        evict(customerId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(customerId);
+                }
+            });
+        }
+    }
+
+    /**
+     * Retrieves the number of customers whose address book is cached
+     *
+     * @return The number of cached address books
+     */
+    public synchronized int size() {
+        return addressBooks.size();
+    }
+
+    private synchronized void evict(Integer customerId) {
+        generation++;
+        // Removed first, so that the customer evicted last is the last one dropped from the evictions
+        evictions.remove(customerId);
+        evictions.put(customerId, generation);
+        addressBooks.remove(customerId);
+    }
+
+    // Addresses are handed out as copies, so a change made by the caller never leaks in to the cache
+    private static AddressEntity copy(AddressEntity address) {
+        AddressEntity copy = new AddressEntity(address.getUuid(), address.getFlatBuilNo(), address.getLocality(),
+                address.getCity(), address.getPincode(), address.getState());
+        copy.setId(address.getId());
+        copy.setActive(address.getActive());
+        return copy;
+    }
+}
@@ -2,6 +2,7 @@ package com.upgrad.FoodOrderingApp.service.business;
 
 
 import com.upgrad.FoodOrderingApp.service.dao.AddressDao;
+import com.upgrad.FoodOrderingApp.service.datasource.ReplicaRouting;
 import com.upgrad.FoodOrderingApp.service.entity.AddressEntity;
 import com.upgrad.FoodOrderingApp.service.entity.CustomerAddressEntity;
 import com.upgrad.FoodOrderingApp.service.entity.CustomerEntity;
@@ -24,6 +25,12 @@ public class AddressService {
     @Autowired
     private AddressDao addressDao;
 
+    @Autowired
+    private AddressBookCache addressBookCache;
+
+    @Autowired
+    private ReplicaRouting replicaRouting;
+
     /**
      * Save the Customer address in Database
      * Validate the pin code Format and the state uuid with that of state uuid in state table
@@ -51,6 +58,8 @@ public class AddressService {
         // Address is active by default unless any order is placed
         address.setActive(1);
         AddressEntity updatedAddress = addressDao.saveAddress(address);
+        addressBookCache.evictAddressBook(customer.getId());
+        replicaRouting.recordWrite(ReplicaRouting.addressBookKey(customer.getId()));
 
         return address;
     }
@@ -78,21 +87,39 @@ public class AddressService {
      */
     @Transactional(propagation = Propagation.REQUIRED)
     public CustomerAddressEntity saveCustomerAddress(CustomerAddressEntity customerAddressEntity) {
+        if (customerAddressEntity.getCustomer() != null) {
+            addressBookCache.evictAddressBook(customerAddressEntity.getCustomer().getId());
+            replicaRouting.recordWrite(ReplicaRouting.addressBookKey(customerAddressEntity.getCustomer().getId()));
+        }
         return addressDao.saveCustomerAddress(customerAddressEntity);
     }
 
     /**
      * This will return the saved addresses in descending order of their saved time
+     * The addresses are served from the address book cache, and loaded from the Database only on a cache miss
      *
+     * @param customer The details of customer who has logged in
      * @return list of Address Entity
      */
+    @Transactional(propagation = Propagation.REQUIRED, readOnly = true)
     public List<AddressEntity> getAllAddress(CustomerEntity customer) {
-        return addressDao.getAllAddress(customer);
+        List<AddressEntity> addressBook = addressBookCache.getAddressBook(customer.getId());
+        if (addressBook != null) {
+            return addressBook;
+        }
+        long generation = addressBookCache.getGeneration();
+        // Read from the primary right after the customer changed an address, so the replicas can't cache a stale book
+        List<AddressEntity> addresses = replicaRouting.onPrimaryIfWritten(ReplicaRouting.addressBookKey(customer.getId()),
+                () -> addressDao.getAllAddress(customer));
+        addressBookCache.putAddressBook(customer.getId(), addresses, generation);
+        return addresses;
     }
 
 
     /**
      * This method is used to get the Address Entity from data base which needed to be deleted
+     * The address is looked up in the cached address book of the customer, or otherwise with a single query which
+     * only matches the addresses of the customer
      *
      * @param addressUuid    The address Uuid passed as request that needs to be deleted
      * @param loggedCustomer Customer Entity who has logged in
@@ -105,18 +132,25 @@ public class AddressService {
         if (FoodOrderingUtil.isInValid(addressUuid)) {
             throw new AddressNotFoundException("ANF-005", "Address id can not be empty");
         }
-        AddressEntity address = addressDao.getAddressByUUID(addressUuid);
+        List<AddressEntity> addressBook = addressBookCache.getAddressBook(loggedCustomer.getId());
+        if (addressBook != null) {
+            for (AddressEntity address : addressBook) {
+                if (addressUuid.equals(address.getUuid())) {
+                    return address;
+                }
+            }
+        } else {
+            AddressEntity address = addressDao.getAddressByUUIDForCustomer(addressUuid, loggedCustomer.getId());
+            if (address != null) {
+                return address;
+            }
+        }
         // Check if any address matched with the uuid, otherwise throw error
-        if (address == null) {
+        if (addressDao.getAddressByUUID(addressUuid) == null) {
             throw new AddressNotFoundException("ANF-003", "No address by this id");
         }
-        CustomerAddressEntity customerAddressEntity = addressDao.getCustomerAddressByAddressUUID(addressUuid);
-        //if the customer who has logged in is not same as the customer which belongs to the address to be deleted
-        if (customerAddressEntity == null || (customerAddressEntity.getCustomer() != null
-                && customerAddressEntity.getCustomer().getId() != loggedCustomer.getId())) {
-            throw new AuthorizationFailedException("ATHR-004", "You are not authorized to view/update/delete any one else's address");
-        }
-        return customerAddressEntity.getAddress();
+        //the address exists, but it doesn't belong to the customer who has logged in
+        throw new AuthorizationFailedException("ATHR-004", "You are not authorized to view/update/delete any one else's address");
     }
 
     /**
@@ -131,6 +165,11 @@ public class AddressService {
     public AddressEntity deleteAddress(AddressEntity addressEntity) {
         // active 1 indicates it is not linked to any order, so it can be deleted
         if (addressEntity.getActive() == 1) {
+            CustomerAddressEntity customerAddressEntity = addressDao.getCustomerAddressByAddressUUID(addressEntity.getUuid());
+            if (customerAddressEntity != null && customerAddressEntity.getCustomer() != null) {
+                addressBookCache.evictAddressBook(customerAddressEntity.getCustomer().getId());
+                replicaRouting.recordWrite(ReplicaRouting.addressBookKey(customerAddressEntity.getCustomer().getId()));
+            }
             AddressEntity deletedAddress = addressDao.deleteAddress(addressEntity);
             return deletedAddress;
         } else {
@@ -139,11 +178,31 @@ public class AddressService {
         }
     }
 
+    /**
+     * Archives the address when an order is placed with it, so that the address will not be deleted afterwards
+     * The address book of the customer is evicted, as the address changed
+     * The address is archived with a single update, the address checked out from the address book isn't read again
+     *
+     * @param addressEntity The Address Entity the order is placed with
+     * @param customer      The details of customer who placed the order
+     * @return Address Entity that has been archived, managed by the persistence context
+     */
+    @Transactional(propagation = Propagation.REQUIRED)
+    public AddressEntity archiveAddress(AddressEntity addressEntity, CustomerEntity customer) {
+        AddressEntity archivedAddress = addressDao.archiveAddress(addressEntity);
+        if (customer != null) {
+            addressBookCache.evictAddressBook(customer.getId());
+            replicaRouting.recordWrite(ReplicaRouting.addressBookKey(customer.getId()));
+        }
+        return archivedAddress;
+    }
+
     /**
      * This will return all the states
      *
      * @return List of all states
      */
+    @Transactional(propagation = Propagation.REQUIRED, readOnly = true)
     public List<StateEntity> getAllStates() {
         return addressDao.getAllStates();
     }
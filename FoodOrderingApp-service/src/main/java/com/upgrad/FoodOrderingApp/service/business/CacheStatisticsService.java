@@ -0,0 +1,70 @@
+package com.upgrad.FoodOrderingApp.service.business;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.SecondLevelCacheStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Service
+public class CacheStatisticsService {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Retrieves the hit, miss and put counts of the Hibernate second level cache and query cache, in total and per region
+     * Counts are since the application start or the last reset
+     *
+     * @return The cache statistics keyed by the statistic name
+     */
+    public Map<String, Object> getCacheStatistics() {
+        Statistics statistics = getStatistics();
+        Map<String, Object> cacheStatistics = new LinkedHashMap<String, Object>();
+        cacheStatistics.put("statistics_enabled", statistics.isStatisticsEnabled());
+        cacheStatistics.put("second_level_cache", counts(statistics.getSecondLevelCacheHitCount(),
+                statistics.getSecondLevelCacheMissCount(), statistics.getSecondLevelCachePutCount()));
+        cacheStatistics.put("query_cache", counts(statistics.getQueryCacheHitCount(),
+                statistics.getQueryCacheMissCount(), statistics.getQueryCachePutCount()));
+        cacheStatistics.put("prepared_statements", statistics.getPrepareStatementCount());
+
+        Map<String, Object> regions = new LinkedHashMap<String, Object>();
+        String[] regionNames = statistics.getSecondLevelCacheRegionNames();
+        Arrays.sort(regionNames);
+        for (String regionName : regionNames) {
+            SecondLevelCacheStatistics regionStatistics = statistics.getSecondLevelCacheStatistics(regionName);
+            if (regionStatistics != null) {
+                Map<String, Object> region = counts(regionStatistics.getHitCount(), regionStatistics.getMissCount(),
+                        regionStatistics.getPutCount());
+                region.put("element_count", regionStatistics.getElementCountInMemory());
+                regions.put(regionName, region);
+            }
+        }
+        cacheStatistics.put("regions", regions);
+        return cacheStatistics;
+    }
+
+    /**
+     * Resets all the Hibernate statistics counts to zero
+     */
+    public void resetCacheStatistics() {
+        getStatistics().clear();
+    }
+
+    private Statistics getStatistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private static Map<String, Object> counts(long hitCount, long missCount, long putCount) {
+        Map<String, Object> counts = new LinkedHashMap<String, Object>();
+        counts.put("hit_count", hitCount);
+        counts.put("miss_count", missCount);
+        counts.put("put_count", putCount);
+        return counts;
+    }
+}
@@ -1,13 +1,18 @@
 package com.upgrad.FoodOrderingApp.service.business;
 
+import com.upgrad.FoodOrderingApp.service.common.CategoryItemsPage;
+import com.upgrad.FoodOrderingApp.service.common.ItemType;
 import com.upgrad.FoodOrderingApp.service.dao.CategoryDao;
 import com.upgrad.FoodOrderingApp.service.dao.RestaurantCategoryDao;
 import com.upgrad.FoodOrderingApp.service.entity.CategoryEntity;
+import com.upgrad.FoodOrderingApp.service.entity.ItemEntity;
 import com.upgrad.FoodOrderingApp.service.entity.RestaurantCategoryEntity;
 import com.upgrad.FoodOrderingApp.service.exception.CategoryNotFoundException;
 import com.upgrad.FoodOrderingApp.service.util.FoodOrderingUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -26,6 +31,7 @@ public class CategoryService {
      *
      * @return The list of categories with uuid and name of each category
      */
+    @Transactional(propagation = Propagation.REQUIRED, readOnly = true)
     public List<CategoryEntity> getAllCategoriesOrderedByName() {
         return categoryDao.getAllCategoriesOrderedByName();
     }
@@ -36,6 +42,7 @@ public class CategoryService {
      * @param restaurantUUID The uuid of the restaurant to search for categories in Database
      * @return The list of categories matched with the restaurant uuid
      */
+    @Transactional(propagation = Propagation.REQUIRED, readOnly = true)
     public List<CategoryEntity> getCategoriesByRestaurant(String restaurantUUID) {
         List<RestaurantCategoryEntity> restaurantCategories = restaurantCategoryDao.getRestaurantCategoriesByRestaurantUUID(restaurantUUID);
         List<CategoryEntity> categories = new ArrayList<CategoryEntity>();
@@ -55,6 +62,7 @@ public class CategoryService {
      * @return The Category with all item details under it from the Database
      * @throws CategoryNotFoundException If the uuid passed is empty or not found in Database
      */
+    @Transactional(propagation = Propagation.REQUIRED, readOnly = true)
     public CategoryEntity getCategoryById(String categoryUUID) throws CategoryNotFoundException {
         // If uuid passed is empty or null
         if (FoodOrderingUtil.isInValid(categoryUUID)) {
@@ -67,4 +75,48 @@ public class CategoryService {
         }
         return category;
     }
+
+    /**
+     * Retrieves a page of the items of the category in the order of their names, read with the category in one query
+     *
+     * @param categoryUUID The uuid of the category to be retrieved
+     * @param limit        The maximum number of items of the page
+     * @param after        The position the page starts after, null for the first page
+     * @return The category with the items of the page and the cursor of the next page
+     * @throws CategoryNotFoundException If the uuid passed is empty or not found in Database
+     */
+    @Transactional(propagation = Propagation.REQUIRED, readOnly = true)
+    public CategoryItemsPage getCategoryItems(String categoryUUID, int limit, CategoryItemsPage.Cursor after)
+            throws CategoryNotFoundException {
+        if (FoodOrderingUtil.isInValid(categoryUUID)) {
+            throw new CategoryNotFoundException("CNF-001", "Category id field should not be empty");
+        }
+        // One more item than the page is read to know if there is a next page
+        List<Object[]> rows = categoryDao.getCategoryItems(categoryUUID, limit + 1, after);
+        CategoryEntity category;
+        if (rows.isEmpty()) {
+            // The category has no items after the position, or there is no category by the uuid
+            category = categoryDao.getCategoryByUUID(categoryUUID);
+            if (category == null) {
+                throw new CategoryNotFoundException("CNF-002", "No category by this id");
+            }
+        } else {
+            category = new CategoryEntity();
+            category.setUuid((String) rows.get(0)[0]);
+            category.setCategoryName((String) rows.get(0)[1]);
+        }
+        List<ItemEntity> items = new ArrayList<ItemEntity>(Math.min(rows.size(), limit));
+        for (int index = 0; index < rows.size() && index < limit; index++) {
+            Object[] row = rows.get(index);
+            ItemEntity item = new ItemEntity();
+            item.setId((Integer) row[2]);
+            item.setUuid((String) row[3]);
+            item.setItemName((String) row[4]);
+            item.setPrice((Integer) row[5]);
+            item.setType((ItemType) row[6]);
+            items.add(item);
+        }
+        String nextCursor = rows.size() > limit ? CategoryItemsPage.cursorAfter(items.get(limit - 1)) : null;
+        return new CategoryItemsPage(category, items, nextCursor);
+    }
 }
@@ -0,0 +1,112 @@
+package com.upgrad.FoodOrderingApp.service.business;
+
+import com.upgrad.FoodOrderingApp.service.dao.CouponDao;
+import com.upgrad.FoodOrderingApp.service.entity.CouponEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * In memory registry of all the coupons, keyed by the normalized coupon name and by the uuid
+ * The coupons are few and rarely change, so the whole table is reloaded periodically and the registry is swapped
+ * atomically, lookups never wait on the Database or on a lock
+ * Lookups fall back to the Database until the first load succeeded
+ */
+@Component
+public class CouponRegistry {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CouponRegistry.class);
+
+    @Autowired
+    private CouponDao couponDao;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private volatile Coupons coupons;
+
+    /**
+     * Retrieves the coupon matched with the coupon name ignoring the case
+     *
+     * @param couponName The coupon name to search for
+     * @return A copy of the coupon matched with the name, null otherwise
+     */
+    public CouponEntity getCouponByCouponName(String couponName) {
+        Coupons current = coupons;
+        if (current == null) {
+            return couponDao.getCouponByCouponName(couponName);
+        }
+        return copy(current.byName.get(normalize(couponName)));
+    }
+
+    /**
+     * Retrieves the coupon matched with the uuid
+     *
+     * @param couponUUID The uuid of the coupon to search for
+     * @return A copy of the coupon matched with the uuid, null otherwise
+     */
+    public CouponEntity getCouponByUUID(String couponUUID) {
+        Coupons current = coupons;
+        if (current == null) {
+            return couponDao.getCouponByUUID(couponUUID);
+        }
+        return copy(current.byUuid.get(couponUUID));
+    }
+
+    /**
+     * Reloads all the coupons from the Database, at start up and then periodically so that coupons added or
+     * changed in the Database are picked up
+     * The previous coupons are kept when the Database can't be reached
+     */
+    @Scheduled(fixedDelayString = "${foodorderingapp.coupon-registry.refresh-interval:30000}")
+    public void refresh() {
+        try {
+            List<CouponEntity> allCoupons = new TransactionTemplate(transactionManager).execute(status -> couponDao.getAllCoupons());
+            coupons = new Coupons(allCoupons);
+        } catch (RuntimeException exception) {
+            LOGGER.warn("Failed to refresh the coupons, {}", exception.getMessage());
+        }
+    }
+
+    private static String normalize(String couponName) {
+        return couponName == null ? null : couponName.toLowerCase(Locale.ROOT);
+    }
+
+    // Coupons are handed out as copies, so a change made by the caller never leaks in to the registry
+    private static CouponEntity copy(CouponEntity coupon) {
+        if (coupon == null) {
+            return null;
+        }
+        CouponEntity copy = new CouponEntity(coupon.getUuid(), coupon.getCouponName(), coupon.getPercent());
+        copy.setId(coupon.getId());
+        return copy;
+    }
+
+    private static final class Coupons {
+        private final Map<String, CouponEntity> byName;
+        private final Map<String, CouponEntity> byUuid;
+
+        private Coupons(List<CouponEntity> allCoupons) {
+            Map<String, CouponEntity> byName = new HashMap<String, CouponEntity>();
+            Map<String, CouponEntity> byUuid = new HashMap<String, CouponEntity>();
+            for (CouponEntity coupon : allCoupons) {
+                if (coupon.getCouponName() != null) {
+                    byName.put(normalize(coupon.getCouponName()), coupon);
+                }
+                byUuid.put(coupon.getUuid(), coupon);
+            }
+            this.byName = Collections.unmodifiableMap(byName);
+            this.byUuid = Collections.unmodifiableMap(byUuid);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.upgrad.FoodOrderingApp.service.business;
+
+import com.upgrad.FoodOrderingApp.service.common.CustomerImportResult;
+import com.upgrad.FoodOrderingApp.service.dao.CustomerDao;
+import com.upgrad.FoodOrderingApp.service.entity.CustomerEntity;
+import com.upgrad.FoodOrderingApp.service.util.FoodOrderingUtil;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+/**
+ * Imports the customers of onboarding files in chunks, with the rules of the sign up
+ * The passwords of a chunk are encrypted in parallel, the contact numbers of a chunk are checked with one query and
+ * the customers of a chunk are inserted with JDBC batches in one transaction. A chunk failing on a contact number signed
+ * up since it was checked is saved again one customer at a time
+ */
+@Service
+public class CustomerImportService implements DisposableBean {
+
+    private static final String REGISTERED_MESSAGE = "This contact number is already registered! Try other contact number.";
+
+    @Autowired
+    private CustomerDao customerDao;
+
+    @Autowired
+    private PasswordCryptographyProvider cryptographyProvider;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${foodorderingapp.customer-import.batch-size:100}")
+    private int batchSize;
+
+    // Only the password encryption runs here, it is CPU bound and takes most of the time of a sign up
+    private final ForkJoinPool hashingPool;
+
+    public CustomerImportService(@Value("${foodorderingapp.customer-import.hashing-parallelism:0}") int parallelism) {
+        this.hashingPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors(),
+                pool -> {
+                    ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                    thread.setName("password-hashing-" + thread.getPoolIndex());
+                    return thread;
+                }, null, false);
+    }
+
+    /**
+     * Validates and saves a chunk of the customers of an import
+     * Customers are rejected with the error code of the sign up when a field is missing or invalid, or when their
+     * contact number is already registered or repeated in the chunk. The chunks before it are already saved, so the
+     * contact numbers repeated across chunks are rejected as registered, as are the contact numbers signed up while the
+     * chunk is saved
+     *
+     * @param customers The customers to be saved, with their raw password
+     * @return The result of every customer, in the order of the customers
+     */
+    public List<CustomerImportResult> importCustomers(List<CustomerEntity> customers) {
+        final CustomerImportResult[] results = new CustomerImportResult[customers.size()];
+        final List<CustomerEntity> validCustomers = new ArrayList<CustomerEntity>();
+        final Set<String> contactNumbers = new HashSet<String>();
+        for (int index = 0; index < customers.size(); index++) {
+            CustomerEntity customer = customers.get(index);
+            results[index] = validate(customer);
+            if (results[index] == null) {
+                if (contactNumbers.add(customer.getContactNumber())) {
+                    validCustomers.add(customer);
+                } else {
+                    results[index] = CustomerImportResult.rejected("SGR-001", "This contact number is repeated in the import!");
+                }
+            }
+        }
+
+        // Encrypted before the transaction, so that the connection isn't held while hashing. Only the customers
+        // already registered are encrypted for nothing
+        hashingPool.submit(() -> validCustomers.parallelStream().forEach(customer -> {
+            String[] encryptedText = cryptographyProvider.encrypt(customer.getPassword());
+            customer.setSalt(encryptedText[0]);
+            customer.setPassword(encryptedText[1]);
+        })).join();
+
+        final List<Integer> newIndexes = new ArrayList<Integer>(validCustomers.size());
+        final TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        try {
+            transactionTemplate.execute(status -> {
+                Set<String> registered = new HashSet<String>(customerDao.getRegisteredContactNumbers(contactNumbers));
+                List<CustomerEntity> newCustomers = new ArrayList<CustomerEntity>(validCustomers.size());
+                for (int index = 0; index < customers.size(); index++) {
+                    CustomerEntity customer = customers.get(index);
+                    if (results[index] != null) {
+                        continue;
+                    }
+                    if (registered.contains(customer.getContactNumber())) {
+                        results[index] = CustomerImportResult.rejected("SGR-001", REGISTERED_MESSAGE);
+                    } else {
+                        customer.setUuid(UUID.randomUUID().toString());
+                        newCustomers.add(customer);
+                        newIndexes.add(index);
+                    }
+                }
+                customerDao.saveCustomersInBatches(newCustomers, batchSize);
+                return null;
+            });
+            for (int index : newIndexes) {
+                results[index] = CustomerImportResult.imported(customers.get(index).getUuid());
+            }
+        } catch (DataIntegrityViolationException exception) {
+            // A contact number was signed up between the check and the insert, the whole chunk is rolled back. Only the
+            // customers of that contact number fail when saved one at a time
+            for (int index : newIndexes) {
+                CustomerEntity customer = customers.get(index);
+                try {
+                    transactionTemplate.execute(status -> {
+                        customerDao.saveCustomersInBatches(Collections.singletonList(customer), 1);
+                        return null;
+                    });
+                    results[index] = CustomerImportResult.imported(customer.getUuid());
+                } catch (DataIntegrityViolationException customerException) {
+                    results[index] = CustomerImportResult.rejected("SGR-001", REGISTERED_MESSAGE);
+                }
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    // The checks of the sign up endpoint and service, in the same order
+    private static CustomerImportResult validate(CustomerEntity customer) {
+        if (FoodOrderingUtil.isInValid(customer.getFirstName()) || FoodOrderingUtil.isInValid(customer.getEmail())
+                || FoodOrderingUtil.isInValid(customer.getContactNumber()) || FoodOrderingUtil.isInValid(customer.getPassword())) {
+            return CustomerImportResult.rejected("SGR-005", "Except last name all fields should be filled");
+        }
+        if (FoodOrderingUtil.isInValidEmail(customer.getEmail())) {
+            return CustomerImportResult.rejected("SGR-002", "Invalid email-id format!");
+        }
+        if (FoodOrderingUtil.isInValidContactNumber(customer.getContactNumber())) {
+            return CustomerImportResult.rejected("SGR-003", "Invalid contact number!");
+        }
+        if (!FoodOrderingUtil.isStrongPassword(customer.getPassword())) {
+            return CustomerImportResult.rejected("SGR-004", "Weak password!");
+        }
+        return null;
+    }
+
+    @Override
+    public void destroy() {
+        hashingPool.shutdownNow();
+    }
+}
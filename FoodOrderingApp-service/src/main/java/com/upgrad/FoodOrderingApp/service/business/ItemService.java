@@ -7,6 +7,8 @@ import com.upgrad.FoodOrderingApp.service.entity.RestaurantEntity;
 import com.upgrad.FoodOrderingApp.service.exception.ItemNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -29,6 +31,7 @@ public class ItemService {
      * @return The matched Item Entity retrieved from database
      * @throws ItemNotFoundException If the uuid doesn't match with any Database records
      */
+    @Transactional(propagation = Propagation.REQUIRED, readOnly = true)
     public ItemEntity getItemByUUID(UUID itemId) throws ItemNotFoundException {
         if (itemId != null) {
             ItemEntity item = itemDao.getItemByUUID(itemId.toString());
@@ -45,6 +48,7 @@ public class ItemService {
      * @param restaurant The restaurant entity for which items has to be pulled
      * @return The list of popular items
      */
+    @Transactional(propagation = Propagation.REQUIRED, readOnly = true)
     public List<ItemEntity> getItemsByPopularity(RestaurantEntity restaurant) {
         return itemDao.getItemsByPopularity(restaurant.getUuid());
     }
@@ -56,6 +60,7 @@ public class ItemService {
      * @param categoryUuid   The category uuid for which items has to be retrieved
      * @return The list of restaurant items matched with the category
      */
+    @Transactional(propagation = Propagation.REQUIRED, readOnly = true)
     public List<ItemEntity> getItemsByCategoryAndRestaurant(String restaurantUuid, String categoryUuid) {
         // Get Items based on restaurant uuid
         List<ItemEntity> itemsOfRestaurant = itemDao.getItemsByRestaurant(restaurantUuid);
@@ -67,7 +72,7 @@ public class ItemService {
                 if (categoryItems != null) {
                     for (ItemEntity categoryItem : categoryItems) {
                         // Check if the item belongs to one of the items in this category
-                        if (item.getId() == categoryItem.getId()) {
+                        if (item.getId().equals(categoryItem.getId())) {
                             categoryItemsOfRestaurant.add(item);
                             break;
                         }
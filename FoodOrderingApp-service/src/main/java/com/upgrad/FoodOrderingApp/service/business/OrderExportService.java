@@ -0,0 +1,80 @@
+package com.upgrad.FoodOrderingApp.service.business;
+
+import com.upgrad.FoodOrderingApp.service.dao.OrderDao;
+import com.upgrad.FoodOrderingApp.service.dao.RestaurantDao;
+import com.upgrad.FoodOrderingApp.service.export.OrderExportHandler;
+import com.upgrad.FoodOrderingApp.service.export.OrderExportItem;
+import com.upgrad.FoodOrderingApp.service.export.OrderExportRecord;
+import com.upgrad.FoodOrderingApp.service.exception.RestaurantNotFoundException;
+import com.upgrad.FoodOrderingApp.service.util.FoodOrderingUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.util.Date;
+
+@Service
+public class OrderExportService {
+
+    @Autowired
+    private OrderDao orderDao;
+
+    @Autowired
+    private RestaurantDao restaurantDao;
+
+    @Value("${foodorderingapp.export.fetch-size:500}")
+    private int fetchSize;
+
+    /**
+     * Validates the restaurant filter of the export before any data is streamed
+     *
+     * @param restaurantUUID The uuid of the restaurant to filter the orders, null or empty to export all restaurants
+     * @return The uuid of the restaurant to filter on, null if all restaurants are to be exported
+     * @throws RestaurantNotFoundException If the restaurant uuid doesn't match with any Database records
+     */
+    public String validateRestaurantFilter(String restaurantUUID) throws RestaurantNotFoundException {
+        if (FoodOrderingUtil.isInValid(restaurantUUID)) {
+            return null;
+        }
+        if (restaurantDao.getRestaurantByUUID(restaurantUUID) == null) {
+            throw new RestaurantNotFoundException("RNF-001", "No restaurant by this id");
+        }
+        return restaurantUUID;
+    }
+
+    /**
+     * Streams all the orders placed with in the date range, along with their items, to the handler
+     * The rows of an order arrive together as the query is ordered by order id, so only the order being
+     * assembled is held in memory and it is handed over as soon as the next order starts
+     *
+     * @param fromDate       The start of the date range, inclusive
+     * @param toDate         The end of the date range, exclusive
+     * @param restaurantUUID The uuid of the restaurant to filter the orders, null to export all restaurants
+     * @param handler        The handler writing each order to the export
+     * @throws IOException If the handler fails to write an order
+     */
+    @Transactional(propagation = Propagation.REQUIRED, readOnly = true)
+    public void exportOrders(Date fromDate, Date toDate, String restaurantUUID, OrderExportHandler handler) throws IOException {
+        final OrderExportRecord[] current = new OrderExportRecord[1];
+        orderDao.streamOrdersForExport(fromDate, toDate, restaurantUUID, fetchSize, row -> {
+            Integer orderId = (Integer) row[0];
+            if (current[0] == null || !current[0].getId().equals(orderId)) {
+                if (current[0] != null) {
+                    handler.handle(current[0]);
+                }
+                current[0] = new OrderExportRecord(orderId, (String) row[1], (Date) row[2], (Double) row[3],
+                        (Double) row[4], (String) row[5], (String) row[6], (String) row[7], (String) row[8], (String) row[9]);
+            }
+            // Orders without items are still exported, with an empty list of items
+            if (row[10] != null) {
+                current[0].getItems().add(new OrderExportItem((String) row[10], (String) row[11], (Integer) row[12], (Integer) row[13]));
+            }
+        });
+        if (current[0] != null) {
+            handler.handle(current[0]);
+        }
+    }
+}
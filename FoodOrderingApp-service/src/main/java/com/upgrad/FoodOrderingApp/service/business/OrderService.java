@@ -1,14 +1,16 @@
 package com.upgrad.FoodOrderingApp.service.business;
 
-import com.upgrad.FoodOrderingApp.service.dao.CouponDao;
 import com.upgrad.FoodOrderingApp.service.dao.ItemDao;
 import com.upgrad.FoodOrderingApp.service.dao.OrderDao;
+import com.upgrad.FoodOrderingApp.service.datasource.ReplicaRouting;
 import com.upgrad.FoodOrderingApp.service.entity.CouponEntity;
 import com.upgrad.FoodOrderingApp.service.entity.OrderEntity;
 import com.upgrad.FoodOrderingApp.service.entity.OrderItemEntity;
+import com.upgrad.FoodOrderingApp.service.event.OrderPlacedEvent;
 import com.upgrad.FoodOrderingApp.service.exception.CouponNotFoundException;
 import com.upgrad.FoodOrderingApp.service.util.FoodOrderingUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
@@ -21,7 +23,10 @@ import java.util.UUID;
 public class OrderService {
 
     @Autowired
-    private CouponDao couponDao;
+    private CouponRegistry couponRegistry;
+
+    @Autowired
+    private AddressService addressService;
 
     @Autowired
     private OrderDao orderDao;
@@ -29,8 +34,15 @@ public class OrderService {
     @Autowired
     private ItemDao itemDao;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ReplicaRouting replicaRouting;
+
     /**
-     * Retrieve the Coupon Information matched with the Coupon name passed
+     * Retrieve the Coupon Information matched with the Coupon name passed, ignoring the case
+     * The coupon is looked up in the coupon registry, not in the Database
      *
      * @param couponName The coupon name for which the coupon details has to be retrieved
      * @return The Coupon info matched with the coupon name
@@ -41,7 +53,7 @@ public class OrderService {
         if (FoodOrderingUtil.isInValid(couponName)) {
             throw new CouponNotFoundException("CPF-002", "Coupon name field should not be empty");
         }
-        CouponEntity coupon = couponDao.getCouponByCouponName(couponName);
+        CouponEntity coupon = couponRegistry.getCouponByCouponName(couponName);
         // No match with the Database for the coupon name
         if (coupon == null) {
             throw new CouponNotFoundException("CPF-001", "No coupon by this name");
@@ -50,7 +62,7 @@ public class OrderService {
     }
 
     /**
-     * Retrieves the coupon details from the database matched with the uuid
+     * Retrieves the coupon details from the coupon registry matched with the uuid
      * throws error message when the coupon uuid doesn't match with any record
      *
      * @param couponUUID The uuid of the coupon to be looked up in Database
@@ -58,7 +70,7 @@ public class OrderService {
      * @throws CouponNotFoundException If the coupon uuid doesn't match with database
      */
     public CouponEntity getCouponByCouponId(String couponUUID) throws CouponNotFoundException {
-        CouponEntity coupon = couponDao.getCouponByUUID(couponUUID);
+        CouponEntity coupon = couponRegistry.getCouponByUUID(couponUUID);
         if (coupon == null) {
             throw new CouponNotFoundException("CPF-002", "No coupon by this id");
         }
@@ -71,6 +83,7 @@ public class OrderService {
      * when request for delete of address, archived address will not be deleted as it is
      * linked to the order
      * Sets the current time as order save date
+     * Publishes the order placed event, which listeners receive after the order is committed
      *
      * @param order The order Entity to be saved to Database
      * @return The Persisted order after updating to the Database
@@ -80,8 +93,9 @@ public class OrderService {
         order.setUuid(UUID.randomUUID().toString());
         order.setDate(new Date());
         // Set the status of address to archive
-        order.getAddress().setActive(0);
+        order.setAddress(addressService.archiveAddress(order.getAddress(), order.getCustomer()));
         orderDao.saveOrderDetail(order);
+        eventPublisher.publishEvent(new OrderPlacedEvent(order));
         return order;
     }
 
@@ -103,8 +117,11 @@ public class OrderService {
      * @param customerUUID The uuid of the logged in customer
      * @return The list of Order details fetched from Dao (Database)
      */
+    @Transactional(propagation = Propagation.REQUIRED, readOnly = true)
     public List<OrderEntity> getOrdersByCustomers(String customerUUID) {
-        return orderDao.getPastOrdersByCustomerId(customerUUID);
+        // Read from the primary right after the customer placed an order, the replicas may not have it yet
+        return replicaRouting.onPrimaryIfWritten(ReplicaRouting.ordersKey(customerUUID),
+                () -> orderDao.getPastOrdersByCustomerId(customerUUID));
     }
 
     /**
@@ -113,7 +130,8 @@ public class OrderService {
      * @param orderId The id value of Order entity
      * @return The list of items placed with the order
      */
+    @Transactional(propagation = Propagation.REQUIRED, readOnly = true)
     public List<OrderItemEntity> getOrderItemsByOrderId(Integer orderId) {
-        return itemDao.getItemsByOrderId(orderId);
+        return replicaRouting.onPrimaryIfWritten(ReplicaRouting.orderItemsKey(orderId), () -> itemDao.getItemsByOrderId(orderId));
     }
 }
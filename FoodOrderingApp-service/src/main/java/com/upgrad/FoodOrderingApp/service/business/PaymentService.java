@@ -5,6 +5,8 @@ import com.upgrad.FoodOrderingApp.service.entity.PaymentEntity;
 import com.upgrad.FoodOrderingApp.service.exception.PaymentMethodNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -19,6 +21,7 @@ public class PaymentService {
      *
      * @return The list of payment methods
      */
+    @Transactional(propagation = Propagation.REQUIRED, readOnly = true)
     public List<PaymentEntity> getAllPaymentMethods() {
         return paymentDao.getAllPaymentMethods();
     }
@@ -30,6 +33,7 @@ public class PaymentService {
      * @return The Payment Details retrieved from Database with the matched uuid
      * @throws PaymentMethodNotFoundException If the uuid doesn't match with any Database record
      */
+    @Transactional(propagation = Propagation.REQUIRED, readOnly = true)
     public PaymentEntity getPaymentByUUID(String paymentUUID) throws PaymentMethodNotFoundException {
         PaymentEntity payment = paymentDao.getPaymentByUUID(paymentUUID);
         if (payment != null) {
@@ -0,0 +1,125 @@
+package com.upgrad.FoodOrderingApp.service.business;
+
+import com.upgrad.FoodOrderingApp.service.dao.PincodeGeoDao;
+import com.upgrad.FoodOrderingApp.service.dao.RestaurantDao;
+import com.upgrad.FoodOrderingApp.service.entity.PincodeGeoEntity;
+import com.upgrad.FoodOrderingApp.service.geo.GeoKdTree;
+import com.upgrad.FoodOrderingApp.service.geo.GeoNeighbor;
+import com.upgrad.FoodOrderingApp.service.geo.GeoPoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In memory spatial index of the restaurants, placed at the centroid of the pincode of the restaurant address
+ * The pincode centroids and the restaurant locations are reloaded periodically and the index is swapped atomically,
+ * searches never wait on the Database or on a lock
+ * Restaurants whose pincode has no centroid can't be located and are left out of the index
+ */
+@Component
+public class RestaurantLocator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RestaurantLocator.class);
+
+    @Autowired
+    private PincodeGeoDao pincodeGeoDao;
+
+    @Autowired
+    private RestaurantDao restaurantDao;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private volatile Locations locations;
+
+    /**
+     * Retrieves the centroid of the pincode
+     *
+     * @param pincode The pincode to locate
+     * @return The centroid of the pincode, null if the pincode is unknown
+     */
+    public GeoPoint locatePincode(String pincode) {
+        return getLocations().pincodes.get(pincode == null ? null : pincode.trim());
+    }
+
+    /**
+     * Finds the restaurants nearest to the point, nearest first
+     *
+     * @param point         The point to search around
+     * @param limit         The maximum number of restaurants to return
+     * @param maxDistanceKm The maximum distance of the restaurants from the point in kilometers
+     * @return The ids of the restaurants with their distance from the point, nearest first
+     */
+    public List<GeoNeighbor<Integer>> nearestRestaurants(GeoPoint point, int limit, double maxDistanceKm) {
+        return getLocations().restaurants.nearest(point, limit, maxDistanceKm);
+    }
+
+    /**
+     * Reloads the pincode centroids and the restaurant locations from the Database, at start up and then periodically
+     * so that restaurants added in the Database are picked up
+     * The previous index is kept when the Database can't be reached
+     */
+    @Scheduled(fixedDelayString = "${foodorderingapp.restaurant-locator.refresh-interval:300000}")
+    public void refresh() {
+        try {
+            locations = new TransactionTemplate(transactionManager).execute(status ->
+                    new Locations(pincodeGeoDao.getAllPincodeGeos(), restaurantDao.getRestaurantPincodes()));
+        } catch (RuntimeException exception) {
+            LOGGER.warn("Failed to refresh the restaurant locations, {}", exception.getMessage());
+        }
+    }
+
+    private Locations getLocations() {
+        Locations current = locations;
+        if (current == null) {
+            // Searched before the first scheduled load, load now so that the first search is answered
+            refresh();
+            current = locations;
+            if (current == null) {
+                return Locations.EMPTY;
+            }
+        }
+        return current;
+    }
+
+    private static final class Locations {
+        private static final Locations EMPTY = new Locations(Collections.emptyList(), Collections.emptyList());
+
+        private final Map<String, GeoPoint> pincodes;
+        private final GeoKdTree<Integer> restaurants;
+
+        private Locations(List<PincodeGeoEntity> pincodeGeos, List<Object[]> restaurantPincodes) {
+            Map<String, GeoPoint> pincodes = new HashMap<String, GeoPoint>();
+            for (PincodeGeoEntity pincodeGeo : pincodeGeos) {
+                pincodes.put(pincodeGeo.getPincode().trim(), new GeoPoint(pincodeGeo.getLatitude(), pincodeGeo.getLongitude()));
+            }
+            List<GeoPoint> points = new ArrayList<GeoPoint>(restaurantPincodes.size());
+            List<Integer> restaurantIds = new ArrayList<Integer>(restaurantPincodes.size());
+            int unlocated = 0;
+            for (Object[] restaurantPincode : restaurantPincodes) {
+                GeoPoint point = restaurantPincode[1] == null ? null : pincodes.get(restaurantPincode[1].toString().trim());
+                if (point == null) {
+                    unlocated++;
+                    continue;
+                }
+                points.add(point);
+                restaurantIds.add((Integer) restaurantPincode[0]);
+            }
+            if (unlocated > 0) {
+                LOGGER.warn("{} restaurants have a pincode without a known centroid and can't be located", unlocated);
+            }
+            this.pincodes = Collections.unmodifiableMap(pincodes);
+            this.restaurants = new GeoKdTree<Integer>(points, restaurantIds);
+        }
+    }
+}
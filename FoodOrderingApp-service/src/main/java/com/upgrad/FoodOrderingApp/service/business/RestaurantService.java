@@ -2,11 +2,15 @@ package com.upgrad.FoodOrderingApp.service.business;
 
 import com.upgrad.FoodOrderingApp.service.dao.CategoryDao;
 import com.upgrad.FoodOrderingApp.service.dao.RestaurantDao;
+import com.upgrad.FoodOrderingApp.service.entity.AddressEntity;
 import com.upgrad.FoodOrderingApp.service.entity.CategoryEntity;
 import com.upgrad.FoodOrderingApp.service.entity.RestaurantEntity;
+import com.upgrad.FoodOrderingApp.service.exception.AddressNotFoundException;
 import com.upgrad.FoodOrderingApp.service.exception.CategoryNotFoundException;
 import com.upgrad.FoodOrderingApp.service.exception.InvalidRatingException;
 import com.upgrad.FoodOrderingApp.service.exception.RestaurantNotFoundException;
+import com.upgrad.FoodOrderingApp.service.geo.GeoNeighbor;
+import com.upgrad.FoodOrderingApp.service.geo.GeoPoint;
 import com.upgrad.FoodOrderingApp.service.util.FoodOrderingUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -14,7 +18,10 @@ import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.text.DecimalFormat;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class RestaurantService {
@@ -28,11 +35,15 @@ public class RestaurantService {
     @Autowired
     private CategoryDao categoryDao;
 
+    @Autowired
+    private RestaurantLocator restaurantLocator;
+
     /**
      * Retrieves the list of available Restaurants ordered by rating descending
      *
      * @return The restaurants in sorted descending order by rating
      */
+    @Transactional(propagation = Propagation.REQUIRED, readOnly = true)
     public List<RestaurantEntity> restaurantsByRating() {
         List<RestaurantEntity> restaurants = restaurantDao.restaurantsByRating();
         return restaurants;
@@ -46,6 +57,7 @@ public class RestaurantService {
      * @throws RestaurantNotFoundException If the uuid doesn't match with any database records or
      *                                     if the restaurant uuid passed is null or empty
      */
+    @Transactional(propagation = Propagation.REQUIRED, readOnly = true)
     public RestaurantEntity restaurantByUUID(String restaurantUUID) throws RestaurantNotFoundException {
         //if the restaurant uuid passed is null or empty
         if (FoodOrderingUtil.isInValid(restaurantUUID)) {
@@ -67,6 +79,7 @@ public class RestaurantService {
      * @return list of Restaurant Entity where the name field entered by the customer is partially matching
      * @throws RestaurantNotFoundException When the name field entered by customer is empty
      */
+    @Transactional(propagation = Propagation.REQUIRED, readOnly = true)
     public List<RestaurantEntity> restaurantsByName(String restaurantName) throws RestaurantNotFoundException {
         // checks if restaurant name field entered by customer is empty or not
         if (FoodOrderingUtil.isInValid(restaurantName)) {
@@ -87,6 +100,7 @@ public class RestaurantService {
      * @throws CategoryNotFoundException If the category id field entered by the customer is empty or
      *                                   If there is no category by the uuid entered by the customer
      */
+    @Transactional(propagation = Propagation.REQUIRED, readOnly = true)
     public List<RestaurantEntity> restaurantByCategory(String uuid) throws CategoryNotFoundException {
         //If the category id field entered by the customer is empty
         if (FoodOrderingUtil.isInValid(uuid)) {
@@ -100,6 +114,47 @@ public class RestaurantService {
         return restaurantDao.restaurantByCategory(uuid);
     }
 
+    /**
+     * Retrieves the restaurants nearest to the address, searched in the spatial index of the restaurant locations
+     * Distances are measured between the centroids of the pincodes of the address and of the restaurants
+     *
+     * @param address       The address of the customer to search around
+     * @param limit         The maximum number of restaurants to return
+     * @param maxDistanceKm The maximum distance of the restaurants from the address in kilometers
+     * @return The restaurants with their distance from the address, nearest first
+     * @throws AddressNotFoundException If there is no known location for the pincode of the address
+     */
+    @Transactional(propagation = Propagation.REQUIRED, readOnly = true)
+    public List<GeoNeighbor<RestaurantEntity>> restaurantsNearby(AddressEntity address, int limit, double maxDistanceKm)
+            throws AddressNotFoundException {
+        GeoPoint location = restaurantLocator.locatePincode(address.getPincode());
+        if (location == null) {
+            throw new AddressNotFoundException("ANF-006", "No location known for the pincode of this address");
+        }
+        List<GeoNeighbor<Integer>> nearest = restaurantLocator.nearestRestaurants(location, limit, maxDistanceKm);
+        if (nearest.isEmpty()) {
+            return new ArrayList<GeoNeighbor<RestaurantEntity>>();
+        }
+        List<Integer> restaurantIds = new ArrayList<Integer>(nearest.size());
+        for (GeoNeighbor<Integer> neighbor : nearest) {
+            restaurantIds.add(neighbor.getValue());
+        }
+        // Restaurants are loaded with a single query, then put back in the order of their distance
+        Map<Integer, RestaurantEntity> restaurantsById = new HashMap<Integer, RestaurantEntity>();
+        for (RestaurantEntity restaurant : restaurantDao.getRestaurantsByIds(restaurantIds)) {
+            restaurantsById.put(restaurant.getId(), restaurant);
+        }
+        List<GeoNeighbor<RestaurantEntity>> restaurants = new ArrayList<GeoNeighbor<RestaurantEntity>>(nearest.size());
+        for (GeoNeighbor<Integer> neighbor : nearest) {
+            RestaurantEntity restaurant = restaurantsById.get(neighbor.getValue());
+            // A restaurant deleted since the locations were loaded is skipped
+            if (restaurant != null) {
+                restaurants.add(new GeoNeighbor<RestaurantEntity>(restaurant, neighbor.getDistanceKm()));
+            }
+        }
+        return restaurants;
+    }
+
     /**
      * This method is used to update the average customer rating for a particular restaurant
      *
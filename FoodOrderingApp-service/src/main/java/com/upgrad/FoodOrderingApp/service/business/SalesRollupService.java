@@ -0,0 +1,200 @@
+package com.upgrad.FoodOrderingApp.service.business;
+
+import com.upgrad.FoodOrderingApp.service.dao.RestaurantDao;
+import com.upgrad.FoodOrderingApp.service.dao.SalesRollupDao;
+import com.upgrad.FoodOrderingApp.service.entity.RestaurantEntity;
+import com.upgrad.FoodOrderingApp.service.event.OrderPlacedEvent;
+import com.upgrad.FoodOrderingApp.service.exception.RestaurantNotFoundException;
+import com.upgrad.FoodOrderingApp.service.sales.SalesBucket;
+import com.upgrad.FoodOrderingApp.service.sales.SalesGranularity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+@Service
+public class SalesRollupService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SalesRollupService.class);
+
+    @Autowired
+    private SalesRollupDao salesRollupDao;
+
+    @Autowired
+    private RestaurantDao restaurantDao;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Sales of the orders placed since the last flush keyed by order id, so that the flush can skip the orders counted by a rebuild
+    private final ConcurrentSkipListMap<Integer, PendingSale> pendingSales = new ConcurrentSkipListMap<Integer, PendingSale>();
+
+    /**
+     * Adds the placed order to the pending sales once the order is committed, so rolled back orders are never counted
+     * Orders of the same restaurant and hour are coalesced on the next flush and written with a single upsert
+     *
+     * @param event The order placed event published by the order service
+     */
+    @TransactionalEventListener
+    public void onOrderPlaced(OrderPlacedEvent event) {
+        SalesKey key = new SalesKey(event.getRestaurantId(), truncate(event.getDate(), ChronoUnit.HOURS));
+        pendingSales.put(event.getOrderId(), new PendingSale(key, new SalesDelta(1, BigDecimal.valueOf(event.getBill()))));
+    }
+
+    /**
+     * Writes the pending sales to the hourly and daily rollups by adding them to the existing buckets
+     * Runs periodically, the sales are put back to be retried on the next flush if the Database update fails
+     */
+    @Scheduled(fixedDelayString = "${foodorderingapp.sales-rollup.flush-interval:5000}")
+    public synchronized void flushPendingSales() {
+        if (pendingSales.isEmpty()) {
+            return;
+        }
+        // Removing each order atomically hands over its sale without losing the orders added while flushing
+        final Map<Integer, PendingSale> flushedSales = new HashMap<Integer, PendingSale>();
+        Map.Entry<Integer, PendingSale> pending;
+        while ((pending = pendingSales.pollFirstEntry()) != null) {
+            flushedSales.put(pending.getKey(), pending.getValue());
+        }
+        try {
+            new TransactionTemplate(transactionManager).execute(status -> {
+                // The orders counted by a rebuild since they were placed are left out
+                final Map<SalesKey, SalesDelta> hourlySales = new HashMap<SalesKey, SalesDelta>();
+                for (Integer orderId : salesRollupDao.markOrdersRolledUp(new ArrayList<Integer>(flushedSales.keySet()))) {
+                    PendingSale sale = flushedSales.get(orderId);
+                    hourlySales.merge(sale.key, sale.delta, SalesDelta::add);
+                }
+                final Map<SalesKey, SalesDelta> dailySales = new HashMap<SalesKey, SalesDelta>();
+                for (Map.Entry<SalesKey, SalesDelta> hourly : hourlySales.entrySet()) {
+                    SalesKey dayKey = new SalesKey(hourly.getKey().restaurantId, truncate(hourly.getKey().bucketStart, ChronoUnit.DAYS));
+                    dailySales.merge(dayKey, hourly.getValue(), SalesDelta::add);
+                }
+                for (Map.Entry<SalesKey, SalesDelta> hourly : hourlySales.entrySet()) {
+                    salesRollupDao.addToHourlySales(hourly.getKey().restaurantId, hourly.getKey().bucketStart,
+                            hourly.getValue().orderCount, hourly.getValue().revenue);
+                }
+                for (Map.Entry<SalesKey, SalesDelta> daily : dailySales.entrySet()) {
+                    salesRollupDao.addToDailySales(daily.getKey().restaurantId, daily.getKey().bucketStart,
+                            daily.getValue().orderCount, daily.getValue().revenue);
+                }
+                return null;
+            });
+        } catch (RuntimeException exception) {
+            LOGGER.warn("Failed to flush the sales of {} orders, retrying on the next flush", flushedSales.size(), exception);
+            pendingSales.putAll(flushedSales);
+        }
+    }
+
+    /**
+     * Flushes the sales still pending when the application is shut down
+     */
+    @EventListener(ContextClosedEvent.class)
+    public void onShutdown() {
+        flushPendingSales();
+    }
+
+    /**
+     * Retrieves the sales of the restaurant with in the range by summing the rollup buckets
+     * Orders placed since the last flush are not yet included
+     *
+     * @param restaurantUUID The uuid of the restaurant to retrieve the sales of
+     * @param granularity    The size of the buckets to be returned
+     * @param fromDate       The start of the range, inclusive
+     * @param toDate         The end of the range, exclusive
+     * @return The list of buckets with at least one order, ordered by the start of the bucket
+     * @throws RestaurantNotFoundException If the restaurant uuid doesn't match with any Database records
+     */
+    @Transactional(propagation = Propagation.REQUIRED, readOnly = true)
+    public List<SalesBucket> getSales(String restaurantUUID, SalesGranularity granularity, Date fromDate, Date toDate)
+            throws RestaurantNotFoundException {
+        RestaurantEntity restaurant = restaurantDao.getRestaurantByUUID(restaurantUUID);
+        if (restaurant == null) {
+            throw new RestaurantNotFoundException("RNF-001", "No restaurant by this id");
+        }
+        return salesRollupDao.getSales(restaurant.getId(), granularity, fromDate, toDate);
+    }
+
+    /**
+     * Recomputes the rollups from all the orders, to repair them after a failed flush or a manual change to ORDERS
+     * Each order is flagged once counted, by a flush or by the rebuild, so the pending sales of the orders the rebuild
+     * counted are skipped by the next flush of every node, and the orders placed while rebuilding are added by it
+     * A flush racing the rebuild on a new bucket fails the rebuild, which can be run again
+     *
+     * @return The number of hourly buckets rebuilt
+     */
+    public synchronized int rebuildSales() {
+        return new TransactionTemplate(transactionManager).execute(status -> salesRollupDao.rebuildSales());
+    }
+
+    private static Date truncate(Date date, ChronoUnit unit) {
+        // Buckets are in the local time of the server, the same as the order dates stored in the Database
+        return Timestamp.valueOf(LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault()).truncatedTo(unit));
+    }
+
+    private static final class SalesKey {
+        private final Integer restaurantId;
+        private final Date bucketStart;
+
+        private SalesKey(Integer restaurantId, Date bucketStart) {
+            this.restaurantId = restaurantId;
+            this.bucketStart = bucketStart;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof SalesKey)) {
+                return false;
+            }
+            SalesKey key = (SalesKey) other;
+            return restaurantId.equals(key.restaurantId) && bucketStart.getTime() == key.bucketStart.getTime();
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(restaurantId, bucketStart.getTime());
+        }
+    }
+
+    private static final class PendingSale {
+        private final SalesKey key;
+        private final SalesDelta delta;
+
+        private PendingSale(SalesKey key, SalesDelta delta) {
+            this.key = key;
+            this.delta = delta;
+        }
+    }
+
+    private static final class SalesDelta {
+        private final long orderCount;
+        private final BigDecimal revenue;
+
+        private SalesDelta(long orderCount, BigDecimal revenue) {
+            this.orderCount = orderCount;
+            this.revenue = revenue;
+        }
+
+        private SalesDelta add(SalesDelta other) {
+            return new SalesDelta(orderCount + other.orderCount, revenue.add(other.revenue));
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.upgrad.FoodOrderingApp.service.common;
+
+import com.upgrad.FoodOrderingApp.service.entity.CategoryEntity;
+import com.upgrad.FoodOrderingApp.service.entity.ItemEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * A page of the items of a category in the order of their names, with the cursor of the next page
+ * The cursor is the name and id of the last item of the page, encoded so that clients pass it back as is
+ */
+public class CategoryItemsPage {
+
+    private final CategoryEntity category;
+    private final List<ItemEntity> items;
+    private final String nextCursor;
+
+    public CategoryItemsPage(CategoryEntity category, List<ItemEntity> items, String nextCursor) {
+        this.category = category;
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * @return The category, without its items
+     */
+    public CategoryEntity getCategory() {
+        return category;
+    }
+
+    public List<ItemEntity> getItems() {
+        return items;
+    }
+
+    /**
+     * @return The cursor of the next page, null on the last page
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * @param item The last item of a page
+     * @return The cursor of the items after it
+     */
+    public static String cursorAfter(ItemEntity item) {
+        String position = item.getId() + ":" + item.getItemName();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param cursor The cursor passed by the client
+     * @return The position of the last item of the previous page
+     * @throws IllegalArgumentException If the cursor wasn't returned as a next cursor
+     */
+    public static Cursor parseCursor(String cursor) {
+        String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        int separator = position.indexOf(':');
+        if (separator < 1) {
+            throw new IllegalArgumentException("Invalid cursor " + cursor);
+        }
+        return new Cursor(position.substring(separator + 1), Integer.valueOf(position.substring(0, separator)));
+    }
+
+    /**
+     * The name and id of the item a page starts after
+     */
+    public static class Cursor {
+
+        private final String itemName;
+        private final Integer itemId;
+
+        public Cursor(String itemName, Integer itemId) {
+            this.itemName = itemName;
+            this.itemId = itemId;
+        }
+
+        public String getItemName() {
+            return itemName;
+        }
+
+        public Integer getItemId() {
+            return itemId;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.upgrad.FoodOrderingApp.service.common;
+
+/**
+ * The outcome of one customer of a bulk import, the uuid of the saved customer or the reason it was rejected
+ * The codes are the ones the sign up endpoint fails with for the same reason
+ */
+public class CustomerImportResult {
+
+    private final String uuid;
+    private final String code;
+    private final String message;
+
+    private CustomerImportResult(String uuid, String code, String message) {
+        this.uuid = uuid;
+        this.code = code;
+        this.message = message;
+    }
+
+    /**
+     * @param uuid The uuid of the saved customer
+     * @return The result of a customer saved in Database
+     */
+    public static CustomerImportResult imported(String uuid) {
+        return new CustomerImportResult(uuid, null, null);
+    }
+
+    /**
+     * @param code    The error code of the reason
+     * @param message The error message of the reason
+     * @return The result of a customer that wasn't saved
+     */
+    public static CustomerImportResult rejected(String code, String message) {
+        return new CustomerImportResult(null, code, message);
+    }
+
+    public boolean isImported() {
+        return uuid != null;
+    }
+
+    /**
+     * @return The uuid of the saved customer, null if it was rejected
+     */
+    public String getUuid() {
+        return uuid;
+    }
+
+    /**
+     * @return The error code, null if the customer was saved
+     */
+    public String getCode() {
+        return code;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
@@ -10,7 +10,28 @@ public enum GenericErrorCode implements ErrorCode {
      * <b>Cause:</b> This error could have occurred due to undetermined runtime errors.<br>
      * <b>Action: None</b><br>
      */
-    GEN_001("GEN-001", "An unexpected error occurred. Please contact System Administrator");
+    GEN_001("GEN-001", "An unexpected error occurred. Please contact System Administrator"),
+
+    /**
+     * Error message: <b>The service is busy. Please try again later</b><br>
+     * <b>Cause:</b> Too many Database lookups are waiting to run.<br>
+     * <b>Action: Retry the request later</b><br>
+     */
+    GEN_002("GEN-002", "The service is busy. Please try again later"),
+
+    /**
+     * Error message: <b>The request timed out. Please try again later</b><br>
+     * <b>Cause:</b> A Database lookup didn't complete in time.<br>
+     * <b>Action: Retry the request later</b><br>
+     */
+    GEN_003("GEN-003", "The request timed out. Please try again later"),
+
+    /**
+     * Error message: <b>Too many requests. Please try again later</b><br>
+     * <b>Cause:</b> The client used up the request budget of the endpoint.<br>
+     * <b>Action: Retry the request after the Retry-After seconds</b><br>
+     */
+    GEN_004("GEN-004", "Too many requests. Please try again later");
 
     private static final Map<String, GenericErrorCode> LOOKUP = new HashMap<String, GenericErrorCode>();
 
@@ -4,6 +4,7 @@ import com.upgrad.FoodOrderingApp.service.entity.AddressEntity;
 import com.upgrad.FoodOrderingApp.service.entity.CustomerAddressEntity;
 import com.upgrad.FoodOrderingApp.service.entity.CustomerEntity;
 import com.upgrad.FoodOrderingApp.service.entity.StateEntity;
+import org.hibernate.jpa.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import javax.persistence.EntityManager;
@@ -60,7 +61,8 @@ public class AddressDao {
      * @return list of Address Entity
      */
     public List<AddressEntity> getAllAddress(CustomerEntity customerEntity) {
-        return entityManager.createNamedQuery("allAddressesForCustomer", AddressEntity.class).setParameter("customerId", customerEntity.getId()).getResultList();
+        return entityManager.createNamedQuery("allAddressesForCustomer", AddressEntity.class).setParameter("customerId", customerEntity.getId())
+                .setHint(QueryHints.HINT_FETCHGRAPH, entityManager.getEntityGraph("addressWithState")).getResultList();
     }
 
     /**
@@ -78,6 +80,23 @@ public class AddressDao {
 
     }
 
+    /**
+     * This method is used to get the Address Entity matching the address Uuid, only if the address belongs to the customer
+     * The address and its owner are checked with a single joined query
+     *
+     * @param addressId  address Uuid that is passed in request
+     * @param customerId id of the customer who has logged in
+     * @return Address Entity that matches with the address Uuid and belongs to the customer, null otherwise
+     */
+    public AddressEntity getAddressByUUIDForCustomer(String addressId, Integer customerId) {
+        try {
+            return entityManager.createNamedQuery("addressByUuidForCustomer", AddressEntity.class)
+                    .setParameter("addressUUID", addressId).setParameter("customerId", customerId).getSingleResult();
+        } catch (NoResultException nre) {
+            return null;
+        }
+    }
+
     /**
      * This method is used to get the Customer Address Entity matching the address Uuid passed in request
      *
@@ -99,10 +118,29 @@ public class AddressDao {
      * @return Address Entity which is deleted
      */
     public AddressEntity deleteAddress(AddressEntity addressEntity) {
-        entityManager.remove(addressEntity);
+        // The address may be a copy handed out by the address book cache, which has to be merged before removal
+        entityManager.remove(entityManager.contains(addressEntity) ? addressEntity : entityManager.merge(addressEntity));
         return addressEntity;
     }
 
+    /**
+     * This method is used to archive the Address Entity in database with a single update, without loading the address
+     * The address is usually a copy handed out by the address book cache, merging it would read the address first
+     *
+     * @param addressEntity Address Entity that needed to be archived
+     * @return Address Entity managed by the persistence context, a reference loaded on first access unless it was
+     * already loaded
+     */
+    public AddressEntity archiveAddress(AddressEntity addressEntity) {
+        addressEntity.setActive(0);
+        if (entityManager.contains(addressEntity)) {
+            // Written by the flush like any other change
+            return addressEntity;
+        }
+        entityManager.createNamedQuery("archiveAddressById").setParameter("addressId", addressEntity.getId()).executeUpdate();
+        return entityManager.getReference(AddressEntity.class, addressEntity.getId());
+    }
+
     /**
      * This will search for all the states in the data base
      *
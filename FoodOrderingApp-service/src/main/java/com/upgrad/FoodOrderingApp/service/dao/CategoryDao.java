@@ -1,11 +1,13 @@
 package com.upgrad.FoodOrderingApp.service.dao;
 
+import com.upgrad.FoodOrderingApp.service.common.CategoryItemsPage;
 import com.upgrad.FoodOrderingApp.service.entity.CategoryEntity;
 import org.springframework.stereotype.Repository;
 
 import javax.persistence.EntityManager;
 import javax.persistence.NoResultException;
 import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
 import java.util.List;
 
 @Repository
@@ -36,4 +38,25 @@ public class CategoryDao {
             return null;
         }
     }
+
+    /**
+     * Retrieves a page of the items of the category along with the category, in the order of the item names
+     * The rows hold the category uuid and name and the item id, uuid, name, price and type. The first page of every
+     * category is served from the query cache
+     *
+     * @param categoryUUID The uuid of the category
+     * @param maxResults   The maximum number of items to retrieve
+     * @param after        The position of the item to start after, null for the first page
+     * @return The rows of the items, empty if the category has no items after the position or doesn't exist
+     */
+    public List<Object[]> getCategoryItems(String categoryUUID, int maxResults, CategoryItemsPage.Cursor after) {
+        TypedQuery<Object[]> query;
+        if (after == null) {
+            query = entityManager.createNamedQuery("firstItemsByCategoryUUID", Object[].class);
+        } else {
+            query = entityManager.createNamedQuery("itemsByCategoryUUIDAfter", Object[].class)
+                    .setParameter("itemName", after.getItemName()).setParameter("itemId", after.getItemId());
+        }
+        return query.setParameter("categoryUUID", categoryUUID).setMaxResults(maxResults).getResultList();
+    }
 }
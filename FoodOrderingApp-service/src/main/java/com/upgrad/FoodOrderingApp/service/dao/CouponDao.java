@@ -15,21 +15,16 @@ public class CouponDao {
     private EntityManager entityManager;
 
     /**
-     * Retrieves the Coupon Entity matched with the coupon name
+     * Retrieves the Coupon Entity matched with the coupon name ignoring the case
+     * The coupon names are unique ignoring the case, enforced by the unique index on lower(coupon_name)
      *
      * @param couponName The coupon name to be searched in Database
-     * @return The Coupon Entity matched with the coupon name
+     * @return The Coupon Entity matched with the coupon name, null otherwise
      */
     public CouponEntity getCouponByCouponName(String couponName) {
         try {
-            // Reading as List, if there are several records matching with the same coupon, take the first coupon record
-            List<CouponEntity> couponList = entityManager.createNamedQuery("couponByCouponName", CouponEntity.class).setParameter("couponName", couponName).getResultList();
-            if (couponList != null && !couponList.isEmpty()) {
-                return couponList.get(0);
-            } else {
-                return null;
-            }
-        } catch (NoResultException e) {
+            return entityManager.createNamedQuery("couponByCouponName", CouponEntity.class).setParameter("couponName", couponName).getSingleResult();
+        } catch (NoResultException nre) {
             return null;
         }
     }
@@ -47,4 +42,13 @@ public class CouponDao {
             return null;
         }
     }
-}
+
+    /**
+     * Retrieves all the coupons available in the Database
+     *
+     * @return The list of all the Coupon Entities
+     */
+    public List<CouponEntity> getAllCoupons() {
+        return entityManager.createNamedQuery("allCoupons", CouponEntity.class).getResultList();
+    }
+}
\ No newline at end of file
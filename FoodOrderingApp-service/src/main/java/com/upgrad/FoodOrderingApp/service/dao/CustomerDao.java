@@ -2,11 +2,17 @@ package com.upgrad.FoodOrderingApp.service.dao;
 
 import com.upgrad.FoodOrderingApp.service.entity.CustomerAuthEntity;
 import com.upgrad.FoodOrderingApp.service.entity.CustomerEntity;
+import org.hibernate.Session;
+import org.hibernate.jpa.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import javax.persistence.EntityManager;
 import javax.persistence.NoResultException;
 import javax.persistence.PersistenceContext;
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 
 @Repository
 public class CustomerDao {
@@ -40,6 +46,52 @@ public class CustomerDao {
         }
     }
 
+    /**
+     * Retrieves which of the Contact Numbers are already registered, with one query
+     *
+     * @param contactNumbers The Contact Numbers to be checked
+     * @return The Contact Numbers registered to a Customer
+     */
+    public List<String> getRegisteredContactNumbers(Collection<String> contactNumbers) {
+        if (contactNumbers.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return entityManager.createNamedQuery("registeredContactNumbers", String.class)
+                .setParameter("contactNumbers", contactNumbers).getResultList();
+    }
+
+    /**
+     * Saves the Customers to Database with JDBC batches instead of one insert round trip per Customer
+     * The ids of the Customers are not read back, the Customers are not attached to the persistence context
+     *
+     * @param customers The Customers to be saved, with their uuid and encrypted password set
+     * @param batchSize The number of inserts sent to the Database per round trip
+     */
+    public void saveCustomersInBatches(List<CustomerEntity> customers, int batchSize) {
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("INSERT INTO CUSTOMER" +
+                    "(uuid, firstname, lastname, email, contact_number, password, salt) VALUES (?, ?, ?, ?, ?, ?, ?)")) {
+                int batched = 0;
+                for (CustomerEntity customer : customers) {
+                    statement.setString(1, customer.getUuid());
+                    statement.setString(2, customer.getFirstName());
+                    statement.setString(3, customer.getLastName());
+                    statement.setString(4, customer.getEmail());
+                    statement.setString(5, customer.getContactNumber());
+                    statement.setString(6, customer.getPassword());
+                    statement.setString(7, customer.getSalt());
+                    statement.addBatch();
+                    if (++batched % batchSize == 0) {
+                        statement.executeBatch();
+                    }
+                }
+                if (batched % batchSize != 0) {
+                    statement.executeBatch();
+                }
+            }
+        });
+    }
+
     /**
      * Update the Customer Record with the updated first name or last name based on customer request
      *
@@ -72,7 +124,8 @@ public class CustomerDao {
     public CustomerAuthEntity getCustomerAuthByAccessToken(String accessToken) {
         try {
             return entityManager.createNamedQuery("customerAuthByAccessToken", CustomerAuthEntity.class)
-                    .setParameter("accessToken", accessToken).getSingleResult();
+                    .setParameter("accessToken", accessToken)
+                    .setHint(QueryHints.HINT_FETCHGRAPH, entityManager.getEntityGraph("customerAuthWithCustomer")).getSingleResult();
         } catch (NoResultException nre) {
             return null;
         }
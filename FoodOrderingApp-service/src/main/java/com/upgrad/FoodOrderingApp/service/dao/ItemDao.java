@@ -2,6 +2,7 @@ package com.upgrad.FoodOrderingApp.service.dao;
 
 import com.upgrad.FoodOrderingApp.service.entity.ItemEntity;
 import com.upgrad.FoodOrderingApp.service.entity.OrderItemEntity;
+import org.hibernate.jpa.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import javax.persistence.EntityManager;
@@ -36,7 +37,8 @@ public class ItemDao {
      * @return The list of items linked to an order
      */
     public List<OrderItemEntity> getItemsByOrderId(Integer orderId) {
-        return entityManager.createNamedQuery("itemsByOrderId", OrderItemEntity.class).setParameter("id", orderId).getResultList();
+        return entityManager.createNamedQuery("itemsByOrderId", OrderItemEntity.class).setParameter("id", orderId)
+                .setHint(QueryHints.HINT_FETCHGRAPH, entityManager.getEntityGraph("orderItemWithItem")).getResultList();
     }
 
     /**
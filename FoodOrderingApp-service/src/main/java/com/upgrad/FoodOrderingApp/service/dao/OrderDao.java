@@ -1,11 +1,25 @@
 package com.upgrad.FoodOrderingApp.service.dao;
 
+import com.upgrad.FoodOrderingApp.service.entity.AddressEntity;
+import com.upgrad.FoodOrderingApp.service.entity.CouponEntity;
+import com.upgrad.FoodOrderingApp.service.entity.CustomerEntity;
 import com.upgrad.FoodOrderingApp.service.entity.OrderEntity;
 import com.upgrad.FoodOrderingApp.service.entity.OrderItemEntity;
+import com.upgrad.FoodOrderingApp.service.entity.PaymentEntity;
+import com.upgrad.FoodOrderingApp.service.entity.StateEntity;
+import org.hibernate.CacheMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.jpa.QueryHints;
+import org.hibernate.query.Query;
 import org.springframework.stereotype.Repository;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 
 @Repository
@@ -38,11 +52,72 @@ public class OrderDao {
 
     /**
      * Retrieves the list of previously placed orders ordered by the date placed descending
+     * Only the columns the order history shows are read, as scalar rows never attached to the persistence context,
+     * the orders returned are detached and carry nothing else, the password and salt of the customer included
      *
      * @param customerUUID The uuid of the customer for which orders has to be retrieved
      * @return The Order details sorted in descending order of the date placed
      */
     public List<OrderEntity> getPastOrdersByCustomerId(String customerUUID) {
-        return entityManager.createNamedQuery("pastOrdersByCustomerUUID", OrderEntity.class).setParameter("customerUUID", customerUUID).getResultList();
+        List<Object[]> rows = entityManager.createNamedQuery("pastOrdersByCustomerUUID", Object[].class)
+                .setParameter("customerUUID", customerUUID).setHint(QueryHints.HINT_READONLY, true).getResultList();
+        List<OrderEntity> orders = new ArrayList<OrderEntity>(rows.size());
+        for (Object[] row : rows) {
+            orders.add(toPastOrder(row));
+        }
+        return orders;
+    }
+
+    // Maps a row of pastOrdersByCustomerUUID, in the order of its select clause
+    private static OrderEntity toPastOrder(Object[] row) {
+        CouponEntity coupon = row[5] == null ? null : new CouponEntity((String) row[5], (String) row[6], (Integer) row[7]);
+        PaymentEntity payment = row[8] == null ? null : new PaymentEntity((String) row[8], (String) row[9]);
+        CustomerEntity customer = new CustomerEntity();
+        customer.setUuid((String) row[10]);
+        customer.setFirstName((String) row[11]);
+        customer.setLastName((String) row[12]);
+        customer.setEmail((String) row[13]);
+        customer.setContactNumber((String) row[14]);
+        AddressEntity address = new AddressEntity((String) row[15], (String) row[16], (String) row[17], (String) row[18],
+                (String) row[19], new StateEntity((String) row[20], (String) row[21]));
+        OrderEntity order = new OrderEntity((String) row[1], (Double) row[2], coupon, (Double) row[3], (Date) row[4],
+                payment, customer, address, null);
+        order.setId((Integer) row[0]);
+        return order;
+    }
+
+    /**
+     * Streams the orders placed with in the date range along with their items as scalar rows
+     * Rows are read through a forward only server side cursor with a bounded fetch size and are never
+     * attached to the persistence context, so memory use doesn't grow with the number of orders
+     *
+     * @param fromDate       The start of the date range, inclusive
+     * @param toDate         The end of the date range, exclusive
+     * @param restaurantUUID The uuid of the restaurant to filter the orders, null to export all restaurants
+     * @param fetchSize      The number of rows fetched from the Database per round trip
+     * @param rowHandler     The handler receiving each row, ordered by order id and order item id
+     * @throws IOException If the handler fails to write the row
+     */
+    public void streamOrdersForExport(Date fromDate, Date toDate, String restaurantUUID, int fetchSize,
+                                      ExportRowHandler rowHandler) throws IOException {
+        Session session = entityManager.unwrap(Session.class);
+        Query<?> query = session.createNamedQuery(restaurantUUID == null ? "ordersForExport" : "ordersForExportByRestaurant")
+                .setParameter("fromDate", fromDate).setParameter("toDate", toDate);
+        if (restaurantUUID != null) {
+            query.setParameter("restaurantUUID", restaurantUUID);
+        }
+        query.setFetchSize(fetchSize).setReadOnly(true).setCacheable(false).setCacheMode(CacheMode.IGNORE);
+        try (ScrollableResults rows = query.scroll(ScrollMode.FORWARD_ONLY)) {
+            while (rows.next()) {
+                rowHandler.handle(rows.get());
+            }
+        }
+    }
+
+    /**
+     * Receives the scalar rows of the order export query
+     */
+    public interface ExportRowHandler {
+        void handle(Object[] row) throws IOException;
     }
 }
@@ -0,0 +1,24 @@
+package com.upgrad.FoodOrderingApp.service.dao;
+
+import com.upgrad.FoodOrderingApp.service.entity.PincodeGeoEntity;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.List;
+
+@Repository
+public class PincodeGeoDao {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Retrieves the centroid of every pincode
+     *
+     * @return The list of all the Pincode Geo Entity from the Database
+     */
+    public List<PincodeGeoEntity> getAllPincodeGeos() {
+        return entityManager.createNamedQuery("allPincodeGeos", PincodeGeoEntity.class).getResultList();
+    }
+}
@@ -1,11 +1,16 @@
 package com.upgrad.FoodOrderingApp.service.dao;
 
+import com.upgrad.FoodOrderingApp.service.entity.AddressEntity;
 import com.upgrad.FoodOrderingApp.service.entity.RestaurantEntity;
+import com.upgrad.FoodOrderingApp.service.entity.StateEntity;
+import org.hibernate.jpa.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.EntityGraph;
 import javax.persistence.EntityManager;
 import javax.persistence.NoResultException;
 import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
 import java.util.List;
 
 @Repository
@@ -16,11 +21,19 @@ public class RestaurantDao {
 
     /**
      * Retrieve all the restaurants by descending order of their ratings
+     * Only the columns the restaurant list shows are read, as scalar rows never attached to the persistence context,
+     * the restaurants returned are detached and carry nothing else
      *
      * @return The list of sorted restaurants from the Database
      */
     public List<RestaurantEntity> restaurantsByRating() {
-        return entityManager.createNamedQuery("restaurantsByRating", RestaurantEntity.class).getResultList();
+        List<Object[]> rows = entityManager.createNamedQuery("restaurantsByRating", Object[].class)
+                .setHint(QueryHints.HINT_READONLY, true).getResultList();
+        List<RestaurantEntity> restaurants = new ArrayList<RestaurantEntity>(rows.size());
+        for (Object[] row : rows) {
+            restaurants.add(toRestaurant(row));
+        }
+        return restaurants;
     }
 
     /**
@@ -31,7 +44,8 @@ public class RestaurantDao {
      */
     public RestaurantEntity getRestaurantByUUID(String restaurantUUID) {
         try {
-            return entityManager.createNamedQuery("restaurantByUUID", RestaurantEntity.class).setParameter("restaurantUUID", restaurantUUID).getSingleResult();
+            return entityManager.createNamedQuery("restaurantByUUID", RestaurantEntity.class).setParameter("restaurantUUID", restaurantUUID)
+                    .setHint(QueryHints.HINT_FETCHGRAPH, restaurantWithAddress()).getSingleResult();
         } catch (NoResultException nre) {
             return null;
         }
@@ -46,7 +60,7 @@ public class RestaurantDao {
      */
     public List<RestaurantEntity> restaurantsByName(String likeRestaurantName) {
         return entityManager.createNamedQuery("restaurantsByName", RestaurantEntity.class).
-                setParameter("likeRestaurantName", likeRestaurantName).getResultList();
+                setParameter("likeRestaurantName", likeRestaurantName).setHint(QueryHints.HINT_FETCHGRAPH, restaurantWithAddress()).getResultList();
     }
 
     /**
@@ -57,7 +71,7 @@ public class RestaurantDao {
      */
     public List<RestaurantEntity> restaurantByCategory(String uuid) {
         return entityManager.createNamedQuery("restaurantsByCategory", RestaurantEntity.class).
-                setParameter("uuid", uuid).getResultList();
+                setParameter("uuid", uuid).setHint(QueryHints.HINT_FETCHGRAPH, restaurantWithAddress()).getResultList();
     }
 
     /**
@@ -75,6 +89,26 @@ public class RestaurantDao {
         }
     }
 
+    /**
+     * Retrieves the id of every restaurant with the pincode of the restaurant address
+     *
+     * @return The restaurant id and pincode pairs
+     */
+    public List<Object[]> getRestaurantPincodes() {
+        return entityManager.createNamedQuery("restaurantPincodes", Object[].class).getResultList();
+    }
+
+    /**
+     * Retrieves the restaurants matched with the ids, in no particular order
+     *
+     * @param restaurantIds The ids of the restaurants to retrieve
+     * @return The list of Restaurant Entity matched with the ids
+     */
+    public List<RestaurantEntity> getRestaurantsByIds(List<Integer> restaurantIds) {
+        return entityManager.createNamedQuery("restaurantsByIds", RestaurantEntity.class)
+                .setParameter("restaurantIds", restaurantIds).setHint(QueryHints.HINT_FETCHGRAPH, restaurantWithAddress()).getResultList();
+    }
+
     /**
      * This method is used to update the customer rating for a restaurant
      *
@@ -86,4 +120,24 @@ public class RestaurantDao {
         return updatedRestaurantEntity;
     }
 
+    // Maps a row of restaurantsByRating, in the order of its select clause
+    private static RestaurantEntity toRestaurant(Object[] row) {
+        RestaurantEntity restaurant = new RestaurantEntity();
+        restaurant.setId((Integer) row[0]);
+        restaurant.setUuid((String) row[1]);
+        restaurant.setRestaurantName((String) row[2]);
+        restaurant.setPhotoUrl((String) row[3]);
+        restaurant.setCustomerRating((Double) row[4]);
+        restaurant.setAvgPrice((Integer) row[5]);
+        restaurant.setNumberCustomersRated((Integer) row[6]);
+        restaurant.setAddress(new AddressEntity((String) row[7], (String) row[8], (String) row[9], (String) row[10],
+                (String) row[11], new StateEntity((String) row[12], (String) row[13])));
+        return restaurant;
+    }
+
+    // The restaurants are shown with the state of their address, which is fetched lazily otherwise
+    private EntityGraph<?> restaurantWithAddress() {
+        return entityManager.getEntityGraph("restaurantWithAddress");
+    }
+
 }
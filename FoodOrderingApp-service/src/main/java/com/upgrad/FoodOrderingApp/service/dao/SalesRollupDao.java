@@ -0,0 +1,149 @@
+package com.upgrad.FoodOrderingApp.service.dao;
+
+import com.upgrad.FoodOrderingApp.service.sales.SalesBucket;
+import com.upgrad.FoodOrderingApp.service.sales.SalesGranularity;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TemporalType;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+@Repository
+public class SalesRollupDao {
+
+    private static final String HOURLY_TABLE = "RESTAURANT_SALES_HOURLY";
+    private static final String DAILY_TABLE = "RESTAURANT_SALES_DAILY";
+
+    // Bind parameters of a statement stay well under the PostgreSQL limit of 32767
+    private static final int MAX_IDS_PER_STATEMENT = 1000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Adds the order count and revenue to the hourly rollup of the restaurant, inserting the bucket if not present
+     *
+     * @param restaurantId The id of the restaurant the orders were placed with
+     * @param bucketStart  The start of the hour the orders were placed in
+     * @param orderCount   The number of orders to add to the bucket
+     * @param revenue      The sum of the bills to add to the bucket
+     */
+    public void addToHourlySales(Integer restaurantId, Date bucketStart, long orderCount, BigDecimal revenue) {
+        addToSales(HOURLY_TABLE, restaurantId, bucketStart, orderCount, revenue);
+    }
+
+    /**
+     * Adds the order count and revenue to the daily rollup of the restaurant, inserting the bucket if not present
+     *
+     * @param restaurantId The id of the restaurant the orders were placed with
+     * @param bucketStart  The start of the day the orders were placed in
+     * @param orderCount   The number of orders to add to the bucket
+     * @param revenue      The sum of the bills to add to the bucket
+     */
+    public void addToDailySales(Integer restaurantId, Date bucketStart, long orderCount, BigDecimal revenue) {
+        addToSales(DAILY_TABLE, restaurantId, bucketStart, orderCount, revenue);
+    }
+
+    private void addToSales(String table, Integer restaurantId, Date bucketStart, long orderCount, BigDecimal revenue) {
+        entityManager.createNativeQuery("INSERT INTO " + table + "(restaurant_id, bucket_start, order_count, revenue) " +
+                "VALUES (:restaurantId, :bucketStart, :orderCount, :revenue) " +
+                "ON CONFLICT (restaurant_id, bucket_start) DO UPDATE SET " +
+                "order_count = " + table + ".order_count + EXCLUDED.order_count, " +
+                "revenue = " + table + ".revenue + EXCLUDED.revenue")
+                .setParameter("restaurantId", restaurantId).setParameter("bucketStart", bucketStart, TemporalType.TIMESTAMP)
+                .setParameter("orderCount", orderCount).setParameter("revenue", revenue).executeUpdate();
+    }
+
+    /**
+     * Retrieves the sales buckets of the restaurant with in the range, ordered by the start of the bucket
+     * Only the buckets with at least one order are returned
+     *
+     * @param restaurantId The id of the restaurant to retrieve the sales of
+     * @param granularity  The size of the buckets to be returned
+     * @param fromDate     The start of the range, inclusive
+     * @param toDate       The end of the range, exclusive
+     * @return The list of sales buckets in the range
+     */
+    public List<SalesBucket> getSales(Integer restaurantId, SalesGranularity granularity, Date fromDate, Date toDate) {
+        String query;
+        switch (granularity) {
+            case HOUR:
+                query = "SELECT bucket_start, order_count, revenue FROM " + HOURLY_TABLE +
+                        " WHERE restaurant_id = :restaurantId AND bucket_start >= :fromDate AND bucket_start < :toDate" +
+                        " ORDER BY bucket_start";
+                break;
+            case DAY:
+                query = "SELECT bucket_start, order_count, revenue FROM " + DAILY_TABLE +
+                        " WHERE restaurant_id = :restaurantId AND bucket_start >= :fromDate AND bucket_start < :toDate" +
+                        " ORDER BY bucket_start";
+                break;
+            default:
+                // Months are summed from the daily rollup, at most 31 rows per bucket
+                query = "SELECT date_trunc('month', bucket_start), SUM(order_count), SUM(revenue) FROM " + DAILY_TABLE +
+                        " WHERE restaurant_id = :restaurantId AND bucket_start >= :fromDate AND bucket_start < :toDate" +
+                        " GROUP BY 1 ORDER BY 1";
+        }
+        List<?> rows = entityManager.createNativeQuery(query).setParameter("restaurantId", restaurantId)
+                .setParameter("fromDate", fromDate, TemporalType.TIMESTAMP).setParameter("toDate", toDate, TemporalType.TIMESTAMP).getResultList();
+        List<SalesBucket> buckets = new ArrayList<SalesBucket>(rows.size());
+        for (Object result : rows) {
+            Object[] row = (Object[]) result;
+            buckets.add(new SalesBucket((Date) row[0], ((Number) row[1]).longValue(), (BigDecimal) row[2]));
+        }
+        return buckets;
+    }
+
+    /**
+     * Flags the orders as counted in the rollups, skipping the orders counted already by a rebuild or by another node
+     * The orders are locked until the transaction ends, so a rebuild waits for the flush counting them
+     *
+     * @param orderIds The ids of the orders about to be added to the rollups
+     * @return The ids of the orders flagged, the only ones to be added
+     */
+    public List<Integer> markOrdersRolledUp(List<Integer> orderIds) {
+        List<Integer> rolledUpIds = new ArrayList<Integer>(orderIds.size());
+        for (int from = 0; from < orderIds.size(); from += MAX_IDS_PER_STATEMENT) {
+            List<?> ids = entityManager.createNativeQuery("SELECT id FROM ORDERS WHERE id IN (:orderIds) AND NOT sales_rolled_up FOR UPDATE")
+                    .setParameter("orderIds", orderIds.subList(from, Math.min(from + MAX_IDS_PER_STATEMENT, orderIds.size())))
+                    .getResultList();
+            if (ids.isEmpty()) {
+                continue;
+            }
+            entityManager.createNativeQuery("UPDATE ORDERS SET sales_rolled_up = TRUE WHERE id IN (:orderIds)")
+                    .setParameter("orderIds", ids).executeUpdate();
+            for (Object id : ids) {
+                rolledUpIds.add(((Number) id).intValue());
+            }
+        }
+        return rolledUpIds;
+    }
+
+    /**
+     * Recomputes both the rollups from the orders, replacing the existing buckets
+     * Every order not counted yet is flagged first, waiting for the flushes holding them, and only the flagged orders
+     * are summed. The orders placed meanwhile are left to the flush of their node. A flush adding a bucket while
+     * rebuilding fails the rebuild on the primary key instead of being counted twice
+     *
+     * @return The number of hourly buckets rebuilt
+     */
+    public int rebuildSales() {
+        entityManager.createNativeQuery("UPDATE ORDERS SET sales_rolled_up = TRUE WHERE NOT sales_rolled_up").executeUpdate();
+        entityManager.createNativeQuery("DELETE FROM " + HOURLY_TABLE).executeUpdate();
+        entityManager.createNativeQuery("DELETE FROM " + DAILY_TABLE).executeUpdate();
+        int hourlyBuckets = entityManager.createNativeQuery("INSERT INTO " + HOURLY_TABLE +
+                "(restaurant_id, bucket_start, order_count, revenue) " +
+                "SELECT restaurant_id, date_trunc('hour', date), COUNT(*), SUM(bill) FROM ORDERS WHERE sales_rolled_up GROUP BY 1, 2")
+                .executeUpdate();
+        // Days are summed from the hourly buckets just written rather than scanning the orders again
+        entityManager.createNativeQuery("INSERT INTO " + DAILY_TABLE +
+                "(restaurant_id, bucket_start, order_count, revenue) " +
+                "SELECT restaurant_id, date_trunc('day', bucket_start), SUM(order_count), SUM(revenue) FROM " +
+                HOURLY_TABLE + " GROUP BY 1, 2")
+                .executeUpdate();
+        return hourlyBuckets;
+    }
+}
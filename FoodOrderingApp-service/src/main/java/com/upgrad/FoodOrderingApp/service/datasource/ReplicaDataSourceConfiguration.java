@@ -0,0 +1,61 @@
+package com.upgrad.FoodOrderingApp.service.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Replaces the DataSource of spring.datasource with one routing the read only transactions to the read replicas
+ * Only enabled with foodorderingapp.replicas.enabled, all the statements go to spring.datasource otherwise
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "foodorderingapp.replicas", name = "enabled", havingValue = "true")
+public class ReplicaDataSourceConfiguration {
+
+    // The session kept open for the view of a request would otherwise keep the connection of its first transaction, a
+    // write following a read only transaction would go to the replica
+    private static final String CONNECTION_HANDLING = "hibernate.connection.handling_mode";
+
+    // Applied by the entity manager factory to its properties, after those of spring.jpa.properties
+    @Bean
+    public HibernatePropertiesCustomizer replicaConnectionHandlingCustomizer() {
+        return properties -> properties.putIfAbsent(CONNECTION_HANDLING, "DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION");
+    }
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties primaryProperties, ReplicaProperties replicaProperties,
+                                 ReplicaRouting replicaRouting) {
+        HikariDataSource primary = primaryProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primary.setPoolName(ReplicaRouting.PRIMARY);
+        Map<String, DataSource> replicas = new LinkedHashMap<String, DataSource>();
+        for (ReplicaProperties.Replica replica : replicaProperties.getDatasources()) {
+            String name = replica.getName() != null ? replica.getName() : "replica-" + (replicas.size() + 1);
+            if (replicas.containsKey(name) || ReplicaRouting.PRIMARY.equals(name)) {
+                throw new IllegalStateException("Replica name " + name + " is used twice");
+            }
+            HikariDataSource replicaDataSource = DataSourceBuilder.create(primaryProperties.getClassLoader())
+                    .type(HikariDataSource.class)
+                    .driverClassName(primaryProperties.determineDriverClassName())
+                    .url(replica.getUrl())
+                    .username(replica.getUsername())
+                    .password(replica.getPassword())
+                    .build();
+            replicaDataSource.setPoolName(name);
+            replicaDataSource.setReadOnly(true);
+            // Also the login timeout of the connections, a replica that stopped responding fails the lag check and the
+            // reads waiting for a connection in time for the next check to leave it out
+            replicaDataSource.setConnectionTimeout(Math.max(250, replicaRouting.getLagCheckTimeoutMillis()));
+            replicas.put(name, replicaDataSource);
+        }
+        replicaRouting.setReplicas(replicas);
+        return new ReplicaRoutingDataSource(primary, replicas, replicaRouting);
+    }
+}
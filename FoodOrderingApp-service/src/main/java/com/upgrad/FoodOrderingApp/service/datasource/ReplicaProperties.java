@@ -0,0 +1,70 @@
+package com.upgrad.FoodOrderingApp.service.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Connection settings of the read replicas, from foodorderingapp.replicas.datasources
+ * The driver and the pool settings are the ones of the primary spring.datasource
+ */
+@Component
+@ConfigurationProperties("foodorderingapp.replicas")
+public class ReplicaProperties {
+
+    private List<Replica> datasources = new ArrayList<Replica>();
+
+    public List<Replica> getDatasources() {
+        return datasources;
+    }
+
+    public void setDatasources(List<Replica> datasources) {
+        this.datasources = datasources;
+    }
+
+    public static class Replica {
+
+        // Reported in the statistics and used as the pool name, replica-1, replica-2 and so on when not set
+        private String name;
+
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+    }
+}
@@ -0,0 +1,333 @@
+package com.upgrad.FoodOrderingApp.service.datasource;
+
+import com.upgrad.FoodOrderingApp.service.event.OrderPlacedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Chooses the Database a connection is taken from
+ * Connections of read only transactions go to the replicas in turn, all the others go to the primary. A replica
+ * lagging behind the primary by more than the maximum lag is left out until it catches up, the primary serves the reads
+ * when no replica is left
+ * The reads of a request that placed an order, and the reads of the data a customer changed within the lag window, go
+ * to the primary, so that a customer always reads their own writes
+ */
+@Component
+@ManagedResource(objectName = "FoodOrderingApp:type=ReplicaRouting", description = "Connections routed to the primary and to the read replicas")
+public class ReplicaRouting {
+
+    // Lookup key of the primary
+    public static final String PRIMARY = "primary";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReplicaRouting.class);
+
+    // Seconds the replica is behind the primary, 0 when it replayed everything it received or isn't a standby
+    private static final String POSTGRESQL_LAG_QUERY = "SELECT COALESCE(CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END, 0)";
+
+    private final long maxLagMillis;
+
+    private final String lagQuery;
+
+    private final long lagCheckTimeoutMillis;
+
+    // A write is on every replica in use once the lag of the replicas was checked again after the maximum lag
+    private final long readYourWritesNanos;
+
+    private volatile List<Replica> replicas = Collections.emptyList();
+
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    // Set on the thread of a request that placed an order, and while reading data written within the lag window
+    private final ThreadLocal<Boolean> pinnedToPrimary = new ThreadLocal<Boolean>();
+
+    // Time until which the reads of the key go to the primary in nanoseconds, keyed by the data written
+    private final ConcurrentMap<String, Long> recentWrites = new ConcurrentHashMap<String, Long>();
+
+    private final LongAdder primaryConnections = new LongAdder();
+    private final LongAdder primaryReadOnlyConnections = new LongAdder();
+
+    public ReplicaRouting(@Value("${foodorderingapp.replicas.max-lag:5000}") long maxLagMillis,
+                          @Value("${foodorderingapp.replicas.lag-check-interval:1000}") long lagCheckIntervalMillis,
+                          @Value("${foodorderingapp.replicas.lag-query:}") String lagQuery,
+                          @Value("${foodorderingapp.replicas.lag-check-timeout:2000}") long lagCheckTimeoutMillis) {
+        this.maxLagMillis = maxLagMillis;
+        this.lagQuery = lagQuery.isEmpty() ? POSTGRESQL_LAG_QUERY : lagQuery;
+        this.lagCheckTimeoutMillis = lagCheckTimeoutMillis;
+        this.readYourWritesNanos = TimeUnit.MILLISECONDS.toNanos(maxLagMillis + lagCheckIntervalMillis);
+    }
+
+    /**
+     * @return Milliseconds the lag check of a replica waits for a connection, also the login timeout of its connections
+     */
+    long getLagCheckTimeoutMillis() {
+        return lagCheckTimeoutMillis;
+    }
+
+    /**
+     * @param replicas The DataSources of the replicas keyed by name, left out until their lag is checked
+     */
+    void setReplicas(Map<String, DataSource> replicas) {
+        List<Replica> replicaList = new ArrayList<Replica>();
+        for (Map.Entry<String, DataSource> replica : replicas.entrySet()) {
+            JdbcTemplate lagCheck = new JdbcTemplate(replica.getValue());
+            // A replica that stopped responding fails the check instead of holding up the scheduled jobs
+            lagCheck.setQueryTimeout((int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(lagCheckTimeoutMillis)));
+            replicaList.add(new Replica(replica.getKey(), lagCheck));
+        }
+        this.replicas = Collections.unmodifiableList(replicaList);
+    }
+
+    /**
+     * @return The name of the replica the connection taken on the current thread comes from, or PRIMARY
+     */
+    String currentTarget() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            primaryConnections.increment();
+            return PRIMARY;
+        }
+        if (pinnedToPrimary.get() == null) {
+            List<Replica> replicas = this.replicas;
+            int start = nextReplica.getAndIncrement();
+            for (int attempt = 0; attempt < replicas.size(); attempt++) {
+                Replica replica = replicas.get(Math.floorMod(start + attempt, replicas.size()));
+                if (replica.healthy) {
+                    replica.connections.increment();
+                    return replica.name;
+                }
+            }
+        }
+        primaryReadOnlyConnections.increment();
+        return PRIMARY;
+    }
+
+    /**
+     * Runs the reads on the primary, also inside read only transactions
+     * The connection is taken by the first statement, the reads must not share a transaction started before
+     *
+     * @param reads The reads
+     * @param <T>   The type of the result of the reads
+     * @return The result of the reads
+     */
+    public <T> T onPrimary(Supplier<T> reads) {
+        Boolean pinned = pinnedToPrimary.get();
+        pinnedToPrimary.set(Boolean.TRUE);
+        try {
+            return reads.get();
+        } finally {
+            if (pinned == null) {
+                pinnedToPrimary.remove();
+            }
+        }
+    }
+
+    /**
+     * Runs the reads on the primary if the data was written within the lag window, where the replicas may not have it
+     *
+     * @param key   The data read, as passed to recordWrite
+     * @param reads The reads
+     * @param <T>   The type of the result of the reads
+     * @return The result of the reads
+     */
+    public <T> T onPrimaryIfWritten(String key, Supplier<T> reads) {
+        if (!replicas.isEmpty()) {
+            Long until = recentWrites.get(key);
+            if (until != null && until - System.nanoTime() > 0) {
+                return onPrimary(reads);
+            }
+        }
+        return reads.get();
+    }
+
+    /**
+     * Sends the reads of the data to the primary for the lag window, from the commit of the current transaction if any
+     *
+     * @param key The data written, such as the address book of a customer
+     */
+    public void recordWrite(final String key) {
+        if (replicas.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    written(key);
+                }
+            });
+        } else {
+            written(key);
+        }
+    }
+
+    private void written(String key) {
+        recentWrites.put(key, System.nanoTime() + readYourWritesNanos);
+    }
+
+    /**
+     * Sends the rest of the request that placed the order to the primary, and the reads of the orders of the customer
+     * and of the items of the order for the lag window
+     *
+     * @param event The order placed event, received on the thread of the request once the order is committed
+     */
+    @TransactionalEventListener
+    public void onOrderPlaced(OrderPlacedEvent event) {
+        if (replicas.isEmpty()) {
+            return;
+        }
+        pinnedToPrimary.set(Boolean.TRUE);
+        if (event.getCustomerUuid() != null) {
+            written(ordersKey(event.getCustomerUuid()));
+        }
+        written(orderItemsKey(event.getOrderId()));
+    }
+
+    /**
+     * Ends the request served on the current thread, its reads were sent to the primary if it placed an order
+     */
+    public void endRequest() {
+        pinnedToPrimary.remove();
+    }
+
+    /**
+     * @param customerUuid The uuid of the customer
+     * @return The key of the orders of the customer
+     */
+    public static String ordersKey(String customerUuid) {
+        return "orders:" + customerUuid;
+    }
+
+    /**
+     * @param orderId The id of the order
+     * @return The key of the items of the order
+     */
+    public static String orderItemsKey(Integer orderId) {
+        return "order-items:" + orderId;
+    }
+
+    /**
+     * @param customerId The id of the customer
+     * @return The key of the address book of the customer
+     */
+    public static String addressBookKey(Integer customerId) {
+        return "address-book:" + customerId;
+    }
+
+    /**
+     * Checks how far every replica is behind the primary, the replicas lagging by more than the maximum lag or failing
+     * the check are left out until a later check passes. The check fails on a replica that doesn't answer within the lag
+     * check timeout
+     * The writes older than the lag window are dropped at the same time
+     */
+    @Scheduled(fixedDelayString = "${foodorderingapp.replicas.lag-check-interval:1000}",
+            initialDelayString = "${foodorderingapp.replicas.lag-check-initial-delay:0}")
+    public void checkReplicaLag() {
+        long now = System.nanoTime();
+        recentWrites.values().removeIf(until -> until - now <= 0);
+        for (Replica replica : replicas) {
+            boolean healthy;
+            try {
+                Number lagSeconds = replica.lagCheck.queryForObject(lagQuery, Number.class);
+                replica.lagMillis = lagSeconds == null ? 0 : (long) (lagSeconds.doubleValue() * 1000);
+                healthy = replica.lagMillis <= maxLagMillis;
+            } catch (RuntimeException exception) {
+                replica.lagMillis = -1;
+                healthy = false;
+                if (replica.healthy) {
+                    LOGGER.warn("Lag check of replica {} failed, reads go to the other replicas", replica.name, exception);
+                }
+            }
+            if (replica.healthy != healthy) {
+                LOGGER.info("Replica {} {} with a lag of {} ms", replica.name, healthy ? "in use" : "left out", replica.lagMillis);
+                replica.healthy = healthy;
+            }
+        }
+    }
+
+    @ManagedAttribute(description = "Replicas within the maximum lag")
+    public int getReplicasInUse() {
+        int inUse = 0;
+        for (Replica replica : replicas) {
+            if (replica.healthy) {
+                inUse++;
+            }
+        }
+        return inUse;
+    }
+
+    @ManagedAttribute(description = "Connections of read only transactions served by the primary")
+    public long getPrimaryReadOnlyConnections() {
+        return primaryReadOnlyConnections.sum();
+    }
+
+    /**
+     * @param name The name of the replica
+     * @return The connections taken from the replica since the application start
+     */
+    public long getReplicaConnections(String name) {
+        for (Replica replica : replicas) {
+            if (replica.name.equals(name)) {
+                return replica.connections.sum();
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @return The connections taken from the primary and the lag and connections of every replica
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<String, Object>();
+        statistics.put("max_lag_millis", maxLagMillis);
+        statistics.put("primary_connections", primaryConnections.sum());
+        statistics.put("primary_read_only_connections", primaryReadOnlyConnections.sum());
+        statistics.put("recent_writes", recentWrites.size());
+        Map<String, Object> replicaStatistics = new LinkedHashMap<String, Object>();
+        for (Replica replica : replicas) {
+            Map<String, Object> values = new LinkedHashMap<String, Object>();
+            values.put("in_use", replica.healthy);
+            values.put("lag_millis", replica.lagMillis);
+            values.put("connections", replica.connections.sum());
+            replicaStatistics.put(replica.name, values);
+        }
+        statistics.put("replicas", replicaStatistics);
+        return statistics;
+    }
+
+    private static class Replica {
+
+        private final String name;
+        private final JdbcTemplate lagCheck;
+        private final LongAdder connections = new LongAdder();
+        // Not in use until the first lag check, -1 when the check failed
+        private volatile boolean healthy;
+        private volatile long lagMillis = -1;
+
+        Replica(String name, JdbcTemplate lagCheck) {
+            this.name = name;
+            this.lagCheck = lagCheck;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.upgrad.FoodOrderingApp.service.datasource;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DataSource handing out the connections of the primary or of a read replica, as chosen by the replica routing
+ * The connection is only taken from a pool when the first statement runs. A read only transaction asks for its
+ * connection before it is marked read only, the choice is made once it is
+ */
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    private final List<DataSource> targets = new ArrayList<DataSource>();
+
+    /**
+     * @param primary     The DataSource of the primary, serving the writes and the reads outside read only transactions
+     * @param replicas    The DataSources of the replicas keyed by replica name
+     * @param routing     Chooses the DataSource of every connection
+     */
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, final ReplicaRouting routing) {
+        Map<Object, Object> targetDataSources = new HashMap<Object, Object>(replicas);
+        targetDataSources.put(ReplicaRouting.PRIMARY, primary);
+        AbstractRoutingDataSource router = new AbstractRoutingDataSource() {
+            @Override
+            protected Object determineCurrentLookupKey() {
+                return routing.currentTarget();
+            }
+        };
+        router.setTargetDataSources(targetDataSources);
+        router.setDefaultTargetDataSource(primary);
+        // Unknown keys would silently go to the primary otherwise
+        router.setLenientFallback(false);
+        router.afterPropertiesSet();
+        setTargetDataSource(router);
+        targets.add(primary);
+        targets.addAll(replicas.values());
+    }
+
+    /**
+     * Closes the connection pools of the primary and of the replicas
+     */
+    @Override
+    public void close() throws IOException {
+        for (DataSource target : targets) {
+            if (target instanceof Closeable) {
+                ((Closeable) target).close();
+            }
+        }
+    }
+}
@@ -11,8 +11,11 @@ import javax.validation.constraints.Size;
 @Entity
 @Table(name = "ADDRESS")
 @NamedQueries({
-        @NamedQuery(name = "addressByUuid", query = "select a from AddressEntity a where a.uuid = :addressUUID")
+        @NamedQuery(name = "addressByUuid", query = "select a from AddressEntity a where a.uuid = :addressUUID"),
+        @NamedQuery(name = "archiveAddressById", query = "update AddressEntity a set a.active = 0 where a.id = :addressId")
 })
+// The address book of the customer shows the state of every address, also when served from the cache
+@NamedEntityGraph(name = "addressWithState", attributeNodes = @NamedAttributeNode("state"))
 public class AddressEntity {
 
     @Id
@@ -45,7 +48,7 @@ public class AddressEntity {
     @Size(max = 200)
     private String pincode;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @OnDelete(action = OnDeleteAction.CASCADE)
     @JoinColumn(name = "state_id")
     @NotNull
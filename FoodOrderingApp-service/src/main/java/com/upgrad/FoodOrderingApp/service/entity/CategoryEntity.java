@@ -1,5 +1,8 @@
 package com.upgrad.FoodOrderingApp.service.entity;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import javax.persistence.*;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
@@ -7,6 +10,8 @@ import java.util.List;
 
 @Entity
 @Table(name = "CATEGORY")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = "category")
 @NamedQueries({
         @NamedQuery(name = "allCategoriesOrderedByName", query = "select c from CategoryEntity c order by c.categoryName"),
         @NamedQuery(name = "categoryByUUID", query = "select c from CategoryEntity c where c.uuid = :uuid")
@@ -9,7 +9,14 @@ import javax.validation.constraints.NotNull;
 @Entity
 @Table(name = "CATEGORY_ITEM")
 @NamedQueries({
-        @NamedQuery(name="itemsByCategoryUUID", query = "select ci.item from CategoryItemEntity ci where ci.category.uuid = :categoryUUID")
+        @NamedQuery(name="itemsByCategoryUUID", query = "select ci.item from CategoryItemEntity ci where ci.category.uuid = :categoryUUID"),
+        @NamedQuery(name = "firstItemsByCategoryUUID", query = "select c.uuid, c.categoryName, i.id, i.uuid, i.itemName, i.price, i.type " +
+                "from CategoryItemEntity ci join ci.category c join ci.item i where c.uuid = :categoryUUID order by i.itemName, i.id",
+                hints = {@QueryHint(name = "org.hibernate.cacheable", value = "true"),
+                        @QueryHint(name = "org.hibernate.cacheRegion", value = "firstItemsByCategoryUUID")}),
+        @NamedQuery(name = "itemsByCategoryUUIDAfter", query = "select c.uuid, c.categoryName, i.id, i.uuid, i.itemName, i.price, i.type " +
+                "from CategoryItemEntity ci join ci.category c join ci.item i where c.uuid = :categoryUUID " +
+                "and (i.itemName > :itemName or (i.itemName = :itemName and i.id > :itemId)) order by i.itemName, i.id")
 })
 public class CategoryItemEntity {
     @Id
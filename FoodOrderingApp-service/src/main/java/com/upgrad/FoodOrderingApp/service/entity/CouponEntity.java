@@ -1,14 +1,20 @@
 package com.upgrad.FoodOrderingApp.service.entity;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import javax.persistence.*;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
 
 @Entity
 @Table(name = "COUPON")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = "coupon")
 @NamedQueries({
-        @NamedQuery(name = "couponByCouponName", query = "select c from CouponEntity c where c.couponName = :couponName"),
-        @NamedQuery(name = "couponByUUID", query = "select c from CouponEntity c where c.uuid = :couponUUID")
+        @NamedQuery(name = "couponByCouponName", query = "select c from CouponEntity c where lower(c.couponName) = lower(:couponName)"),
+        @NamedQuery(name = "couponByUUID", query = "select c from CouponEntity c where c.uuid = :couponUUID"),
+        @NamedQuery(name = "allCoupons", query = "select c from CouponEntity c")
 })
 public class CouponEntity {
 
@@ -10,8 +10,9 @@ import javax.validation.constraints.NotNull;
 @Entity
 @Table(name = "CUSTOMER_ADDRESS")
 @NamedQueries({
-        @NamedQuery(name = "allAddressesForCustomer", query = "select ca.address from CustomerAddressEntity ca where ca.customer.id = :customerId order by ca.address.id desc"),
-        @NamedQuery(name = "customerAddressByAddressUuid", query = "select ca from CustomerAddressEntity ca where ca.address.uuid = :addressUUID")
+        @NamedQuery(name = "allAddressesForCustomer", query = "select a from AddressEntity a where a.id in (select ca.address.id from CustomerAddressEntity ca where ca.customer.id = :customerId) order by a.id desc"),
+        @NamedQuery(name = "customerAddressByAddressUuid", query = "select ca from CustomerAddressEntity ca where ca.address.uuid = :addressUUID"),
+        @NamedQuery(name = "addressByUuidForCustomer", query = "select a from CustomerAddressEntity ca join ca.address a where a.uuid = :addressUUID and ca.customer.id = :customerId")
 })
 public class CustomerAddressEntity {
 
@@ -20,14 +21,14 @@ public class CustomerAddressEntity {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @OnDelete(action = OnDeleteAction.CASCADE)
     @JoinColumn(name = "customer_id")
     @NotNull
     private CustomerEntity customer;
 
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @OnDelete(action = OnDeleteAction.CASCADE)
     @JoinColumn(name = "address_id")
     @NotNull
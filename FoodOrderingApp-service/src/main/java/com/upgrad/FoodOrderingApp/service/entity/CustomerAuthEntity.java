@@ -13,6 +13,8 @@ import java.time.ZonedDateTime;
 @NamedQueries({
         @NamedQuery(name = "customerAuthByAccessToken", query = "select c from CustomerAuthEntity c where c.accessToken = :accessToken")
 })
+// Every authorized request uses the customer of the token
+@NamedEntityGraph(name = "customerAuthWithCustomer", attributeNodes = @NamedAttributeNode("customer"))
 public class CustomerAuthEntity {
 
     @Id
@@ -25,7 +27,7 @@ public class CustomerAuthEntity {
     @Size(max = 200)
     private String uuid;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @OnDelete(action = OnDeleteAction.CASCADE)
     @JoinColumn(name = "customer_id")
     @NotNull
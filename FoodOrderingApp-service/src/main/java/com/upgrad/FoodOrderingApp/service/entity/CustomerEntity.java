@@ -7,7 +7,8 @@ import javax.validation.constraints.Size;
 @Entity
 @Table(name = "CUSTOMER")
 @NamedQueries({
-        @NamedQuery(name = "customerByContactNumber", query = "select c from CustomerEntity c where c.contactNumber = :contactNumber")
+        @NamedQuery(name = "customerByContactNumber", query = "select c from CustomerEntity c where c.contactNumber = :contactNumber"),
+        @NamedQuery(name = "registeredContactNumbers", query = "select c.contactNumber from CustomerEntity c where c.contactNumber in :contactNumbers")
 })
 public class CustomerEntity {
 
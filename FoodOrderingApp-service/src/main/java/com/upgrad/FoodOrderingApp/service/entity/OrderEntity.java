@@ -12,7 +12,16 @@ import java.util.Date;
 @Entity
 @Table(name = "ORDERS")
 @NamedQueries({
-        @NamedQuery(name = "pastOrdersByCustomerUUID", query = "select o from OrderEntity o where o.customer.uuid = :customerUUID order by o.date desc")
+        @NamedQuery(name = "pastOrdersByCustomerUUID", query = "select o.id, o.uuid, o.bill, o.discount, o.date, cp.uuid, cp.couponName, cp.percent, p.uuid, p.paymentName, " +
+                "c.uuid, c.firstName, c.lastName, c.email, c.contactNumber, a.uuid, a.flatBuilNo, a.locality, a.city, a.pincode, s.uuid, s.stateName " +
+                "from OrderEntity o join o.customer c join o.address a join a.state s left join o.payment p left join o.coupon cp " +
+                "where c.uuid = :customerUUID order by o.date desc"),
+        @NamedQuery(name = "ordersForExport", query = "select o.id, o.uuid, o.date, o.bill, o.discount, r.uuid, r.restaurantName, c.uuid, p.paymentName, cp.couponName, i.uuid, i.itemName, oi.quantity, oi.price " +
+                "from OrderEntity o join o.restaurant r join o.customer c left join o.payment p left join o.coupon cp left join OrderItemEntity oi on oi.order.id = o.id left join oi.item i " +
+                "where o.date >= :fromDate and o.date < :toDate order by o.id, oi.id"),
+        @NamedQuery(name = "ordersForExportByRestaurant", query = "select o.id, o.uuid, o.date, o.bill, o.discount, r.uuid, r.restaurantName, c.uuid, p.paymentName, cp.couponName, i.uuid, i.itemName, oi.quantity, oi.price " +
+                "from OrderEntity o join o.restaurant r join o.customer c left join o.payment p left join o.coupon cp left join OrderItemEntity oi on oi.order.id = o.id left join oi.item i " +
+                "where o.date >= :fromDate and o.date < :toDate and r.uuid = :restaurantUUID order by o.id, oi.id")
 })
 public class OrderEntity {
 
@@ -30,7 +39,7 @@ public class OrderEntity {
     @NotNull
     private Double bill;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "coupon_id")
     private CouponEntity coupon;
 
@@ -43,25 +52,30 @@ public class OrderEntity {
     @NotNull
     private Date date;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @OnDelete(action = OnDeleteAction.CASCADE)
     @JoinColumn(name = "payment_id")
     private PaymentEntity payment;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @OnDelete(action = OnDeleteAction.CASCADE)
     @JoinColumn(name = "customer_id")
     private CustomerEntity customer;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "address_id")
     private AddressEntity address;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @OnDelete(action = OnDeleteAction.CASCADE)
     @JoinColumn(name = "restaurant_id")
     private RestaurantEntity restaurant;
 
+    // Set by the sales rollups once the order is counted in them, never written by the orders
+    @Column(name = "sales_rolled_up", nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("false")
+    private Boolean salesRolledUp;
+
     public OrderEntity() {
     }
 
@@ -158,4 +172,8 @@ public class OrderEntity {
     public void setRestaurant(RestaurantEntity restaurant) {
         this.restaurant = restaurant;
     }
+
+    public Boolean getSalesRolledUp() {
+        return salesRolledUp;
+    }
 }
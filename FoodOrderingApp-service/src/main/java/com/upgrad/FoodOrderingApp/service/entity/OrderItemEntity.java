@@ -11,6 +11,8 @@ import javax.validation.constraints.NotNull;
 @NamedQueries({
         @NamedQuery(name = "itemsByOrderId", query = "select o from OrderItemEntity o where o.order.id = :id")
 })
+// The order history shows the item of every order item, the order is already loaded
+@NamedEntityGraph(name = "orderItemWithItem", attributeNodes = @NamedAttributeNode("item"))
 public class OrderItemEntity {
 
     @Id
@@ -18,13 +20,13 @@ public class OrderItemEntity {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @OnDelete(action = OnDeleteAction.CASCADE)
     @JoinColumn(name = "order_id")
     @NotNull
     private OrderEntity order;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @OnDelete(action = OnDeleteAction.CASCADE)
     @JoinColumn(name = "item_id")
     @NotNull
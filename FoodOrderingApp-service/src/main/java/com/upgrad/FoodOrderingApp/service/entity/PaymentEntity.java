@@ -1,14 +1,23 @@
 package com.upgrad.FoodOrderingApp.service.entity;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import javax.persistence.*;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
 
 @Entity
 @Table(name = "PAYMENT")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = "payment")
 @NamedQueries({
-        @NamedQuery(name = "allPaymentMethods", query = "select p from PaymentEntity p"),
-        @NamedQuery(name = "paymentByUUID", query = "select p from PaymentEntity p where p.uuid = :paymentUUID")
+        @NamedQuery(name = "allPaymentMethods", query = "select p from PaymentEntity p",
+                hints = {@QueryHint(name = "org.hibernate.cacheable", value = "true"),
+                        @QueryHint(name = "org.hibernate.cacheRegion", value = "allPaymentMethods")}),
+        @NamedQuery(name = "paymentByUUID", query = "select p from PaymentEntity p where p.uuid = :paymentUUID",
+                hints = {@QueryHint(name = "org.hibernate.cacheable", value = "true"),
+                        @QueryHint(name = "org.hibernate.cacheRegion", value = "paymentByUUID")})
 })
 public class PaymentEntity {
 
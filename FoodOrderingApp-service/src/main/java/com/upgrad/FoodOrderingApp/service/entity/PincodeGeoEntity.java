@@ -0,0 +1,60 @@
+package com.upgrad.FoodOrderingApp.service.entity;
+
+import javax.persistence.*;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+
+@Entity
+@Table(name = "PINCODE_GEO")
+@NamedQueries({
+        @NamedQuery(name = "allPincodeGeos", query = "select p from PincodeGeoEntity p")
+})
+public class PincodeGeoEntity {
+
+    @Id
+    @Column(name = "pincode")
+    @NotNull
+    @Size(max = 30)
+    private String pincode;
+
+    @Column(name = "latitude")
+    @NotNull
+    private Double latitude;
+
+    @Column(name = "longitude")
+    @NotNull
+    private Double longitude;
+
+    public PincodeGeoEntity() {
+    }
+
+    public PincodeGeoEntity(@NotNull @Size(max = 30) String pincode, @NotNull Double latitude, @NotNull Double longitude) {
+        this.pincode = pincode;
+        this.latitude = latitude;
+        this.longitude = longitude;
+    }
+
+    public String getPincode() {
+        return pincode;
+    }
+
+    public void setPincode(String pincode) {
+        this.pincode = pincode;
+    }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+}
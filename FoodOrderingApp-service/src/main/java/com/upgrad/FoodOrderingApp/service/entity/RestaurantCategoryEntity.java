@@ -10,7 +10,7 @@ import javax.validation.constraints.NotNull;
 @Table(name = "RESTAURANT_CATEGORY")
 @NamedQueries({
         @NamedQuery(name = "categoriesByRestaurantUUID", query = "select r from RestaurantCategoryEntity r where r.restaurant.uuid = :restaurantUUID order by r.category.categoryName"),
-        @NamedQuery(name = "restaurantsByCategory", query = "select r.restaurant from RestaurantCategoryEntity r where r.category.uuid =:uuid ")
+        @NamedQuery(name = "restaurantsByCategory", query = "select r from RestaurantEntity r where r.id in (select rc.restaurant.id from RestaurantCategoryEntity rc where rc.category.uuid = :uuid)")
 })
 public class RestaurantCategoryEntity {
 
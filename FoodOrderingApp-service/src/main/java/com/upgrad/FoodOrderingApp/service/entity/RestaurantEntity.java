@@ -12,10 +12,17 @@ import java.util.List;
 @Entity
 @Table(name = "RESTAURANT")
 @NamedQueries({
-        @NamedQuery(name = "restaurantsByRating", query = "select r from RestaurantEntity r order by r.customerRating desc"),
+        @NamedQuery(name = "restaurantsByRating", query = "select r.id, r.uuid, r.restaurantName, r.photoUrl, r.customerRating, r.avgPrice, r.numberCustomersRated, " +
+                "a.uuid, a.flatBuilNo, a.locality, a.city, a.pincode, s.uuid, s.stateName " +
+                "from RestaurantEntity r join r.address a join a.state s order by r.customerRating desc"),
         @NamedQuery(name = "restaurantByUUID", query = "select r from RestaurantEntity r where r.uuid = :restaurantUUID"),
-        @NamedQuery(name = "restaurantsByName", query = "select r from  RestaurantEntity r where upper(r.restaurantName)  like upper(:likeRestaurantName) order by r.restaurantName asc ")
+        @NamedQuery(name = "restaurantsByName", query = "select r from  RestaurantEntity r where upper(r.restaurantName)  like upper(:likeRestaurantName) order by r.restaurantName asc "),
+        @NamedQuery(name = "restaurantPincodes", query = "select r.id, r.address.pincode from RestaurantEntity r"),
+        @NamedQuery(name = "restaurantsByIds", query = "select r from RestaurantEntity r where r.id in :restaurantIds")
 })
+// Every restaurant response shows the address of the restaurant with its state
+@NamedEntityGraph(name = "restaurantWithAddress", attributeNodes = @NamedAttributeNode(value = "address", subgraph = "addressWithState"),
+        subgraphs = @NamedSubgraph(name = "addressWithState", attributeNodes = @NamedAttributeNode("state")))
 public class RestaurantEntity {
 
     @Id
@@ -1,14 +1,23 @@
 package com.upgrad.FoodOrderingApp.service.entity;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import javax.persistence.*;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
 
 @Entity
 @Table(name = "STATE")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = "state")
 @NamedQueries({
-        @NamedQuery(name = "stateByStateUuid", query = "select s from StateEntity s where s.uuid = :uuid"),
-        @NamedQuery(name = "allStates", query = "select s from StateEntity s")
+        @NamedQuery(name = "stateByStateUuid", query = "select s from StateEntity s where s.uuid = :uuid",
+                hints = {@QueryHint(name = "org.hibernate.cacheable", value = "true"),
+                        @QueryHint(name = "org.hibernate.cacheRegion", value = "stateByStateUuid")}),
+        @NamedQuery(name = "allStates", query = "select s from StateEntity s",
+                hints = {@QueryHint(name = "org.hibernate.cacheable", value = "true"),
+                        @QueryHint(name = "org.hibernate.cacheRegion", value = "allStates")})
 })
 
 public class StateEntity {
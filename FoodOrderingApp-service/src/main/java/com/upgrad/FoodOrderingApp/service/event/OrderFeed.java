@@ -0,0 +1,414 @@
+package com.upgrad.FoodOrderingApp.service.event;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fans the committed orders out to the subscribers of their restaurant
+ * Every subscriber has a bounded ring buffer of the orders not yet sent to it, drained by a small pool of threads only
+ * when it holds orders, so idle subscribers hold no thread. A subscriber whose buffer is full is dropped instead of
+ * holding up the orders or the memory of the others, it is expected to subscribe again
+ * A write blocked for longer than the write timeout on a connection that stopped reading is abandoned, the subscriber
+ * is dropped and another thread takes the place of the blocked one until the write returns, so that stalled
+ * connections never hold every thread of the pool
+ */
+@Component
+@ManagedResource(objectName = "FoodOrderingApp:type=OrderFeed", description = "Subscribers and deliveries of the new orders of the restaurants")
+public class OrderFeed implements DisposableBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OrderFeed.class);
+
+    // Subscriptions keyed by restaurant uuid
+    private final ConcurrentMap<String, Set<Subscription>> subscriptions = new ConcurrentHashMap<String, Set<Subscription>>();
+
+    // Subscriptions a thread of the pool is draining, still checked for stalled writes once cancelled
+    private final Set<Subscription> draining = ConcurrentHashMap.newKeySet();
+
+    private final ThreadPoolExecutor executor;
+
+    private final ScheduledExecutorService heartbeats;
+
+    private final int poolSize;
+
+    private final int bufferCapacity;
+
+    private final long writeTimeoutNanos;
+
+    // Threads blocked in an abandoned write, each replaced by another thread in the pool
+    private final AtomicInteger stalledThreads = new AtomicInteger();
+
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    public OrderFeed(@Value("${foodorderingapp.order-feed.pool-size:4}") int poolSize,
+                     @Value("${foodorderingapp.order-feed.buffer-capacity:64}") int bufferCapacity,
+                     @Value("${foodorderingapp.order-feed.heartbeat-interval:15000}") long heartbeatIntervalMillis,
+                     @Value("${foodorderingapp.order-feed.write-timeout:10000}") long writeTimeoutMillis,
+                     @Value("${foodorderingapp.order-feed.queue-capacity:10000}") int queueCapacity) {
+        // At most one drain per subscription is queued, a subscription finding the queue full is dropped
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<Runnable>(queueCapacity), threadFactory("order-feed-"));
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(threadFactory("order-feed-heartbeat-"));
+        this.heartbeats.scheduleWithFixedDelay(this::heartbeat, heartbeatIntervalMillis, heartbeatIntervalMillis,
+                TimeUnit.MILLISECONDS);
+        this.heartbeats.scheduleWithFixedDelay(this::abandonStalledWrites, writeTimeoutMillis / 2, writeTimeoutMillis / 2,
+                TimeUnit.MILLISECONDS);
+        this.poolSize = poolSize;
+        this.bufferCapacity = bufferCapacity;
+        this.writeTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(writeTimeoutMillis);
+    }
+
+    /**
+     * Subscribes to the orders placed at the restaurant from now on
+     *
+     * @param restaurantUUID The uuid of the restaurant
+     * @param subscriber     Receives the orders, on the threads of the feed
+     * @return The subscription, to cancel once the subscriber is gone
+     */
+    public Subscription subscribe(String restaurantUUID, OrderSubscriber subscriber) {
+        Subscription subscription = new Subscription(restaurantUUID, subscriber, bufferCapacity);
+        // Added within the compute, so that it isn't added to a set the last cancelled subscription just removed
+        subscriptions.compute(restaurantUUID, (uuid, restaurantSubscriptions) -> {
+            Set<Subscription> added = restaurantSubscriptions != null ? restaurantSubscriptions : ConcurrentHashMap.newKeySet();
+            added.add(subscription);
+            return added;
+        });
+        return subscription;
+    }
+
+    /**
+     * Hands the order to the subscribers of its restaurant once the order is committed, so rolled back orders are never
+     * sent. Only adds the order to the buffers, the orders are sent on the threads of the feed
+     *
+     * @param event The order placed event published by the order service
+     */
+    @TransactionalEventListener
+    public void onOrderPlaced(OrderPlacedEvent event) {
+        published.incrementAndGet();
+        Set<Subscription> restaurantSubscriptions = subscriptions.get(event.getRestaurantUuid());
+        if (restaurantSubscriptions == null) {
+            return;
+        }
+        for (Subscription subscription : restaurantSubscriptions) {
+            if (subscription.buffer.offer(event)) {
+                schedule(subscription);
+            } else {
+                drop(subscription);
+            }
+        }
+    }
+
+    // Idle connections are only found closed by writing to them, and proxies close the connections idle for too long
+    private void heartbeat() {
+        for (Set<Subscription> restaurantSubscriptions : subscriptions.values()) {
+            for (Subscription subscription : restaurantSubscriptions) {
+                subscription.heartbeatDue = true;
+                schedule(subscription);
+            }
+        }
+    }
+
+    // The writes blocked for longer than the write timeout, at most one per thread of the pool is replaced
+    private void abandonStalledWrites() {
+        long now = System.nanoTime();
+        for (Subscription subscription : draining) {
+            if (stalledThreads.get() >= poolSize || !subscription.stall(now, writeTimeoutNanos)) {
+                continue;
+            }
+            LOGGER.info("Abandoning an order subscriber of restaurant {} stuck in a write for over {} ms",
+                    subscription.restaurantUUID, TimeUnit.NANOSECONDS.toMillis(writeTimeoutNanos));
+            if (subscription.close()) {
+                dropped.incrementAndGet();
+                // Notified by the blocked thread once its write returns, completing the stream waits for the write
+                subscription.dropPending.set(true);
+            }
+            stalledThreads.incrementAndGet();
+            resizePool(1);
+        }
+    }
+
+    private synchronized void resizePool(int delta) {
+        // The maximum is never below the core size
+        if (delta > 0) {
+            executor.setMaximumPoolSize(executor.getMaximumPoolSize() + delta);
+            executor.setCorePoolSize(executor.getCorePoolSize() + delta);
+        } else {
+            executor.setCorePoolSize(executor.getCorePoolSize() + delta);
+            executor.setMaximumPoolSize(executor.getMaximumPoolSize() + delta);
+        }
+    }
+
+    private void schedule(Subscription subscription) {
+        if (subscription.scheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(() -> drain(subscription));
+            } catch (RejectedExecutionException exception) {
+                subscription.scheduled.set(false);
+                if (!executor.isShutdown()) {
+                    reject(subscription);
+                }
+            }
+        }
+    }
+
+    private void drain(Subscription subscription) {
+        draining.add(subscription);
+        try {
+            OrderPlacedEvent event;
+            while (!subscription.cancelled.get() && (event = subscription.buffer.poll()) != null) {
+                subscription.heartbeatDue = false;
+                final OrderPlacedEvent order = event;
+                write(subscription, () -> subscription.subscriber.onOrderPlaced(order));
+                delivered.incrementAndGet();
+            }
+            if (!subscription.cancelled.get() && subscription.heartbeatDue) {
+                subscription.heartbeatDue = false;
+                write(subscription, subscription.subscriber::onHeartbeat);
+            }
+            // Only notified by the drain, so that it never waits for a write to the same subscriber
+            if (subscription.cancelled.get() && subscription.dropPending.compareAndSet(true, false)) {
+                write(subscription, subscription.subscriber::onDropped);
+            }
+        } catch (Exception exception) {
+            LOGGER.debug("Order subscriber of restaurant {} failed, cancelling it", subscription.restaurantUUID, exception);
+            subscription.dropPending.set(false);
+            subscription.cancel();
+        } finally {
+            draining.remove(subscription);
+            subscription.scheduled.set(false);
+        }
+        // Orders or a drop added after the last check but before the flag was cleared found the drain still scheduled
+        if (subscription.dropPending.get() || !subscription.cancelled.get() && !subscription.buffer.isEmpty()) {
+            schedule(subscription);
+        }
+    }
+
+    private void write(Subscription subscription, SubscriberCall call) throws Exception {
+        subscription.beginWrite();
+        try {
+            call.run();
+        } finally {
+            if (subscription.endWrite()) {
+                // The write abandoned returned, its replacement is no longer needed
+                stalledThreads.decrementAndGet();
+                resizePool(-1);
+            }
+        }
+    }
+
+    private void drop(Subscription subscription) {
+        // Several orders of the restaurant may find the buffer full at once, the subscriber is only dropped once
+        if (!subscription.close()) {
+            return;
+        }
+        dropped.incrementAndGet();
+        LOGGER.info("Dropping an order subscriber of restaurant {} behind by {} orders", subscription.restaurantUUID, bufferCapacity);
+        // Notified by its drain once no write to it is running, never by a thread waiting for the write it is stuck in
+        subscription.dropPending.set(true);
+        schedule(subscription);
+    }
+
+    // More subscribers waiting for a thread than the queue holds. No write of the subscriber is running, so it is
+    // notified on the calling thread
+    private void reject(Subscription subscription) {
+        boolean closed = subscription.close();
+        if (closed) {
+            dropped.incrementAndGet();
+            LOGGER.info("Dropping an order subscriber of restaurant {}, the order feed queue is full", subscription.restaurantUUID);
+        }
+        if (subscription.dropPending.getAndSet(false) || closed) {
+            try {
+                subscription.subscriber.onDropped();
+            } catch (RuntimeException exception) {
+                LOGGER.debug("Order subscriber of restaurant {} failed on drop", subscription.restaurantUUID, exception);
+            }
+        }
+    }
+
+    private void remove(Subscription subscription) {
+        subscriptions.computeIfPresent(subscription.restaurantUUID, (uuid, restaurantSubscriptions) -> {
+            restaurantSubscriptions.remove(subscription);
+            return restaurantSubscriptions.isEmpty() ? null : restaurantSubscriptions;
+        });
+    }
+
+    // Deliveries never keep the JVM from exiting
+    private static CustomizableThreadFactory threadFactory(String threadNamePrefix) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(threadNamePrefix);
+        threadFactory.setDaemon(true);
+        return threadFactory;
+    }
+
+    /**
+     * Retrieves the subscriber count along with the orders published, delivered and the subscribers dropped since the
+     * application start
+     *
+     * @return The statistics of the feed
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<String, Object>();
+        statistics.put("subscribers", getSubscribers());
+        statistics.put("buffer_capacity", bufferCapacity);
+        statistics.put("published_orders", published.get());
+        statistics.put("delivered_orders", delivered.get());
+        statistics.put("dropped_subscribers", dropped.get());
+        statistics.put("stalled_threads", stalledThreads.get());
+        return statistics;
+    }
+
+    @ManagedAttribute(description = "Subscribers of all the restaurants")
+    public int getSubscribers() {
+        int count = 0;
+        for (Set<Subscription> restaurantSubscriptions : subscriptions.values()) {
+            count += restaurantSubscriptions.size();
+        }
+        return count;
+    }
+
+    @ManagedAttribute(description = "Subscribers dropped for falling behind")
+    public long getDroppedSubscribers() {
+        return dropped.get();
+    }
+
+    @ManagedAttribute(description = "Threads blocked in an abandoned write")
+    public int getStalledThreads() {
+        return stalledThreads.get();
+    }
+
+    @Override
+    public void destroy() {
+        heartbeats.shutdownNow();
+        executor.shutdownNow();
+        for (Set<Subscription> restaurantSubscriptions : subscriptions.values()) {
+            for (Subscription subscription : restaurantSubscriptions) {
+                subscription.cancel();
+            }
+        }
+    }
+
+    /**
+     * Receives the orders of a restaurant on the threads of the feed, the orders and heartbeats one call at a time
+     */
+    public interface OrderSubscriber {
+
+        /**
+         * @param event The order placed at the restaurant
+         * @throws Exception When the order can't be sent, the subscription is cancelled
+         */
+        void onOrderPlaced(OrderPlacedEvent event) throws Exception;
+
+        /**
+         * Called when no order was sent for the heartbeat interval
+         *
+         * @throws Exception When the subscriber is gone, the subscription is cancelled
+         */
+        void onHeartbeat() throws Exception;
+
+        /**
+         * Called when the subscriber fell behind by the buffer capacity or its write was abandoned, once no write to it
+         * is running anymore. The subscription is already cancelled and the orders in the buffer are discarded
+         */
+        void onDropped();
+    }
+
+    private interface SubscriberCall {
+        void run() throws Exception;
+    }
+
+    /**
+     * The orders of one subscriber not yet sent to it
+     */
+    public class Subscription {
+
+        private final String restaurantUUID;
+        private final OrderSubscriber subscriber;
+        private final ArrayBlockingQueue<OrderPlacedEvent> buffer;
+
+        // Set while a drain of the subscription is queued or running
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+
+        // Set when the subscriber was dropped, until it is notified
+        private final AtomicBoolean dropPending = new AtomicBoolean();
+
+        private volatile boolean heartbeatDue;
+
+        // Guarded by the subscription, never by the subscriber, so checking a write doesn't wait for it
+        private boolean writing;
+        private long writeStartedAt;
+        private boolean stalled;
+
+        private Subscription(String restaurantUUID, OrderSubscriber subscriber, int bufferCapacity) {
+            this.restaurantUUID = restaurantUUID;
+            this.subscriber = subscriber;
+            this.buffer = new ArrayBlockingQueue<OrderPlacedEvent>(bufferCapacity);
+        }
+
+        /**
+         * Stops the orders to the subscriber, the orders not sent yet are discarded
+         */
+        public void cancel() {
+            close();
+        }
+
+        public boolean isCancelled() {
+            return cancelled.get();
+        }
+
+        private synchronized void beginWrite() {
+            writing = true;
+            writeStartedAt = System.nanoTime();
+        }
+
+        // true if the write was abandoned while running
+        private synchronized boolean endWrite() {
+            boolean abandoned = stalled;
+            writing = false;
+            stalled = false;
+            return abandoned;
+        }
+
+        // true for the call that abandoned the write running for longer than the timeout
+        private synchronized boolean stall(long now, long writeTimeoutNanos) {
+            if (!writing || stalled || now - writeStartedAt <= writeTimeoutNanos) {
+                return false;
+            }
+            stalled = true;
+            return true;
+        }
+
+        // true for the call that cancelled the subscription
+        private boolean close() {
+            if (!cancelled.compareAndSet(false, true)) {
+                return false;
+            }
+            remove(this);
+            buffer.clear();
+            return true;
+        }
+    }
+}
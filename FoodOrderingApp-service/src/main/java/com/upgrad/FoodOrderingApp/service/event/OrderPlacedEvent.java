@@ -0,0 +1,58 @@
+package com.upgrad.FoodOrderingApp.service.event;
+
+import com.upgrad.FoodOrderingApp.service.entity.OrderEntity;
+
+import java.util.Date;
+
+/**
+ * Published when an order is saved, listeners receive it once the order transaction is committed
+ * Only holds the values copied from the order, so that listeners never touch the detached entity
+ */
+public class OrderPlacedEvent {
+
+    private final Integer orderId;
+    private final String orderUuid;
+    private final Integer restaurantId;
+    private final String restaurantUuid;
+    private final String customerUuid;
+    private final Double bill;
+    private final Date date;
+
+    public OrderPlacedEvent(OrderEntity order) {
+        this.orderId = order.getId();
+        this.orderUuid = order.getUuid();
+        this.restaurantId = order.getRestaurant().getId();
+        this.restaurantUuid = order.getRestaurant().getUuid();
+        this.customerUuid = order.getCustomer() == null ? null : order.getCustomer().getUuid();
+        this.bill = order.getBill();
+        this.date = order.getDate();
+    }
+
+    public Integer getOrderId() {
+        return orderId;
+    }
+
+    public String getOrderUuid() {
+        return orderUuid;
+    }
+
+    public Integer getRestaurantId() {
+        return restaurantId;
+    }
+
+    public String getRestaurantUuid() {
+        return restaurantUuid;
+    }
+
+    public String getCustomerUuid() {
+        return customerUuid;
+    }
+
+    public Double getBill() {
+        return bill;
+    }
+
+    public Date getDate() {
+        return date;
+    }
+}
@@ -6,7 +6,7 @@ import java.io.PrintWriter;
 /**
  * AddressNotFoundException is thrown when address id customer entered does not exist in the database.
  */
-public class AddressNotFoundException extends Exception {
+public class AddressNotFoundException extends ServiceException {
     private final String code;
     private final String errorMessage;
 
@@ -6,7 +6,7 @@ import java.io.PrintWriter;
 /**
  * AuthenticationFailedException is thrown when customer credentials didn't match.
  */
-public class AuthenticationFailedException extends Exception {
+public class AuthenticationFailedException extends ServiceException {
     private final String code;
     private final String errorMessage;
 
@@ -6,7 +6,7 @@ import java.io.PrintWriter;
 /**
  * CategoryNotFoundException is thrown when there are no category by the category uuid searched.
  */
-public class CategoryNotFoundException extends Exception {
+public class CategoryNotFoundException extends ServiceException {
     private final String code;
     private final String errorMessage;
 
@@ -6,7 +6,7 @@ import java.io.PrintWriter;
 /**
  * CouponNotFoundException is thrown when there is no coupon found by the name provided by the customer.
  */
-public class CouponNotFoundException extends Exception {
+public class CouponNotFoundException extends ServiceException {
     private final String code;
     private final String errorMessage;
 
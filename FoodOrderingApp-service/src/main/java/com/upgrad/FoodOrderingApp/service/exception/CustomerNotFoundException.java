@@ -6,7 +6,7 @@ import java.io.PrintWriter;
 /**
  * CustomerNotFoundException is thrown when the customer is not found in the database.
  */
-public class CustomerNotFoundException extends Exception {
+public class CustomerNotFoundException extends ServiceException {
     private final String code;
     private final String errorMessage;
 
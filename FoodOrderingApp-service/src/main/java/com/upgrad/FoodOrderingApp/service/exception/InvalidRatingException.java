@@ -6,7 +6,7 @@ import java.io.PrintWriter;
 /**
  * InvalidRatingException is thrown when customer tries to give a rating below 1 or above 5.
  */
-public class InvalidRatingException extends Exception {
+public class InvalidRatingException extends ServiceException {
     private final String code;
     private final String errorMessage;
 
@@ -6,7 +6,7 @@ import java.io.PrintWriter;
 /**
  * ItemNotFoundException is thrown when the item id searched in the database not exist in the database.
  */
-public class ItemNotFoundException extends Exception {
+public class ItemNotFoundException extends ServiceException {
     private final String code;
     private final String errorMessage;
 
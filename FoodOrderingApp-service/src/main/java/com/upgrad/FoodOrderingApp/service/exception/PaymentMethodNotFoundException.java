@@ -6,7 +6,7 @@ import java.io.PrintWriter;
 /**
  * PaymentMethodNotFoundException is thrown when the payment method asked for does not exist in the database.
  */
-public class PaymentMethodNotFoundException extends Exception {
+public class PaymentMethodNotFoundException extends ServiceException {
     private final String code;
     private final String errorMessage;
 
@@ -6,7 +6,7 @@ import java.io.PrintWriter;
 /**
  * RestaurantNotFoundException is thrown when restaurant asked by customer does not exist in the database.
  */
-public class RestaurantNotFoundException extends Exception {
+public class RestaurantNotFoundException extends ServiceException {
     private final String code;
     private final String errorMessage;
 
@@ -7,7 +7,7 @@ import java.io.PrintWriter;
 /**
  * SaveAddressException is thrown when a customer not able to save an order.
  */
-public class SaveAddressException extends Exception {
+public class SaveAddressException extends ServiceException {
     private final String code;
     private final String errorMessage;
 
@@ -0,0 +1,31 @@
+package com.upgrad.FoodOrderingApp.service.exception;
+
+/**
+ * Base of the exceptions of the expected failures, such as expired tokens, unknown ids and empty search strings
+ * They are sent back to the customer as an error code and message, their stack trace is never read, so it isn't
+ * captured unless enabled with foodorderingapp.exceptions.stack-traces, filling in the stack through the Spring and
+ * Tomcat frames costs more than the rest of the failed request
+ */
+public abstract class ServiceException extends Exception {
+
+    // System property enabling the stack traces before the application context is started
+    public static final String STACK_TRACES_PROPERTY = "foodorderingapp.exceptions.stack-traces";
+
+    private static volatile boolean stackTraces = Boolean.getBoolean(STACK_TRACES_PROPERTY);
+
+    protected ServiceException() {
+        // No message, the error message is kept by the subclasses, and no suppressed exceptions
+        super(null, null, false, stackTraces);
+    }
+
+    public static boolean isStackTraces() {
+        return stackTraces;
+    }
+
+    /**
+     * @param stackTraces true to capture the stack trace of the exceptions created from now on
+     */
+    public static void setStackTraces(boolean stackTraces) {
+        ServiceException.stackTraces = stackTraces;
+    }
+}
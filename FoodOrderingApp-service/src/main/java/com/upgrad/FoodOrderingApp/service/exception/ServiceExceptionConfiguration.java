@@ -0,0 +1,21 @@
+package com.upgrad.FoodOrderingApp.service.exception;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import javax.annotation.PostConstruct;
+
+/**
+ * Applies foodorderingapp.exceptions.stack-traces to the ServiceExceptions
+ */
+@Configuration
+public class ServiceExceptionConfiguration {
+
+    @Value("${" + ServiceException.STACK_TRACES_PROPERTY + ":false}")
+    private boolean stackTraces;
+
+    @PostConstruct
+    public void applyStackTraces() {
+        ServiceException.setStackTraces(stackTraces);
+    }
+}
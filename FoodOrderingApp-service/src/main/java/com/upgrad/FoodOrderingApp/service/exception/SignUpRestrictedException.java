@@ -6,7 +6,7 @@ import java.io.PrintWriter;
 /**
  * SignUpRestrictedException is thrown when a customer is restricted to register in the application due to repeated customername or email.
  */
-public class SignUpRestrictedException extends Exception {
+public class SignUpRestrictedException extends ServiceException {
     private final String code;
     private final String errorMessage;
 
@@ -6,7 +6,7 @@ import java.io.PrintWriter;
 /**
  * UpdateCustomerException is thrown when the customer details can't be updated found in the database.
  */
-public class UpdateCustomerException extends Exception {
+public class UpdateCustomerException extends ServiceException {
     private final String code;
     private final String errorMessage;
 
@@ -0,0 +1,12 @@
+package com.upgrad.FoodOrderingApp.service.export;
+
+import java.io.IOException;
+
+/**
+ * Receives the exported orders one by one, in the order they are read from the Database
+ */
+public interface OrderExportHandler {
+
+    void handle(OrderExportRecord record) throws IOException;
+
+}
@@ -0,0 +1,35 @@
+package com.upgrad.FoodOrderingApp.service.export;
+
+/**
+ * A single item line of an exported order, holding only the columns needed for analytics
+ */
+public class OrderExportItem {
+
+    private final String itemUuid;
+    private final String itemName;
+    private final Integer quantity;
+    private final Integer price;
+
+    public OrderExportItem(String itemUuid, String itemName, Integer quantity, Integer price) {
+        this.itemUuid = itemUuid;
+        this.itemName = itemName;
+        this.quantity = quantity;
+        this.price = price;
+    }
+
+    public String getItemUuid() {
+        return itemUuid;
+    }
+
+    public String getItemName() {
+        return itemName;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public Integer getPrice() {
+        return price;
+    }
+}
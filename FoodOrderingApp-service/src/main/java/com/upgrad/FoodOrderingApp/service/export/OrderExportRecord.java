@@ -0,0 +1,82 @@
+package com.upgrad.FoodOrderingApp.service.export;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * An exported order with all of its items, built from the scalar rows of the export query
+ * Only one record is held in memory at a time while streaming
+ */
+public class OrderExportRecord {
+
+    private final Integer id;
+    private final String uuid;
+    private final Date date;
+    private final Double bill;
+    private final Double discount;
+    private final String restaurantUuid;
+    private final String restaurantName;
+    private final String customerUuid;
+    private final String paymentName;
+    private final String couponName;
+    private final List<OrderExportItem> items = new ArrayList<OrderExportItem>();
+
+    public OrderExportRecord(Integer id, String uuid, Date date, Double bill, Double discount, String restaurantUuid,
+                             String restaurantName, String customerUuid, String paymentName, String couponName) {
+        this.id = id;
+        this.uuid = uuid;
+        this.date = date;
+        this.bill = bill;
+        this.discount = discount;
+        this.restaurantUuid = restaurantUuid;
+        this.restaurantName = restaurantName;
+        this.customerUuid = customerUuid;
+        this.paymentName = paymentName;
+        this.couponName = couponName;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public String getUuid() {
+        return uuid;
+    }
+
+    public Date getDate() {
+        return date;
+    }
+
+    public Double getBill() {
+        return bill;
+    }
+
+    public Double getDiscount() {
+        return discount;
+    }
+
+    public String getRestaurantUuid() {
+        return restaurantUuid;
+    }
+
+    public String getRestaurantName() {
+        return restaurantName;
+    }
+
+    public String getCustomerUuid() {
+        return customerUuid;
+    }
+
+    public String getPaymentName() {
+        return paymentName;
+    }
+
+    public String getCouponName() {
+        return couponName;
+    }
+
+    public List<OrderExportItem> getItems() {
+        return items;
+    }
+}
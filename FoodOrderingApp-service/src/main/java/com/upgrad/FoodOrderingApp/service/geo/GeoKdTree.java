@@ -0,0 +1,145 @@
+package com.upgrad.FoodOrderingApp.service.geo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Immutable KD-tree over the unit vectors of geo points, answering the k nearest and within radius searches
+ * by visiting only the branches that can hold a closer point than the ones found so far
+ * The tree is balanced, built once by splitting on the median of the x, y and z axis in turn
+ */
+public class GeoKdTree<T> {
+
+    private final GeoPoint[] points;
+    private final Object[] values;
+
+    /**
+     * @param points The points to index
+     * @param values The value of every point, at the same position as the point
+     */
+    public GeoKdTree(List<GeoPoint> points, List<T> values) {
+        if (points.size() != values.size()) {
+            throw new IllegalArgumentException("Every point needs a value");
+        }
+        Integer[] order = new Integer[points.size()];
+        for (int index = 0; index < order.length; index++) {
+            order[index] = index;
+        }
+        build(points, order, 0, order.length, 0);
+        this.points = new GeoPoint[order.length];
+        this.values = new Object[order.length];
+        for (int index = 0; index < order.length; index++) {
+            this.points[index] = points.get(order[index]);
+            this.values[index] = values.get(order[index]);
+        }
+    }
+
+    /**
+     * @return The number of indexed points
+     */
+    public int size() {
+        return points.length;
+    }
+
+    /**
+     * Finds the nearest values to the point, nearest first
+     *
+     * @param point         The point to search around
+     * @param limit         The maximum number of values to return
+     * @param maxDistanceKm The maximum distance of the values from the point in kilometers
+     * @return Up to limit values within the maximum distance, nearest first
+     */
+    public List<GeoNeighbor<T>> nearest(GeoPoint point, int limit, double maxDistanceKm) {
+        if (limit <= 0 || points.length == 0) {
+            return Collections.emptyList();
+        }
+        // Farthest of the candidates on top, so it is the one replaced when a nearer point is found
+        PriorityQueue<Candidate> candidates = new PriorityQueue<Candidate>(Math.min(limit, points.length) + 1,
+                Comparator.comparingDouble((Candidate candidate) -> candidate.squaredChord).reversed());
+        search(point, 0, points.length, 0, limit, GeoPoint.kmToSquaredChord(maxDistanceKm), candidates);
+
+        List<Candidate> sorted = new ArrayList<Candidate>(candidates);
+        sorted.sort(Comparator.comparingDouble(candidate -> candidate.squaredChord));
+        List<GeoNeighbor<T>> neighbors = new ArrayList<GeoNeighbor<T>>(sorted.size());
+        for (Candidate candidate : sorted) {
+            @SuppressWarnings("unchecked")
+            T value = (T) values[candidate.index];
+            neighbors.add(new GeoNeighbor<T>(value, GeoPoint.chordToKm(Math.sqrt(candidate.squaredChord))));
+        }
+        return neighbors;
+    }
+
+    /**
+     * Finds all the values within the radius of the point, nearest first
+     *
+     * @param point    The point to search around
+     * @param radiusKm The radius in kilometers
+     * @return The values within the radius, nearest first
+     */
+    public List<GeoNeighbor<T>> withinRadius(GeoPoint point, double radiusKm) {
+        return nearest(point, Integer.MAX_VALUE, radiusKm);
+    }
+
+    private void search(GeoPoint point, int from, int to, int axis, int limit, double maxSquaredChord,
+                        PriorityQueue<Candidate> candidates) {
+        if (from >= to) {
+            return;
+        }
+        int median = (from + to) >>> 1;
+        GeoPoint split = points[median];
+        double squaredChord = point.squaredChordTo(split);
+        if (squaredChord <= bound(limit, maxSquaredChord, candidates)) {
+            candidates.add(new Candidate(median, squaredChord));
+            if (candidates.size() > limit) {
+                candidates.poll();
+            }
+        }
+        double delta = point.coordinate(axis) - split.coordinate(axis);
+        int nextAxis = (axis + 1) % 3;
+        // Search the side of the split holding the point first, the other side only when it can hold a nearer point
+        if (delta < 0) {
+            search(point, from, median, nextAxis, limit, maxSquaredChord, candidates);
+            if (delta * delta <= bound(limit, maxSquaredChord, candidates)) {
+                search(point, median + 1, to, nextAxis, limit, maxSquaredChord, candidates);
+            }
+        } else {
+            search(point, median + 1, to, nextAxis, limit, maxSquaredChord, candidates);
+            if (delta * delta <= bound(limit, maxSquaredChord, candidates)) {
+                search(point, from, median, nextAxis, limit, maxSquaredChord, candidates);
+            }
+        }
+    }
+
+    private static double bound(int limit, double maxSquaredChord, PriorityQueue<Candidate> candidates) {
+        if (candidates.size() < limit) {
+            return maxSquaredChord;
+        }
+        return Math.min(maxSquaredChord, candidates.peek().squaredChord);
+    }
+
+    private static void build(List<GeoPoint> points, Integer[] order, int from, int to, int axis) {
+        if (to - from <= 1) {
+            return;
+        }
+        Arrays.sort(order, from, to,
+                Comparator.comparingDouble((Integer index) -> points.get(index).coordinate(axis)));
+        int median = (from + to) >>> 1;
+        int nextAxis = (axis + 1) % 3;
+        build(points, order, from, median, nextAxis);
+        build(points, order, median + 1, to, nextAxis);
+    }
+
+    private static final class Candidate {
+        private final int index;
+        private final double squaredChord;
+
+        private Candidate(int index, double squaredChord) {
+            this.index = index;
+            this.squaredChord = squaredChord;
+        }
+    }
+}
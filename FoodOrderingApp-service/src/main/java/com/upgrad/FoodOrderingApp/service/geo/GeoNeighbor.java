@@ -0,0 +1,23 @@
+package com.upgrad.FoodOrderingApp.service.geo;
+
+/**
+ * A value found by a search of the spatial index, with its distance from the searched point
+ */
+public class GeoNeighbor<T> {
+
+    private final T value;
+    private final double distanceKm;
+
+    public GeoNeighbor(T value, double distanceKm) {
+        this.value = value;
+        this.distanceKm = distanceKm;
+    }
+
+    public T getValue() {
+        return value;
+    }
+
+    public double getDistanceKm() {
+        return distanceKm;
+    }
+}
@@ -0,0 +1,83 @@
+package com.upgrad.FoodOrderingApp.service.geo;
+
+/**
+ * A point on the earth given by its latitude and longitude in degrees
+ * The point is also kept as a unit vector, the straight line distance between two unit vectors grows with the
+ * distance along the earth, so the nearest points can be searched without any trigonometry
+ */
+public class GeoPoint {
+
+    // Mean radius of the earth in kilometers
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private final double latitude;
+    private final double longitude;
+    private final double x;
+    private final double y;
+    private final double z;
+
+    public GeoPoint(double latitude, double longitude) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("Invalid coordinates " + latitude + ", " + longitude);
+        }
+        this.latitude = latitude;
+        this.longitude = longitude;
+        double latitudeRadians = Math.toRadians(latitude);
+        double longitudeRadians = Math.toRadians(longitude);
+        this.x = Math.cos(latitudeRadians) * Math.cos(longitudeRadians);
+        this.y = Math.cos(latitudeRadians) * Math.sin(longitudeRadians);
+        this.z = Math.sin(latitudeRadians);
+    }
+
+    public double getLatitude() {
+        return latitude;
+    }
+
+    public double getLongitude() {
+        return longitude;
+    }
+
+    /**
+     * @param axis 0, 1 or 2 for the x, y or z coordinate of the unit vector
+     * @return The coordinate of the unit vector along the axis
+     */
+    double coordinate(int axis) {
+        return axis == 0 ? x : axis == 1 ? y : z;
+    }
+
+    /**
+     * @param other The other point
+     * @return The squared straight line distance between the unit vectors of the two points
+     */
+    double squaredChordTo(GeoPoint other) {
+        double dx = x - other.x;
+        double dy = y - other.y;
+        double dz = z - other.z;
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    /**
+     * @param other The other point
+     * @return The great circle distance between the two points in kilometers
+     */
+    public double distanceKmTo(GeoPoint other) {
+        return chordToKm(Math.sqrt(squaredChordTo(other)));
+    }
+
+    static double chordToKm(double chord) {
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, chord / 2));
+    }
+
+    static double kmToSquaredChord(double distanceKm) {
+        if (distanceKm >= Math.PI * EARTH_RADIUS_KM) {
+            return 4.0;
+        }
+        double chord = 2 * Math.sin(distanceKm / (2 * EARTH_RADIUS_KM));
+        return chord * chord;
+    }
+
+    @Override
+    public String toString() {
+        return latitude + "," + longitude;
+    }
+}
@@ -0,0 +1,43 @@
+package com.upgrad.FoodOrderingApp.service.sales;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Date;
+
+/**
+ * The sales of a restaurant summed over one bucket of the rollup, or over the whole requested range
+ */
+public class SalesBucket {
+
+    private final Date bucketStart;
+    private final long orderCount;
+    private final BigDecimal revenue;
+
+    public SalesBucket(Date bucketStart, long orderCount, BigDecimal revenue) {
+        this.bucketStart = bucketStart;
+        this.orderCount = orderCount;
+        this.revenue = revenue;
+    }
+
+    public Date getBucketStart() {
+        return bucketStart;
+    }
+
+    public long getOrderCount() {
+        return orderCount;
+    }
+
+    public BigDecimal getRevenue() {
+        return revenue;
+    }
+
+    /**
+     * @return The average bill of the orders in the bucket rounded to 2 decimals, zero when there are no orders
+     */
+    public BigDecimal getAverageBill() {
+        if (orderCount == 0) {
+            return BigDecimal.ZERO;
+        }
+        return revenue.divide(BigDecimal.valueOf(orderCount), 2, RoundingMode.HALF_UP);
+    }
+}
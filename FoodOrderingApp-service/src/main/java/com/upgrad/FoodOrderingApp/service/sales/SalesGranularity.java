@@ -0,0 +1,43 @@
+package com.upgrad.FoodOrderingApp.service.sales;
+
+/**
+ * The size of the buckets the restaurant sales are reported in
+ * Hourly buckets are read from the hourly rollup, daily and monthly buckets from the daily rollup
+ */
+public enum SalesGranularity {
+    HOUR("hour"),
+
+    DAY("day"),
+
+    MONTH("month");
+
+    private String value;
+
+    SalesGranularity(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * Finds the granularity matching the value passed, ignoring the case
+     *
+     * @param value The granularity requested, one of hour, day or month
+     * @return The matched granularity, null if the value doesn't match any of the granularities
+     */
+    public static SalesGranularity fromValue(String value) {
+        for (SalesGranularity granularity : values()) {
+            if (granularity.value.equalsIgnoreCase(value)) {
+                return granularity;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+}
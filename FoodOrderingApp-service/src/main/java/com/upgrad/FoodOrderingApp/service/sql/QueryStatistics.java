@@ -0,0 +1,107 @@
+package com.upgrad.FoodOrderingApp.service.sql;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Call count, row count, error count and latency distribution of the executions of one query
+ * Recording never blocks, so that concurrent requests running the same query don't contend on the statistics
+ */
+public class QueryStatistics {
+
+    // Latencies are recorded in microseconds, anything above an hour is recorded as an hour
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.HOURS.toMicros(1);
+
+    private final String name;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final Histogram latencies = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 2);
+
+    QueryStatistics(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    public long getRows() {
+        return rows.sum();
+    }
+
+    /**
+     * @param elapsedNanos The execution time of the query in nanoseconds
+     * @param success      false if the query failed
+     */
+    void recordExecution(long elapsedNanos, boolean success) {
+        calls.increment();
+        if (!success) {
+            errors.increment();
+        }
+        latencies.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS, Math.max(0, TimeUnit.NANOSECONDS.toMicros(elapsedNanos))));
+    }
+
+    /**
+     * @param count The number of rows read or updated by the query
+     */
+    void recordRows(long count) {
+        rows.add(count);
+    }
+
+    void reset() {
+        calls.reset();
+        errors.reset();
+        rows.reset();
+        latencies.reset();
+    }
+
+    /**
+     * @return The counts and the latency percentiles in microseconds, keyed by the statistic name
+     */
+    public Map<String, Object> toMap() {
+        Histogram snapshot = latencies.copy();
+        Map<String, Object> statistics = new LinkedHashMap<String, Object>();
+        statistics.put("calls", getCalls());
+        statistics.put("rows", getRows());
+        statistics.put("errors", getErrors());
+        statistics.put("latency_micros", percentiles(snapshot));
+        return statistics;
+    }
+
+    @Override
+    public String toString() {
+        Histogram snapshot = latencies.copy();
+        return name + " calls=" + getCalls() + " rows=" + getRows() + " errors=" + getErrors()
+                + " p50=" + snapshot.getValueAtPercentile(50) + "us p99=" + snapshot.getValueAtPercentile(99)
+                + "us max=" + snapshot.getMaxValue() + "us";
+    }
+
+    /**
+     * @param snapshot The latencies
+     * @return The mean, the percentiles and the max of the latencies, keyed by the statistic name
+     */
+    public static Map<String, Object> percentiles(Histogram snapshot) {
+        Map<String, Object> percentiles = new LinkedHashMap<String, Object>();
+        percentiles.put("mean", Math.round(snapshot.getMean()));
+        percentiles.put("p50", snapshot.getValueAtPercentile(50));
+        percentiles.put("p90", snapshot.getValueAtPercentile(90));
+        percentiles.put("p99", snapshot.getValueAtPercentile(99));
+        percentiles.put("p999", snapshot.getValueAtPercentile(99.9));
+        percentiles.put("max", snapshot.getMaxValue());
+        return percentiles;
+    }
+}
@@ -0,0 +1,73 @@
+package com.upgrad.FoodOrderingApp.service.sql;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Distribution of the number of SQL statements executed by the requests of one route
+ * A route whose statement count grows with the size of the response is running a query per row
+ */
+public class RequestStatistics {
+
+    private static final long HIGHEST_TRACKABLE_STATEMENTS = 1_000_000;
+
+    private final String route;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder statements = new LongAdder();
+    private final Histogram statementsPerRequest = new ConcurrentHistogram(HIGHEST_TRACKABLE_STATEMENTS, 2);
+
+    RequestStatistics(String route) {
+        this.route = route;
+    }
+
+    public String getRoute() {
+        return route;
+    }
+
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    public long getStatements() {
+        return statements.sum();
+    }
+
+    /**
+     * @param statementCount The number of SQL statements executed while serving the request
+     */
+    void recordRequest(long statementCount) {
+        requests.increment();
+        statements.add(statementCount);
+        statementsPerRequest.recordValue(Math.min(HIGHEST_TRACKABLE_STATEMENTS, statementCount));
+    }
+
+    void reset() {
+        requests.reset();
+        statements.reset();
+        statementsPerRequest.reset();
+    }
+
+    /**
+     * @return The request count and the percentiles of the statements per request, keyed by the statistic name
+     */
+    public Map<String, Object> toMap() {
+        Histogram snapshot = statementsPerRequest.copy();
+        Map<String, Object> statistics = new LinkedHashMap<String, Object>();
+        statistics.put("requests", getRequests());
+        statistics.put("statements", getStatements());
+        statistics.put("statements_per_request", QueryStatistics.percentiles(snapshot));
+        return statistics;
+    }
+
+    @Override
+    public String toString() {
+        Histogram snapshot = statementsPerRequest.copy();
+        return route + " requests=" + getRequests() + " statements=" + getStatements()
+                + " p50=" + snapshot.getValueAtPercentile(50) + " p99=" + snapshot.getValueAtPercentile(99)
+                + " max=" + snapshot.getMaxValue();
+    }
+}
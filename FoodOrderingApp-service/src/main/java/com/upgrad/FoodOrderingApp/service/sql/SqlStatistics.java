@@ -0,0 +1,211 @@
+package com.upgrad.FoodOrderingApp.service.sql;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Statistics of the SQL executed through the application DataSource, per named query and per HTTP route
+ * Queries are named after the Hibernate SQL comment, so a named query is reported under the name of the named query
+ * The statistics are served by the admin endpoint and exposed over JMX
+ */
+@Component
+@ManagedResource(objectName = "FoodOrderingApp:type=SqlStatistics", description = "SQL statistics per query and per route")
+public class SqlStatistics {
+
+    // SQL that can't be named is reported under this name
+    public static final String OTHER_QUERIES = "other";
+
+    // Bounds the number of names, so that ad hoc SQL can't grow the statistics without limit
+    private static final int MAX_NAMES = 1000;
+
+    private final ConcurrentMap<String, QueryStatistics> queries = new ConcurrentHashMap<String, QueryStatistics>();
+    private final ConcurrentMap<String, RequestStatistics> routes = new ConcurrentHashMap<String, RequestStatistics>();
+
+    // Statements executed so far by the request served on the thread, absent outside of requests
+    // Shared with the threads running the lookups of the request in parallel
+    private final ThreadLocal<AtomicLong> requestStatements = new ThreadLocal<AtomicLong>();
+
+    private volatile long slowQueryThresholdMillis;
+
+    public SqlStatistics(@Value("${foodorderingapp.sql-statistics.slow-query-threshold:200}") long slowQueryThresholdMillis) {
+        this.slowQueryThresholdMillis = slowQueryThresholdMillis;
+    }
+
+    /**
+     * @param name The name of the query
+     * @return The statistics of the query, created on the first execution of the query
+     */
+    QueryStatistics queryStatistics(String name) {
+        QueryStatistics statistics = queries.get(name);
+        if (statistics != null) {
+            return statistics;
+        }
+        if (queries.size() >= MAX_NAMES) {
+            name = OTHER_QUERIES;
+        }
+        return queries.computeIfAbsent(name, QueryStatistics::new);
+    }
+
+    /**
+     * Counts a statement against the request served on the current thread, if any
+     */
+    void statementExecuted() {
+        AtomicLong statements = requestStatements.get();
+        if (statements != null) {
+            statements.incrementAndGet();
+        }
+    }
+
+    /**
+     * Starts counting the statements executed on the current thread
+     */
+    public void beginRequest() {
+        requestStatements.set(new AtomicLong());
+    }
+
+    /**
+     * Stops counting the statements executed on the current thread and records the count against the route
+     *
+     * @param route The route of the request, the HTTP method and the path pattern
+     */
+    public void endRequest(String route) {
+        AtomicLong statements = requestStatements.get();
+        if (statements == null) {
+            return;
+        }
+        requestStatements.remove();
+        RequestStatistics statistics = routes.get(route);
+        if (statistics == null) {
+            statistics = routes.computeIfAbsent(routes.size() >= MAX_NAMES ? OTHER_QUERIES : route, RequestStatistics::new);
+        }
+        statistics.recordRequest(statements.get());
+    }
+
+    /**
+     * Stops counting the statements executed on the current thread, so that the count can be carried on by the thread
+     * the request is handed over to
+     *
+     * @return The statement count of the request, null outside of requests
+     */
+    public AtomicLong suspendRequest() {
+        AtomicLong statements = requestStatements.get();
+        requestStatements.remove();
+        return statements;
+    }
+
+    /**
+     * Counts the statements executed on the current thread against a request served on another thread
+     *
+     * @param statements The statement count of the request, as returned by suspendRequest or currentRequest
+     */
+    public void resumeRequest(AtomicLong statements) {
+        requestStatements.set(statements);
+    }
+
+    /**
+     * @return The statement count of the request served on the current thread, to share with the threads running its
+     * lookups, null outside of requests
+     */
+    public AtomicLong currentRequest() {
+        return requestStatements.get();
+    }
+
+    /**
+     * @return The number of statements executed so far by the request served on the current thread, -1 outside of
+     * requests
+     */
+    public long getRequestStatementCount() {
+        AtomicLong statements = requestStatements.get();
+        return statements == null ? -1 : statements.get();
+    }
+
+    /**
+     * Retrieves the statistics of every query and every route, since the application start or the last reset
+     *
+     * @return The statistics keyed by query name and by route
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<String, Object>();
+        statistics.put("slow_query_threshold_millis", slowQueryThresholdMillis);
+        Map<String, Object> queryStatistics = new LinkedHashMap<String, Object>();
+        for (QueryStatistics query : new TreeMap<String, QueryStatistics>(queries).values()) {
+            queryStatistics.put(query.getName(), query.toMap());
+        }
+        statistics.put("queries", queryStatistics);
+        Map<String, Object> routeStatistics = new LinkedHashMap<String, Object>();
+        for (RequestStatistics route : new TreeMap<String, RequestStatistics>(routes).values()) {
+            routeStatistics.put(route.getRoute(), route.toMap());
+        }
+        statistics.put("requests", routeStatistics);
+        return statistics;
+    }
+
+    /**
+     * @param name The name of the query
+     * @return The statistics of the query, null if the query wasn't executed
+     */
+    public QueryStatistics getQueryStatistics(String name) {
+        return queries.get(name);
+    }
+
+    /**
+     * @param route The route of the request, the HTTP method and the path pattern
+     * @return The statement statistics of the route, null if the route wasn't requested
+     */
+    public RequestStatistics getRequestStatistics(String route) {
+        return routes.get(route);
+    }
+
+    @ManagedOperation(description = "Statistics of every query, one line per query")
+    public String[] queriesSummary() {
+        List<String> summary = new ArrayList<String>();
+        for (QueryStatistics query : new TreeMap<String, QueryStatistics>(queries).values()) {
+            summary.add(query.toString());
+        }
+        return summary.toArray(new String[0]);
+    }
+
+    @ManagedOperation(description = "Statements per request of every route, one line per route")
+    public String[] requestsSummary() {
+        List<String> summary = new ArrayList<String>();
+        for (RequestStatistics route : new TreeMap<String, RequestStatistics>(routes).values()) {
+            summary.add(route.toString());
+        }
+        return summary.toArray(new String[0]);
+    }
+
+    /**
+     * Resets all the counts and latencies, to measure over a time window
+     */
+    @ManagedOperation(description = "Resets all the statistics")
+    public void reset() {
+        for (QueryStatistics query : queries.values()) {
+            query.reset();
+        }
+        for (RequestStatistics route : routes.values()) {
+            route.reset();
+        }
+    }
+
+    @ManagedAttribute(description = "Queries slower than this number of milliseconds are logged, 0 disables the log")
+    public long getSlowQueryThresholdMillis() {
+        return slowQueryThresholdMillis;
+    }
+
+    @ManagedAttribute
+    public void setSlowQueryThresholdMillis(long slowQueryThresholdMillis) {
+        this.slowQueryThresholdMillis = slowQueryThresholdMillis;
+    }
+}
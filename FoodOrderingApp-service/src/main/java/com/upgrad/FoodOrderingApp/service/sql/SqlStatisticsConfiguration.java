@@ -0,0 +1,36 @@
+package com.upgrad.FoodOrderingApp.service.sql;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the DataSource in a proxy recording every statement into the SQL statistics
+ * The proxy is left out when foodorderingapp.sql-statistics.enabled is false
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "foodorderingapp.sql-statistics", name = "enabled", matchIfMissing = true)
+public class SqlStatisticsConfiguration {
+
+    @Bean
+    public static BeanPostProcessor sqlStatisticsDataSourcePostProcessor(ObjectProvider<SqlStatistics> sqlStatistics) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource) || bean instanceof ProxyDataSource) {
+                    return bean;
+                }
+                return ProxyDataSourceBuilder.create(beanName, (DataSource) bean)
+                        .listener(new SqlStatisticsListener(sqlStatistics.getObject()))
+                        .proxyResultSet()
+                        .build();
+            }
+        };
+    }
+}
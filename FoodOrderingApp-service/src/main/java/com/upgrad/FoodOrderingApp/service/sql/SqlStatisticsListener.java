@@ -0,0 +1,167 @@
+package com.upgrad.FoodOrderingApp.service.sql;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.lifecycle.JdbcLifecycleEventListenerAdapter;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.proxy.ProxyJdbcObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.ResultSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records every statement executed through the proxied DataSource into the SQL statistics
+ * Rows are counted as the result sets are read, statements slower than the threshold are logged with their bind
+ * parameters redacted to their type, so that no customer data ends up in the log
+ */
+class SqlStatisticsListener extends JdbcLifecycleEventListenerAdapter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SqlStatisticsListener.class);
+
+    private static final String START_NANOS = "startNanos";
+
+    // Result sets left open by a failed read are dropped past this count
+    private static final int MAX_OPEN_RESULT_SETS = 64;
+
+    private final SqlStatistics sqlStatistics;
+
+    // Result sets being read on the thread, with the statistics of the query that opened them
+    private final ThreadLocal<Map<Object, QueryStatistics>> openResultSets =
+            ThreadLocal.withInitial(IdentityHashMap::new);
+
+    SqlStatisticsListener(SqlStatistics sqlStatistics) {
+        this.sqlStatistics = sqlStatistics;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        execInfo.addCustomValue(START_NANOS, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Long startNanos = execInfo.getCustomValue(START_NANOS, Long.class);
+        long elapsedNanos = startNanos == null ? TimeUnit.MILLISECONDS.toNanos(execInfo.getElapsedTime())
+                : System.nanoTime() - startNanos;
+        String sql = queryInfoList.isEmpty() ? "" : queryInfoList.get(0).getQuery();
+        QueryStatistics statistics = sqlStatistics.queryStatistics(queryName(sql));
+        statistics.recordExecution(elapsedNanos, execInfo.isSuccess());
+        sqlStatistics.statementExecuted();
+
+        Object result = execInfo.getResult();
+        if (result instanceof ResultSet) {
+            Map<Object, QueryStatistics> resultSets = openResultSets.get();
+            if (resultSets.size() >= MAX_OPEN_RESULT_SETS) {
+                resultSets.clear();
+            }
+            resultSets.put(target(result), statistics);
+        } else if (result instanceof Integer) {
+            statistics.recordRows(Math.max(0, (Integer) result));
+        } else if (result instanceof int[]) {
+            for (int updateCount : (int[]) result) {
+                statistics.recordRows(Math.max(0, updateCount));
+            }
+        }
+
+        long thresholdMillis = sqlStatistics.getSlowQueryThresholdMillis();
+        if (thresholdMillis > 0 && elapsedNanos >= TimeUnit.MILLISECONDS.toNanos(thresholdMillis)) {
+            LOGGER.warn("Slow query {} took {} ms{}: {} parameters {}", statistics.getName(),
+                    TimeUnit.NANOSECONDS.toMillis(elapsedNanos), execInfo.isBatch() ? " for a batch of " + execInfo.getBatchSize() : "",
+                    sql, redactedParameters(queryInfoList));
+        }
+    }
+
+    @Override
+    public void afterNextOnResultSet(MethodExecutionContext executionContext) {
+        if (Boolean.TRUE.equals(executionContext.getResult())) {
+            QueryStatistics statistics = openResultSets.get().get(target(executionContext.getTarget()));
+            if (statistics != null) {
+                statistics.recordRows(1);
+            }
+        }
+    }
+
+    @Override
+    public void afterCloseOnResultSet(MethodExecutionContext executionContext) {
+        openResultSets.get().remove(target(executionContext.getTarget()));
+    }
+
+    /**
+     * Names the query after the comment Hibernate puts in front of the SQL
+     * Named queries are commented with their name, entity loads and writes with the operation and the entity
+     *
+     * @param sql The SQL sent to the Database
+     * @return The name of the query
+     */
+    static String queryName(String sql) {
+        if (sql == null || !sql.startsWith("/* ")) {
+            return SqlStatistics.OTHER_QUERIES;
+        }
+        int end = sql.indexOf(" */");
+        if (end < 0) {
+            return SqlStatistics.OTHER_QUERIES;
+        }
+        String comment = sql.substring(3, end);
+        String[] words = comment.split(" ");
+        if (words.length == 1) {
+            return comment;
+        }
+        if (words.length > 3) {
+            // The text of an ad hoc query
+            return SqlStatistics.OTHER_QUERIES;
+        }
+        switch (words[0]) {
+            case "load":
+            case "insert":
+            case "update":
+            case "delete":
+                // The last word is the entity or the collection role, the package is left out
+                String role = words[words.length - 1];
+                int classEnd = role.lastIndexOf('.');
+                if (classEnd > 0 && classEnd + 1 < role.length() && Character.isLowerCase(role.charAt(classEnd + 1))) {
+                    // Collection role, the entity name followed by the property name
+                    classEnd = role.lastIndexOf('.', classEnd - 1);
+                }
+                return words[0] + " " + role.substring(classEnd + 1);
+            default:
+                return SqlStatistics.OTHER_QUERIES;
+        }
+    }
+
+    /**
+     * @param queryInfoList The queries of the execution, with their bind parameters
+     * @return The position and type of every bind parameter of the first query, without the values
+     */
+    static String redactedParameters(List<QueryInfo> queryInfoList) {
+        if (queryInfoList.isEmpty() || queryInfoList.get(0).getParametersList().isEmpty()) {
+            return "[]";
+        }
+        StringBuilder parameters = new StringBuilder("[");
+        for (ParameterSetOperation operation : queryInfoList.get(0).getParametersList().get(0)) {
+            Object[] args = operation.getArgs();
+            if (parameters.length() > 1) {
+                parameters.append(", ");
+            }
+            parameters.append(args[0]).append('=');
+            Object value = args.length > 1 ? args[1] : null;
+            if (value == null || ParameterSetOperation.isSetNullParameterOperation(operation)) {
+                parameters.append("null");
+            } else if (value instanceof CharSequence) {
+                parameters.append("String(").append(((CharSequence) value).length()).append(')');
+            } else {
+                parameters.append(value.getClass().getSimpleName());
+            }
+        }
+        return parameters.append(']').toString();
+    }
+
+    private static Object target(Object jdbcObject) {
+        return jdbcObject instanceof ProxyJdbcObject ? ((ProxyJdbcObject) jdbcObject).getTarget() : jdbcObject;
+    }
+}